@@ -41,6 +41,15 @@ android {
             )
         }
     }
+    buildFeatures {
+        buildConfig = true
+    }
+    testOptions {
+        unitTests {
+            // Robolectric inflates the app's layouts in JVM tests
+            isIncludeAndroidResources = true
+        }
+    }
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
@@ -60,6 +69,7 @@ dependencies {
     testImplementation(libs.mockito.core)
     testImplementation(libs.test.core)
     testImplementation(libs.ext.junit)
+    testImplementation(libs.robolectric)
 
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
@@ -62,6 +62,22 @@ public class RewardControllerIntegrationTest {
         assertNotNull(response.getData());
     }
 
+    @Test
+    public void testGetRewardsByUser() {
+        Reward reward = new Reward();
+        reward.setUserId(user.getId());
+        reward.setIcon("test_icon");
+        reward.setTitle("Own Reward");
+        reward.setPointsRequired(10);
+        rewardController.createReward(reward);
+
+        OperationResponse<List<Reward>> response = rewardController.getRewardsByUser(user.getId());
+
+        assertEquals("Rewards retrieved successfully", response.getMessage());
+        assertEquals(1, response.getData().size());
+        assertEquals(user.getId(), response.getData().get(0).getUserId());
+    }
+
     @Test
     public void testGetRewardById() {
         int rewardId = 1;
@@ -0,0 +1,67 @@
+package com.ilp506.taskward.data;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import com.ilp506.taskward.R;
+import com.ilp506.taskward.data.maintenance.IncrementalVacuumJob;
+import com.ilp506.taskward.utils.SQLScriptUtils;
+
+import java.io.File;
+
+/**
+ * Database helper for a named scratch file built from the app schema, without the seed data.
+ * It is configured like {@link DatabaseHelper}: write-ahead logging and incremental auto-vacuum.
+ * Lets instrumented tests and benchmarks work on real files while leaving the app database untouched.
+ */
+public class ScratchDatabaseHelper extends SQLiteOpenHelper {
+    private final Context context;
+    private final String name;
+
+    /**
+     * Constructs a helper for a fresh scratch database, deleting any previous file with the same name.
+     *
+     * @param context The context used to resolve the database path and schema resource.
+     * @param name The database file name.
+     */
+    public ScratchDatabaseHelper(Context context, String name) {
+        super(context, name, null, 1);
+        this.context = context;
+        this.name = name;
+        context.deleteDatabase(name);
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        IncrementalVacuumJob.enable(db);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        SQLScriptUtils.executeSQLFromResource(db, context, R.raw.create);
+        SearchIndexSchema.create(db);
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+    }
+
+    /**
+     * Gets the main database file.
+     *
+     * @return The database file.
+     */
+    public File getDatabaseFile() {
+        return context.getDatabasePath(name);
+    }
+
+    /**
+     * Closes the helper and deletes the database file with its journal files.
+     */
+    public void delete() {
+        close();
+        context.deleteDatabase(name);
+    }
+}
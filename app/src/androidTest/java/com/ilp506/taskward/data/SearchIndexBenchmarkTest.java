@@ -0,0 +1,152 @@
+package com.ilp506.taskward.data;
+
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.ilp506.taskward.R;
+import com.ilp506.taskward.data.DatabaseContract.TaskSearchTable;
+import com.ilp506.taskward.data.DatabaseContract.TaskTable;
+import com.ilp506.taskward.data.storage.AndroidRows;
+import com.ilp506.taskward.utils.SQLScriptUtils;
+import com.ilp506.taskward.utils.SearchUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compares full-text search latency against a LIKE scan over 100k tasks.
+ * Both sides read every match, since ranking needs the full match set.
+ * Runs on an in-memory database so the app database is left untouched.
+ */
+public class SearchIndexBenchmarkTest {
+    private static final String TAG = SearchIndexBenchmarkTest.class.getSimpleName();
+
+    private static final int ROW_COUNT = 100_000;
+    private static final int ITERATIONS = 15;
+    private static final int SYNTHETIC_WORDS = 2_000;
+    private static final String[] WORDS = {
+            "water", "drink", "read", "book", "run", "walk", "clean", "kitchen", "study", "english",
+            "guitar", "practice", "meditate", "stretch", "laundry", "groceries", "call", "family",
+            "write", "journal", "plants", "budget", "review", "email", "sleep", "early", "cook",
+            "dinner", "vitamins", "floss", "dishes", "garden", "project", "exercise", "bike", "swim"
+    };
+    private static final String[] SEARCHES = {"wat", "guitar prac", "kitch", "journal", "swim"};
+
+    private SQLiteDatabase db;
+    private String[] vocabulary;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        db = SQLiteDatabase.create(null);
+        SQLScriptUtils.executeSQLFromResource(db, context, R.raw.create);
+        SearchIndexSchema.create(db);
+
+        Random random = new Random(42);
+        vocabulary = buildVocabulary(random);
+        populate(random);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void fullTextSearch_whenTableHas100kRows_shouldBeFasterThanLikeScan() {
+        final String ftsQuery = SearchUtils.buildSearchQuery(
+                TaskSearchTable.TABLE_NAME, TaskTable.TABLE_NAME, TaskTable.COLUMN_ID);
+        final String likeQuery = "SELECT * FROM " + TaskTable.TABLE_NAME +
+                " WHERE " + TaskTable.COLUMN_TITLE + " LIKE ? OR " + TaskTable.COLUMN_DESCRIPTION + " LIKE ?";
+
+        long[] ftsNanos = new long[ITERATIONS];
+        long[] likeNanos = new long[ITERATIONS];
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            String search = SEARCHES[i % SEARCHES.length];
+
+            long start = System.nanoTime();
+            try (Cursor cursor = db.rawQuery(ftsQuery, new String[]{SearchUtils.buildPrefixMatchQuery(search)})) {
+                SearchUtils.rankPositions(new AndroidRows(cursor), SearchUtils.TITLE_DESCRIPTION_WEIGHTS, 50);
+            }
+            ftsNanos[i] = System.nanoTime() - start;
+
+            String pattern = "%" + search.split(" ")[0] + "%";
+            start = System.nanoTime();
+            try (Cursor cursor = db.rawQuery(likeQuery, new String[]{pattern, pattern})) {
+                while (cursor.moveToNext()) cursor.getString(cursor.getColumnIndexOrThrow(TaskTable.COLUMN_TITLE));
+            }
+            likeNanos[i] = System.nanoTime() - start;
+        }
+
+        long ftsMedian = median(ftsNanos);
+        long likeMedian = median(likeNanos);
+        Log.i(TAG, String.format("rows=%d fts_median_us=%d like_median_us=%d",
+                ROW_COUNT, ftsMedian / 1_000, likeMedian / 1_000));
+
+        assertTrue("FTS search should beat a LIKE scan", ftsMedian < likeMedian);
+    }
+
+    /**
+     * Inserts synthetic tasks inside a single transaction; the triggers index every row.
+     */
+    private void populate(Random random) {
+        final String insert = "INSERT INTO " + TaskTable.TABLE_NAME + " (" +
+                TaskTable.COLUMN_ICON + ", " + TaskTable.COLUMN_TITLE + ", " +
+                TaskTable.COLUMN_DESCRIPTION + ", " + TaskTable.COLUMN_FREQUENCY + ") VALUES (?, ?, ?, 'daily')";
+
+        db.beginTransaction();
+        try {
+            SQLiteStatement statement = db.compileStatement(insert);
+            for (int i = 0; i < ROW_COUNT; i++) {
+                statement.bindString(1, "icon");
+                statement.bindString(2, sentence(random, 3) + " " + i);
+                statement.bindString(3, sentence(random, 12));
+                statement.executeInsert();
+                statement.clearBindings();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Mixes the real task words with random filler words so searches are as selective as real ones.
+     */
+    private static String[] buildVocabulary(Random random) {
+        String[] words = Arrays.copyOf(WORDS, WORDS.length + SYNTHETIC_WORDS);
+        for (int i = WORDS.length; i < words.length; i++) {
+            char[] letters = new char[6];
+            for (int j = 0; j < letters.length; j++) letters[j] = (char) ('a' + random.nextInt(26));
+            words[i] = new String(letters);
+        }
+        return words;
+    }
+
+    private String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sentence.append(' ');
+            sentence.append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return sentence.toString();
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
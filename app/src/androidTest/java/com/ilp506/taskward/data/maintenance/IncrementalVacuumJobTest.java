@@ -0,0 +1,70 @@
+package com.ilp506.taskward.data.maintenance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import com.ilp506.taskward.data.models.MaintenanceRun;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks that a database without incremental auto-vacuum is left for the scheduled full VACUUM
+ * instead of being converted within the budget. Runs on an in-memory database, which starts
+ * without auto-vacuum.
+ */
+public class IncrementalVacuumJobTest {
+    private static final long BUDGET_MILLIS = 1_000;
+
+    private final AtomicInteger conversionsScheduled = new AtomicInteger();
+    private SQLiteDatabase db;
+
+    @Before
+    public void setUp() {
+        db = SQLiteDatabase.create(null);
+        db.execSQL("CREATE TABLE notes (id INTEGER PRIMARY KEY, body TEXT)");
+        for (int i = 0; i < 500; i++)
+            db.execSQL("INSERT INTO notes (body) VALUES (randomblob(512))");
+        db.execSQL("DELETE FROM notes WHERE id % 2 = 0");
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void run_whenNotIncremental_shouldScheduleConversionAndStayIncomplete() {
+        MaintenanceRun run = job().run(db, new TimeBudget(BUDGET_MILLIS), null);
+
+        assertFalse(run.isCompleted());
+        assertEquals(0, run.getPagesReclaimed());
+        assertEquals(1, conversionsScheduled.get());
+        assertFalse(IncrementalVacuumJob.isIncremental(db));
+    }
+
+    @Test
+    public void run_afterConversion_shouldReclaimIncrementally() {
+        IncrementalVacuumJob.convert(db);
+        assertTrue(IncrementalVacuumJob.isIncremental(db));
+        db.execSQL("DELETE FROM notes WHERE id > 100");
+
+        MaintenanceRun run = job().run(db, new TimeBudget(BUDGET_MILLIS), null);
+
+        assertTrue(run.isCompleted());
+        assertTrue(run.getPagesReclaimed() > 0);
+        assertNull(run.getResumeToken());
+        assertEquals(0, conversionsScheduled.get());
+    }
+
+    private IncrementalVacuumJob job() {
+        return new IncrementalVacuumJob(0, BUDGET_MILLIS, conversionsScheduled::incrementAndGet);
+    }
+}
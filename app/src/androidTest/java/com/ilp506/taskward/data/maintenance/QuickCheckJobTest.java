@@ -0,0 +1,84 @@
+package com.ilp506.taskward.data.maintenance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.ilp506.taskward.data.DatabaseContract.TaskSearchTable;
+import com.ilp506.taskward.data.DatabaseContract.TaskTable;
+import com.ilp506.taskward.data.ScratchDatabaseHelper;
+import com.ilp506.taskward.data.SearchIndexSchema;
+import com.ilp506.taskward.data.models.MaintenanceRun;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Lets the task search index drift from its content table, as FTS4's own integrity check would
+ * report as corrupt, and checks that the quick check repairs it and leaves the database in place.
+ * Runs on a scratch database file so the app database is left untouched.
+ */
+public class QuickCheckJobTest {
+    private static final String DATABASE_NAME = "quick_check_test.db";
+    private static final long BUDGET_MILLIS = 1_000;
+
+    private ScratchDatabaseHelper dbHelper;
+    private SQLiteDatabase db;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        dbHelper = new ScratchDatabaseHelper(context, DATABASE_NAME);
+        db = dbHelper.getWritableDatabase();
+        for (int i = 1; i <= 5; i++) insertTask("Water plants " + i);
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.delete();
+    }
+
+    @Test
+    public void run_whenSearchIndexDrifted_shouldRebuildItAndKeepDatabase() {
+        // Write around the triggers: one task is never indexed, one stays indexed once deleted
+        db.execSQL("DROP TRIGGER " + TaskSearchTable.TABLE_NAME + "_ai");
+        db.execSQL("DROP TRIGGER " + TaskSearchTable.TABLE_NAME + "_bd");
+        insertTask("Walk the dog");
+        db.execSQL("DELETE FROM " + TaskTable.TABLE_NAME + " WHERE " + TaskTable.COLUMN_ID + " = 2");
+        SearchIndexSchema.create(db);
+
+        MaintenanceRun run = new QuickCheckJob(0, BUDGET_MILLIS).run(db, new TimeBudget(BUDGET_MILLIS), null);
+
+        assertTrue(run.getDetail(), run.getDetail().contains(TaskSearchTable.TABLE_NAME));
+        assertTrue("The database file was deleted", dbHelper.getDatabaseFile().exists());
+        assertTrue(db.isOpen());
+        assertEquals(5, count("SELECT count(*) FROM " + TaskTable.TABLE_NAME));
+        assertEquals(1, count("SELECT count(*) FROM " + TaskSearchTable.TABLE_NAME +
+                " WHERE " + TaskSearchTable.TABLE_NAME + " MATCH 'dog'"));
+        assertEquals(0, count("SELECT count(*) FROM " + TaskSearchTable.TABLE_NAME +
+                " WHERE " + TaskSearchTable.TABLE_NAME + " MATCH 'plants' AND docid = 2"));
+    }
+
+    @Test
+    public void run_whenSearchIndexInSync_shouldNotRebuild() {
+        MaintenanceRun run = new QuickCheckJob(0, BUDGET_MILLIS).run(db, new TimeBudget(BUDGET_MILLIS), null);
+
+        assertEquals("ok", run.getDetail());
+    }
+
+    private void insertTask(String title) {
+        db.execSQL("INSERT INTO " + TaskTable.TABLE_NAME + " (" + TaskTable.COLUMN_ICON + ", " +
+                TaskTable.COLUMN_TITLE + ", " + TaskTable.COLUMN_FREQUENCY + ") VALUES ('ic_task', ?, 'daily')",
+                new Object[]{title});
+    }
+
+    private long count(String sql) {
+        return DatabaseUtils.longForQuery(db, sql, null);
+    }
+}
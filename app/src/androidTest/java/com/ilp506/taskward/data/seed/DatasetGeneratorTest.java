@@ -0,0 +1,107 @@
+package com.ilp506.taskward.data.seed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.ilp506.taskward.data.DatabaseContract.TaskEventTable;
+import com.ilp506.taskward.data.DatabaseContract.TaskTable;
+import com.ilp506.taskward.data.ScratchDatabaseHelper;
+import com.ilp506.taskward.utils.DateUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+/**
+ * Checks that the synthetic dataset generator is deterministic and produces a realistic mix.
+ * Runs on scratch database files so the app database is left untouched.
+ */
+public class DatasetGeneratorTest {
+    private static final String TAG = DatasetGeneratorTest.class.getSimpleName();
+
+    private static final long SEED = 42;
+
+    private ScratchDatabaseHelper first;
+    private ScratchDatabaseHelper second;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        first = new ScratchDatabaseHelper(context, "dataset_first.db");
+        second = new ScratchDatabaseHelper(context, "dataset_second.db");
+    }
+
+    @After
+    public void tearDown() {
+        first.delete();
+        second.delete();
+    }
+
+    @Test
+    public void generate_whenSameSeed_shouldProduceIdenticalData() {
+        long start = System.nanoTime();
+        Map<String, Long> counts = new DatasetGenerator(first).generate(DatasetPreset.ONE_YEAR, SEED);
+        long generateMillis = (System.nanoTime() - start) / 1_000_000;
+        new DatasetGenerator(second).generate(DatasetPreset.ONE_YEAR, SEED);
+
+        Log.i(TAG, String.format("preset=%s counts=%s generate_ms=%d", DatasetPreset.ONE_YEAR, counts, generateMillis));
+        assertEquals(DatasetPreset.ONE_YEAR.getTaskCount(), (long) counts.get(TaskTable.TABLE_NAME));
+        assertEquals(fingerprint(first.getReadableDatabase()), fingerprint(second.getReadableDatabase()));
+    }
+
+    @Test
+    public void generate_whenDifferentSeed_shouldProduceDifferentData() {
+        new DatasetGenerator(first).generate(DatasetPreset.ONE_YEAR, SEED);
+        new DatasetGenerator(second).generate(DatasetPreset.ONE_YEAR, SEED + 1);
+
+        assertNotEquals(fingerprint(first.getReadableDatabase()), fingerprint(second.getReadableDatabase()));
+    }
+
+    @Test
+    public void generate_shouldCoverEveryFrequencyAndStatus() {
+        new DatasetGenerator(first).generate(DatasetPreset.ONE_YEAR, SEED);
+        SQLiteDatabase db = first.getReadableDatabase();
+
+        assertEquals(4, DatabaseUtils.longForQuery(db, "SELECT COUNT(DISTINCT " +
+                TaskTable.COLUMN_FREQUENCY + ") FROM " + TaskTable.TABLE_NAME, null));
+        assertEquals(4, DatabaseUtils.longForQuery(db, "SELECT COUNT(DISTINCT " +
+                TaskEventTable.COLUMN_STATUS + ") FROM " + TaskEventTable.TABLE_NAME, null));
+
+        // At most one pending event per task, all of them at or after the end of the history
+        assertEquals(0, DatabaseUtils.longForQuery(db, "SELECT COUNT(*) FROM (SELECT " +
+                TaskEventTable.COLUMN_TASK_ID + " FROM " + TaskEventTable.TABLE_NAME + " WHERE " +
+                TaskEventTable.COLUMN_STATUS + " = 'scheduled' GROUP BY " +
+                TaskEventTable.COLUMN_TASK_ID + " HAVING COUNT(*) > 1)", null));
+        assertEquals(0, DatabaseUtils.longForQuery(db, "SELECT COUNT(*) FROM " + TaskEventTable.TABLE_NAME +
+                " WHERE " + TaskEventTable.COLUMN_STATUS + " = 'scheduled' AND " +
+                TaskEventTable.COLUMN_SCHEDULED_DATE + " < ?",
+                new String[]{DateUtils.formatLocalDateTime(DatasetGenerator.DEFAULT_END_DATE)}));
+    }
+
+    /**
+     * Summarizes every generated event in a string that differs whenever any row does.
+     */
+    private static String fingerprint(SQLiteDatabase db) {
+        StringBuilder fingerprint = new StringBuilder();
+        try (Cursor cursor = db.rawQuery("SELECT " + TaskEventTable.COLUMN_STATUS + ", COUNT(*), " +
+                "SUM(" + TaskEventTable.COLUMN_POINTS_EARNED + "), " +
+                "SUM(strftime('%s', " + TaskEventTable.COLUMN_SCHEDULED_DATE + ") % 1000003), " +
+                "SUM(COALESCE(strftime('%s', " + TaskEventTable.COLUMN_COMPLETED_DATE + "), 0) % 1000003) " +
+                "FROM " + TaskEventTable.TABLE_NAME + " GROUP BY 1 ORDER BY 1", null)) {
+            while (cursor.moveToNext())
+                for (int i = 0; i < cursor.getColumnCount(); i++)
+                    fingerprint.append(cursor.getString(i)).append(',');
+        }
+        return fingerprint.toString();
+    }
+}
@@ -0,0 +1,185 @@
+package com.ilp506.taskward.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.ilp506.taskward.data.DatabaseContract.TaskEventTable;
+import com.ilp506.taskward.data.DatabaseContract.TaskTable;
+import com.ilp506.taskward.data.ScratchDatabaseHelper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures how long small UI-sized queries stall while a backup runs in the background,
+ * and checks that a snapshot restores to the same content with the background jobs paused.
+ * Runs on a scratch database file so the app database is left untouched.
+ */
+public class BackupServiceBenchmarkTest {
+    private static final String TAG = BackupServiceBenchmarkTest.class.getSimpleName();
+
+    private static final String DATABASE_NAME = "backup_benchmark.db";
+    private static final int TASK_COUNT = 10;
+    private static final int EVENT_COUNT = 200_000;
+    private static final int BACKUP_COUNT = 3;
+    private static final long STALL_BUDGET_MS = 100;
+
+    private ScratchDatabaseHelper dbHelper;
+    private File backupDirectory;
+    private BackupService backupService;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        dbHelper = new ScratchDatabaseHelper(context, DATABASE_NAME);
+        backupDirectory = new File(context.getCacheDir(), "backup_benchmark");
+        deleteDirectory(backupDirectory);
+        backupService = new BackupService(dbHelper, dbHelper.getDatabaseFile(), backupDirectory);
+        populate(dbHelper.getWritableDatabase());
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.delete();
+        deleteDirectory(backupDirectory);
+    }
+
+    @Test
+    public void createBackup_whileUiQueriesRun_shouldNotStallThem() throws Exception {
+        List<Long> idleLatencies = runUiQueries(null);
+
+        Thread backups = new Thread(() -> {
+            for (int i = 0; i < BACKUP_COUNT; i++) backupService.createBackup();
+        });
+        List<Long> backupLatencies = runUiQueries(backups);
+
+        long idleMax = percentile(idleLatencies, 100);
+        long backupP99 = percentile(backupLatencies, 99);
+        long backupMax = percentile(backupLatencies, 100);
+        Log.i(TAG, String.format("events=%d queries_during_backup=%d idle_max_ms=%d " +
+                        "backup_p99_ms=%d backup_max_ms=%d",
+                EVENT_COUNT, backupLatencies.size(), idleMax, backupP99, backupMax));
+
+        assertEquals(BACKUP_COUNT, backupService.getBackups().size());
+        assertTrue("UI queries stalled during backup", backupMax < STALL_BUDGET_MS);
+    }
+
+    @Test
+    public void restoreBackup_shouldReplaceDatabaseWithSnapshot() {
+        File snapshot = backupService.createBackup();
+        dbHelper.getWritableDatabase().delete(TaskEventTable.TABLE_NAME, null, null);
+
+        backupService.restoreBackup(snapshot);
+
+        assertEquals(EVENT_COUNT, DatabaseUtils.queryNumEntries(
+                dbHelper.getReadableDatabase(), TaskEventTable.TABLE_NAME));
+        assertTrue(dbHelper.getReadableDatabase().isDatabaseIntegrityOk());
+    }
+
+    @Test
+    public void createBackup_shouldLeaveSharedConnectionOpen() {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+
+        backupService.createBackup();
+
+        assertTrue("The backup closed the shared connection", db.isOpen());
+        assertEquals(TASK_COUNT, DatabaseUtils.queryNumEntries(db, TaskTable.TABLE_NAME));
+    }
+
+    @Test
+    public void restoreBackup_shouldStopJobsDuringSwapAndStartThemAfter() {
+        List<String> calls = new ArrayList<>();
+        BackupService service = new BackupService(dbHelper, dbHelper.getDatabaseFile(), backupDirectory,
+                Arrays.asList(job("expiry", calls), job("reminders", calls)));
+        File snapshot = service.createBackup();
+
+        service.restoreBackup(snapshot);
+
+        assertEquals(Arrays.asList("stop expiry", "stop reminders", "start reminders", "start expiry"), calls);
+    }
+
+    private static BackgroundJob job(String name, List<String> calls) {
+        return new BackgroundJob() {
+            @Override
+            public void start() {
+                calls.add("start " + name);
+            }
+
+            @Override
+            public void stop() {
+                calls.add("stop " + name);
+            }
+        };
+    }
+
+    /**
+     * Runs the kind of short reads a fragment issues while binding, timing each one.
+     * Without a background thread the queries run for a fixed count; otherwise they run until it ends.
+     */
+    private List<Long> runUiQueries(Thread background) throws InterruptedException {
+        final String query = "SELECT * FROM " + TaskEventTable.TABLE_NAME +
+                " WHERE " + TaskEventTable.COLUMN_TASK_ID + " = ? LIMIT 20";
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        List<Long> latencies = new ArrayList<>();
+
+        if (background != null) background.start();
+        for (int i = 0; background == null ? i < 200 : background.isAlive(); i++) {
+            long start = System.nanoTime();
+            try (Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(1 + i % TASK_COUNT)})) {
+                while (cursor.moveToNext()) cursor.getLong(0);
+            }
+            latencies.add((System.nanoTime() - start) / 1_000_000);
+            Thread.sleep(5);
+        }
+        if (background != null) background.join();
+        return latencies;
+    }
+
+    private static void populate(SQLiteDatabase db) {
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < TASK_COUNT; i++)
+                db.execSQL("INSERT INTO " + TaskTable.TABLE_NAME + " (" + TaskTable.COLUMN_ICON + ", " +
+                        TaskTable.COLUMN_TITLE + ", " + TaskTable.COLUMN_FREQUENCY + ") VALUES ('icon', 'Task', 'daily')");
+            SQLiteStatement event = db.compileStatement("INSERT INTO " + TaskEventTable.TABLE_NAME + " (" +
+                    TaskEventTable.COLUMN_TASK_ID + ", " + TaskEventTable.COLUMN_SCHEDULED_DATE +
+                    ") VALUES (?, datetime('2000-01-01', ? || ' days'))");
+            for (int i = 0; i < EVENT_COUNT; i++) {
+                event.bindLong(1, 1 + i % TASK_COUNT);
+                event.bindLong(2, i);
+                event.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private static long percentile(List<Long> values, int percentile) {
+        Long[] sorted = values.toArray(new Long[0]);
+        Arrays.sort(sorted);
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(0, index)];
+    }
+
+    private static void deleteDirectory(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) for (File file : files) file.delete();
+        directory.delete();
+    }
+}
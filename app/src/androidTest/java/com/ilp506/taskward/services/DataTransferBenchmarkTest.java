@@ -0,0 +1,163 @@
+package com.ilp506.taskward.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.ilp506.taskward.data.DatabaseContract.TaskEventTable;
+import com.ilp506.taskward.data.DatabaseContract.TaskTable;
+import com.ilp506.taskward.data.DatabaseContract.UserTable;
+import com.ilp506.taskward.data.ScratchDatabaseHelper;
+import com.ilp506.taskward.data.transfer.TransferFormat;
+import com.ilp506.taskward.data.transfer.TransferProgressListener;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Round-trips one million task events through export and import and checks that the heap
+ * retained while streaming stays within a fixed budget, independent of the row count.
+ * Runs on scratch database files so the app database is left untouched.
+ */
+public class DataTransferBenchmarkTest {
+    private static final String TAG = DataTransferBenchmarkTest.class.getSimpleName();
+
+    private static final int TASK_COUNT = 50;
+    private static final int EVENT_COUNT = 1_000_000;
+    private static final long HEAP_BUDGET_BYTES = 16L * 1024 * 1024;
+    private static final int HEAP_SAMPLE_INTERVAL = 100_000;
+
+    private Context context;
+    private ScratchDatabaseHelper source;
+    private ScratchDatabaseHelper target;
+    private File exportFile;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        source = new ScratchDatabaseHelper(context, "transfer_source.db");
+        target = new ScratchDatabaseHelper(context, "transfer_target.db");
+        exportFile = new File(context.getCacheDir(), "transfer_benchmark.export");
+        populate(source.getWritableDatabase());
+    }
+
+    @After
+    public void tearDown() {
+        source.delete();
+        target.delete();
+        exportFile.delete();
+    }
+
+    @Test
+    public void exportAndImport_whenMillionEvents_shouldStayWithinHeapBudget() throws Exception {
+        runRoundTrip(TransferFormat.JSON);
+    }
+
+    @Test
+    public void exportAndImportCsv_whenMillionEvents_shouldStayWithinHeapBudget() throws Exception {
+        runRoundTrip(TransferFormat.CSV);
+    }
+
+    private void runRoundTrip(TransferFormat format) throws Exception {
+        SQLiteDatabase sourceDb = source.getWritableDatabase();
+        SQLiteDatabase targetDb = target.getWritableDatabase();
+        HeapSampler exportHeap = new HeapSampler();
+        long start = System.nanoTime();
+        Map<String, Long> exported;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(exportFile))) {
+            exported = new DataTransferService(source).exportData(out, format, exportHeap);
+        }
+        long exportMillis = (System.nanoTime() - start) / 1_000_000;
+
+        HeapSampler importHeap = new HeapSampler();
+        start = System.nanoTime();
+        Map<String, Long> imported;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(exportFile))) {
+            imported = new DataTransferService(target).importData(in, format, importHeap);
+        }
+        long importMillis = (System.nanoTime() - start) / 1_000_000;
+
+        Log.i(TAG, String.format("format=%s events=%d file_kb=%d export_ms=%d import_ms=%d " +
+                        "export_heap_growth_kb=%d import_heap_growth_kb=%d",
+                format, EVENT_COUNT, exportFile.length() / 1024, exportMillis, importMillis,
+                exportHeap.maxGrowth / 1024, importHeap.maxGrowth / 1024));
+
+        assertEquals(EVENT_COUNT, (long) exported.get(TaskEventTable.TABLE_NAME));
+        assertEquals(EVENT_COUNT, (long) imported.get(TaskEventTable.TABLE_NAME));
+        assertEquals(EVENT_COUNT, DatabaseUtils.queryNumEntries(
+                target.getReadableDatabase(), TaskEventTable.TABLE_NAME));
+        assertTrue("The export closed the shared connection", sourceDb.isOpen());
+        assertTrue("The import closed the shared connection", targetDb.isOpen());
+        assertTrue("Export retained too much heap", exportHeap.maxGrowth < HEAP_BUDGET_BYTES);
+        assertTrue("Import retained too much heap", importHeap.maxGrowth < HEAP_BUDGET_BYTES);
+    }
+
+    /**
+     * Inserts one user, a few tasks and one million events spread over them.
+     */
+    private static void populate(SQLiteDatabase db) {
+        db.beginTransaction();
+        try {
+            db.execSQL("INSERT INTO " + UserTable.TABLE_NAME + " (" + UserTable.COLUMN_NAME + ", " +
+                    UserTable.COLUMN_EMAIL + ") VALUES ('Benchmark', 'benchmark@taskward.test')");
+            SQLiteStatement task = db.compileStatement("INSERT INTO " + TaskTable.TABLE_NAME + " (" +
+                    TaskTable.COLUMN_ICON + ", " + TaskTable.COLUMN_TITLE + ", " +
+                    TaskTable.COLUMN_FREQUENCY + ") VALUES ('icon', ?, 'daily')");
+            for (int i = 1; i <= TASK_COUNT; i++) {
+                task.bindString(1, "Task " + i);
+                task.executeInsert();
+            }
+
+            SQLiteStatement event = db.compileStatement("INSERT INTO " + TaskEventTable.TABLE_NAME + " (" +
+                    TaskEventTable.COLUMN_USER_ID + ", " + TaskEventTable.COLUMN_TASK_ID + ", " +
+                    TaskEventTable.COLUMN_SCHEDULED_DATE + ", " + TaskEventTable.COLUMN_STATUS +
+                    ") VALUES (1, ?, datetime('2000-01-01', ? || ' days'), ?)");
+            for (int i = 0; i < EVENT_COUNT; i++) {
+                event.bindLong(1, 1 + i % TASK_COUNT);
+                event.bindLong(2, i / TASK_COUNT);
+                event.bindString(3, i % 3 == 0 ? "expired" : "completed");
+                event.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Samples the retained heap after a collection every {@value #HEAP_SAMPLE_INTERVAL} rows.
+     */
+    private static final class HeapSampler implements TransferProgressListener {
+        private final long baseline = retainedHeap();
+        private long maxGrowth;
+
+        @Override
+        public void onProgress(String table, long processedRows, long totalRows) {
+            if (processedRows % HEAP_SAMPLE_INTERVAL != 0) return;
+            maxGrowth = Math.max(maxGrowth, retainedHeap() - baseline);
+        }
+
+        private static long retainedHeap() {
+            Runtime runtime = Runtime.getRuntime();
+            runtime.gc();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.ilp506.taskward.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.ilp506.taskward.data.DatabaseContract.TaskEventTable;
+import com.ilp506.taskward.data.ScratchDatabaseHelper;
+import com.ilp506.taskward.data.maintenance.AnalyzeJob;
+import com.ilp506.taskward.data.maintenance.IncrementalVacuumJob;
+import com.ilp506.taskward.data.maintenance.MaintenanceJob;
+import com.ilp506.taskward.data.maintenance.OptimizeJob;
+import com.ilp506.taskward.data.maintenance.QuickCheckJob;
+import com.ilp506.taskward.data.models.MaintenanceRun;
+import com.ilp506.taskward.data.repositories.MaintenanceRunRepository;
+import com.ilp506.taskward.data.storage.AndroidDatabaseProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the maintenance jobs against a database with many freed pages while another thread keeps
+ * writing, and checks that no write ever waits longer than a job budget.
+ * Runs on a scratch database file so the app database is left untouched.
+ */
+public class MaintenanceSchedulerTest {
+    private static final String TAG = MaintenanceSchedulerTest.class.getSimpleName();
+
+    private static final String DATABASE_NAME = "maintenance_test.db";
+    private static final int EVENT_COUNT = 200_000;
+    private static final long BUDGET_MILLIS = 20;
+    // Scheduling noise on a busy emulator, on top of the budget itself
+    private static final long WAIT_TOLERANCE_MILLIS = 15;
+
+    private ScratchDatabaseHelper dbHelper;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        dbHelper = new ScratchDatabaseHelper(context, DATABASE_NAME);
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        populate(db);
+        db.delete(TaskEventTable.TABLE_NAME, TaskEventTable.COLUMN_ID + " % 3 != 0", null);
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.delete();
+    }
+
+    @Test
+    public void runDueJobs_whileWriterIsBusy_shouldNeverHoldWriteLockPastBudget() throws Exception {
+        List<MaintenanceJob> jobs = Arrays.asList(
+                new IncrementalVacuumJob(0, BUDGET_MILLIS, () -> { }),
+                new OptimizeJob(0, BUDGET_MILLIS),
+                new AnalyzeJob(0, BUDGET_MILLIS),
+                new QuickCheckJob(0, BUDGET_MILLIS));
+        MaintenanceScheduler scheduler = new MaintenanceScheduler(
+                new AndroidDatabaseProvider(dbHelper), Runnable::run, jobs);
+        long freeBefore = freePages();
+
+        AtomicBoolean done = new AtomicBoolean();
+        List<Long> writeWaits = new ArrayList<>();
+        Thread writer = new Thread(() -> {
+            SQLiteDatabase db = dbHelper.getWritableDatabase();
+            while (!done.get()) {
+                long start = System.nanoTime();
+                db.execSQL("INSERT INTO " + TaskEventTable.TABLE_NAME + " (" +
+                        TaskEventTable.COLUMN_TASK_ID + ") VALUES (1)");
+                writeWaits.add((System.nanoTime() - start) / 1_000_000);
+            }
+        });
+
+        writer.start();
+        List<MaintenanceRun> runs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) runs.addAll(scheduler.runDueJobs());
+        done.set(true);
+        writer.join();
+
+        long maxWait = 0;
+        for (long wait : writeWaits) maxWait = Math.max(maxWait, wait);
+        long reclaimed = 0;
+        for (MaintenanceRun run : runs) reclaimed += run.getPagesReclaimed();
+        Log.i(TAG, String.format("runs=%d writes=%d max_write_wait_ms=%d free_pages_before=%d reclaimed=%d",
+                runs.size(), writeWaits.size(), maxWait, freeBefore, reclaimed));
+
+        assertTrue("A job held the write lock past its budget",
+                maxWait <= BUDGET_MILLIS + WAIT_TOLERANCE_MILLIS);
+        for (MaintenanceRun run : runs)
+            assertTrue(run.getJob() + " exceeded its budget",
+                    run.getDurationMillis() <= BUDGET_MILLIS + WAIT_TOLERANCE_MILLIS);
+        assertTrue("Incremental vacuum reclaimed nothing", reclaimed > 0);
+    }
+
+    @Test
+    public void runDueJobs_shouldRecordRunsAndSkipJobsNotDue() {
+        MaintenanceScheduler scheduler = new MaintenanceScheduler(new AndroidDatabaseProvider(dbHelper),
+                Runnable::run, Arrays.asList(
+                        new OptimizeJob(Long.MAX_VALUE / 2, BUDGET_MILLIS),
+                        new QuickCheckJob(Long.MAX_VALUE / 2, BUDGET_MILLIS)));
+
+        List<MaintenanceRun> first = scheduler.runDueJobs();
+        List<MaintenanceRun> second = scheduler.runDueJobs();
+
+        assertEquals(2, first.size());
+        assertEquals(0, second.size());
+        assertEquals(2, new MaintenanceRunRepository(dbHelper).getRecentMaintenanceRuns(10).size());
+    }
+
+    private long freePages() {
+        return DatabaseUtils.longForQuery(dbHelper.getReadableDatabase(), "PRAGMA freelist_count", null);
+    }
+
+    private static void populate(SQLiteDatabase db) {
+        db.beginTransaction();
+        try {
+            SQLiteStatement event = db.compileStatement("INSERT INTO " + TaskEventTable.TABLE_NAME + " (" +
+                    TaskEventTable.COLUMN_TASK_ID + ", " + TaskEventTable.COLUMN_SCHEDULED_DATE +
+                    ") VALUES (1, datetime('2000-01-01', ? || ' days'))");
+            for (int i = 0; i < EVENT_COUNT; i++) {
+                event.bindLong(1, i);
+                event.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.ilp506.taskward;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import com.ilp506.taskward.controllers.RewardController;
+import com.ilp506.taskward.controllers.TaskController;
+import com.ilp506.taskward.controllers.TaskEventController;
+import com.ilp506.taskward.controllers.UserController;
+import com.ilp506.taskward.data.DatabaseHelper;
+import com.ilp506.taskward.data.repositories.RewardRepository;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.data.repositories.TaskRepository;
+import com.ilp506.taskward.data.repositories.UserRepository;
+import com.ilp506.taskward.data.storage.AndroidDatabaseProvider;
+import com.ilp506.taskward.data.storage.DatabaseProvider;
+import com.ilp506.taskward.services.AndroidReminderAlarm;
+import com.ilp506.taskward.services.HorizonPlanner;
+import com.ilp506.taskward.services.MaintenanceScheduler;
+import com.ilp506.taskward.services.PointService;
+import com.ilp506.taskward.services.ReminderScheduler;
+import com.ilp506.taskward.services.VacuumConversionService;
+import com.ilp506.taskward.utils.CacheManager;
+import com.ilp506.taskward.utils.metrics.MetricsRegistry;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Application-scoped container owning the single instance of each repository, service and
+ * controller, so that every screen shares the same objects instead of building its own graph.
+ *
+ * Instances are created on first use and kept for the lifetime of the process. Tests can replace
+ * any of them with {@link #override(Class, Object)} before it is first requested. Each creation is
+ * counted in the "ServiceContainer.created.&lt;class&gt;" counter of the MetricsRegistry and in
+ * {@link #getCreationCounts()}.
+ */
+public class ServiceContainer {
+    private static final String METRIC_PREFIX = "ServiceContainer.created.";
+
+    /** Upper bound of the worker threads, whatever the number of cores. */
+    public static final int MAX_WORKERS = 4;
+
+    private final Context context;
+    private final Map<Class<?>, Object> instances = new HashMap<>();
+    private final Map<String, Integer> creationCounts = new TreeMap<>();
+
+    /**
+     * Constructs a ServiceContainer for the application.
+     *
+     * @param context The context used to open the database and the cache.
+     */
+    public ServiceContainer(@NonNull Context context) {
+        this.context = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+    }
+
+    /**
+     * Returns the container of the running application.
+     *
+     * @param context Any context of the application.
+     * @return The application's container.
+     */
+    @NonNull
+    public static ServiceContainer from(@NonNull Context context) {
+        return ((TaskwardApplication) context.getApplicationContext()).getServiceContainer();
+    }
+
+    /**
+     * Replaces the instance of a type for the rest of the session.
+     * Must be called before any instance depending on it is created.
+     *
+     * @param type The type to replace.
+     * @param instance The instance to hand out instead.
+     */
+    @VisibleForTesting
+    public synchronized <T> void override(@NonNull Class<T> type, @NonNull T instance) {
+        instances.put(type, type.cast(instance));
+    }
+
+    /**
+     * Returns how many instances of each type were created in this session, by class name.
+     * Overrides are not counted.
+     *
+     * @return A sorted snapshot of the counts.
+     */
+    @NonNull
+    public synchronized Map<String, Integer> getCreationCounts() {
+        return new TreeMap<>(creationCounts);
+    }
+
+    /**
+     * Returns the clock every time-dependent service and controller reads the current time from.
+     * Tests and simulations can override it with a {@link com.ilp506.taskward.utils.VirtualClock}.
+     *
+     * @return The Clock instance.
+     */
+    @NonNull
+    public Clock getClock() {
+        return get(Clock.class, Clock::systemDefaultZone);
+    }
+
+    /**
+     * Returns the shared pool of worker threads for background work split into parallel parts, such
+     * as planning a top-up of every task or the expiry sweep of several users. It holds one thread
+     * per core, at most {@value #MAX_WORKERS}, and its threads are daemons.
+     *
+     * @return The worker pool.
+     */
+    @NonNull
+    public ExecutorService getWorkerPool() {
+        return get(ExecutorService.class, () -> {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newFixedThreadPool(getWorkerCount(), runnable -> {
+                Thread thread = new Thread(runnable, "worker-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        });
+    }
+
+    /**
+     * Returns the shared provider of the database connections.
+     *
+     * @return The DatabaseProvider instance.
+     */
+    @NonNull
+    public DatabaseProvider getDatabaseProvider() {
+        return get(DatabaseProvider.class, () -> new AndroidDatabaseProvider(DatabaseHelper.getInstance(context)));
+    }
+
+    /**
+     * Returns the shared cache of the current user.
+     *
+     * @return The CacheManager instance.
+     */
+    @NonNull
+    public CacheManager getCacheManager() {
+        return get(CacheManager.class, () -> new CacheManager(context));
+    }
+
+    /**
+     * Returns the shared repository of users.
+     *
+     * @return The UserRepository instance.
+     */
+    @NonNull
+    public UserRepository getUserRepository() {
+        return get(UserRepository.class, () -> new UserRepository(getDatabaseProvider()));
+    }
+
+    /**
+     * Returns the shared repository of tasks.
+     *
+     * @return The TaskRepository instance.
+     */
+    @NonNull
+    public TaskRepository getTaskRepository() {
+        return get(TaskRepository.class, () -> new TaskRepository(getDatabaseProvider()));
+    }
+
+    /**
+     * Returns the shared repository of task events.
+     *
+     * @return The TaskEventRepository instance.
+     */
+    @NonNull
+    public TaskEventRepository getTaskEventRepository() {
+        return get(TaskEventRepository.class, () -> new TaskEventRepository(getDatabaseProvider()));
+    }
+
+    /**
+     * Returns the shared repository of rewards.
+     *
+     * @return The RewardRepository instance.
+     */
+    @NonNull
+    public RewardRepository getRewardRepository() {
+        return get(RewardRepository.class, () -> new RewardRepository(getDatabaseProvider()));
+    }
+
+    /**
+     * Returns the shared service managing user points.
+     *
+     * @return The PointService instance.
+     */
+    @NonNull
+    public PointService getPointService() {
+        return get(PointService.class, () -> new PointService(getUserRepository()));
+    }
+
+    /**
+     * Returns the shared planner materialising upcoming task events. Sharing it serialises their writes.
+     * Top-ups of every task are planned on the worker pool, a few partitions per worker.
+     *
+     * @return The HorizonPlanner instance.
+     */
+    @NonNull
+    public HorizonPlanner getHorizonPlanner() {
+        return get(HorizonPlanner.class, () -> new HorizonPlanner(getTaskRepository(), getTaskEventRepository(),
+                HorizonPlanner.DEFAULT_HORIZON_DAYS, getWorkerPool(), 4 * getWorkerCount()));
+    }
+
+    /**
+     * Returns the shared scheduler of database maintenance, running the jobs on the application's
+     * background thread. Maintenance needs the platform connection, so the provider must be the
+     * Android one. A conversion to incremental auto-vacuum is left to {@link VacuumConversionService}.
+     *
+     * @return The MaintenanceScheduler instance.
+     */
+    @NonNull
+    public MaintenanceScheduler getMaintenanceScheduler() {
+        return get(MaintenanceScheduler.class, () -> new MaintenanceScheduler(
+                (AndroidDatabaseProvider) getDatabaseProvider(),
+                ((TaskwardApplication) context).getBackgroundExecutor(),
+                () -> VacuumConversionService.schedule(context)));
+    }
+
+    /**
+     * Returns the shared scheduler of task reminders. It tracks the repository's writes once started,
+     * applying them on the application's background thread.
+     *
+     * @return The ReminderScheduler instance.
+     */
+    @NonNull
+    public ReminderScheduler getReminderScheduler() {
+        return get(ReminderScheduler.class, () -> new ReminderScheduler(getTaskEventRepository(),
+                new AndroidReminderAlarm(context), getClock(),
+                ((TaskwardApplication) context).getBackgroundExecutor()));
+    }
+
+    /**
+     * Returns the shared controller of users.
+     *
+     * @return The UserController instance.
+     */
+    @NonNull
+    public UserController getUserController() {
+        return get(UserController.class, () -> new UserController(getUserRepository(), getCacheManager()));
+    }
+
+    /**
+     * Returns the shared controller of tasks.
+     *
+     * @return The TaskController instance.
+     */
+    @NonNull
+    public TaskController getTaskController() {
+        return get(TaskController.class, () -> new TaskController(
+                getTaskRepository(), getTaskEventRepository(), getHorizonPlanner(), getClock()));
+    }
+
+    /**
+     * Returns the shared controller of task events.
+     *
+     * @return The TaskEventController instance.
+     */
+    @NonNull
+    public TaskEventController getTaskEventController() {
+        return get(TaskEventController.class, () -> new TaskEventController(
+                getTaskEventRepository(), getTaskRepository(), getPointService(), getHorizonPlanner(), getClock()));
+    }
+
+    /**
+     * Returns the shared controller of rewards.
+     *
+     * @return The RewardController instance.
+     */
+    @NonNull
+    public RewardController getRewardController() {
+        return get(RewardController.class, () -> new RewardController(
+                getRewardRepository(), getPointService(), getClock()));
+    }
+
+    /**
+     * Returns the instance of a type, creating it on first use. The lock is reentrant, so a
+     * factory may request its own dependencies.
+     *
+     * @param type The type of the instance.
+     * @param factory Creates the instance.
+     * @return The single instance of the type.
+     */
+    @NonNull
+    private synchronized <T> T get(@NonNull Class<T> type, @NonNull Supplier<T> factory) {
+        Object instance = instances.get(type);
+        if (instance == null) {
+            instance = factory.get();
+            instances.put(type, instance);
+
+            String name = type.getSimpleName();
+            creationCounts.merge(name, 1, Integer::sum);
+            MetricsRegistry.getInstance().counter(METRIC_PREFIX + name).increment();
+        }
+        return type.cast(instance);
+    }
+
+    private static int getWorkerCount() {
+        return Math.min(Runtime.getRuntime().availableProcessors(), MAX_WORKERS);
+    }
+}
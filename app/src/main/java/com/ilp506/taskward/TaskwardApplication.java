@@ -0,0 +1,122 @@
+package com.ilp506.taskward;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+
+import com.ilp506.taskward.services.BackgroundJob;
+import com.ilp506.taskward.services.ExpiryScheduler;
+import com.ilp506.taskward.services.StartupPipeline;
+import com.ilp506.taskward.utils.FileLogSink;
+import com.ilp506.taskward.utils.Logger;
+import com.ilp506.taskward.utils.trace.AndroidTraceBackend;
+import com.ilp506.taskward.utils.trace.Tracer;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Application class owning what lives as long as the process: tracing, the log file sink, the
+ * service container, the background thread for database work, the startup pipeline, the
+ * background expiry of task events, the reminder scheduler and database maintenance, which it
+ * starts before any activity is created.
+ */
+public class TaskwardApplication extends Application {
+    private static final long LOG_FILE_BYTES = 512 * 1024;
+    private static final int LOG_FILES = 4;
+    private static final int LOG_QUEUE_CAPACITY = 1024;
+
+    private ScheduledExecutorService backgroundExecutor;
+    private ServiceContainer serviceContainer;
+    private StartupPipeline startupPipeline;
+    private ExpiryScheduler expiryScheduler;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        Tracer.setBackend(new AndroidTraceBackend());
+        installFileLogSink();
+
+        backgroundExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "background"));
+        ServiceContainer services = getServiceContainer();
+        startupPipeline = new StartupPipeline(this, services, backgroundExecutor);
+        startupPipeline.start();
+
+        // Queued behind the startup work on the same thread; the users are swept on the worker pool
+        expiryScheduler = new ExpiryScheduler(services.getUserRepository(), services.getTaskEventRepository(),
+                services.getHorizonPlanner(), services.getCacheManager(), backgroundExecutor, services.getClock(),
+                ExpiryScheduler.DEFAULT_CHUNK_SIZE, services.getWorkerPool());
+        expiryScheduler.start();
+        backgroundExecutor.execute(services.getReminderScheduler()::start);
+        services.getMaintenanceScheduler().start();
+    }
+
+    /**
+     * Returns the container of the app's repositories, services and controllers, creating it on
+     * first use.
+     *
+     * @return The service container.
+     */
+    @NonNull
+    public synchronized ServiceContainer getServiceContainer() {
+        if (serviceContainer == null)
+            serviceContainer = new ServiceContainer(this);
+        return serviceContainer;
+    }
+
+    /**
+     * Returns the thread running database work off the main thread, one task at a time, including
+     * delayed tasks.
+     *
+     * @return The background executor.
+     */
+    @NonNull
+    public ScheduledExecutorService getBackgroundExecutor() {
+        return backgroundExecutor;
+    }
+
+    /**
+     * Returns the pipeline preloading the data of the first screen.
+     *
+     * @return The startup pipeline.
+     */
+    @NonNull
+    public StartupPipeline getStartupPipeline() {
+        return startupPipeline;
+    }
+
+    /**
+     * Returns the job expiring task events in the background.
+     *
+     * @return The expiry scheduler.
+     */
+    @NonNull
+    public ExpiryScheduler getExpiryScheduler() {
+        return expiryScheduler;
+    }
+
+    /**
+     * Returns the background jobs working on the database, which must be stopped while the
+     * database file is replaced.
+     *
+     * @return The expiry, reminder and maintenance jobs.
+     */
+    @NonNull
+    public List<BackgroundJob> getDatabaseJobs() {
+        ServiceContainer services = getServiceContainer();
+        return Arrays.asList(expiryScheduler, services.getReminderScheduler(), services.getMaintenanceScheduler());
+    }
+
+    /**
+     * Starts keeping the logs in rotated files under the app's files directory, so they survive
+     * process death. The logging threads never wait for the disk: records are dropped when the
+     * writer falls behind.
+     */
+    private void installFileLogSink() {
+        Logger.addSink(new FileLogSink(new File(getFilesDir(), "logs"), LOG_FILE_BYTES, LOG_FILES,
+                LOG_QUEUE_CAPACITY, FileLogSink.OverflowPolicy.DROP));
+    }
+}
@@ -3,11 +3,15 @@ package com.ilp506.taskward.controllers;
 import android.content.Context;
 
 import com.ilp506.taskward.data.models.Reward;
+import com.ilp506.taskward.data.models.SearchResult;
 import com.ilp506.taskward.data.repositories.RewardRepository;
 import com.ilp506.taskward.exceptions.handlers.ExceptionHandler;
 import com.ilp506.taskward.services.PointService;
 import com.ilp506.taskward.utils.OperationResponse;
+import com.ilp506.taskward.utils.trace.TraceSection;
+import com.ilp506.taskward.utils.trace.Tracer;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -17,9 +21,12 @@ import java.util.List;
  * while handling errors and returning structured responses.
  */
 public class RewardController {
+    private static final int SEARCH_RESULT_LIMIT = 50;
+
     private final ExceptionHandler exceptionHandler;
     private final RewardRepository rewardRepository;
     private final PointService pointService;
+    private final Clock clock;
 
     /**
      * Constructs a RewardController with a RewardRepository and a UserRepository instance.
@@ -27,9 +34,31 @@ public class RewardController {
      * @param context The application context used to initialize the repositories.
      */
     public RewardController(Context context) {
+        this(new RewardRepository(context), new PointService(context));
+    }
+
+    /**
+     * Constructs a RewardController on a given repository and point service.
+     *
+     * @param rewardRepository The repository of rewards.
+     * @param pointService The service debiting points on redemption.
+     */
+    public RewardController(RewardRepository rewardRepository, PointService pointService) {
+        this(rewardRepository, pointService, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructs a RewardController on a given repository, point service and clock.
+     *
+     * @param rewardRepository The repository of rewards.
+     * @param pointService The service debiting points on redemption.
+     * @param clock The clock giving the current time.
+     */
+    public RewardController(RewardRepository rewardRepository, PointService pointService, Clock clock) {
         this.exceptionHandler = ExceptionHandler.getInstance();
-        this.rewardRepository = new RewardRepository(context);
-        this.pointService = new PointService(context);
+        this.rewardRepository = rewardRepository;
+        this.pointService = pointService;
+        this.clock = clock;
     }
 
     /**
@@ -49,8 +78,8 @@ public class RewardController {
      * @return OperationResponse indicating success or failure.
      */
     public OperationResponse<Reward> createReward(Reward reward) {
-        try {
-            reward.validate();
+        try (TraceSection section = Tracer.section("RewardController.createReward")) {
+            reward.validate(LocalDateTime.now(clock));
             Reward createdReward = rewardRepository.createReward(reward);
 
             return OperationResponse.success("Reward created successfully", createdReward);
@@ -65,7 +94,7 @@ public class RewardController {
      * @return OperationResponse containing the list of rewards or failure message.
      */
     public OperationResponse<List<Reward>> getAllRewards() {
-        try {
+        try (TraceSection section = Tracer.section("RewardController.getAllRewards")) {
             List<Reward> rewards = rewardRepository.getAllRewards();
             if (rewards.isEmpty())
                 return OperationResponse.failure("No rewards found.");
@@ -76,6 +105,24 @@ public class RewardController {
         }
     }
 
+    /**
+     * Retrieves the rewards of a user.
+     *
+     * @param userId The ID of the user.
+     * @return OperationResponse containing the list of rewards or failure message.
+     */
+    public OperationResponse<List<Reward>> getRewardsByUser(int userId) {
+        try (TraceSection section = Tracer.section("RewardController.getRewardsByUser")) {
+            List<Reward> rewards = rewardRepository.getRewardsByUserId(userId);
+            if (rewards.isEmpty())
+                return OperationResponse.failure("No rewards found.");
+
+            return OperationResponse.success("Rewards retrieved successfully", rewards);
+        } catch (Exception e) {
+            return exceptionHandler.handleException(e, "Failed to retrieve rewards.");
+        }
+    }
+
     /**
      * Retrieves a reward by its ID.
      *
@@ -83,7 +130,7 @@ public class RewardController {
      * @return OperationResponse containing the reward object or failure message.
      */
     public OperationResponse<Reward> getRewardById(int rewardId) {
-        try {
+        try (TraceSection section = Tracer.section("RewardController.getRewardById")) {
             validateRewardId(rewardId);
 
             Reward reward = rewardRepository.getRewardById(rewardId);
@@ -103,9 +150,9 @@ public class RewardController {
      * @return OperationResponse indicating success or failure.
      */
     public OperationResponse<Reward> updateReward(Reward reward) {
-        try {
+        try (TraceSection section = Tracer.section("RewardController.updateReward")) {
             validateRewardId(reward.getId());
-            reward.validate();
+            reward.validate(LocalDateTime.now(clock));
 
             Reward existingReward = rewardRepository.getRewardById(reward.getId());
             if (existingReward == null)
@@ -125,7 +172,7 @@ public class RewardController {
      * @return OperationResponse indicating success or failure.
      */
     public OperationResponse<Void> deleteReward(int rewardId) {
-        try {
+        try (TraceSection section = Tracer.section("RewardController.deleteReward")) {
             validateRewardId(rewardId);
             Reward existingReward = rewardRepository.getRewardById(rewardId);
             if (existingReward == null)
@@ -145,7 +192,7 @@ public class RewardController {
      * @return OperationResponse indicating success or failure.
      */
     public OperationResponse<Void> redeemReward(int rewardId) {
-        try {
+        try (TraceSection section = Tracer.section("RewardController.redeemReward")) {
             validateRewardId(rewardId);
 
             Reward existingReward = rewardRepository.getRewardById(rewardId);
@@ -155,7 +202,7 @@ public class RewardController {
             if (existingReward.getDateRedeemed() != null)
                 return OperationResponse.failure("Reward already redeemed.");
 
-            existingReward.setDateRedeemed(LocalDateTime.now());
+            existingReward.setDateRedeemed(LocalDateTime.now(clock));
             rewardRepository.updateReward(existingReward);
 
             boolean pointsUpdated = pointService.addPoints(
@@ -170,4 +217,25 @@ public class RewardController {
             return exceptionHandler.handleException(e, "Failed to redeem reward.");
         }
     }
+
+    /**
+     * Searches rewards by title and description.
+     *
+     * @param query The text typed by the user; every word is matched as a prefix.
+     * @return OperationResponse containing the ranked results or failure message.
+     */
+    public OperationResponse<List<SearchResult<Reward>>> searchRewards(String query) {
+        try (TraceSection section = Tracer.section("RewardController.searchRewards")) {
+            if (query == null || query.trim().isEmpty())
+                throw new IllegalArgumentException("Search query must not be empty.");
+
+            List<SearchResult<Reward>> results = rewardRepository.searchRewards(query, SEARCH_RESULT_LIMIT);
+            if (results.isEmpty())
+                return OperationResponse.failure("No rewards found.");
+
+            return OperationResponse.success("Rewards found successfully", results);
+        } catch (Exception e) {
+            return exceptionHandler.handleException(e, "Failed to search rewards.");
+        }
+    }
 }
@@ -2,14 +2,19 @@ package com.ilp506.taskward.controllers;
 
 import android.content.Context;
 
+import com.ilp506.taskward.data.models.SearchResult;
 import com.ilp506.taskward.data.models.Task;
 import com.ilp506.taskward.data.models.TaskEvent;
 import com.ilp506.taskward.data.repositories.TaskEventRepository;
 import com.ilp506.taskward.data.repositories.TaskRepository;
 import com.ilp506.taskward.exceptions.handlers.ExceptionHandler;
+import com.ilp506.taskward.services.HorizonPlanner;
 import com.ilp506.taskward.utils.OperationResponse;
-import com.ilp506.taskward.utils.TaskScheduler;
+import com.ilp506.taskward.utils.trace.TraceSection;
+import com.ilp506.taskward.utils.trace.Tracer;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -18,9 +23,13 @@ import java.util.List;
  * while handling errors and returning structured responses.
  */
 public class TaskController {
+    private static final int SEARCH_RESULT_LIMIT = 50;
+
     private final ExceptionHandler exceptionHandler;
     private final TaskRepository taskRepository;
     private final TaskEventRepository taskEventRepository;
+    private final HorizonPlanner horizonPlanner;
+    private final Clock clock;
 
     /**
      * Constructs a TaskController with a TaskRepository and TaskEventRepository instance.
@@ -28,9 +37,46 @@ public class TaskController {
      * @param context The application context used to initialize the repositories.
      */
     public TaskController(Context context) {
+        this(new TaskRepository(context), new TaskEventRepository(context));
+    }
+
+    /**
+     * Constructs a TaskController on given repositories.
+     *
+     * @param taskRepository The repository of tasks.
+     * @param taskEventRepository The repository of task events.
+     */
+    public TaskController(TaskRepository taskRepository, TaskEventRepository taskEventRepository) {
+        this(taskRepository, taskEventRepository, new HorizonPlanner(taskRepository, taskEventRepository));
+    }
+
+    /**
+     * Constructs a TaskController on given repositories and planner.
+     *
+     * @param taskRepository The repository of tasks.
+     * @param taskEventRepository The repository of task events.
+     * @param horizonPlanner The planner materialising the tasks' upcoming events.
+     */
+    public TaskController(TaskRepository taskRepository, TaskEventRepository taskEventRepository,
+                          HorizonPlanner horizonPlanner) {
+        this(taskRepository, taskEventRepository, horizonPlanner, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructs a TaskController on given repositories, planner and clock.
+     *
+     * @param taskRepository The repository of tasks.
+     * @param taskEventRepository The repository of task events.
+     * @param horizonPlanner The planner materialising the tasks' upcoming events.
+     * @param clock The clock giving the current time.
+     */
+    public TaskController(TaskRepository taskRepository, TaskEventRepository taskEventRepository,
+                          HorizonPlanner horizonPlanner, Clock clock) {
         this.exceptionHandler = ExceptionHandler.getInstance();
-        this.taskRepository = new TaskRepository(context);
-        this.taskEventRepository = new TaskEventRepository(context);
+        this.taskRepository = taskRepository;
+        this.taskEventRepository = taskEventRepository;
+        this.horizonPlanner = horizonPlanner;
+        this.clock = clock;
     }
 
     /**
@@ -44,19 +90,17 @@ public class TaskController {
     }
 
     /**
-     * Creates a new task and its first event if applicable.
+     * Creates a new task and its events up to the planning horizon.
      *
      * @param task The task to be created.
      * @return OperationResponse containing the created task or failure message.
      */
     public OperationResponse<Task> createTask(Task task) {
-        try {
-            task.validate();
+        try (TraceSection section = Tracer.section("TaskController.createTask")) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            task.validate(now);
             Task createdTask = taskRepository.createTask(task);
-
-            TaskEvent firstEvent = TaskScheduler.generateNextTaskEvent(createdTask, null);
-            if (firstEvent != null)
-                taskEventRepository.createTaskEvent(firstEvent);
+            horizonPlanner.topUp(createdTask, now);
 
             return OperationResponse.success("Task and initial event created successfully", createdTask);
         } catch (Exception e) {
@@ -70,7 +114,7 @@ public class TaskController {
      * @return OperationResponse containing the list of tasks or failure message.
      */
     public OperationResponse<List<Task>> getAllTasks() {
-        try {
+        try (TraceSection section = Tracer.section("TaskController.getAllTasks")) {
             List<Task> tasks = taskRepository.getAllTasks();
             if (tasks.isEmpty())
                 return OperationResponse.failure("No tasks found.");
@@ -81,6 +125,24 @@ public class TaskController {
         }
     }
 
+    /**
+     * Retrieves the tasks assigned to a user.
+     *
+     * @param userId The ID of the user.
+     * @return OperationResponse containing the list of tasks or failure message.
+     */
+    public OperationResponse<List<Task>> getTasksByUser(int userId) {
+        try (TraceSection section = Tracer.section("TaskController.getTasksByUser")) {
+            List<Task> tasks = taskRepository.getTasksByUserId(userId);
+            if (tasks.isEmpty())
+                return OperationResponse.failure("No tasks found.");
+
+            return OperationResponse.success("Tasks retrieved successfully", tasks);
+        } catch (Exception e) {
+            return exceptionHandler.handleException(e, "Failed to retrieve tasks.");
+        }
+    }
+
     /**
      * Retrieves a task by its ID.
      *
@@ -88,7 +150,7 @@ public class TaskController {
      * @return OperationResponse containing the task or failure message.
      */
     public OperationResponse<Task> getTaskById(int taskId) {
-        try {
+        try (TraceSection section = Tracer.section("TaskController.getTaskById")) {
             validateTaskId(taskId);
             Task task = taskRepository.getTaskById(taskId);
             if (task == null)
@@ -101,21 +163,24 @@ public class TaskController {
     }
 
     /**
-     * Updates an existing task.
+     * Updates an existing task. Its upcoming scheduled events are planned again, as the schedule
+     * may have changed.
      *
      * @param task Task object containing updated details.
      * @return OperationResponse indicating success or failure.
      */
     public OperationResponse<Task> updateTask(Task task) {
-        try {
+        try (TraceSection section = Tracer.section("TaskController.updateTask")) {
             validateTaskId(task.getId());
-            task.validate();
+            LocalDateTime now = LocalDateTime.now(clock);
+            task.validate(now);
 
             Task existingTask = taskRepository.getTaskById(task.getId());
             if (existingTask == null)
                 return OperationResponse.failure("Task not found.");
 
             Task updatedTask = taskRepository.updateTask(task);
+            horizonPlanner.replan(updatedTask, now);
             return OperationResponse.success("Task updated successfully", updatedTask);
         } catch (Exception e) {
             return exceptionHandler.handleException(e, "Failed to update task.");
@@ -129,7 +194,7 @@ public class TaskController {
      * @return OperationResponse indicating success or failure.
      */
     public OperationResponse<Void> deleteTask(int taskId) {
-        try {
+        try (TraceSection section = Tracer.section("TaskController.deleteTask")) {
             validateTaskId(taskId);
 
             Task existingTask = taskRepository.getTaskById(taskId);
@@ -149,7 +214,7 @@ public class TaskController {
      * @return OperationResponse containing the list of tasks with associated task events or failure message.
      */
     public OperationResponse<List<Task>> getAllTasksWithTaskEvents() {
-        try {
+        try (TraceSection section = Tracer.section("TaskController.getAllTasksWithTaskEvents")) {
             List<Task> tasks = taskRepository.getAllTasks();
             if (tasks.isEmpty())
                 return OperationResponse.failure("No tasks found.");
@@ -165,6 +230,29 @@ public class TaskController {
         }
     }
 
+    /**
+     * Retrieves the tasks assigned to a user with their associated task events.
+     *
+     * @param userId The ID of the user.
+     * @return OperationResponse containing the list of tasks with associated task events or failure message.
+     */
+    public OperationResponse<List<Task>> getTasksByUserWithTaskEvents(int userId) {
+        try (TraceSection section = Tracer.section("TaskController.getTasksByUserWithTaskEvents")) {
+            List<Task> tasks = taskRepository.getTasksByUserId(userId);
+            if (tasks.isEmpty())
+                return OperationResponse.failure("No tasks found.");
+
+            for (Task task : tasks) {
+                List<TaskEvent> taskEvents = taskEventRepository.getAllTaskEventsByTaskId(task.getId());
+                task.setTaskEvents(taskEvents);
+            }
+
+            return OperationResponse.success("Tasks with events retrieved successfully", tasks);
+        } catch (Exception e) {
+            return exceptionHandler.handleException(e, "Failed to retrieve tasks with events.");
+        }
+    }
+
     /**
      * Retrieves a task by its ID along with its associated task events.
      *
@@ -172,7 +260,7 @@ public class TaskController {
      * @return OperationResponse containing the task with associated task events or failure message.
      */
     public OperationResponse<Task> getTaskByIdWithTaskEvents(int taskId) {
-        try {
+        try (TraceSection section = Tracer.section("TaskController.getTaskByIdWithTaskEvents")) {
             validateTaskId(taskId);
 
             Task task = taskRepository.getTaskById(taskId);
@@ -187,4 +275,25 @@ public class TaskController {
             return exceptionHandler.handleException(e, "Failed to retrieve task with events.");
         }
     }
+
+    /**
+     * Searches tasks by title and description.
+     *
+     * @param query The text typed by the user; every word is matched as a prefix.
+     * @return OperationResponse containing the ranked results or failure message.
+     */
+    public OperationResponse<List<SearchResult<Task>>> searchTasks(String query) {
+        try (TraceSection section = Tracer.section("TaskController.searchTasks")) {
+            if (query == null || query.trim().isEmpty())
+                throw new IllegalArgumentException("Search query must not be empty.");
+
+            List<SearchResult<Task>> results = taskRepository.searchTasks(query, SEARCH_RESULT_LIMIT);
+            if (results.isEmpty())
+                return OperationResponse.failure("No tasks found.");
+
+            return OperationResponse.success("Tasks found successfully", results);
+        } catch (Exception e) {
+            return exceptionHandler.handleException(e, "Failed to search tasks.");
+        }
+    }
 }
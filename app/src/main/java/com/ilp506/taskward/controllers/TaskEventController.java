@@ -8,10 +8,17 @@ import com.ilp506.taskward.data.models.TaskEvent;
 import com.ilp506.taskward.data.repositories.TaskEventRepository;
 import com.ilp506.taskward.data.repositories.TaskRepository;
 import com.ilp506.taskward.exceptions.handlers.ExceptionHandler;
+import com.ilp506.taskward.services.ExpiryScheduler;
+import com.ilp506.taskward.services.HorizonPlanner;
+import com.ilp506.taskward.services.OccurrenceService;
 import com.ilp506.taskward.services.PointService;
 import com.ilp506.taskward.utils.OperationResponse;
-import com.ilp506.taskward.utils.TaskScheduler;
+import com.ilp506.taskward.utils.metrics.Histogram;
+import com.ilp506.taskward.utils.metrics.MetricsRegistry;
+import com.ilp506.taskward.utils.trace.TraceSection;
+import com.ilp506.taskward.utils.trace.Tracer;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -21,10 +28,16 @@ import java.util.List;
  * while handling errors and returning structured responses.
  */
 public class TaskEventController {
+    private static final Histogram completeTimer =
+            MetricsRegistry.getInstance().timer("TaskEventController.completeTaskEvent");
+
     private final ExceptionHandler exceptionHandler;
     private final TaskEventRepository taskEventRepository;
     private final TaskRepository taskRepository;
     private final PointService pointService;
+    private final HorizonPlanner horizonPlanner;
+    private final OccurrenceService occurrenceService;
+    private final Clock clock;
 
     /**
      * Constructs a TaskEventController with repository instances.
@@ -32,10 +45,53 @@ public class TaskEventController {
      * @param context The application context used to initialize the repositories.
      */
     public TaskEventController(Context context) {
+        this(new TaskEventRepository(context), new TaskRepository(context), new PointService(context));
+    }
+
+    /**
+     * Constructs a TaskEventController on given repositories.
+     *
+     * @param taskEventRepository The repository of task events.
+     * @param taskRepository The repository of tasks.
+     * @param pointService The service crediting points on completion.
+     */
+    public TaskEventController(TaskEventRepository taskEventRepository, TaskRepository taskRepository,
+                               PointService pointService) {
+        this(taskEventRepository, taskRepository, pointService,
+                new HorizonPlanner(taskRepository, taskEventRepository));
+    }
+
+    /**
+     * Constructs a TaskEventController on given repositories and services.
+     *
+     * @param taskEventRepository The repository of task events.
+     * @param taskRepository The repository of tasks.
+     * @param pointService The service crediting points on completion.
+     * @param horizonPlanner The planner materialising the tasks' upcoming events.
+     */
+    public TaskEventController(TaskEventRepository taskEventRepository, TaskRepository taskRepository,
+                               PointService pointService, HorizonPlanner horizonPlanner) {
+        this(taskEventRepository, taskRepository, pointService, horizonPlanner, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructs a TaskEventController on given repositories, services and clock.
+     *
+     * @param taskEventRepository The repository of task events.
+     * @param taskRepository The repository of tasks.
+     * @param pointService The service crediting points on completion.
+     * @param horizonPlanner The planner materialising the tasks' upcoming events.
+     * @param clock The clock giving the current time.
+     */
+    public TaskEventController(TaskEventRepository taskEventRepository, TaskRepository taskRepository,
+                               PointService pointService, HorizonPlanner horizonPlanner, Clock clock) {
         this.exceptionHandler = ExceptionHandler.getInstance();
-        this.taskEventRepository = new TaskEventRepository(context);
-        this.taskRepository = new TaskRepository(context);
-        this.pointService = new PointService(context);
+        this.taskEventRepository = taskEventRepository;
+        this.taskRepository = taskRepository;
+        this.pointService = pointService;
+        this.horizonPlanner = horizonPlanner;
+        this.occurrenceService = new OccurrenceService(taskRepository, taskEventRepository);
+        this.clock = clock;
     }
 
     /**
@@ -45,7 +101,7 @@ public class TaskEventController {
      * @return OperationResponse containing the created TaskEvent or failure message.
      */
     public OperationResponse<TaskEvent> createTaskEvent(TaskEvent taskEvent) {
-        try {
+        try (TraceSection section = Tracer.section("TaskEventController.createTaskEvent")) {
             taskEvent.validate();
             TaskEvent createdTaskEvent = taskEventRepository.createTaskEvent(taskEvent);
 
@@ -61,7 +117,7 @@ public class TaskEventController {
      * @return OperationResponse containing the list of TaskEvents or failure message.
      */
     public OperationResponse<List<TaskEvent>> getAllTaskEvents() {
-        try {
+        try (TraceSection section = Tracer.section("TaskEventController.getAllTaskEvents")) {
             List<TaskEvent> taskEvents = taskEventRepository.getAllTaskEvents();
             if (taskEvents.isEmpty())
                 return OperationResponse.failure("No task events found.");
@@ -72,6 +128,40 @@ public class TaskEventController {
         }
     }
 
+    /**
+     * Retrieves the TaskEvents of a user.
+     *
+     * @param userId The ID of the user.
+     * @return OperationResponse containing the list of TaskEvents or failure message.
+     */
+    public OperationResponse<List<TaskEvent>> getTaskEventsByUser(int userId) {
+        try (TraceSection section = Tracer.section("TaskEventController.getTaskEventsByUser")) {
+            List<TaskEvent> taskEvents = taskEventRepository.getTaskEventsByUserId(userId);
+            if (taskEvents.isEmpty())
+                return OperationResponse.failure("No task events found.");
+
+            return OperationResponse.success("Task events retrieved successfully", taskEvents);
+        } catch (Exception e) {
+            return exceptionHandler.handleException(e, "Failed to retrieve task events.");
+        }
+    }
+
+    /**
+     * Retrieves the occurrences of every task within a range, stored or generated on read.
+     *
+     * @param from The start of the range, inclusive.
+     * @param to The end of the range, inclusive.
+     * @return OperationResponse containing the occurrences ordered by scheduled date or failure message.
+     */
+    public OperationResponse<List<TaskEvent>> getOccurrences(LocalDateTime from, LocalDateTime to) {
+        try (TraceSection section = Tracer.section("TaskEventController.getOccurrences")) {
+            List<TaskEvent> occurrences = occurrenceService.getOccurrences(from, to);
+            return OperationResponse.success("Occurrences retrieved successfully", occurrences);
+        } catch (Exception e) {
+            return exceptionHandler.handleException(e, "Failed to retrieve occurrences.");
+        }
+    }
+
     /**
      * Retrieves a TaskEvent by its ID.
      *
@@ -79,7 +169,7 @@ public class TaskEventController {
      * @return OperationResponse containing the TaskEvent or failure message.
      */
     public OperationResponse<TaskEvent> getTaskEventById(int taskEventId) {
-        try {
+        try (TraceSection section = Tracer.section("TaskEventController.getTaskEventById")) {
             TaskEvent taskEvent = taskEventRepository.getTaskEventById(taskEventId);
             if (taskEvent == null)
                 return OperationResponse.failure("Task event not found.");
@@ -97,7 +187,7 @@ public class TaskEventController {
      * @return OperationResponse containing the updated TaskEvent or failure message.
      */
     public OperationResponse<TaskEvent> updateTaskEvent(TaskEvent taskEvent) {
-        try {
+        try (TraceSection section = Tracer.section("TaskEventController.updateTaskEvent")) {
             taskEvent.validate();
 
             TaskEvent existingTaskEvent = taskEventRepository.getTaskEventById(taskEvent.getId());
@@ -118,7 +208,7 @@ public class TaskEventController {
      * @return OperationResponse indicating success or failure.
      */
     public OperationResponse<Void> deleteTaskEvent(int taskEventId) {
-        try {
+        try (TraceSection section = Tracer.section("TaskEventController.deleteTaskEvent")) {
             TaskEvent existingTaskEvent = taskEventRepository.getTaskEventById(taskEventId);
             if (existingTaskEvent == null)
                 return OperationResponse.failure("Task event not found.");
@@ -131,13 +221,14 @@ public class TaskEventController {
     }
 
     /**
-     * Completes a TaskEvent and schedules the next instance if applicable.
+     * Completes a TaskEvent and tops up the task's upcoming events if applicable.
      *
      * @param taskEventId The ID of the TaskEvent to complete.
      * @return OperationResponse indicating success or failure.
      */
     public OperationResponse<Void> completeTaskEvent(int taskEventId) {
-        try {
+        long start = System.nanoTime();
+        try (TraceSection section = Tracer.section("TaskEventController.completeTaskEvent")) {
             TaskEvent event = taskEventRepository.getTaskEventById(taskEventId);
             if (event == null)
                 return OperationResponse.failure("Task event not found.");
@@ -145,8 +236,9 @@ public class TaskEventController {
             if (event.getStatus() != TaskEventStatusEnum.SCHEDULED)
                 return OperationResponse.failure("Task event is not scheduled.");
 
+            LocalDateTime now = LocalDateTime.now(clock);
             event.setStatus(TaskEventStatusEnum.COMPLETED);
-            event.setCompletedDate(LocalDateTime.now());
+            event.setCompletedDate(now);
             taskEventRepository.updateTaskEvent(event);
 
             boolean pointsUpdated = pointService.addPoints(event.getUserId(), event.getPointsEarned());
@@ -155,25 +247,42 @@ public class TaskEventController {
 
             Task task = taskRepository.getTaskById(event.getTaskId());
             if (task != null) {
-                TaskEvent nextEvent = TaskScheduler.generateNextTaskEvent(task, event);
-                if (nextEvent != null) taskEventRepository.createTaskEvent(nextEvent);
+                horizonPlanner.topUp(task, now);
                 // TODO implement logic for completed Task
             }
 
             return OperationResponse.success("Task event completed successfully.");
         } catch (Exception e) {
             return exceptionHandler.handleException(e, "Failed to complete task event.");
+        } finally {
+            completeTimer.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Completes an occurrence returned by {@link #getOccurrences(LocalDateTime, LocalDateTime)},
+     * storing it first if it was generated on read.
+     *
+     * @param occurrence The occurrence to complete.
+     * @return OperationResponse indicating success or failure.
+     */
+    public OperationResponse<Void> completeOccurrence(TaskEvent occurrence) {
+        try (TraceSection section = Tracer.section("TaskEventController.completeOccurrence")) {
+            return completeTaskEvent(occurrenceService.store(occurrence).getId());
+        } catch (Exception e) {
+            return exceptionHandler.handleException(e, "Failed to complete occurrence.");
         }
     }
 
     /**
-     * Reverts the completion of a TaskEvent.
+     * Reverts the completion of a TaskEvent. The task's upcoming events do not depend on
+     * completions, so they are kept.
      *
      * @param taskEventId The ID of the TaskEvent to revert.
      * @return OperationResponse indicating success or failure.
      */
     public OperationResponse<Void> revertTaskEventCompletion(int taskEventId) {
-        try {
+        try (TraceSection section = Tracer.section("TaskEventController.revertTaskEventCompletion")) {
             TaskEvent event = taskEventRepository.getTaskEventById(taskEventId);
             if (event == null)
                 return OperationResponse.failure("Task event not found.");
@@ -189,14 +298,6 @@ public class TaskEventController {
             if (!pointsUpdated)
                 return OperationResponse.failure("Failed to update user points.");
 
-            Task task = taskRepository.getTaskById(event.getTaskId());
-            if (task != null) {
-                TaskEvent nextEvent = taskEventRepository.getNextTaskEvent(event);
-                if (nextEvent != null && nextEvent.getStatus() == TaskEventStatusEnum.SCHEDULED) {
-                    taskEventRepository.deleteTaskEvent(nextEvent.getId());
-                }
-            }
-
             return OperationResponse.success("Task event completion reverted successfully.");
         } catch (Exception e) {
             return exceptionHandler.handleException(e, "Failed to revert task event completion.");
@@ -204,28 +305,24 @@ public class TaskEventController {
     }
 
     /**
-     * Processes expired TaskEvents and generates the next instances if applicable.
+     * Processes expired TaskEvents and tops up the upcoming events of every task.
+     * The due events are expired in chunks over the scheduled date index, and a task left alone
+     * for several intervals is caught up in one pass: every occurrence it missed is recorded as
+     * expired, together with the upcoming ones, in a single batch. The app runs the same sweep in
+     * the background with {@link ExpiryScheduler}.
      *
      * @return OperationResponse indicating the result of the operation.
      */
     public OperationResponse<Void> checkAndGenerateExpiredEvents() {
-        try {
-            List<TaskEvent> pendingEvents = taskEventRepository.getAllTaskEvents();
-            LocalDateTime now = LocalDateTime.now();
-
-            for (TaskEvent event : pendingEvents) {
-                if (event.getScheduledDate().isBefore(now) && event.getStatus() == TaskEventStatusEnum.SCHEDULED) {
-                    event.setStatus(TaskEventStatusEnum.EXPIRED);
-                    taskEventRepository.updateTaskEvent(event);
-
-                    Task task = taskRepository.getTaskById(event.getTaskId());
-                    if (task != null) {
-                        TaskEvent nextEvent = TaskScheduler.generateNextTaskEvent(task, event);
-                        if (nextEvent != null) taskEventRepository.createTaskEvent(nextEvent);
-                            // TODO implement logic for completed Task
-                    }
-                }
-            }
+        try (TraceSection section = Tracer.section("TaskEventController.checkAndGenerateExpiredEvents")) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            LocalDateTime from = null;
+            List<TaskEvent> expired;
+            do {
+                expired = taskEventRepository.expireDueTaskEvents(from, now, ExpiryScheduler.DEFAULT_CHUNK_SIZE);
+                if (!expired.isEmpty()) from = expired.get(expired.size() - 1).getScheduledDate();
+            } while (expired.size() == ExpiryScheduler.DEFAULT_CHUNK_SIZE);
+            horizonPlanner.topUp(now);
 
             return OperationResponse.success("Expired events processed successfully.");
         } catch (Exception e) {
@@ -7,6 +7,10 @@ import com.ilp506.taskward.data.repositories.UserRepository;
 import com.ilp506.taskward.exceptions.handlers.ExceptionHandler;
 import com.ilp506.taskward.utils.CacheManager;
 import com.ilp506.taskward.utils.OperationResponse;
+import com.ilp506.taskward.utils.trace.TraceSection;
+import com.ilp506.taskward.utils.trace.Tracer;
+
+import java.util.List;
 
 /**
  * Controller class responsible for managing User operations.
@@ -24,9 +28,19 @@ public class UserController {
      * @param context The application context used to initialize the UserRepository.
      */
     public UserController(Context context) {
+        this(new UserRepository(context), new CacheManager(context));
+    }
+
+    /**
+     * Constructs a UserController on a given repository and cache.
+     *
+     * @param userRepository The repository of users.
+     * @param cacheManager The cache holding the current user's ID.
+     */
+    public UserController(UserRepository userRepository, CacheManager cacheManager) {
         this.exceptionHandler = ExceptionHandler.getInstance();
-        this.userRepository = new UserRepository(context);
-        this.cacheManager = new CacheManager(context);
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
     }
 
     /**
@@ -46,7 +60,7 @@ public class UserController {
      * @return OperationResponse indicating success or failure.
      */
     public OperationResponse<User> createUser(User user) {
-        try {
+        try (TraceSection section = Tracer.section("UserController.createUser")) {
             user.validate();
 
             User createdUser = userRepository.createUser(user);
@@ -66,7 +80,7 @@ public class UserController {
      * @return OperationResponse containing the user object or failure message.
      */
     public OperationResponse<User> getUserById(int userId) {
-        try {
+        try (TraceSection section = Tracer.section("UserController.getUserById")) {
             validateUserId(userId);
             User user = userRepository.getUserById(userId);
 
@@ -79,6 +93,43 @@ public class UserController {
         }
     }
 
+    /**
+     * Retrieves every user profile on the device.
+     *
+     * @return OperationResponse containing the list of users or failure message.
+     */
+    public OperationResponse<List<User>> getAllUsers() {
+        try (TraceSection section = Tracer.section("UserController.getAllUsers")) {
+            List<User> users = userRepository.getAllUsers();
+            if (users.isEmpty())
+                return OperationResponse.failure("No users found.");
+
+            return OperationResponse.success("Users retrieved successfully", users);
+        } catch (Exception e) {
+            return exceptionHandler.handleException(e, "Failed to retrieve users.");
+        }
+    }
+
+    /**
+     * Makes a user the active one, whose tasks and points the app shows from then on.
+     *
+     * @param userId ID of the user to switch to.
+     * @return OperationResponse containing the user object or failure message.
+     */
+    public OperationResponse<User> switchUser(int userId) {
+        try (TraceSection section = Tracer.section("UserController.switchUser")) {
+            validateUserId(userId);
+            User user = userRepository.getUserById(userId);
+            if (user == null)
+                return OperationResponse.failure("User not found");
+
+            cacheManager.saveUserId(userId);
+            return OperationResponse.success("User switched successfully", user);
+        } catch (Exception e) {
+            return exceptionHandler.handleException(e, "Failed to switch user.");
+        }
+    }
+
     /**
      * Updates the details of a user.
      *
@@ -86,7 +137,7 @@ public class UserController {
      * @return OperationResponse indicating success or failure.
      */
     public OperationResponse<User> updateUser(User user) {
-        try {
+        try (TraceSection section = Tracer.section("UserController.updateUser")) {
             validateUserId(user.getId());
             user.validate();
 
@@ -108,7 +159,7 @@ public class UserController {
      * @return OperationResponse indicating success or failure.
      */
     public OperationResponse<Void> deleteUser(int userId) {
-        try {
+        try (TraceSection section = Tracer.section("UserController.deleteUser")) {
             validateUserId(userId);
             User existingUser = userRepository.getUserById(userId);
             if (existingUser == null)
@@ -52,18 +52,20 @@ public final class DatabaseContract {
     public static class TaskTable {
         public static final String TABLE_NAME = "tasks";
         public static final String COLUMN_ID = "id";
+        public static final String COLUMN_USER_ID = "user_id";
         public static final String COLUMN_ICON = "icon";
         public static final String COLUMN_TITLE = "title";
         public static final String COLUMN_DESCRIPTION = "description";
         public static final String COLUMN_FREQUENCY = "frequency";
         public static final String COLUMN_FREQUENCY_INTERVAL = "frequency_interval";
+        public static final String COLUMN_RECURRENCE_RULE = "recurrence_rule";
         public static final String COLUMN_START_DATE = "start_date";
         public static final String COLUMN_END_DATE = "end_date";
         public static final String COLUMN_POINTS_REWARD = "points_reward";
         public static final String COLUMN_CREATED_AT = "created_at";
         public static final String[] ALL_COLUMNS = {
-                COLUMN_ID, COLUMN_ICON, COLUMN_TITLE, COLUMN_DESCRIPTION, COLUMN_FREQUENCY,
-                COLUMN_FREQUENCY_INTERVAL, COLUMN_START_DATE, COLUMN_END_DATE,
+                COLUMN_ID, COLUMN_USER_ID, COLUMN_ICON, COLUMN_TITLE, COLUMN_DESCRIPTION, COLUMN_FREQUENCY,
+                COLUMN_FREQUENCY_INTERVAL, COLUMN_RECURRENCE_RULE, COLUMN_START_DATE, COLUMN_END_DATE,
                 COLUMN_POINTS_REWARD, COLUMN_CREATED_AT
         };
     }
@@ -86,4 +88,46 @@ public final class DatabaseContract {
                 COLUMN_COMPLETED_DATE, COLUMN_POINTS_EARNED, COLUMN_STATUS, COLUMN_CREATED_AT
         };
     }
+
+    /**
+     * Defines the schema for the 'maintenance_runs' table.
+     * Each row records one bounded run of a database maintenance job.
+     */
+    public static class MaintenanceRunTable {
+        public static final String TABLE_NAME = "maintenance_runs";
+        public static final String COLUMN_ID = "id";
+        public static final String COLUMN_JOB = "job";
+        public static final String COLUMN_STARTED_AT = "started_at";
+        public static final String COLUMN_DURATION_MS = "duration_ms";
+        public static final String COLUMN_COMPLETED = "completed";
+        public static final String COLUMN_PAGES_RECLAIMED = "pages_reclaimed";
+        public static final String COLUMN_DETAIL = "detail";
+        public static final String COLUMN_RESUME_TOKEN = "resume_token";
+        public static final String[] ALL_COLUMNS = {
+                COLUMN_ID, COLUMN_JOB, COLUMN_STARTED_AT, COLUMN_DURATION_MS, COLUMN_COMPLETED,
+                COLUMN_PAGES_RECLAIMED, COLUMN_DETAIL, COLUMN_RESUME_TOKEN
+        };
+    }
+
+    /**
+     * Defines the schema for the 'tasks_fts' full-text index.
+     * The index mirrors the searchable columns of the 'tasks' table and uses the task ID as docid.
+     */
+    public static class TaskSearchTable {
+        public static final String TABLE_NAME = "tasks_fts";
+        public static final String COLUMN_DOC_ID = "docid";
+        public static final String COLUMN_TITLE = TaskTable.COLUMN_TITLE;
+        public static final String COLUMN_DESCRIPTION = TaskTable.COLUMN_DESCRIPTION;
+    }
+
+    /**
+     * Defines the schema for the 'rewards_fts' full-text index.
+     * The index mirrors the searchable columns of the 'rewards' table and uses the reward ID as docid.
+     */
+    public static class RewardSearchTable {
+        public static final String TABLE_NAME = "rewards_fts";
+        public static final String COLUMN_DOC_ID = "docid";
+        public static final String COLUMN_TITLE = RewardTable.COLUMN_TITLE;
+        public static final String COLUMN_DESCRIPTION = RewardTable.COLUMN_DESCRIPTION;
+    }
 }
@@ -6,7 +6,10 @@ import android.content.Context;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
 
+import androidx.annotation.VisibleForTesting;
+
 import com.ilp506.taskward.R;
+import com.ilp506.taskward.data.maintenance.IncrementalVacuumJob;
 import com.ilp506.taskward.utils.Logger;
 
 /**
@@ -19,7 +22,62 @@ public class DatabaseHelper extends SQLiteOpenHelper {
 
     private static final String TAG = DatabaseHelper.class.getSimpleName();
     private static final String DATABASE_NAME = "taskward.db";
-    private static final int DATABASE_VERSION = 1;
+    private static final int DATABASE_VERSION = 8;
+
+    private static final String CREATE_MAINTENANCE_RUNS_TABLE =
+            "CREATE TABLE IF NOT EXISTS maintenance_runs (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                    "job TEXT NOT NULL, " +
+                    "started_at DATETIME NOT NULL, " +
+                    "duration_ms INTEGER DEFAULT 0 CHECK (duration_ms >= 0), " +
+                    "completed INTEGER DEFAULT 0 CHECK (completed IN (0, 1)), " +
+                    "pages_reclaimed INTEGER DEFAULT 0, " +
+                    "detail TEXT, " +
+                    "resume_token TEXT)";
+
+    private static final String ADD_RECURRENCE_RULE_COLUMN =
+            "ALTER TABLE tasks ADD COLUMN recurrence_rule TEXT";
+
+    private static final String CREATE_TASK_EVENTS_DATE_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_task_events_task_date ON task_events (task_id, scheduled_date)";
+
+    private static final String CREATE_TASK_EVENTS_SCHEDULED_DATE_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_task_events_scheduled_date ON task_events (scheduled_date)";
+
+    private static final String ADD_TASK_USER_ID_COLUMN =
+            "ALTER TABLE tasks ADD COLUMN user_id INTEGER REFERENCES users(id)";
+
+    // Existing tasks go to the user of their events, or to the first user if they have none
+    private static final String ASSIGN_TASKS_TO_USERS =
+            "UPDATE tasks SET user_id = COALESCE(" +
+                    "(SELECT user_id FROM task_events WHERE task_id = tasks.id LIMIT 1), " +
+                    "(SELECT MIN(id) FROM users))";
+
+    private static final String CREATE_TASKS_USER_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_tasks_user ON tasks (user_id)";
+
+    private static final String CREATE_TASK_EVENTS_USER_DATE_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_task_events_user_date ON task_events (user_id, scheduled_date)";
+
+    // Of each set of duplicate occurrences, keeps the completed one if any, otherwise the oldest
+    @VisibleForTesting
+    static final String DELETE_DUPLICATE_TASK_EVENTS =
+            "DELETE FROM task_events WHERE EXISTS (SELECT 1 FROM task_events AS kept " +
+                    "WHERE kept.task_id = task_events.task_id " +
+                    "AND kept.scheduled_date = task_events.scheduled_date " +
+                    "AND kept.user_id IS task_events.user_id " +
+                    "AND ((kept.status = 'completed') > (task_events.status = 'completed') " +
+                    "OR ((kept.status = 'completed') = (task_events.status = 'completed') " +
+                    "AND kept.id < task_events.id)))";
+
+    // The unique index also serves the lookups of a task's events by date, so it replaces that index
+    private static final String DROP_TASK_EVENTS_DATE_INDEX =
+            "DROP INDEX IF EXISTS idx_task_events_task_date";
+
+    @VisibleForTesting
+    static final String CREATE_TASK_EVENTS_OCCURRENCE_INDEX =
+            "CREATE UNIQUE INDEX IF NOT EXISTS idx_task_events_occurrence " +
+                    "ON task_events (task_id, scheduled_date, user_id)";
 
     private static DatabaseHelper instance;
 
@@ -27,12 +85,15 @@ public class DatabaseHelper extends SQLiteOpenHelper {
 
     /**
      * Private constructor to prevent direct instantiation of DatabaseHelper.
+     * Write-ahead logging is enabled so background work such as backups and maintenance
+     * never blocks readers.
      *
      * @param context Application context used to access resources.
      */
     private DatabaseHelper(Context context) {
         super(context, DATABASE_NAME, null, DATABASE_VERSION);
-        this.context = context.getApplicationContext();;
+        this.context = context.getApplicationContext();
+        setWriteAheadLoggingEnabled(true);
     }
 
     /**
@@ -48,11 +109,24 @@ public class DatabaseHelper extends SQLiteOpenHelper {
         return instance;
     }
 
+    /**
+     * Called when the database connection is being configured, before it is created or upgraded.
+     * Enables incremental auto-vacuum so freed pages can later be returned in small steps;
+     * on a new database this takes effect before any table exists.
+     *
+     * @param db The database being configured.
+     */
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        IncrementalVacuumJob.enable(db);
+    }
+
     /**
      * Called when the database is created for the first time.
      * This method is responsible for creating the initial structure of the database
      * and populating it with any required initial data. It executes SQL scripts
      * from the 'create.sql' and 'insert.sql' files in the 'res/raw' directory.
+     * The search indexes are created before the inserts so the seed data is indexed by their triggers.
      *
      * @param db The database being created.
      */
@@ -60,6 +134,7 @@ public class DatabaseHelper extends SQLiteOpenHelper {
     public void onCreate(SQLiteDatabase db) {
         Logger.d(TAG, "Creating database...");
         executeSQLFromResource(db, context, R.raw.create);
+        SearchIndexSchema.create(db);
         executeSQLFromResource(db, context, R.raw.insert);
         Logger.d(TAG, "Database created successfully.");
     }
@@ -76,9 +151,34 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      */
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        Logger.d(TAG, "Upgrading database from version " + oldVersion + " to " + newVersion);
-        // TODO: Implement logic to handle database migration when the version is updated
-        // Example: Altering tables, adding new columns, or migrating data from old structure to new
+        Logger.d(TAG, "Upgrading database from version {} to {}", oldVersion, newVersion);
+        if (oldVersion < 2) {
+            SearchIndexSchema.create(db);
+            SearchIndexSchema.rebuild(db);
+        }
+        if (oldVersion < 3) {
+            db.execSQL(CREATE_MAINTENANCE_RUNS_TABLE);
+        }
+        if (oldVersion < 4) {
+            db.execSQL(ADD_RECURRENCE_RULE_COLUMN);
+        }
+        if (oldVersion < 5) {
+            db.execSQL(CREATE_TASK_EVENTS_DATE_INDEX);
+        }
+        if (oldVersion < 6) {
+            db.execSQL(CREATE_TASK_EVENTS_SCHEDULED_DATE_INDEX);
+        }
+        if (oldVersion < 7) {
+            db.execSQL(ADD_TASK_USER_ID_COLUMN);
+            db.execSQL(ASSIGN_TASKS_TO_USERS);
+            db.execSQL(CREATE_TASKS_USER_INDEX);
+            db.execSQL(CREATE_TASK_EVENTS_USER_DATE_INDEX);
+        }
+        if (oldVersion < 8) {
+            db.execSQL(DELETE_DUPLICATE_TASK_EVENTS);
+            db.execSQL(DROP_TASK_EVENTS_DATE_INDEX);
+            db.execSQL(CREATE_TASK_EVENTS_OCCURRENCE_INDEX);
+        }
         Logger.d(TAG, "Database upgraded successfully.");
     }
 
@@ -0,0 +1,115 @@
+package com.ilp506.taskward.data;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+
+import com.ilp506.taskward.data.DatabaseContract.RewardSearchTable;
+import com.ilp506.taskward.data.DatabaseContract.RewardTable;
+import com.ilp506.taskward.data.DatabaseContract.TaskSearchTable;
+import com.ilp506.taskward.data.DatabaseContract.TaskTable;
+import com.ilp506.taskward.utils.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Creates and maintains the full-text search indexes for tasks and rewards.
+ *
+ * The indexes are FTS4 external content tables: they store only the inverted index and read
+ * the original text back from 'tasks' and 'rewards'. Triggers on the content tables keep the
+ * indexes in sync on every insert, update and delete. The statements are executed directly
+ * instead of through {@code create.sql}, since JSQLParser does not understand virtual tables
+ * or triggers.
+ */
+public final class SearchIndexSchema {
+    private static final String TAG = SearchIndexSchema.class.getSimpleName();
+
+    // Private constructor to prevent instantiation of this schema class
+    private SearchIndexSchema() {}
+
+    /**
+     * Creates the search indexes and their synchronization triggers if they do not exist.
+     *
+     * @param db The database in which the indexes are created.
+     */
+    public static void create(@NonNull SQLiteDatabase db) {
+        Logger.d(TAG, "Creating full-text search indexes...");
+        for (String statement : getCreateStatements()) db.execSQL(statement);
+        Logger.d(TAG, "Full-text search indexes created successfully.");
+    }
+
+    /**
+     * Gets the statements that create both search indexes and their triggers, for hosts that
+     * set up the schema without an Android database.
+     *
+     * @return The DDL statements in execution order.
+     */
+    @NonNull
+    public static List<String> getCreateStatements() {
+        List<String> statements = new ArrayList<>();
+        Collections.addAll(statements, buildStatements(TaskSearchTable.TABLE_NAME, TaskTable.TABLE_NAME,
+                TaskTable.COLUMN_ID, TaskSearchTable.COLUMN_TITLE, TaskSearchTable.COLUMN_DESCRIPTION));
+        Collections.addAll(statements, buildStatements(RewardSearchTable.TABLE_NAME, RewardTable.TABLE_NAME,
+                RewardTable.COLUMN_ID, RewardSearchTable.COLUMN_TITLE, RewardSearchTable.COLUMN_DESCRIPTION));
+        return statements;
+    }
+
+    /**
+     * Rebuilds both search indexes from the current content of their tables.
+     * Used after a schema upgrade, when rows already exist that were never indexed.
+     *
+     * @param db The database whose indexes are rebuilt.
+     */
+    public static void rebuild(@NonNull SQLiteDatabase db) {
+        db.execSQL(buildRebuildStatement(TaskSearchTable.TABLE_NAME));
+        db.execSQL(buildRebuildStatement(RewardSearchTable.TABLE_NAME));
+        Logger.d(TAG, "Full-text search indexes rebuilt successfully.");
+    }
+
+    /**
+     * Builds the statements that create an external content index and its triggers.
+     *
+     * @param ftsTable The name of the virtual table.
+     * @param contentTable The name of the table holding the indexed text.
+     * @param idColumn The integer primary key of the content table, used as docid.
+     * @param titleColumn The title column.
+     * @param descriptionColumn The description column.
+     * @return The DDL statements in execution order.
+     */
+    @NonNull
+    private static String[] buildStatements(String ftsTable, String contentTable, String idColumn,
+                                            String titleColumn, String descriptionColumn) {
+        final String deleteOld = String.format(
+                "DELETE FROM %s WHERE docid = old.%s;", ftsTable, idColumn);
+        final String insertNew = String.format(
+                "INSERT INTO %1$s(docid, %2$s, %3$s) VALUES (new.%4$s, new.%2$s, new.%3$s);",
+                ftsTable, titleColumn, descriptionColumn, idColumn);
+
+        return new String[]{
+                String.format("CREATE VIRTUAL TABLE IF NOT EXISTS %s USING fts4(" +
+                                "content=\"%s\", %s, %s, prefix=\"2,3\", tokenize=unicode61)",
+                        ftsTable, contentTable, titleColumn, descriptionColumn),
+                String.format("CREATE TRIGGER IF NOT EXISTS %1$s_bu BEFORE UPDATE ON %2$s BEGIN %3$s END",
+                        ftsTable, contentTable, deleteOld),
+                String.format("CREATE TRIGGER IF NOT EXISTS %1$s_bd BEFORE DELETE ON %2$s BEGIN %3$s END",
+                        ftsTable, contentTable, deleteOld),
+                String.format("CREATE TRIGGER IF NOT EXISTS %1$s_au AFTER UPDATE ON %2$s BEGIN %3$s END",
+                        ftsTable, contentTable, insertNew),
+                String.format("CREATE TRIGGER IF NOT EXISTS %1$s_ai AFTER INSERT ON %2$s BEGIN %3$s END",
+                        ftsTable, contentTable, insertNew)
+        };
+    }
+
+    /**
+     * Builds the FTS4 'rebuild' command for an external content index.
+     *
+     * @param ftsTable The name of the virtual table.
+     * @return The rebuild statement.
+     */
+    @NonNull
+    private static String buildRebuildStatement(String ftsTable) {
+        return String.format("INSERT INTO %1$s(%1$s) VALUES('rebuild')", ftsTable);
+    }
+}
@@ -0,0 +1,208 @@
+package com.ilp506.taskward.data.instrumentation;
+
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+
+import com.ilp506.taskward.utils.metrics.MetricsRegistry;
+import com.ilp506.taskward.utils.trace.Tracer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Collects latency, row and transaction statistics for every repository method.
+ *
+ * Statistics are keyed by a tag naming the method, e.g. "TaskRepository.getAllTasks". Calls
+ * slower than the threshold (one frame by default) are also kept, with their SQL and bind
+ * arguments, in a fixed-size ring buffer that overwrites the oldest entry. Everything can be
+ * written out as JSON through {@link #dump(Writer)}. It follows the Singleton design pattern,
+ * so all repositories feed the same statistics.
+ */
+public final class QueryInstrumentation {
+    private static final int SLOW_QUERY_CAPACITY = 64;
+    private static final long DEFAULT_SLOW_QUERY_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(16);
+
+    private static final QueryInstrumentation instance = new QueryInstrumentation();
+
+    private final ConcurrentHashMap<String, QueryStats> stats = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<SlowQuery> slowQueries = new AtomicReferenceArray<>(SLOW_QUERY_CAPACITY);
+    private final AtomicLong slowQueryCount = new AtomicLong();
+
+    private volatile boolean enabled = true;
+    private volatile long slowQueryThresholdNanos = DEFAULT_SLOW_QUERY_THRESHOLD_NANOS;
+
+    // Private constructor to enforce the Singleton pattern
+    private QueryInstrumentation() {}
+
+    /**
+     * Returns the singleton instance of QueryInstrumentation.
+     *
+     * @return The singleton instance.
+     */
+    public static QueryInstrumentation getInstance() {
+        return instance;
+    }
+
+    /**
+     * Starts measuring a repository call.
+     *
+     * @param tag The repository method, e.g. "TaskRepository.getAllTasks".
+     * @return The probe to close when the call ends.
+     */
+    @NonNull
+    public static QueryProbe probe(@NonNull String tag) {
+        return instance.startProbe(tag, false);
+    }
+
+    /**
+     * Starts measuring a transaction; its duration is recorded separately from call latency.
+     *
+     * @param tag The method that owns the transaction.
+     * @return The probe to close when the transaction ends.
+     */
+    @NonNull
+    public static QueryProbe transaction(@NonNull String tag) {
+        return instance.startProbe(tag, true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables recording. While disabled, probes are a shared no-op instance unless
+     * a system trace is being captured, in which case they only span trace sections.
+     *
+     * @param enabled true to record.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Sets the latency above which a call is captured in the slow-query buffer.
+     *
+     * @param thresholdMillis The threshold in milliseconds.
+     */
+    public void setSlowQueryThresholdMillis(long thresholdMillis) {
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    /**
+     * Gets the statistics of every method called so far.
+     *
+     * @return The statistics, most total time first.
+     */
+    @NonNull
+    public List<QueryStats> getStats() {
+        List<QueryStats> all = new ArrayList<>(stats.values());
+        all.sort((a, b) -> Long.compare(
+                b.getLatency().getSum() + b.getTransactionTime().getSum(),
+                a.getLatency().getSum() + a.getTransactionTime().getSum()));
+        return all;
+    }
+
+    /**
+     * Gets the slow calls still held in the ring buffer.
+     *
+     * @return The slow calls, newest first.
+     */
+    @NonNull
+    public List<SlowQuery> getSlowQueries() {
+        List<SlowQuery> recent = new ArrayList<>();
+        long newest = slowQueryCount.get();
+        for (long i = newest - 1; i >= Math.max(0, newest - SLOW_QUERY_CAPACITY); i--) {
+            SlowQuery query = slowQueries.get((int) (i % SLOW_QUERY_CAPACITY));
+            if (query != null) recent.add(query);
+        }
+        return recent;
+    }
+
+    /**
+     * Clears all statistics and slow queries.
+     */
+    public void reset() {
+        for (QueryStats queryStats : stats.values()) queryStats.reset();
+        for (int i = 0; i < SLOW_QUERY_CAPACITY; i++) slowQueries.set(i, null);
+        slowQueryCount.set(0);
+    }
+
+    /**
+     * Writes all statistics and slow queries as a JSON document. Durations are in microseconds.
+     *
+     * @param out The destination; it is flushed but not closed.
+     * @throws IOException If writing fails.
+     */
+    public void dump(@NonNull Writer out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.setIndent("  ");
+        writeTo(writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes all statistics and slow queries as one JSON object, e.g. as part of a larger report.
+     *
+     * @param writer The JSON writer, positioned where a value is expected.
+     * @throws IOException If writing fails.
+     */
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+
+        writer.name("queries").beginArray();
+        for (QueryStats queryStats : getStats()) {
+            writer.beginObject();
+            writer.name("tag").value(queryStats.getTag());
+            writer.name("calls").value(queryStats.getCalls());
+            writer.name("rows_read").value(queryStats.getRowsRead());
+            writer.name("rows_written").value(queryStats.getRowsWritten());
+            MetricsRegistry.writeHistogram(writer.name("latency_us"), queryStats.getLatency(), 1_000);
+            if (queryStats.getTransactionTime().getCount() > 0)
+                MetricsRegistry.writeHistogram(writer.name("transaction_us"), queryStats.getTransactionTime(), 1_000);
+            writer.endObject();
+        }
+        writer.endArray();
+
+        writer.name("slow_queries").beginArray();
+        for (SlowQuery query : getSlowQueries()) {
+            writer.beginObject();
+            writer.name("tag").value(query.getTag());
+            writer.name("duration_us").value(TimeUnit.NANOSECONDS.toMicros(query.getDurationNanos()));
+            writer.name("rows_read").value(query.getRowsRead());
+            writer.name("rows_written").value(query.getRowsWritten());
+            writer.name("timestamp_ms").value(query.getTimestampMillis());
+            writer.name("sql").value(query.getSql());
+            writer.name("bind_args").beginArray();
+            for (String arg : query.getBindArgs()) writer.value(arg);
+            writer.endArray();
+            writer.endObject();
+        }
+        writer.endArray();
+
+        writer.endObject();
+    }
+
+    @NonNull
+    private QueryProbe startProbe(@NonNull String tag, boolean transaction) {
+        if (!enabled)
+            return Tracer.isEnabled() ? new QueryProbe(null, null, false, Tracer.section(tag)) : QueryProbe.DISABLED;
+        QueryStats queryStats = stats.get(tag);
+        if (queryStats == null) queryStats = stats.computeIfAbsent(tag, QueryStats::new);
+        return new QueryProbe(this, queryStats, transaction, Tracer.section(tag));
+    }
+
+    void onProbeClosed(@NonNull QueryProbe probe, long durationNanos) {
+        if (durationNanos < slowQueryThresholdNanos) return;
+        SlowQuery query = new SlowQuery(probe.getTag(), probe.buildSql(), probe.buildBindArgs(),
+                durationNanos, probe.getRowsRead(), probe.getRowsWritten(), System.currentTimeMillis());
+        long index = slowQueryCount.getAndIncrement();
+        slowQueries.set((int) (index % SLOW_QUERY_CAPACITY), query);
+    }
+}
@@ -0,0 +1,244 @@
+package com.ilp506.taskward.data.instrumentation;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.ilp506.taskward.data.storage.Values;
+import com.ilp506.taskward.utils.trace.TraceSection;
+
+/**
+ * Measures one repository call from creation to {@link #close()}.
+ *
+ * Repositories open a probe as the first resource of their try-with-resources block, describe
+ * the statement they run and report the rows they read or wrote. The description is only kept
+ * as references and is formatted into SQL just when the call turns out to be slow, so fast
+ * calls pay for little more than two clock reads and a few atomic increments. While a system
+ * trace is being captured, the probe also spans a trace section named after its tag.
+ */
+public final class QueryProbe implements AutoCloseable {
+    static final QueryProbe DISABLED = new QueryProbe(null, null, false, null);
+
+    private static final int KIND_NONE = 0;
+    private static final int KIND_SQL = 1;
+    private static final int KIND_QUERY = 2;
+    private static final int KIND_INSERT = 3;
+    private static final int KIND_UPDATE = 4;
+    private static final int KIND_DELETE = 5;
+
+    private final QueryInstrumentation instrumentation;
+    private final QueryStats stats;
+    private final boolean transaction;
+    private final TraceSection section;
+    private final long startNanos;
+
+    private long rowsRead;
+    private long rowsWritten;
+
+    private int kind = KIND_NONE;
+    private String table;
+    private String sql;
+    private String[] columns;
+    private String selection;
+    private Object[] args;
+    private String orderBy;
+    private Values values;
+
+    QueryProbe(QueryInstrumentation instrumentation, QueryStats stats, boolean transaction,
+               TraceSection section) {
+        this.instrumentation = instrumentation;
+        this.stats = stats;
+        this.transaction = transaction;
+        this.section = section;
+        this.startNanos = stats == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Describes a raw SQL statement.
+     *
+     * @param sql The SQL.
+     * @param bindArgs The bind arguments, or null.
+     * @return This probe.
+     */
+    @NonNull
+    public QueryProbe sql(@NonNull String sql, @Nullable Object[] bindArgs) {
+        if (stats == null) return this;
+        this.kind = KIND_SQL;
+        this.sql = sql;
+        this.args = bindArgs;
+        return this;
+    }
+
+    /**
+     * Describes a query issued through {@code Database.query}.
+     *
+     * @return This probe.
+     */
+    @NonNull
+    public QueryProbe query(@NonNull String table, @Nullable String[] columns, @Nullable String selection,
+                            @Nullable Object[] selectionArgs, @Nullable String orderBy) {
+        if (stats == null) return this;
+        this.kind = KIND_QUERY;
+        this.table = table;
+        this.columns = columns;
+        this.selection = selection;
+        this.args = selectionArgs;
+        this.orderBy = orderBy;
+        return this;
+    }
+
+    /**
+     * Describes an insert issued through {@code Database.insert}.
+     *
+     * @return This probe.
+     */
+    @NonNull
+    public QueryProbe insert(@NonNull String table, @NonNull Values values) {
+        if (stats == null) return this;
+        this.kind = KIND_INSERT;
+        this.table = table;
+        this.values = values;
+        return this;
+    }
+
+    /**
+     * Describes an update issued through {@code Database.update}.
+     *
+     * @return This probe.
+     */
+    @NonNull
+    public QueryProbe update(@NonNull String table, @NonNull Values values,
+                             @Nullable String whereClause, @Nullable Object[] whereArgs) {
+        if (stats == null) return this;
+        this.kind = KIND_UPDATE;
+        this.table = table;
+        this.values = values;
+        this.selection = whereClause;
+        this.args = whereArgs;
+        return this;
+    }
+
+    /**
+     * Describes a delete issued through {@code Database.delete}.
+     *
+     * @return This probe.
+     */
+    @NonNull
+    public QueryProbe delete(@NonNull String table, @Nullable String whereClause, @Nullable Object[] whereArgs) {
+        if (stats == null) return this;
+        this.kind = KIND_DELETE;
+        this.table = table;
+        this.selection = whereClause;
+        this.args = whereArgs;
+        return this;
+    }
+
+    /**
+     * Adds to the number of rows read by the call.
+     *
+     * @param rows The number of rows.
+     */
+    public void rowsRead(long rows) {
+        rowsRead += rows;
+    }
+
+    /**
+     * Adds to the number of rows inserted, updated or deleted by the call.
+     *
+     * @param rows The number of rows.
+     */
+    public void rowsWritten(long rows) {
+        rowsWritten += rows;
+    }
+
+    /**
+     * Records the call. Never throws, so it cannot mask the exception of the measured call.
+     */
+    @Override
+    public void close() {
+        if (section != null) section.close();
+        if (stats == null) return;
+        long duration = System.nanoTime() - startNanos;
+        if (transaction) stats.recordTransaction(duration, rowsRead, rowsWritten);
+        else stats.recordCall(duration, rowsRead, rowsWritten);
+        instrumentation.onProbeClosed(this, duration);
+    }
+
+    @NonNull
+    String getTag() {
+        return stats.getTag();
+    }
+
+    long getRowsRead() {
+        return rowsRead;
+    }
+
+    long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * Formats the described statement as SQL with '?' placeholders.
+     */
+    @Nullable
+    String buildSql() {
+        switch (kind) {
+            case KIND_SQL:
+                return sql;
+            case KIND_QUERY: {
+                StringBuilder query = new StringBuilder("SELECT ");
+                if (columns == null || columns.length == 0) query.append('*');
+                else query.append(String.join(", ", columns));
+                query.append(" FROM ").append(table).append(where());
+                if (orderBy != null && !orderBy.isEmpty()) query.append(" ORDER BY ").append(orderBy);
+                return query.toString();
+            }
+            case KIND_INSERT: {
+                StringBuilder names = new StringBuilder();
+                StringBuilder placeholders = new StringBuilder();
+                for (String key : values.keySet()) {
+                    if (names.length() > 0) {
+                        names.append(", ");
+                        placeholders.append(", ");
+                    }
+                    names.append(key);
+                    placeholders.append('?');
+                }
+                return "INSERT INTO " + table + " (" + names + ") VALUES (" + placeholders + ")";
+            }
+            case KIND_UPDATE: {
+                StringBuilder assignments = new StringBuilder();
+                for (String key : values.keySet()) {
+                    if (assignments.length() > 0) assignments.append(", ");
+                    assignments.append(key).append(" = ?");
+                }
+                return "UPDATE " + table + " SET " + assignments + where();
+            }
+            case KIND_DELETE:
+                return "DELETE FROM " + table + where();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Formats the bind arguments in placeholder order.
+     */
+    @Nullable
+    String[] buildBindArgs() {
+        int valueCount = (kind == KIND_INSERT || kind == KIND_UPDATE) ? values.size() : 0;
+        int argCount = args == null ? 0 : args.length;
+        if (valueCount + argCount == 0) return null;
+
+        String[] formatted = new String[valueCount + argCount];
+        int i = 0;
+        if (valueCount > 0)
+            for (String key : values.keySet()) formatted[i++] = String.valueOf(values.get(key));
+        for (int j = 0; j < argCount; j++) formatted[i++] = String.valueOf(args[j]);
+        return formatted;
+    }
+
+    @NonNull
+    private String where() {
+        return selection == null || selection.isEmpty() ? "" : " WHERE " + selection;
+    }
+}
@@ -0,0 +1,83 @@
+package com.ilp506.taskward.data.instrumentation;
+
+import androidx.annotation.NonNull;
+
+import com.ilp506.taskward.utils.metrics.Histogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregated statistics of one repository method: call latency, rows read and written,
+ * and the time spent in the transactions it opened. All counters are lock-free.
+ */
+public final class QueryStats {
+    private final String tag;
+    private final Histogram latency = new Histogram();
+    private final Histogram transactionTime = new Histogram();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+
+    QueryStats(@NonNull String tag) {
+        this.tag = tag;
+    }
+
+    void recordCall(long durationNanos, long read, long written) {
+        latency.record(durationNanos);
+        if (read > 0) rowsRead.addAndGet(read);
+        if (written > 0) rowsWritten.addAndGet(written);
+    }
+
+    void recordTransaction(long durationNanos, long read, long written) {
+        transactionTime.record(durationNanos);
+        if (read > 0) rowsRead.addAndGet(read);
+        if (written > 0) rowsWritten.addAndGet(written);
+    }
+
+    /**
+     * Gets the repository method these statistics belong to.
+     */
+    @NonNull
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Gets the number of calls: those measured by call probes, or for a method measured only by
+     * transaction probes, its transactions.
+     */
+    public long getCalls() {
+        long calls = latency.getCount();
+        return calls > 0 ? calls : transactionTime.getCount();
+    }
+
+    /**
+     * Gets the call latency histogram, in nanoseconds.
+     */
+    @NonNull
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Gets the transaction duration histogram, in nanoseconds.
+     */
+    @NonNull
+    public Histogram getTransactionTime() {
+        return transactionTime;
+    }
+
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    void reset() {
+        latency.reset();
+        transactionTime.reset();
+        rowsRead.set(0);
+        rowsWritten.set(0);
+    }
+}
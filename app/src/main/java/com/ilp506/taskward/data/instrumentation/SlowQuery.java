@@ -0,0 +1,88 @@
+package com.ilp506.taskward.data.instrumentation;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Immutable record of a repository call that exceeded the slow-query threshold.
+ */
+public final class SlowQuery {
+    private final String tag;
+    private final String sql;
+    private final String[] bindArgs;
+    private final long durationNanos;
+    private final long rowsRead;
+    private final long rowsWritten;
+    private final long timestampMillis;
+
+    SlowQuery(@NonNull String tag, String sql, String[] bindArgs, long durationNanos,
+              long rowsRead, long rowsWritten, long timestampMillis) {
+        this.tag = tag;
+        this.sql = sql;
+        this.bindArgs = bindArgs;
+        this.durationNanos = durationNanos;
+        this.rowsRead = rowsRead;
+        this.rowsWritten = rowsWritten;
+        this.timestampMillis = timestampMillis;
+    }
+
+    /**
+     * Gets the repository method that issued the query, e.g. "TaskRepository.getAllTasks".
+     */
+    @NonNull
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Gets the SQL of the last statement of the call, or null if the call did not describe it.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Gets the bind arguments of the SQL, or an empty array.
+     */
+    @NonNull
+    public String[] getBindArgs() {
+        return bindArgs == null ? new String[0] : bindArgs.clone();
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * Gets the wall-clock time at which the call finished.
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * Returns a string representation of the slow query.
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return "SlowQuery { " +
+                "tag='" + tag +
+                ", sql='" + sql +
+                ", bindArgs=" + Arrays.toString(bindArgs) +
+                ", durationNanos=" + durationNanos +
+                ", rowsRead=" + rowsRead +
+                ", rowsWritten=" + rowsWritten +
+                ", timestampMillis=" + timestampMillis +
+                " }";
+    }
+}
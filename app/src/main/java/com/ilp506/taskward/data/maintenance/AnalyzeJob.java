@@ -0,0 +1,74 @@
+package com.ilp506.taskward.data.maintenance;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.ilp506.taskward.data.DatabaseContract.RewardTable;
+import com.ilp506.taskward.data.DatabaseContract.TaskEventTable;
+import com.ilp506.taskward.data.DatabaseContract.TaskTable;
+import com.ilp506.taskward.data.DatabaseContract.UserTable;
+import com.ilp506.taskward.data.models.MaintenanceRun;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Refreshes the query planner statistics one table per step with {@code ANALYZE table}.
+ * Runs resume at the first table not yet analyzed. A table whose analysis cannot fit in the
+ * budget is skipped and reported, so one large table never blocks the others.
+ */
+public class AnalyzeJob extends MaintenanceJob {
+    public static final String NAME = "analyze";
+
+    /**
+     * Rows sampled per index; bounds each step on SQLite 3.32+ and is ignored by older versions.
+     */
+    static final String ANALYSIS_LIMIT = "PRAGMA analysis_limit = 400";
+
+    private static final String[] TABLES = {
+            UserTable.TABLE_NAME, TaskTable.TABLE_NAME, TaskEventTable.TABLE_NAME, RewardTable.TABLE_NAME
+    };
+
+    /**
+     * Constructs an AnalyzeJob.
+     *
+     * @param intervalMillis The minimum time between two completed runs.
+     * @param budgetMillis The time each run may take.
+     */
+    public AnalyzeJob(long intervalMillis, long budgetMillis) {
+        super(NAME, intervalMillis, budgetMillis);
+    }
+
+    @NonNull
+    @Override
+    public MaintenanceRun run(@NonNull SQLiteDatabase db, @NonNull TimeBudget budget, @Nullable String resumeToken) {
+        MaintenanceRun run = new MaintenanceRun();
+        List<String> analyzed = new ArrayList<>();
+        List<String> skipped = new ArrayList<>();
+        int next = parseNextTable(resumeToken);
+
+        budget.runStep(db, ANALYSIS_LIMIT);
+        while (next < TABLES.length && budget.hasTimeForStep()) {
+            if (budget.runStep(db, "ANALYZE " + TABLES[next]) != null) analyzed.add(TABLES[next]);
+            else skipped.add(TABLES[next]);
+            next++;
+        }
+
+        run.setCompleted(next == TABLES.length);
+        run.setResumeToken(next == TABLES.length ? null : String.valueOf(next));
+        run.setDetail("Analyzed: " + analyzed + (skipped.isEmpty() ? "" : ", over budget: " + skipped));
+        return run;
+    }
+
+    private static int parseNextTable(@Nullable String resumeToken) {
+        if (resumeToken == null) return 0;
+        try {
+            int next = Integer.parseInt(resumeToken);
+            return next >= 0 && next < TABLES.length ? next : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.ilp506.taskward.data.maintenance;
+
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.ilp506.taskward.data.models.MaintenanceRun;
+import com.ilp506.taskward.utils.Logger;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives free pages back to the file system a few pages at a time with {@code PRAGMA incremental_vacuum}.
+ *
+ * Step size adapts to the budget: it doubles while steps are short and halves when one takes
+ * more than an eighth of the budget. Databases created before incremental auto-vacuum was enabled
+ * need one full VACUUM to switch modes. It rewrites the whole file and cannot be split into steps,
+ * so it is never run within the budget: the job asks for it to be scheduled where it can finish,
+ * such as while the device is idle and charging, and stays incomplete until it has run.
+ */
+public class IncrementalVacuumJob extends MaintenanceJob {
+    public static final String NAME = "incremental_vacuum";
+
+    private static final String TAG = IncrementalVacuumJob.class.getSimpleName();
+
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+    private static final long INITIAL_PAGES_PER_STEP = 128;
+    private static final long MIN_PAGES_PER_STEP = 16;
+    private static final long MAX_PAGES_PER_STEP = 4_096;
+
+    private final Runnable scheduleConversion;
+
+    /**
+     * Constructs an IncrementalVacuumJob.
+     *
+     * @param intervalMillis The minimum time between two completed runs.
+     * @param budgetMillis The time each run may take.
+     * @param scheduleConversion Schedules {@link #convert(SQLiteDatabase)} to run without a budget,
+     *                           such as while the device is idle and charging.
+     */
+    public IncrementalVacuumJob(long intervalMillis, long budgetMillis, @NonNull Runnable scheduleConversion) {
+        super(NAME, intervalMillis, budgetMillis);
+        this.scheduleConversion = scheduleConversion;
+    }
+
+    /**
+     * Enables incremental auto-vacuum. It takes effect immediately on a new, empty database
+     * and on the next full VACUUM otherwise.
+     *
+     * @param db The database being configured.
+     */
+    public static void enable(@NonNull SQLiteDatabase db) {
+        db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+    }
+
+    /**
+     * Checks whether incremental auto-vacuum is in effect.
+     *
+     * @param db The database to check.
+     * @return true if free pages can be reclaimed incrementally.
+     */
+    public static boolean isIncremental(@NonNull SQLiteDatabase db) {
+        return DatabaseUtils.longForQuery(db, "PRAGMA auto_vacuum", null) == AUTO_VACUUM_INCREMENTAL;
+    }
+
+    /**
+     * Switches the database to incremental auto-vacuum with a full VACUUM, which rewrites the
+     * whole file and holds the write lock until it is done. Does nothing if already converted.
+     *
+     * @param db The database to convert, outside of any transaction.
+     */
+    public static void convert(@NonNull SQLiteDatabase db) {
+        if (isIncremental(db)) return;
+        enable(db);
+        db.execSQL("VACUUM");
+    }
+
+    @NonNull
+    @Override
+    public MaintenanceRun run(@NonNull SQLiteDatabase db, @NonNull TimeBudget budget, @Nullable String resumeToken) {
+        MaintenanceRun run = new MaintenanceRun();
+        long freeBefore = getFreePages(db);
+
+        if (!isIncremental(db)) {
+            scheduleConversion.run();
+            Logger.i(TAG, "Conversion to incremental auto-vacuum needs a full VACUUM; scheduled outside the budget");
+            run.setCompleted(false);
+            run.setDetail("Waiting for the conversion to incremental auto-vacuum.");
+            return run;
+        }
+
+        long pagesPerStep = parsePagesPerStep(resumeToken);
+        long targetStepNanos = TimeUnit.MILLISECONDS.toNanos(getBudgetMillis()) / 8;
+        long freePages = freeBefore;
+
+        while (freePages > 0 && budget.hasTimeForStep()) {
+            long start = System.nanoTime();
+            if (budget.runStep(db, "PRAGMA incremental_vacuum(" + pagesPerStep + ")") == null) break;
+            long elapsed = System.nanoTime() - start;
+
+            if (elapsed > targetStepNanos) pagesPerStep = Math.max(MIN_PAGES_PER_STEP, pagesPerStep / 2);
+            else if (elapsed < targetStepNanos / 2) pagesPerStep = Math.min(MAX_PAGES_PER_STEP, pagesPerStep * 2);
+            freePages = getFreePages(db);
+        }
+
+        run.setCompleted(freePages == 0);
+        run.setPagesReclaimed(freeBefore - freePages);
+        run.setResumeToken(freePages == 0 ? null : String.valueOf(pagesPerStep));
+        run.setDetail(String.format(Locale.ROOT, "%d free pages left.", freePages));
+        return run;
+    }
+
+    private static long getFreePages(@NonNull SQLiteDatabase db) {
+        return DatabaseUtils.longForQuery(db, "PRAGMA freelist_count", null);
+    }
+
+    private static long parsePagesPerStep(@Nullable String resumeToken) {
+        if (resumeToken == null) return INITIAL_PAGES_PER_STEP;
+        try {
+            return Math.max(MIN_PAGES_PER_STEP, Math.min(MAX_PAGES_PER_STEP, Long.parseLong(resumeToken)));
+        } catch (NumberFormatException e) {
+            return INITIAL_PAGES_PER_STEP;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.ilp506.taskward.data.maintenance;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.ilp506.taskward.data.models.MaintenanceRun;
+
+/**
+ * Base class for database maintenance jobs run by the maintenance scheduler.
+ * A job does as much work as its {@link TimeBudget} allows and reports where to continue.
+ */
+public abstract class MaintenanceJob {
+    private final String name;
+    private final long intervalMillis;
+    private final long budgetMillis;
+
+    /**
+     * Constructs a MaintenanceJob.
+     *
+     * @param name The unique job name recorded with each run.
+     * @param intervalMillis The minimum time between two completed runs.
+     * @param budgetMillis The time each run may take, and the longest any step may hold a lock.
+     */
+    protected MaintenanceJob(@NonNull String name, long intervalMillis, long budgetMillis) {
+        this.name = name;
+        this.intervalMillis = intervalMillis;
+        this.budgetMillis = budgetMillis;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    /**
+     * Runs one bounded slice of the job.
+     * Implementations fill in completion, reclaimed pages, detail and resume token; the scheduler
+     * fills in the job name, start time and duration.
+     *
+     * @param db The database to maintain, outside of any transaction.
+     * @param budget The time budget of this run.
+     * @param resumeToken The token left by the previous unfinished run, or null to start over.
+     * @return The outcome of the run.
+     */
+    @NonNull
+    public abstract MaintenanceRun run(@NonNull SQLiteDatabase db, @NonNull TimeBudget budget,
+                                       @Nullable String resumeToken);
+}
@@ -0,0 +1,38 @@
+package com.ilp506.taskward.data.maintenance;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.ilp506.taskward.data.models.MaintenanceRun;
+
+/**
+ * Runs {@code PRAGMA optimize}, which re-analyzes only the tables whose statistics SQLite
+ * considers stale. It is a single step, interrupted if it exceeds the budget.
+ */
+public class OptimizeJob extends MaintenanceJob {
+    public static final String NAME = "optimize";
+
+    /**
+     * Constructs an OptimizeJob.
+     *
+     * @param intervalMillis The minimum time between two completed runs.
+     * @param budgetMillis The time each run may take.
+     */
+    public OptimizeJob(long intervalMillis, long budgetMillis) {
+        super(NAME, intervalMillis, budgetMillis);
+    }
+
+    @NonNull
+    @Override
+    public MaintenanceRun run(@NonNull SQLiteDatabase db, @NonNull TimeBudget budget, @Nullable String resumeToken) {
+        MaintenanceRun run = new MaintenanceRun();
+        budget.runStep(db, AnalyzeJob.ANALYSIS_LIMIT);
+        boolean optimized = budget.runStep(db, "PRAGMA optimize") != null;
+
+        run.setCompleted(true);
+        run.setDetail(optimized ? "Optimized." : "Interrupted: exceeded the budget.");
+        return run;
+    }
+}
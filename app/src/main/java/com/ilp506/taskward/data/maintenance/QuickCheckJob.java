@@ -0,0 +1,99 @@
+package com.ilp506.taskward.data.maintenance;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.ilp506.taskward.data.DatabaseContract.RewardSearchTable;
+import com.ilp506.taskward.data.DatabaseContract.RewardTable;
+import com.ilp506.taskward.data.DatabaseContract.TaskSearchTable;
+import com.ilp506.taskward.data.DatabaseContract.TaskTable;
+import com.ilp506.taskward.data.models.MaintenanceRun;
+import com.ilp506.taskward.utils.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Checks the database structure with {@code PRAGMA quick_check}, then checks each full-text
+ * index against its content table and rebuilds any index that drifted out of sync.
+ * The quick check only reads, so in WAL mode it never blocks writers.
+ *
+ * Drift is found by comparing the IDs of the content table with the documents of the index's
+ * '_docsize' shadow table, which lists one row per indexed document. The FTS4 'integrity-check'
+ * command is not used: it reports drift as a corruption error, and the platform answers
+ * corruption errors by deleting the database file.
+ */
+public class QuickCheckJob extends MaintenanceJob {
+    public static final String NAME = "quick_check";
+
+    private static final String TAG = QuickCheckJob.class.getSimpleName();
+    private static final int MAX_REPORTED_ERRORS = 10;
+    private static final String OK = "ok";
+    /** Each search index with its content table and that table's ID column. */
+    private static final String[][] SEARCH_INDEXES = {
+            {TaskSearchTable.TABLE_NAME, TaskTable.TABLE_NAME, TaskTable.COLUMN_ID},
+            {RewardSearchTable.TABLE_NAME, RewardTable.TABLE_NAME, RewardTable.COLUMN_ID}
+    };
+
+    /**
+     * Constructs a QuickCheckJob.
+     *
+     * @param intervalMillis The minimum time between two completed runs.
+     * @param budgetMillis The time each run may take.
+     */
+    public QuickCheckJob(long intervalMillis, long budgetMillis) {
+        super(NAME, intervalMillis, budgetMillis);
+    }
+
+    @NonNull
+    @Override
+    public MaintenanceRun run(@NonNull SQLiteDatabase db, @NonNull TimeBudget budget, @Nullable String resumeToken) {
+        MaintenanceRun run = new MaintenanceRun();
+        run.setCompleted(true);
+
+        List<String> problems = budget.runStep(db, "PRAGMA quick_check(" + MAX_REPORTED_ERRORS + ")");
+        if (problems == null) {
+            run.setDetail("Interrupted: exceeded the budget.");
+            return run;
+        }
+        if (!problems.equals(Collections.singletonList(OK))) {
+            Logger.e(TAG, "Database quick check failed: " + problems);
+            run.setDetail("Problems: " + problems);
+            return run;
+        }
+
+        List<String> rebuilt = new ArrayList<>();
+        for (String[] index : SEARCH_INDEXES) {
+            if (!budget.hasTimeForStep() || isSearchIndexConsistent(budget, db, index[0], index[1], index[2]))
+                continue;
+            if (budget.runStep(db, String.format("INSERT INTO %1$s(%1$s) VALUES('rebuild')", index[0])) != null)
+                rebuilt.add(index[0]);
+        }
+        run.setDetail(rebuilt.isEmpty() ? "ok" : "ok, rebuilt search indexes: " + rebuilt);
+        return run;
+    }
+
+    /**
+     * Counts the rows of the content table missing from the index and the documents of the index
+     * whose row no longer exists. An interrupted check counts as consistent until the next run.
+     */
+    private static boolean isSearchIndexConsistent(@NonNull TimeBudget budget, @NonNull SQLiteDatabase db,
+                                                   @NonNull String index, @NonNull String contentTable,
+                                                   @NonNull String idColumn) {
+        List<String> drifted = budget.runStep(db, buildDriftQuery(index, contentTable, idColumn));
+        if (drifted == null || "0".equals(drifted.get(0))) return true;
+
+        Logger.w(TAG, "Search index {} is out of sync with {} document(s)", index, drifted.get(0));
+        return false;
+    }
+
+    @NonNull
+    private static String buildDriftQuery(@NonNull String index, @NonNull String contentTable, @NonNull String idColumn) {
+        return String.format("SELECT (SELECT count(*) FROM %2$s WHERE %3$s NOT IN (SELECT docid FROM %1$s_docsize))" +
+                " + (SELECT count(*) FROM %1$s_docsize WHERE docid NOT IN (SELECT %3$s FROM %2$s))",
+                index, contentTable, idColumn);
+    }
+}
@@ -0,0 +1,101 @@
+package com.ilp506.taskward.data.maintenance;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time budget of one maintenance run.
+ *
+ * Jobs split their work into steps, each a single auto-committed statement. Every step is
+ * cancelled through SQLite's interrupt once the budget's deadline passes, which rolls the step
+ * back and releases its locks, so no step can hold the write lock past the budget. A new step is
+ * only started if the remaining time covers the longest step seen so far.
+ */
+public final class TimeBudget {
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "maintenance-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long deadlineNanos;
+    private long longestStepNanos;
+    private int cancelledSteps;
+
+    /**
+     * Constructs a TimeBudget starting now.
+     *
+     * @param budgetMillis The total time the run may take.
+     */
+    public TimeBudget(long budgetMillis) {
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    /**
+     * Checks whether another step is expected to finish before the deadline.
+     *
+     * @return true if a step may start.
+     */
+    public boolean hasTimeForStep() {
+        long remaining = deadlineNanos - System.nanoTime();
+        return remaining > 0 && remaining >= longestStepNanos;
+    }
+
+    /**
+     * Runs one statement to completion, interrupting it at the deadline.
+     *
+     * @param db The database to run the statement on.
+     * @param sql The statement; it runs outside any transaction and commits on its own.
+     * @return The first column of every returned row, or null if the step was cancelled.
+     */
+    @Nullable
+    public List<String> runStep(@NonNull SQLiteDatabase db, @NonNull String sql) {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining <= 0) return null;
+
+        CancellationSignal signal = new CancellationSignal();
+        ScheduledFuture<?> watchdog = WATCHDOG.schedule(signal::cancel, remaining, TimeUnit.NANOSECONDS);
+        long start = System.nanoTime();
+        try (Cursor cursor = db.rawQuery(sql, null, signal)) {
+            List<String> rows = new ArrayList<>();
+            while (cursor.moveToNext()) rows.add(cursor.getColumnCount() > 0 ? cursor.getString(0) : null);
+            return rows;
+        } catch (OperationCanceledException e) {
+            cancelledSteps++;
+            return null;
+        } finally {
+            watchdog.cancel(false);
+            longestStepNanos = Math.max(longestStepNanos, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Gets the duration of the longest step run so far.
+     *
+     * @return The duration in nanoseconds.
+     */
+    public long getLongestStepNanos() {
+        return longestStepNanos;
+    }
+
+    /**
+     * Gets the number of steps interrupted at the deadline.
+     *
+     * @return The number of cancelled steps.
+     */
+    public int getCancelledSteps() {
+        return cancelledSteps;
+    }
+}
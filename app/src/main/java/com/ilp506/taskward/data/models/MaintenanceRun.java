@@ -0,0 +1,144 @@
+package com.ilp506.taskward.data.models;
+
+import androidx.annotation.NonNull;
+
+import com.ilp506.taskward.utils.DateUtils;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Represents one bounded run of a database maintenance job.
+ * A run either finishes the job or stops at its time budget, leaving a resume token
+ * that tells the next run where to continue.
+ */
+public class MaintenanceRun {
+
+    private int id;
+    private String job;
+    private LocalDateTime startedAt;
+    private long durationMillis;
+    private boolean completed;
+    private long pagesReclaimed;
+    private String detail;
+    private String resumeToken;
+
+    /**
+     * Constructs a new MaintenanceRun object, setting the start time to the current date and time.
+     */
+    public MaintenanceRun() {
+        this.startedAt = LocalDateTime.now();
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getJob() {
+        return job;
+    }
+
+    public void setJob(String job) {
+        this.job = job;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public long getPagesReclaimed() {
+        return pagesReclaimed;
+    }
+
+    public void setPagesReclaimed(long pagesReclaimed) {
+        this.pagesReclaimed = pagesReclaimed;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    public void setResumeToken(String resumeToken) {
+        this.resumeToken = resumeToken;
+    }
+
+    /**
+     * Returns a string representation of the maintenance run.
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return "MaintenanceRun { " +
+                "id=" + id +
+                ", job='" + job +
+                ", startedAt=" + DateUtils.formatLocalDateTime(startedAt) +
+                ", durationMillis=" + durationMillis +
+                ", completed=" + completed +
+                ", pagesReclaimed=" + pagesReclaimed +
+                ", detail='" + detail +
+                ", resumeToken='" + resumeToken +
+                " }";
+    }
+
+    /**
+     * Checks if the current MaintenanceRun object is equal to another object.
+     *
+     * @param o The object to compare with.
+     * @return true if the objects are equal, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MaintenanceRun that = (MaintenanceRun) o;
+        return id == that.id &&
+                durationMillis == that.durationMillis &&
+                completed == that.completed &&
+                pagesReclaimed == that.pagesReclaimed &&
+                Objects.equals(job, that.job) &&
+                Objects.equals(detail, that.detail) &&
+                Objects.equals(resumeToken, that.resumeToken);
+    }
+
+    /**
+     * Returns a hash code value for the MaintenanceRun object.
+     *
+     * @return The hash code value.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, job, durationMillis, completed, pagesReclaimed, detail, resumeToken);
+    }
+}
@@ -145,6 +145,16 @@ public class Reward {
      * @throws IllegalArgumentException If any validation rule is violated.
      */
     public void validate() throws IllegalArgumentException {
+        validate(LocalDateTime.now());
+    }
+
+    /**
+     * Validates the reward's data against a given current time.
+     *
+     * @param now The current time, which the redemption date must not be after.
+     * @throws IllegalArgumentException If any validation rule is violated.
+     */
+    public void validate(@NonNull LocalDateTime now) throws IllegalArgumentException {
         if (icon == null || icon.trim().isEmpty())
             throw new IllegalArgumentException("Icon is required.");
         if (title == null || title.trim().isEmpty())
@@ -153,7 +163,7 @@ public class Reward {
             throw new IllegalArgumentException("Description must be less than 255 characters.");
         if (pointsRequired <= 0)
             throw new IllegalArgumentException("Points required must be greater than 0.");
-        if (dateRedeemed != null && dateRedeemed.isAfter(LocalDateTime.now()))
+        if (dateRedeemed != null && dateRedeemed.isAfter(now))
             throw new IllegalArgumentException("Date redeemed must be in the present or the past if specified.");
     }
 
@@ -0,0 +1,94 @@
+package com.ilp506.taskward.data.models;
+
+import androidx.annotation.NonNull;
+
+import java.util.Objects;
+
+/**
+ * Represents a single ranked match returned by a full-text search.
+ * Highlighted fields wrap every matched term in {@link #HIGHLIGHT_START} and {@link #HIGHLIGHT_END}.
+ *
+ * @param <T> The type of the matched entity.
+ */
+public class SearchResult<T> {
+    public static final String HIGHLIGHT_START = "<b>";
+    public static final String HIGHLIGHT_END = "</b>";
+
+    private final T item;
+    private final double score;
+    private final String highlightedTitle;
+    private final String highlightedDescription;
+
+    /**
+     * Constructs a new SearchResult.
+     *
+     * @param item The matched entity.
+     * @param score The relevance score, higher is better.
+     * @param highlightedTitle The title with matched terms highlighted.
+     * @param highlightedDescription A snippet of the description with matched terms highlighted.
+     */
+    public SearchResult(@NonNull T item, double score, String highlightedTitle, String highlightedDescription) {
+        this.item = item;
+        this.score = score;
+        this.highlightedTitle = highlightedTitle;
+        this.highlightedDescription = highlightedDescription;
+    }
+
+    @NonNull
+    public T getItem() {
+        return item;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public String getHighlightedTitle() {
+        return highlightedTitle;
+    }
+
+    public String getHighlightedDescription() {
+        return highlightedDescription;
+    }
+
+    /**
+     * Returns a string representation of the search result.
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return "SearchResult { " +
+                "item=" + item +
+                ", score=" + score +
+                ", highlightedTitle='" + highlightedTitle +
+                ", highlightedDescription='" + highlightedDescription +
+                " }";
+    }
+
+    /**
+     * Checks if the current SearchResult object is equal to another object.
+     *
+     * @param o The object to compare with.
+     * @return true if the objects are equal, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SearchResult<?> that = (SearchResult<?>) o;
+        return Double.compare(that.score, score) == 0 &&
+                Objects.equals(item, that.item) &&
+                Objects.equals(highlightedTitle, that.highlightedTitle) &&
+                Objects.equals(highlightedDescription, that.highlightedDescription);
+    }
+
+    /**
+     * Returns a hash code value for the SearchResult object.
+     *
+     * @return The hash code value.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(item, score, highlightedTitle, highlightedDescription);
+    }
+}
@@ -1,9 +1,12 @@
 package com.ilp506.taskward.data.models;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.ilp506.taskward.data.enums.TaskFrequencyEnum;
 import com.ilp506.taskward.utils.DateUtils;
+import com.ilp506.taskward.utils.recurrence.Recurrence;
+import com.ilp506.taskward.utils.recurrence.RecurrenceRule;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -17,11 +20,14 @@ import java.util.stream.Collectors;
  */
 public class Task {
     private int id;
+    private int userId;
     private String icon;
     private String title;
     private String description;
     private TaskFrequencyEnum frequency;
     private int frequencyInterval;
+    private String recurrenceRule;
+    private Recurrence recurrence;
     private LocalDateTime startDate;
     private LocalDateTime endDate;
     private int pointsReward;
@@ -44,6 +50,14 @@ public class Task {
         this.id = id;
     }
 
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
     public String getIcon() {
         return icon;
     }
@@ -84,12 +98,41 @@ public class Task {
         this.frequencyInterval = frequencyInterval;
     }
 
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+
+    /**
+     * Sets the RRULE-subset rule refining the frequency, e.g. "FREQ=WEEKLY;BYDAY=MO,WE,FR",
+     * or null to recur every frequency interval from the start date.
+     *
+     * @param recurrenceRule The rule, see {@link RecurrenceRule}.
+     */
+    public void setRecurrenceRule(String recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+        this.recurrence = null;
+    }
+
+    /**
+     * Returns the recurrence rule compiled against the start date, compiling it on first use.
+     *
+     * @return The compiled recurrence, or null if the task has no recurrence rule.
+     * @throws IllegalArgumentException If the rule is malformed.
+     */
+    @Nullable
+    public Recurrence getRecurrence() {
+        if (recurrence == null && recurrenceRule != null && startDate != null)
+            recurrence = RecurrenceRule.parse(recurrenceRule).compile(startDate);
+        return recurrence;
+    }
+
     public LocalDateTime getStartDate() {
         return startDate;
     }
 
     public void setStartDate(LocalDateTime startDate) {
         this.startDate = startDate;
+        this.recurrence = null;
     }
 
     public LocalDateTime getEndDate() {
@@ -137,6 +180,7 @@ public class Task {
                 ", description='" + description +
                 ", frequency=" + (frequency != null ? frequency.getValue() : "null") +
                 ", frequencyInterval=" + frequencyInterval +
+                ", recurrenceRule=" + recurrenceRule +
                 ", startDate=" + DateUtils.formatLocalDateTime(startDate) +
                 ", endDate=" + DateUtils.formatLocalDateTime(endDate) +
                 ", pointsReward=" + pointsReward +
@@ -156,12 +200,14 @@ public class Task {
         if (o == null || getClass() != o.getClass()) return false;
         Task task = (Task) o;
         return id == task.id &&
+                userId == task.userId &&
                 pointsReward == task.pointsReward &&
                 Objects.equals(icon, task.icon) &&
                 Objects.equals(title, task.title) &&
                 Objects.equals(description, task.description) &&
                 frequency == task.frequency &&
                 frequencyInterval == task.frequencyInterval &&
+                Objects.equals(recurrenceRule, task.recurrenceRule) &&
                 Objects.equals(startDate, task.startDate) &&
                 Objects.equals(endDate, task.endDate) &&
                 Objects.equals(taskEvents, task.taskEvents);
@@ -174,8 +220,8 @@ public class Task {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(id, icon, title, description, frequency, frequencyInterval,
-                startDate, endDate, pointsReward, taskEvents);
+        return Objects.hash(id, userId, icon, title, description, frequency, frequencyInterval,
+                recurrenceRule, startDate, endDate, pointsReward, taskEvents);
     }
 
     /**
@@ -184,8 +230,20 @@ public class Task {
      * @throws IllegalArgumentException If any validation rule is violated.
      */
     public void validate() throws IllegalArgumentException {
+        validate(LocalDateTime.now());
+    }
+
+    /**
+     * Validates the task's data against a given current time.
+     *
+     * @param now The current time, which the start date must not be before.
+     * @throws IllegalArgumentException If any validation rule is violated.
+     */
+    public void validate(@NonNull LocalDateTime now) throws IllegalArgumentException {
         if (id < 0)
             throw new IllegalArgumentException("ID must be greater than or equal to 0.");
+        if (userId <= 0)
+            throw new IllegalArgumentException("Task must be assigned to a user.");
         if (icon == null || icon.trim().isEmpty())
             throw new IllegalArgumentException("Icon is required.");
         if (title == null || title.trim().isEmpty() || title.length() > 100)
@@ -196,9 +254,14 @@ public class Task {
             throw new IllegalArgumentException("Frequency is required.");
         if (frequencyInterval <= 0)
             throw new IllegalArgumentException("Frequency interval must be greater than 0.");
+        if (recurrenceRule != null) {
+            RecurrenceRule rule = RecurrenceRule.parse(recurrenceRule);
+            if (rule.getFrequency() != frequency || rule.getInterval() != frequencyInterval)
+                throw new IllegalArgumentException("Recurrence rule must match the frequency and interval.");
+        }
         if (pointsReward < 0)
             throw new IllegalArgumentException("Points reward must be greater than or equal to 0.");
-        if (startDate.isBefore(LocalDateTime.now()))
+        if (startDate.isBefore(now))
             throw new IllegalArgumentException("Start date must be now or in the future.");
         if (endDate != null && endDate.isBefore(startDate))
             throw new IllegalArgumentException("End date must be after start date.");
@@ -0,0 +1,181 @@
+package com.ilp506.taskward.data.repositories;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.ilp506.taskward.data.DatabaseContract.MaintenanceRunTable;
+import com.ilp506.taskward.data.DatabaseHelper;
+import com.ilp506.taskward.data.instrumentation.QueryInstrumentation;
+import com.ilp506.taskward.data.instrumentation.QueryProbe;
+import com.ilp506.taskward.data.models.MaintenanceRun;
+import com.ilp506.taskward.data.storage.AndroidDatabaseProvider;
+import com.ilp506.taskward.data.storage.DatabaseProvider;
+import com.ilp506.taskward.data.storage.Rows;
+import com.ilp506.taskward.data.storage.StorageException;
+import com.ilp506.taskward.data.storage.Values;
+import com.ilp506.taskward.exceptions.codes.DatabaseErrorCode;
+import com.ilp506.taskward.exceptions.custom.DatabaseOperationException;
+import com.ilp506.taskward.exceptions.handlers.DatabaseErrorHandler;
+import com.ilp506.taskward.utils.DateUtils;
+import com.ilp506.taskward.utils.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repository class responsible for managing database operations related to the MaintenanceRun model.
+ * Runs are only ever appended and read back, so the history doubles as the scheduler's state.
+ */
+public class MaintenanceRunRepository {
+    private static final String TAG = MaintenanceRunRepository.class.getSimpleName();
+
+    private final DatabaseProvider databaseProvider;
+
+    /**
+     * Constructs a MaintenanceRunRepository with a database helper instance.
+     *
+     * @param context The application context used to initialize the database helper.
+     */
+    public MaintenanceRunRepository(Context context) {
+        this(DatabaseHelper.getInstance(context));
+    }
+
+    /**
+     * Constructs a MaintenanceRunRepository on top of a given database helper.
+     *
+     * @param dbHelper The helper of the database holding the maintenance history.
+     */
+    public MaintenanceRunRepository(@NonNull SQLiteOpenHelper dbHelper) {
+        this(new AndroidDatabaseProvider(dbHelper));
+    }
+
+    /**
+     * Constructs a MaintenanceRunRepository on a given storage.
+     *
+     * @param databaseProvider The provider of the database connections.
+     */
+    public MaintenanceRunRepository(@NonNull DatabaseProvider databaseProvider) {
+        this.databaseProvider = databaseProvider;
+    }
+
+    /**
+     * Maps the current row of a query result to a MaintenanceRun instance.
+     *
+     * @param cursor The rows containing the queried data, positioned on the row to map.
+     * @return A MaintenanceRun instance populated with the cursor's data.
+     * @throws DatabaseOperationException If an error occurs during the mapping process.
+     */
+    protected MaintenanceRun mapCursorToMaintenanceRun(@NonNull Rows cursor) {
+        MaintenanceRun run = new MaintenanceRun();
+        try {
+            run.setId(cursor.getInt(cursor.getColumnIndexOrThrow(MaintenanceRunTable.COLUMN_ID)));
+            run.setJob(cursor.getString(cursor.getColumnIndexOrThrow(MaintenanceRunTable.COLUMN_JOB)));
+            run.setStartedAt(DateUtils.parseLocalDateTime(
+                    cursor.getString(cursor.getColumnIndexOrThrow(MaintenanceRunTable.COLUMN_STARTED_AT))
+            ));
+            run.setDurationMillis(cursor.getLong(cursor.getColumnIndexOrThrow(MaintenanceRunTable.COLUMN_DURATION_MS)));
+            run.setCompleted(cursor.getInt(cursor.getColumnIndexOrThrow(MaintenanceRunTable.COLUMN_COMPLETED)) == 1);
+            run.setPagesReclaimed(cursor.getLong(cursor.getColumnIndexOrThrow(MaintenanceRunTable.COLUMN_PAGES_RECLAIMED)));
+            run.setDetail(cursor.getString(cursor.getColumnIndexOrThrow(MaintenanceRunTable.COLUMN_DETAIL)));
+            run.setResumeToken(cursor.getString(cursor.getColumnIndexOrThrow(MaintenanceRunTable.COLUMN_RESUME_TOKEN)));
+        } catch (Exception e) {
+            Logger.e(TAG, "Error mapping cursor to MaintenanceRun: " + e.getMessage(), e);
+            throw DatabaseOperationException.fromError(
+                    DatabaseErrorCode.UNEXPECTED_ERROR,
+                    "Error mapping cursor to MaintenanceRun.",
+                    e
+            );
+        }
+        return run;
+    }
+
+    /**
+     * Records a maintenance run.
+     *
+     * @param run The MaintenanceRun instance to be recorded.
+     * @return The ID of the recorded run.
+     * @throws DatabaseOperationException If an error occurs during the database operation.
+     */
+    public int createMaintenanceRun(@NonNull MaintenanceRun run) {
+        try (QueryProbe probe = QueryInstrumentation.probe("MaintenanceRunRepository.createMaintenanceRun")) {
+            Values values = new Values();
+            values.put(MaintenanceRunTable.COLUMN_JOB, run.getJob());
+            values.put(MaintenanceRunTable.COLUMN_STARTED_AT, DateUtils.formatLocalDateTime(run.getStartedAt()));
+            values.put(MaintenanceRunTable.COLUMN_DURATION_MS, run.getDurationMillis());
+            values.put(MaintenanceRunTable.COLUMN_COMPLETED, run.isCompleted() ? 1 : 0);
+            values.put(MaintenanceRunTable.COLUMN_PAGES_RECLAIMED, run.getPagesReclaimed());
+            values.put(MaintenanceRunTable.COLUMN_DETAIL, run.getDetail());
+            values.put(MaintenanceRunTable.COLUMN_RESUME_TOKEN, run.getResumeToken());
+
+            probe.insert(MaintenanceRunTable.TABLE_NAME, values);
+            long newId = databaseProvider.getWritableDatabase().insert(MaintenanceRunTable.TABLE_NAME, values);
+            if (newId == -1) {
+                throw DatabaseOperationException.fromError(
+                        DatabaseErrorCode.QUERY_FAILURE,
+                        "Failed to insert new MaintenanceRun."
+                );
+            }
+            probe.rowsWritten(1);
+            run.setId((int) newId);
+            return (int) newId;
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error during MaintenanceRun creation.");
+        }
+    }
+
+    /**
+     * Retrieves the most recent run of a job.
+     *
+     * @param job The job name.
+     * @return The latest run, or null if the job never ran.
+     * @throws DatabaseOperationException If an error occurs during the database operation.
+     */
+    @Nullable
+    public MaintenanceRun getLatestMaintenanceRun(@NonNull String job) {
+        final String sql = "SELECT * FROM " + MaintenanceRunTable.TABLE_NAME +
+                " WHERE " + MaintenanceRunTable.COLUMN_JOB + " = ?" +
+                " ORDER BY " + MaintenanceRunTable.COLUMN_ID + " DESC LIMIT 1";
+        final String[] selectionArgs = {job};
+
+        try (QueryProbe probe = QueryInstrumentation.probe("MaintenanceRunRepository.getLatestMaintenanceRun");
+             Rows cursor = databaseProvider.getReadableDatabase().rawQuery(sql, selectionArgs)) {
+            probe.sql(sql, selectionArgs);
+            if (!cursor.moveToFirst()) return null;
+            probe.rowsRead(1);
+            return mapCursorToMaintenanceRun(cursor);
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
+                    String.format("Error retrieving latest run of maintenance job %s.", job)
+            );
+        }
+    }
+
+    /**
+     * Retrieves the most recent runs of all jobs.
+     *
+     * @param limit The maximum number of runs to return.
+     * @return The runs, newest first.
+     * @throws DatabaseOperationException If an error occurs during the database operation.
+     */
+    public List<MaintenanceRun> getRecentMaintenanceRuns(int limit) {
+        List<MaintenanceRun> runs = new ArrayList<>();
+        final String sql = "SELECT * FROM " + MaintenanceRunTable.TABLE_NAME +
+                " ORDER BY " + MaintenanceRunTable.COLUMN_ID + " DESC LIMIT ?";
+        final String[] selectionArgs = {String.valueOf(limit)};
+
+        try (QueryProbe probe = QueryInstrumentation.probe("MaintenanceRunRepository.getRecentMaintenanceRuns");
+             Rows cursor = databaseProvider.getReadableDatabase().rawQuery(sql, selectionArgs)) {
+            probe.sql(sql, selectionArgs);
+            while (cursor.moveToNext()) {
+                runs.add(mapCursorToMaintenanceRun(cursor));
+            }
+            probe.rowsRead(runs.size());
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error retrieving maintenance runs.");
+        }
+        return runs;
+    }
+}
@@ -1,21 +1,30 @@
 package com.ilp506.taskward.data.repositories;
 
-import android.content.ContentValues;
 import android.content.Context;
-import android.database.Cursor;
-import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteOpenHelper;
 
 import androidx.annotation.NonNull;
 
+import com.ilp506.taskward.data.DatabaseContract.RewardSearchTable;
 import com.ilp506.taskward.data.DatabaseContract.RewardTable;
 import com.ilp506.taskward.data.DatabaseHelper;
+import com.ilp506.taskward.data.instrumentation.QueryInstrumentation;
+import com.ilp506.taskward.data.instrumentation.QueryProbe;
 import com.ilp506.taskward.data.models.Reward;
+import com.ilp506.taskward.data.models.SearchResult;
+import com.ilp506.taskward.data.storage.AndroidDatabaseProvider;
+import com.ilp506.taskward.data.storage.CompiledStatement;
+import com.ilp506.taskward.data.storage.Database;
+import com.ilp506.taskward.data.storage.DatabaseProvider;
+import com.ilp506.taskward.data.storage.Rows;
+import com.ilp506.taskward.data.storage.StorageException;
+import com.ilp506.taskward.data.storage.Values;
 import com.ilp506.taskward.exceptions.codes.DatabaseErrorCode;
 import com.ilp506.taskward.exceptions.custom.DatabaseOperationException;
 import com.ilp506.taskward.exceptions.handlers.DatabaseErrorHandler;
 import com.ilp506.taskward.utils.DateUtils;
 import com.ilp506.taskward.utils.Logger;
+import com.ilp506.taskward.utils.SearchUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,7 +36,7 @@ import java.util.List;
 public class RewardRepository {
     private static final String TAG = RewardRepository.class.getSimpleName();
 
-    private final DatabaseHelper dbHelper;
+    private final DatabaseProvider databaseProvider;
 
     /**
      * Constructs a RewardRepository with a database helper instance.
@@ -35,17 +44,35 @@ public class RewardRepository {
      * @param context The application context used to initialize the database helper.
      */
     public RewardRepository(Context context) {
-        this.dbHelper = DatabaseHelper.getInstance(context);
+        this(DatabaseHelper.getInstance(context));
     }
 
     /**
-     * Maps the data from a Cursor object to a Reward instance.
+     * Constructs a RewardRepository for a given database.
      *
-     * @param cursor The cursor containing the queried data.
+     * @param dbHelper The helper of the database to operate on.
+     */
+    public RewardRepository(@NonNull SQLiteOpenHelper dbHelper) {
+        this(new AndroidDatabaseProvider(dbHelper));
+    }
+
+    /**
+     * Constructs a RewardRepository on a given storage, e.g. a JVM SQLite driver.
+     *
+     * @param databaseProvider The provider of the database connections.
+     */
+    public RewardRepository(@NonNull DatabaseProvider databaseProvider) {
+        this.databaseProvider = databaseProvider;
+    }
+
+    /**
+     * Maps the current row of a query result to a Reward instance.
+     *
+     * @param cursor The rows containing the queried data, positioned on the row to map.
      * @return A Reward instance populated with the cursor's data.
      * @throws DatabaseOperationException If an error occurs during the mapping process.
      */
-    protected Reward mapCursorToReward(Cursor cursor) {
+    protected Reward mapCursorToReward(Rows cursor) {
         Reward reward = new Reward();
         try {
             reward.setId(cursor.getInt(cursor.getColumnIndexOrThrow(RewardTable.COLUMN_ID)));
@@ -79,15 +106,17 @@ public class RewardRepository {
      * @throws DatabaseOperationException If an error occurs during the database operation.
      */
     public Reward createReward(@NonNull Reward reward) {
-        try (SQLiteDatabase db = dbHelper.getWritableDatabase()) {
-            ContentValues values = new ContentValues();
+        try (QueryProbe probe = QueryInstrumentation.probe("RewardRepository.createReward")) {
+            Database db = databaseProvider.getWritableDatabase();
+            Values values = new Values();
             values.put(RewardTable.COLUMN_USER_ID, reward.getUserId());
             values.put(RewardTable.COLUMN_ICON, reward.getIcon());
             values.put(RewardTable.COLUMN_TITLE, reward.getTitle());
             values.put(RewardTable.COLUMN_DESCRIPTION, reward.getDescription());
             values.put(RewardTable.COLUMN_POINTS_REQUIRED, reward.getPointsRequired());
 
-            long newId = db.insertOrThrow(RewardTable.TABLE_NAME, null, values);
+            probe.insert(RewardTable.TABLE_NAME, values);
+            long newId = db.insert(RewardTable.TABLE_NAME, values);
             if (newId == -1) {
                 Logger.e(TAG, "Failed to insert new reward");
                 throw DatabaseOperationException.fromError(
@@ -95,9 +124,56 @@ public class RewardRepository {
                         "Failed to insert new reward."
                 );
             }
+            probe.rowsWritten(1);
             return getRewardById((int) newId);
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e, "Error during reward creation.");
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error during reward creation.");
+        }
+    }
+
+    /**
+     * Creates many rewards in a single transaction with one compiled statement.
+     * The generated IDs are set on the given instances; a null creation date defaults to now.
+     *
+     * @param rewards The Reward instances to be created.
+     * @throws DatabaseOperationException If an error occurs during the database operation;
+     *         no reward of the batch is created then.
+     */
+    public void createRewards(@NonNull List<Reward> rewards) {
+        final String sql = "INSERT INTO " + RewardTable.TABLE_NAME + " (" +
+                RewardTable.COLUMN_USER_ID + ", " +
+                RewardTable.COLUMN_ICON + ", " +
+                RewardTable.COLUMN_TITLE + ", " +
+                RewardTable.COLUMN_DESCRIPTION + ", " +
+                RewardTable.COLUMN_POINTS_REQUIRED + ", " +
+                RewardTable.COLUMN_DATE_REDEEMED + ", " +
+                RewardTable.COLUMN_CREATED_AT +
+                ") VALUES (?, ?, ?, ?, ?, ?, COALESCE(?, CURRENT_TIMESTAMP))";
+
+        try (QueryProbe probe = QueryInstrumentation.transaction("RewardRepository.createRewards")) {
+            Database db = databaseProvider.getWritableDatabase();
+            probe.sql(sql, null);
+            db.beginTransaction();
+            try (CompiledStatement insert = db.compileStatement(sql)) {
+                for (Reward reward : rewards) {
+                    insert.bindLong(1, reward.getUserId());
+                    insert.bindString(2, reward.getIcon());
+                    insert.bindString(3, reward.getTitle());
+                    insert.bindValue(4, reward.getDescription());
+                    insert.bindLong(5, reward.getPointsRequired());
+                    insert.bindValue(6, DateUtils.formatLocalDateTime(reward.getDateRedeemed()));
+                    insert.bindValue(7, DateUtils.formatLocalDateTime(reward.getCreatedAt()));
+                    reward.setId((int) insert.executeInsert());
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            probe.rowsWritten(rewards.size());
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
+                    String.format("Error during creation of %d rewards.", rewards.size())
+            );
         }
     }
 
@@ -111,22 +187,56 @@ public class RewardRepository {
         List<Reward> rewards = new ArrayList<>();
         final String[] columns = RewardTable.ALL_COLUMNS;
 
-        try (SQLiteDatabase db = dbHelper.getReadableDatabase();
-             Cursor cursor = db.query(
+        try (QueryProbe probe = QueryInstrumentation.probe("RewardRepository.getAllRewards");
+             Rows cursor = databaseProvider.getReadableDatabase().query(
                      RewardTable.TABLE_NAME,
                      columns,
                      null,
                      null,
-                     null,
-                     null,
                      null
              )) {
+            probe.query(RewardTable.TABLE_NAME, columns, null, null, null);
             while (cursor.moveToNext()) {
                 Reward reward = mapCursorToReward(cursor);
                 rewards.add(reward);
             }
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e, "Error during retrieval of all rewards.");
+            probe.rowsRead(rewards.size());
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error during retrieval of all rewards.");
+        }
+        return rewards;
+    }
+
+    /**
+     * Retrieves the rewards of a user.
+     *
+     * @param userId The ID of the user.
+     * @return A list of Reward instances.
+     * @throws DatabaseOperationException If an error occurs during the database operation.
+     */
+    public List<Reward> getRewardsByUserId(int userId) {
+        List<Reward> rewards = new ArrayList<>();
+        final String[] columns = RewardTable.ALL_COLUMNS;
+        final String selection = RewardTable.COLUMN_USER_ID + " = ?";
+        final String[] selectionArgs = {String.valueOf(userId)};
+
+        try (QueryProbe probe = QueryInstrumentation.probe("RewardRepository.getRewardsByUserId");
+             Rows cursor = databaseProvider.getReadableDatabase().query(
+                     RewardTable.TABLE_NAME,
+                     columns,
+                     selection,
+                     selectionArgs,
+                     null
+             )) {
+            probe.query(RewardTable.TABLE_NAME, columns, selection, selectionArgs, null);
+            while (cursor.moveToNext()) {
+                rewards.add(mapCursorToReward(cursor));
+            }
+            probe.rowsRead(rewards.size());
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
+                    String.format("Error during retrieval of rewards of user %d.", userId)
+            );
         }
         return rewards;
     }
@@ -143,28 +253,27 @@ public class RewardRepository {
         final String selection = RewardTable.COLUMN_ID + " = ?";
         final String[] selectionArgs = {String.valueOf(rewardId)};
 
-        try (SQLiteDatabase db = dbHelper.getReadableDatabase();
-             Cursor cursor = db.query(
+        try (QueryProbe probe = QueryInstrumentation.probe("RewardRepository.getRewardById");
+             Rows cursor = databaseProvider.getReadableDatabase().query(
                      RewardTable.TABLE_NAME,
                      columns,
                      selection,
                      selectionArgs,
-                     null,
-                     null,
                      null
              )) {
-
-            if (cursor.moveToFirst())
+            probe.query(RewardTable.TABLE_NAME, columns, selection, selectionArgs, null);
+            if (cursor.moveToFirst()) {
+                probe.rowsRead(1);
                 return mapCursorToReward(cursor);
-            else {
-                Logger.w(TAG, "Reward not found with ID: " + rewardId);
+            } else {
+                Logger.w(TAG, "Reward not found with ID: {}", rewardId);
                 throw DatabaseOperationException.fromError(
                         DatabaseErrorCode.RESOURCE_NOT_FOUND,
                         String.format("Reward not found with ID %d.", rewardId)
                 );
             }
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e,
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
                     String.format("Error during retrieval of reward with ID %d.", rewardId)
             );
         }
@@ -181,8 +290,9 @@ public class RewardRepository {
         final String selection = RewardTable.COLUMN_ID + " = ?";
         final String[] selectionArgs = {String.valueOf(reward.getId())};
 
-        try (SQLiteDatabase db = dbHelper.getWritableDatabase()) {
-            ContentValues values = new ContentValues();
+        try (QueryProbe probe = QueryInstrumentation.probe("RewardRepository.updateReward")) {
+            Database db = databaseProvider.getWritableDatabase();
+            Values values = new Values();
             values.put(RewardTable.COLUMN_USER_ID, reward.getUserId());
             values.put(RewardTable.COLUMN_ICON, reward.getIcon());
             values.put(RewardTable.COLUMN_TITLE, reward.getTitle());
@@ -190,7 +300,9 @@ public class RewardRepository {
             values.put(RewardTable.COLUMN_POINTS_REQUIRED, reward.getPointsRequired());
             values.put(RewardTable.COLUMN_DATE_REDEEMED, DateUtils.formatLocalDateTime(reward.getDateRedeemed()));
 
+            probe.update(RewardTable.TABLE_NAME, values, selection, selectionArgs);
             int rowsUpdated = db.update(RewardTable.TABLE_NAME, values, selection, selectionArgs);
+            probe.rowsWritten(rowsUpdated);
             if (rowsUpdated == 0) {
                 throw DatabaseOperationException.fromError(
                         DatabaseErrorCode.DATA_INTEGRITY_VIOLATION,
@@ -198,8 +310,8 @@ public class RewardRepository {
                 );
             }
             return getRewardById(reward.getId());
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e,
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
                     String.format("Error during reward update for ID %d.", reward.getId())
             );
         }
@@ -215,18 +327,63 @@ public class RewardRepository {
         final String selection = RewardTable.COLUMN_ID + " = ?";
         final String[] selectionArgs = {String.valueOf(rewardId)};
 
-        try (SQLiteDatabase db = dbHelper.getWritableDatabase()) {
+        try (QueryProbe probe = QueryInstrumentation.probe("RewardRepository.deleteReward")) {
+            Database db = databaseProvider.getWritableDatabase();
+            probe.delete(RewardTable.TABLE_NAME, selection, selectionArgs);
             int rowsDeleted = db.delete(RewardTable.TABLE_NAME, selection, selectionArgs);
+            probe.rowsWritten(rowsDeleted);
             if (rowsDeleted == 0) {
                 throw DatabaseOperationException.fromError(
                         DatabaseErrorCode.RESOURCE_NOT_FOUND,
                         String.format("Failed to delete reward with ID %d. Reward not found.", rewardId)
                 );
             }
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e,
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
                     String.format("Error during reward deletion for ID %d.", rewardId)
             );
         }
     }
+
+    /**
+     * Searches rewards by title and description using the full-text index.
+     * Every word of the search text is matched as a prefix, and results are ranked by relevance
+     * with title hits weighing more than description hits.
+     *
+     * @param searchText The text typed by the user.
+     * @param limit The maximum number of results to return.
+     * @return A list of ranked search results, empty if nothing matches.
+     * @throws DatabaseOperationException If an error occurs during the database operation.
+     */
+    public List<SearchResult<Reward>> searchRewards(String searchText, int limit) {
+        List<SearchResult<Reward>> results = new ArrayList<>();
+        final String matchQuery = SearchUtils.buildPrefixMatchQuery(searchText);
+        if (matchQuery.isEmpty()) return results;
+
+        final String query = SearchUtils.buildSearchQuery(
+                RewardSearchTable.TABLE_NAME, RewardTable.TABLE_NAME, RewardTable.COLUMN_ID);
+
+        final String[] selectionArgs = {matchQuery};
+
+        try (QueryProbe probe = QueryInstrumentation.probe("RewardRepository.searchRewards");
+             Rows cursor = databaseProvider.getReadableDatabase().rawQuery(query, selectionArgs)) {
+            probe.sql(query, selectionArgs);
+            probe.rowsRead(cursor.getCount());
+            for (SearchUtils.RankedPosition ranked : SearchUtils.rankPositions(
+                    cursor, SearchUtils.TITLE_DESCRIPTION_WEIGHTS, limit)) {
+                cursor.moveToPosition(ranked.getPosition());
+                results.add(new SearchResult<>(
+                        mapCursorToReward(cursor),
+                        ranked.getScore(),
+                        cursor.getString(cursor.getColumnIndexOrThrow(SearchUtils.COLUMN_HIGHLIGHTED_TITLE)),
+                        cursor.getString(cursor.getColumnIndexOrThrow(SearchUtils.COLUMN_HIGHLIGHTED_DESCRIPTION))
+                ));
+            }
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
+                    String.format("Error during reward search for '%s'.", matchQuery)
+            );
+        }
+        return results;
+    }
 }
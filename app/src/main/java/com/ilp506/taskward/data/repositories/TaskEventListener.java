@@ -0,0 +1,34 @@
+package com.ilp506.taskward.data.repositories;
+
+import androidx.annotation.NonNull;
+
+import com.ilp506.taskward.data.models.TaskEvent;
+
+import java.util.List;
+
+/**
+ * Interface for keeping in-memory views of the task events in sync with the database.
+ * Callbacks are delivered on the thread writing, after the write has been committed.
+ */
+public interface TaskEventListener {
+
+    /**
+     * Called after TaskEvents were created or updated.
+     *
+     * @param taskEvents The TaskEvents as written, with their IDs.
+     */
+    void onTaskEventsWritten(@NonNull List<TaskEvent> taskEvents);
+
+    /**
+     * Called after a TaskEvent was deleted.
+     *
+     * @param taskEventId The ID of the deleted TaskEvent.
+     */
+    void onTaskEventDeleted(int taskEventId);
+
+    /**
+     * Called after TaskEvents were changed in bulk without being read, e.g. deleted by date:
+     * anything derived from them must be reloaded.
+     */
+    void onTaskEventsInvalidated();
+}
@@ -1,26 +1,38 @@
 package com.ilp506.taskward.data.repositories;
 
-import android.content.ContentValues;
 import android.content.Context;
-import android.database.Cursor;
-import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteOpenHelper;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.ilp506.taskward.data.DatabaseContract.TaskEventTable;
 import com.ilp506.taskward.data.DatabaseContract.TaskTable;
 import com.ilp506.taskward.data.DatabaseHelper;
 import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.instrumentation.QueryInstrumentation;
+import com.ilp506.taskward.data.instrumentation.QueryProbe;
 import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.storage.AndroidDatabaseProvider;
+import com.ilp506.taskward.data.storage.CompiledStatement;
+import com.ilp506.taskward.data.storage.Database;
+import com.ilp506.taskward.data.storage.DatabaseProvider;
+import com.ilp506.taskward.data.storage.Rows;
+import com.ilp506.taskward.data.storage.StorageException;
+import com.ilp506.taskward.data.storage.Values;
 import com.ilp506.taskward.exceptions.codes.DatabaseErrorCode;
 import com.ilp506.taskward.exceptions.custom.DatabaseOperationException;
 import com.ilp506.taskward.exceptions.handlers.DatabaseErrorHandler;
 import com.ilp506.taskward.utils.DateUtils;
 import com.ilp506.taskward.utils.Logger;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Repository class responsible for managing database operations related to the TaskEvent model.
@@ -29,7 +41,12 @@ import java.util.List;
 public class TaskEventRepository {
     private static final String TAG = TaskEventRepository.class.getSimpleName();
 
-    private final DatabaseHelper dbHelper;
+    /** The SQLite version from which an INSERT can take an ON CONFLICT clause, as major and minor. */
+    private static final int[] UPSERT_SQLITE_VERSION = {3, 24};
+
+    private final DatabaseProvider databaseProvider;
+    private final List<TaskEventListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile String insertOccurrenceSql;
 
     /**
      * Constructs a TaskEventRepository with a database helper instance.
@@ -37,17 +54,53 @@ public class TaskEventRepository {
      * @param context The application context used to initialize the DatabaseHelper.
      */
     public TaskEventRepository(Context context) {
-        this.dbHelper = DatabaseHelper.getInstance(context);
+        this(DatabaseHelper.getInstance(context));
+    }
+
+    /**
+     * Constructs a TaskEventRepository for a given database.
+     *
+     * @param dbHelper The helper of the database to operate on.
+     */
+    public TaskEventRepository(@NonNull SQLiteOpenHelper dbHelper) {
+        this(new AndroidDatabaseProvider(dbHelper));
     }
 
     /**
-     * Maps the data from a Cursor object to a TaskEvent instance.
+     * Constructs a TaskEventRepository on a given storage, e.g. a JVM SQLite driver.
      *
-     * @param cursor The cursor containing the queried data.
+     * @param databaseProvider The provider of the database connections.
+     */
+    public TaskEventRepository(@NonNull DatabaseProvider databaseProvider) {
+        this.databaseProvider = databaseProvider;
+    }
+
+    /**
+     * Registers a listener notified of the writes made through this repository.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(@NonNull TaskEventListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeListener(@NonNull TaskEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Maps the current row of a query result to a TaskEvent instance.
+     *
+     * @param cursor The rows containing the queried data, positioned on the row to map.
      * @return A TaskEvent instance populated with the cursor's data.
      * @throws DatabaseOperationException If an error occurs during the mapping process.
      */
-    protected TaskEvent mapCursorToTaskEvent(Cursor cursor) {
+    protected TaskEvent mapCursorToTaskEvent(Rows cursor) {
         TaskEvent taskEvent = new TaskEvent();
         try {
             taskEvent.setId(cursor.getInt(cursor.getColumnIndexOrThrow(TaskEventTable.COLUMN_ID)));
@@ -82,33 +135,80 @@ public class TaskEventRepository {
     }
 
     /**
-     * Creates a new TaskEvent in the database.
+     * Creates a new TaskEvent in the database. An occurrence is stored once per task, user and
+     * scheduled date: if it is stored already, nothing is written and the stored event is returned,
+     * so creating an occurrence can be retried or race another writer safely.
      *
      * @param taskEvent The TaskEvent instance to be created.
-     * @return The created TaskEvent instance.
+     * @return The created TaskEvent instance, or the stored one for the same occurrence.
      * @throws DatabaseOperationException If an error occurs during the database operation.
      */
     public TaskEvent createTaskEvent(@NonNull TaskEvent taskEvent) {
-        try (SQLiteDatabase db = dbHelper.getWritableDatabase()) {
-            ContentValues values = new ContentValues();
-            values.put(TaskEventTable.COLUMN_USER_ID, taskEvent.getUserId());
-            values.put(TaskEventTable.COLUMN_TASK_ID, taskEvent.getTaskId());
-            values.put(TaskEventTable.COLUMN_SCHEDULED_DATE, DateUtils.formatLocalDateTime(taskEvent.getScheduledDate()));
-            values.put(TaskEventTable.COLUMN_COMPLETED_DATE, DateUtils.formatLocalDateTime(taskEvent.getCompletedDate()));
-            values.put(TaskEventTable.COLUMN_POINTS_EARNED, taskEvent.getPointsEarned());
-            values.put(TaskEventTable.COLUMN_STATUS, taskEvent.getStatus().getValue());
-            values.put(TaskEventTable.COLUMN_CREATED_AT, DateUtils.formatLocalDateTime(taskEvent.getCreatedAt()));
-
-            long newId = db.insertOrThrow(TaskEventTable.TABLE_NAME, null, values);
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskEventRepository.createTaskEvent")) {
+            Database db = databaseProvider.getWritableDatabase();
+            String sql = getInsertOccurrenceSql(db);
+            probe.sql(sql, null);
+            long newId;
+            try (CompiledStatement insert = db.compileStatement(sql)) {
+                bindOccurrence(insert, taskEvent);
+                newId = insert.executeInsert();
+            }
             if (newId == -1) {
-                throw DatabaseOperationException.fromError(
-                        DatabaseErrorCode.QUERY_FAILURE,
-                        "Failed to insert new TaskEvent."
-                );
+                TaskEvent storedTaskEvent = getTaskEventByOccurrence(taskEvent);
+                if (storedTaskEvent == null) {
+                    throw DatabaseOperationException.fromError(
+                            DatabaseErrorCode.QUERY_FAILURE,
+                            "Failed to insert new TaskEvent."
+                    );
+                }
+                return storedTaskEvent;
             }
-            return getTaskEventById((int) newId);
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e, "Error during TaskEvent creation.");
+            probe.rowsWritten(1);
+            TaskEvent createdTaskEvent = getTaskEventById((int) newId);
+            notifyWritten(Collections.singletonList(createdTaskEvent));
+            return createdTaskEvent;
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error during TaskEvent creation.");
+        }
+    }
+
+    /**
+     * Creates many TaskEvents in a single transaction with one compiled statement.
+     * Much faster than repeated {@link #createTaskEvent(TaskEvent)} calls for large batches.
+     * The generated IDs are set on the given instances; a null creation date defaults to now.
+     * Occurrences already stored are skipped and keep an ID of 0, so a batch can be written again,
+     * e.g. after a failure, or alongside another writer without creating duplicates.
+     *
+     * @param taskEvents The TaskEvent instances to be created.
+     * @return The number of TaskEvents created.
+     * @throws DatabaseOperationException If an error occurs during the database operation;
+     *         no TaskEvent of the batch is created then.
+     */
+    public int createTaskEvents(@NonNull List<TaskEvent> taskEvents) {
+        try (QueryProbe probe = QueryInstrumentation.transaction("TaskEventRepository.createTaskEvents")) {
+            Database db = databaseProvider.getWritableDatabase();
+            String sql = getInsertOccurrenceSql(db);
+            probe.sql(sql, null);
+            List<TaskEvent> created = new ArrayList<>(taskEvents.size());
+            db.beginTransaction();
+            try (CompiledStatement insert = db.compileStatement(sql)) {
+                for (TaskEvent taskEvent : taskEvents) {
+                    bindOccurrence(insert, taskEvent);
+                    long newId = insert.executeInsert();
+                    taskEvent.setId(newId == -1 ? 0 : (int) newId);
+                    if (newId != -1) created.add(taskEvent);
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            probe.rowsWritten(created.size());
+            notifyWritten(created);
+            return created.size();
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
+                    String.format("Error during creation of %d TaskEvents.", taskEvents.size())
+            );
         }
     }
 
@@ -135,21 +235,68 @@ public class TaskEventRepository {
                 TaskTable.TABLE_NAME + "." + TaskTable.COLUMN_TITLE
         };
 
-        try (SQLiteDatabase db = dbHelper.getReadableDatabase();
-             Cursor cursor = db.query(
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskEventRepository.getAllTaskEvents");
+             Rows cursor = databaseProvider.getReadableDatabase().query(
                      table,
                      columns,
                      null,
                      null,
-                     null,
-                     null,
                      null
              )) {
+            probe.query(table, columns, null, null, null);
+            while (cursor.moveToNext()) {
+                taskEvents.add(mapCursorToTaskEvent(cursor));
+            }
+            probe.rowsRead(taskEvents.size());
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error retrieving all TaskEvents.");
+        }
+        return taskEvents;
+    }
+
+    /**
+     * Retrieves the TaskEvents of a user, over the user index.
+     *
+     * @param userId The ID of the user.
+     * @return A list of TaskEvent instances.
+     * @throws DatabaseOperationException If an error occurs during the database operation.
+     */
+    public List<TaskEvent> getTaskEventsByUserId(int userId) {
+        List<TaskEvent> taskEvents = new ArrayList<>();
+        final String table = String.format(
+                "%s LEFT JOIN %s ON %s.%s = %s.%s",
+                TaskEventTable.TABLE_NAME,
+                TaskTable.TABLE_NAME,
+                TaskEventTable.TABLE_NAME,
+                TaskEventTable.COLUMN_TASK_ID,
+                TaskTable.TABLE_NAME,
+                TaskTable.COLUMN_ID
+        );
+
+        final String[] columns = {
+                TaskEventTable.TABLE_NAME + ".*",
+                TaskTable.TABLE_NAME + "." + TaskTable.COLUMN_TITLE
+        };
+        final String selection = TaskEventTable.TABLE_NAME + "." + TaskEventTable.COLUMN_USER_ID + " = ?";
+        final String[] selectionArgs = {String.valueOf(userId)};
+
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskEventRepository.getTaskEventsByUserId");
+             Rows cursor = databaseProvider.getReadableDatabase().query(
+                     table,
+                     columns,
+                     selection,
+                     selectionArgs,
+                     null
+             )) {
+            probe.query(table, columns, selection, selectionArgs, null);
             while (cursor.moveToNext()) {
                 taskEvents.add(mapCursorToTaskEvent(cursor));
             }
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e, "Error retrieving all TaskEvents.");
+            probe.rowsRead(taskEvents.size());
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
+                    String.format("Error retrieving TaskEvents of user %d.", userId)
+            );
         }
         return taskEvents;
     }
@@ -166,28 +313,27 @@ public class TaskEventRepository {
         final String selection = TaskEventTable.COLUMN_ID + " = ?";
         final String[] selectionArgs = {String.valueOf(taskEventId)};
 
-        try (SQLiteDatabase db = dbHelper.getReadableDatabase();
-             Cursor cursor = db.query(
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskEventRepository.getTaskEventById");
+             Rows cursor = databaseProvider.getReadableDatabase().query(
                      TaskEventTable.TABLE_NAME,
                      columns,
                      selection,
                      selectionArgs,
-                     null,
-                     null,
                      null
              )) {
-
-            if (cursor.moveToFirst())
+            probe.query(TaskEventTable.TABLE_NAME, columns, selection, selectionArgs, null);
+            if (cursor.moveToFirst()) {
+                probe.rowsRead(1);
                 return mapCursorToTaskEvent(cursor);
-            else {
-                Logger.w(TAG, "TaskEvent not found with ID: " + taskEventId);
+            } else {
+                Logger.w(TAG, "TaskEvent not found with ID: {}", taskEventId);
                 throw DatabaseOperationException.fromError(
                         DatabaseErrorCode.RESOURCE_NOT_FOUND,
                         String.format("TaskEvent not found with ID %d.", taskEventId)
                 );
             }
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e,
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
                     String.format("Error retrieving TaskEvent with ID %d.", taskEventId)
             );
         }
@@ -204,8 +350,9 @@ public class TaskEventRepository {
         final String selection = TaskEventTable.COLUMN_ID + " = ?";
         final String[] selectionArgs = {String.valueOf(taskEvent.getId())};
 
-        try (SQLiteDatabase db = dbHelper.getWritableDatabase()) {
-            ContentValues values = new ContentValues();
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskEventRepository.updateTaskEvent")) {
+            Database db = databaseProvider.getWritableDatabase();
+            Values values = new Values();
             values.put(TaskEventTable.COLUMN_USER_ID, taskEvent.getUserId());
             values.put(TaskEventTable.COLUMN_TASK_ID, taskEvent.getTaskId());
             values.put(TaskEventTable.COLUMN_SCHEDULED_DATE, DateUtils.formatLocalDateTime(taskEvent.getScheduledDate()));
@@ -214,16 +361,20 @@ public class TaskEventRepository {
             values.put(TaskEventTable.COLUMN_STATUS, taskEvent.getStatus().getValue());
             values.put(TaskEventTable.COLUMN_CREATED_AT, DateUtils.formatLocalDateTime(taskEvent.getCreatedAt()));
 
+            probe.update(TaskEventTable.TABLE_NAME, values, selection, selectionArgs);
             int rowsUpdated = db.update(TaskEventTable.TABLE_NAME, values, selection, selectionArgs);
+            probe.rowsWritten(rowsUpdated);
             if (rowsUpdated == 0) {
                 throw DatabaseOperationException.fromError(
                         DatabaseErrorCode.DATA_INTEGRITY_VIOLATION,
                         String.format("Failed to update TaskEvent with ID %d. TaskEvent not found.", taskEvent.getId())
                 );
             }
-            return getTaskEventById(taskEvent.getId());
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e,
+            TaskEvent updatedTaskEvent = getTaskEventById(taskEvent.getId());
+            notifyWritten(Collections.singletonList(updatedTaskEvent));
+            return updatedTaskEvent;
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
                     String.format("Error updating TaskEvent with ID %d.", taskEvent.getId())
             );
         }
@@ -239,21 +390,61 @@ public class TaskEventRepository {
         final String selection = TaskEventTable.COLUMN_ID + " = ?";
         final String[] selectionArgs = {String.valueOf(taskEventId)};
 
-        try (SQLiteDatabase db = dbHelper.getWritableDatabase()) {
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskEventRepository.deleteTaskEvent")) {
+            Database db = databaseProvider.getWritableDatabase();
+            probe.delete(TaskEventTable.TABLE_NAME, selection, selectionArgs);
             int rowsDeleted = db.delete(TaskEventTable.TABLE_NAME, selection, selectionArgs);
+            probe.rowsWritten(rowsDeleted);
             if (rowsDeleted == 0) {
                 throw DatabaseOperationException.fromError(
                         DatabaseErrorCode.RESOURCE_NOT_FOUND,
                         String.format("Failed to delete TaskEvent with ID %d. TaskEvent not found.", taskEventId)
                 );
             }
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e,
+            for (TaskEventListener listener : listeners) listener.onTaskEventDeleted(taskEventId);
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
                     String.format("Error deleting TaskEvent with ID %d.", taskEventId)
             );
         }
     }
 
+    /**
+     * Retrieves the stored TaskEvent for the same occurrence as a given one: the same task, user
+     * and scheduled date, over the unique occurrence index.
+     *
+     * @param occurrence The occurrence to look up.
+     * @return The stored TaskEvent, or null if the occurrence is not stored.
+     * @throws DatabaseOperationException If an error occurs during the database operation.
+     */
+    @Nullable
+    public TaskEvent getTaskEventByOccurrence(@NonNull TaskEvent occurrence) {
+        final String query = "SELECT * FROM " + TaskEventTable.TABLE_NAME +
+                " WHERE " + TaskEventTable.COLUMN_TASK_ID + " = ? AND " +
+                TaskEventTable.COLUMN_SCHEDULED_DATE + " = ? AND " +
+                TaskEventTable.COLUMN_USER_ID + " = ?";
+
+        final String[] selectionArgs = {
+                String.valueOf(occurrence.getTaskId()),
+                DateUtils.formatLocalDateTime(occurrence.getScheduledDate()),
+                String.valueOf(occurrence.getUserId())
+        };
+
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskEventRepository.getTaskEventByOccurrence");
+             Rows cursor = databaseProvider.getReadableDatabase().rawQuery(query, selectionArgs)) {
+            probe.sql(query, selectionArgs);
+            if (!cursor.moveToFirst()) return null;
+
+            probe.rowsRead(1);
+            return mapCursorToTaskEvent(cursor);
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
+                    String.format("Error retrieving TaskEvent of Task ID %d on %s.",
+                            occurrence.getTaskId(), selectionArgs[1])
+            );
+        }
+    }
+
     /**
      * Retrieves the next TaskEvent with the same Task ID and a scheduled date after the current TaskEvent.
      *
@@ -269,18 +460,20 @@ public class TaskEventRepository {
 
         String taskId = String.valueOf(currentTaskEvent.getTaskId());
         String formattedDate = DateUtils.formatLocalDateTime(currentTaskEvent.getScheduledDate());
+        final String[] selectionArgs = {taskId, formattedDate};
 
-        try (SQLiteDatabase db = dbHelper.getReadableDatabase();
-             Cursor cursor = db.rawQuery(query, new String[]{taskId, formattedDate})) {
-
-            if (cursor.moveToFirst())
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskEventRepository.getNextTaskEvent");
+             Rows cursor = databaseProvider.getReadableDatabase().rawQuery(query, selectionArgs)) {
+            probe.sql(query, selectionArgs);
+            if (cursor.moveToFirst()) {
+                probe.rowsRead(1);
                 return mapCursorToTaskEvent(cursor);
-            else {
-                Logger.w(TAG, String.format("No next TaskEvent found for Task ID %s after %s.", taskId, formattedDate));
+            } else {
+                Logger.w(TAG, "No next TaskEvent found for Task ID {} after {}.", taskId, formattedDate);
                 return null;
             }
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e,
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
                     String.format("Error retrieving next TaskEvent for Task ID %s after %s.", taskId, formattedDate)
             );
         }
@@ -299,24 +492,403 @@ public class TaskEventRepository {
         final String[] selectionArgs = {String.valueOf(taskId)};
 
         List<TaskEvent> taskEvents = new ArrayList<>();
-        try (SQLiteDatabase db = dbHelper.getReadableDatabase();
-             Cursor cursor = db.query(
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskEventRepository.getAllTaskEventsByTaskId");
+             Rows cursor = databaseProvider.getReadableDatabase().query(
                      TaskEventTable.TABLE_NAME,
                      columns,
                      selection,
                      selectionArgs,
-                     null,
-                     null,
                      null
              )) {
+            probe.query(TaskEventTable.TABLE_NAME, columns, selection, selectionArgs, null);
             while (cursor.moveToNext()) {
                 taskEvents.add(mapCursorToTaskEvent(cursor));
             }
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e,
+            probe.rowsRead(taskEvents.size());
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
                     String.format("Error retrieving TaskEvents for Task ID %d.", taskId)
             );
         }
         return taskEvents;
     }
+
+    /**
+     * Retrieves the TaskEvents scheduled within a range, with their task's title, ordered by
+     * scheduled date. The range is served by the scheduled_date index.
+     *
+     * @param from The start of the range, inclusive.
+     * @param to The end of the range, inclusive.
+     * @return A list of TaskEvent instances.
+     * @throws DatabaseOperationException If an error occurs during the database operation.
+     */
+    public List<TaskEvent> getTaskEventsBetween(@NonNull LocalDateTime from, @NonNull LocalDateTime to) {
+        List<TaskEvent> taskEvents = new ArrayList<>();
+        final String table = String.format(
+                "%s LEFT JOIN %s ON %s.%s = %s.%s",
+                TaskEventTable.TABLE_NAME,
+                TaskTable.TABLE_NAME,
+                TaskEventTable.TABLE_NAME,
+                TaskEventTable.COLUMN_TASK_ID,
+                TaskTable.TABLE_NAME,
+                TaskTable.COLUMN_ID
+        );
+        final String[] columns = {
+                TaskEventTable.TABLE_NAME + ".*",
+                TaskTable.TABLE_NAME + "." + TaskTable.COLUMN_TITLE
+        };
+        final String scheduledDate = TaskEventTable.TABLE_NAME + "." + TaskEventTable.COLUMN_SCHEDULED_DATE;
+        final String selection = scheduledDate + " BETWEEN ? AND ?";
+        final String[] selectionArgs = {DateUtils.formatLocalDateTime(from), DateUtils.formatLocalDateTime(to)};
+        final String orderBy = scheduledDate + " ASC";
+
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskEventRepository.getTaskEventsBetween");
+             Rows cursor = databaseProvider.getReadableDatabase().query(
+                     table,
+                     columns,
+                     selection,
+                     selectionArgs,
+                     orderBy
+             )) {
+            probe.query(table, columns, selection, selectionArgs, orderBy);
+            while (cursor.moveToNext()) {
+                taskEvents.add(mapCursorToTaskEvent(cursor));
+            }
+            probe.rowsRead(taskEvents.size());
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error retrieving TaskEvents in range.");
+        }
+        return taskEvents;
+    }
+
+    /**
+     * Expires the oldest scheduled TaskEvents that fell due before a given date, at most a given
+     * number of them, in one short transaction. Called repeatedly, with the date of the last
+     * event expired as the new lower bound, it walks the due events in bounded chunks over the
+     * scheduled_date index.
+     *
+     * @param from The lower bound of the scheduled dates, inclusive, or null for none.
+     * @param before The date before which scheduled events are due, exclusive.
+     * @param limit The maximum number of TaskEvents to expire.
+     * @return The expired TaskEvents, ordered by scheduled date.
+     * @throws DatabaseOperationException If an error occurs during the database operation;
+     *         no TaskEvent is expired then.
+     */
+    public List<TaskEvent> expireDueTaskEvents(@Nullable LocalDateTime from, @NonNull LocalDateTime before,
+                                               int limit) {
+        final String query = "SELECT * FROM " + TaskEventTable.TABLE_NAME +
+                " WHERE " + TaskEventTable.COLUMN_STATUS + " = ? AND " +
+                TaskEventTable.COLUMN_SCHEDULED_DATE + " >= ? AND " +
+                TaskEventTable.COLUMN_SCHEDULED_DATE + " < ?" +
+                " ORDER BY " + TaskEventTable.COLUMN_SCHEDULED_DATE + " ASC, " + TaskEventTable.COLUMN_ID + " ASC" +
+                " LIMIT " + limit;
+        // Formatted dates sort as text, and every date sorts after the empty string
+        final String[] selectionArgs = {TaskEventStatusEnum.SCHEDULED.getValue(),
+                from != null ? DateUtils.formatLocalDateTime(from) : "", DateUtils.formatLocalDateTime(before)};
+        return expireTaskEvents(query, selectionArgs);
+    }
+
+    /**
+     * Expires the oldest scheduled TaskEvents of a user that fell due before a given date, like
+     * {@link #expireDueTaskEvents(LocalDateTime, LocalDateTime, int)} but over the user index, so
+     * each user's backlog can be walked on its own.
+     *
+     * @param userId The ID of the user.
+     * @param from The lower bound of the scheduled dates, inclusive, or null for none.
+     * @param before The date before which scheduled events are due, exclusive.
+     * @param limit The maximum number of TaskEvents to expire.
+     * @return The expired TaskEvents, ordered by scheduled date.
+     * @throws DatabaseOperationException If an error occurs during the database operation;
+     *         no TaskEvent is expired then.
+     */
+    public List<TaskEvent> expireDueTaskEvents(int userId, @Nullable LocalDateTime from,
+                                               @NonNull LocalDateTime before, int limit) {
+        final String query = "SELECT * FROM " + TaskEventTable.TABLE_NAME +
+                " WHERE " + TaskEventTable.COLUMN_USER_ID + " = ? AND " +
+                TaskEventTable.COLUMN_SCHEDULED_DATE + " >= ? AND " +
+                TaskEventTable.COLUMN_SCHEDULED_DATE + " < ? AND " +
+                TaskEventTable.COLUMN_STATUS + " = ?" +
+                " ORDER BY " + TaskEventTable.COLUMN_SCHEDULED_DATE + " ASC, " + TaskEventTable.COLUMN_ID + " ASC" +
+                " LIMIT " + limit;
+        final String[] selectionArgs = {String.valueOf(userId),
+                from != null ? DateUtils.formatLocalDateTime(from) : "", DateUtils.formatLocalDateTime(before),
+                TaskEventStatusEnum.SCHEDULED.getValue()};
+        return expireTaskEvents(query, selectionArgs);
+    }
+
+    /**
+     * Expires the TaskEvents selected by a query in one transaction.
+     *
+     * @param query The query selecting the scheduled TaskEvents to expire.
+     * @param selectionArgs The arguments of the query.
+     * @return The expired TaskEvents.
+     */
+    private List<TaskEvent> expireTaskEvents(String query, String[] selectionArgs) {
+
+        List<TaskEvent> taskEvents = new ArrayList<>();
+        try (QueryProbe probe = QueryInstrumentation.transaction("TaskEventRepository.expireDueTaskEvents")) {
+            Database db = databaseProvider.getWritableDatabase();
+            probe.sql(query, selectionArgs);
+            db.beginTransaction();
+            try {
+                try (Rows cursor = db.rawQuery(query, selectionArgs)) {
+                    while (cursor.moveToNext()) {
+                        taskEvents.add(mapCursorToTaskEvent(cursor));
+                    }
+                }
+                probe.rowsRead(taskEvents.size());
+
+                if (!taskEvents.isEmpty()) {
+                    StringBuilder placeholders = new StringBuilder();
+                    String[] ids = new String[taskEvents.size()];
+                    for (int i = 0; i < ids.length; i++) {
+                        placeholders.append(i == 0 ? "?" : ", ?");
+                        ids[i] = String.valueOf(taskEvents.get(i).getId());
+                        taskEvents.get(i).setStatus(TaskEventStatusEnum.EXPIRED);
+                    }
+                    Values values = new Values();
+                    values.put(TaskEventTable.COLUMN_STATUS, TaskEventStatusEnum.EXPIRED.getValue());
+                    final String selection = TaskEventTable.COLUMN_ID + " IN (" + placeholders + ")";
+
+                    probe.update(TaskEventTable.TABLE_NAME, values, selection, ids);
+                    probe.rowsWritten(db.update(TaskEventTable.TABLE_NAME, values, selection, ids));
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error expiring due TaskEvents.");
+        }
+        notifyWritten(taskEvents);
+        return taskEvents;
+    }
+
+    /**
+     * Retrieves a page of scheduled TaskEvents ordered by scheduled date then ID, starting after a
+     * given position in that order. Following pages start after the last TaskEvent of the previous
+     * one, so each page is one range read over the scheduled_date index.
+     *
+     * @param fromDate The scheduled date of the position to start after.
+     * @param afterId The ID of the position to start after; TaskEvents on fromDate with a greater ID follow it.
+     * @param limit The maximum number of TaskEvents to retrieve.
+     * @return A list of TaskEvent instances.
+     * @throws DatabaseOperationException If an error occurs during the database operation.
+     */
+    public List<TaskEvent> getScheduledTaskEventsAfter(@NonNull LocalDateTime fromDate, int afterId, int limit) {
+        final String query = "SELECT * FROM " + TaskEventTable.TABLE_NAME +
+                " WHERE " + TaskEventTable.COLUMN_STATUS + " = ? AND " +
+                TaskEventTable.COLUMN_SCHEDULED_DATE + " >= ? AND (" +
+                TaskEventTable.COLUMN_SCHEDULED_DATE + " > ? OR " + TaskEventTable.COLUMN_ID + " > ?)" +
+                " ORDER BY " + TaskEventTable.COLUMN_SCHEDULED_DATE + " ASC, " + TaskEventTable.COLUMN_ID + " ASC" +
+                " LIMIT " + limit;
+        final String formattedDate = DateUtils.formatLocalDateTime(fromDate);
+        final String[] selectionArgs = {TaskEventStatusEnum.SCHEDULED.getValue(), formattedDate, formattedDate,
+                String.valueOf(afterId)};
+
+        List<TaskEvent> taskEvents = new ArrayList<>();
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskEventRepository.getScheduledTaskEventsAfter");
+             Rows cursor = databaseProvider.getReadableDatabase().rawQuery(query, selectionArgs)) {
+            probe.sql(query, selectionArgs);
+            while (cursor.moveToNext()) {
+                taskEvents.add(mapCursorToTaskEvent(cursor));
+            }
+            probe.rowsRead(taskEvents.size());
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error retrieving scheduled TaskEvents.");
+        }
+        return taskEvents;
+    }
+
+    /**
+     * Retrieves the earliest scheduled date of the TaskEvents still scheduled at or after a given date.
+     *
+     * @param from The date to search from, inclusive.
+     * @return The earliest scheduled date, or null if no such TaskEvent exists.
+     * @throws DatabaseOperationException If an error occurs during the database operation.
+     */
+    public LocalDateTime getNextScheduledDate(@NonNull LocalDateTime from) {
+        final String query = "SELECT MIN(" + TaskEventTable.COLUMN_SCHEDULED_DATE + ") FROM " +
+                TaskEventTable.TABLE_NAME + " WHERE " + TaskEventTable.COLUMN_STATUS + " = ? AND " +
+                TaskEventTable.COLUMN_SCHEDULED_DATE + " >= ?";
+        final String[] selectionArgs = {TaskEventStatusEnum.SCHEDULED.getValue(), DateUtils.formatLocalDateTime(from)};
+
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskEventRepository.getNextScheduledDate");
+             Rows cursor = databaseProvider.getReadableDatabase().rawQuery(query, selectionArgs)) {
+            probe.sql(query, selectionArgs);
+            if (!cursor.moveToFirst() || cursor.isNull(0)) return null;
+
+            probe.rowsRead(1);
+            return DateUtils.parseLocalDateTime(cursor.getString(0));
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error retrieving next scheduled TaskEvent date.");
+        }
+    }
+
+    /**
+     * Retrieves the latest scheduled date of every task that has events, in one grouped query
+     * served by the (task_id, scheduled_date) index.
+     *
+     * @return The latest scheduled date by Task ID.
+     * @throws DatabaseOperationException If an error occurs during the database operation.
+     */
+    public Map<Integer, LocalDateTime> getLatestScheduledDates() {
+        final String query = "SELECT " + TaskEventTable.COLUMN_TASK_ID + ", MAX(" +
+                TaskEventTable.COLUMN_SCHEDULED_DATE + ") FROM " + TaskEventTable.TABLE_NAME +
+                " GROUP BY " + TaskEventTable.COLUMN_TASK_ID;
+
+        Map<Integer, LocalDateTime> latestDates = new HashMap<>();
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskEventRepository.getLatestScheduledDates");
+             Rows cursor = databaseProvider.getReadableDatabase().rawQuery(query, null)) {
+            probe.sql(query, null);
+            while (cursor.moveToNext()) {
+                if (cursor.isNull(1)) continue;
+                latestDates.put(cursor.getInt(0), DateUtils.parseLocalDateTime(cursor.getString(1)));
+            }
+            probe.rowsRead(latestDates.size());
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error retrieving latest TaskEvent dates.");
+        }
+        return latestDates;
+    }
+
+    /**
+     * Retrieves the latest scheduled date of a task's events.
+     *
+     * @param taskId The Task ID.
+     * @return The latest scheduled date, or null if the task has no events.
+     * @throws DatabaseOperationException If an error occurs during the database operation.
+     */
+    public LocalDateTime getLatestScheduledDate(int taskId) {
+        final String query = "SELECT MAX(" + TaskEventTable.COLUMN_SCHEDULED_DATE + ") FROM " +
+                TaskEventTable.TABLE_NAME + " WHERE " + TaskEventTable.COLUMN_TASK_ID + " = ?";
+        final String[] selectionArgs = {String.valueOf(taskId)};
+
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskEventRepository.getLatestScheduledDate");
+             Rows cursor = databaseProvider.getReadableDatabase().rawQuery(query, selectionArgs)) {
+            probe.sql(query, selectionArgs);
+            if (!cursor.moveToFirst() || cursor.isNull(0)) return null;
+
+            probe.rowsRead(1);
+            return DateUtils.parseLocalDateTime(cursor.getString(0));
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
+                    String.format("Error retrieving latest TaskEvent date for Task ID %d.", taskId)
+            );
+        }
+    }
+
+    /**
+     * Deletes the scheduled TaskEvents of a task due after a given date, e.g. before the task's
+     * future events are planned again under a new schedule. Completed and expired events are kept.
+     *
+     * @param taskId The Task ID.
+     * @param after The date after which scheduled events are deleted.
+     * @return The number of TaskEvents deleted.
+     * @throws DatabaseOperationException If an error occurs during the database operation.
+     */
+    public int deleteScheduledTaskEventsAfter(int taskId, @NonNull LocalDateTime after) {
+        final String selection = TaskEventTable.COLUMN_TASK_ID + " = ? AND " +
+                TaskEventTable.COLUMN_STATUS + " = ? AND " +
+                TaskEventTable.COLUMN_SCHEDULED_DATE + " > ?";
+        final String[] selectionArgs = {String.valueOf(taskId), TaskEventStatusEnum.SCHEDULED.getValue(),
+                DateUtils.formatLocalDateTime(after)};
+
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskEventRepository.deleteScheduledTaskEventsAfter")) {
+            Database db = databaseProvider.getWritableDatabase();
+            probe.delete(TaskEventTable.TABLE_NAME, selection, selectionArgs);
+            int rowsDeleted = db.delete(TaskEventTable.TABLE_NAME, selection, selectionArgs);
+            probe.rowsWritten(rowsDeleted);
+            if (rowsDeleted > 0)
+                for (TaskEventListener listener : listeners) listener.onTaskEventsInvalidated();
+            return rowsDeleted;
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
+                    String.format("Error deleting scheduled TaskEvents for Task ID %d.", taskId)
+            );
+        }
+    }
+
+    private void notifyWritten(List<TaskEvent> taskEvents) {
+        if (taskEvents.isEmpty()) return;
+        for (TaskEventListener listener : listeners) listener.onTaskEventsWritten(taskEvents);
+    }
+
+    /**
+     * Returns the statement inserting a TaskEvent unless its occurrence, i.e. its task, scheduled
+     * date and user, is stored already. Only that conflict is skipped: any other constraint
+     * violation, such as a NULL in a NOT NULL column, still fails the insert. SQLite 3.24 and later
+     * skip it with an ON CONFLICT clause on the occurrence index; older versions, shipped before
+     * Android 11, insert only if no stored row has the occurrence's key.
+     *
+     * @param db The database the statement runs on.
+     * @return The SQL of the insert, whose parameters are bound by {@link #bindOccurrence}.
+     */
+    private String getInsertOccurrenceSql(Database db) {
+        if (insertOccurrenceSql == null) {
+            String version;
+            try (Rows cursor = db.rawQuery("SELECT sqlite_version()", null)) {
+                version = cursor.moveToFirst() ? cursor.getString(0) : "";
+            }
+            insertOccurrenceSql = buildInsertOccurrenceSql(supportsUpsert(version));
+        }
+        return insertOccurrenceSql;
+    }
+
+    /**
+     * Builds the statement inserting a TaskEvent unless its occurrence is stored already.
+     *
+     * @param upsert Whether to skip the occurrence with an ON CONFLICT clause rather than a
+     *               NOT EXISTS condition.
+     * @return The SQL of the insert.
+     */
+    static String buildInsertOccurrenceSql(boolean upsert) {
+        final String columns = " (" +
+                TaskEventTable.COLUMN_USER_ID + ", " +
+                TaskEventTable.COLUMN_TASK_ID + ", " +
+                TaskEventTable.COLUMN_SCHEDULED_DATE + ", " +
+                TaskEventTable.COLUMN_COMPLETED_DATE + ", " +
+                TaskEventTable.COLUMN_POINTS_EARNED + ", " +
+                TaskEventTable.COLUMN_STATUS + ", " +
+                TaskEventTable.COLUMN_CREATED_AT + ")";
+        final String values = "?1, ?2, ?3, ?4, ?5, ?6, COALESCE(?7, CURRENT_TIMESTAMP)";
+        if (upsert) {
+            return "INSERT INTO " + TaskEventTable.TABLE_NAME + columns + " VALUES (" + values + ")" +
+                    " ON CONFLICT (" + TaskEventTable.COLUMN_TASK_ID + ", " +
+                    TaskEventTable.COLUMN_SCHEDULED_DATE + ", " + TaskEventTable.COLUMN_USER_ID + ") DO NOTHING";
+        }
+        return "INSERT INTO " + TaskEventTable.TABLE_NAME + columns + " SELECT " + values +
+                " WHERE NOT EXISTS (SELECT 1 FROM " + TaskEventTable.TABLE_NAME +
+                " WHERE " + TaskEventTable.COLUMN_TASK_ID + " = ?2" +
+                " AND " + TaskEventTable.COLUMN_SCHEDULED_DATE + " = ?3" +
+                " AND " + TaskEventTable.COLUMN_USER_ID + " IS ?1)";
+    }
+
+    /**
+     * Tells whether a SQLite version supports an ON CONFLICT clause on INSERT.
+     *
+     * @param version The version, as reported by sqlite_version(), e.g. "3.22.0".
+     * @return True from version 3.24 on.
+     */
+    static boolean supportsUpsert(String version) {
+        String[] parts = version.split("\\.");
+        try {
+            int major = Integer.parseInt(parts[0]);
+            int minor = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+            return major > UPSERT_SQLITE_VERSION[0]
+                    || (major == UPSERT_SQLITE_VERSION[0] && minor >= UPSERT_SQLITE_VERSION[1]);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static void bindOccurrence(CompiledStatement insert, TaskEvent taskEvent) {
+        insert.bindLong(1, taskEvent.getUserId());
+        insert.bindLong(2, taskEvent.getTaskId());
+        insert.bindValue(3, DateUtils.formatLocalDateTime(taskEvent.getScheduledDate()));
+        insert.bindValue(4, DateUtils.formatLocalDateTime(taskEvent.getCompletedDate()));
+        insert.bindLong(5, taskEvent.getPointsEarned());
+        insert.bindString(6, taskEvent.getStatus().getValue());
+        insert.bindValue(7, DateUtils.formatLocalDateTime(taskEvent.getCreatedAt()));
+    }
 }
@@ -1,22 +1,31 @@
 package com.ilp506.taskward.data.repositories;
 
-import android.content.ContentValues;
 import android.content.Context;
-import android.database.Cursor;
-import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteOpenHelper;
 
 import androidx.annotation.NonNull;
 
+import com.ilp506.taskward.data.DatabaseContract.TaskSearchTable;
 import com.ilp506.taskward.data.DatabaseContract.TaskTable;
 import com.ilp506.taskward.data.DatabaseHelper;
 import com.ilp506.taskward.data.enums.TaskFrequencyEnum;
+import com.ilp506.taskward.data.instrumentation.QueryInstrumentation;
+import com.ilp506.taskward.data.instrumentation.QueryProbe;
 import com.ilp506.taskward.data.models.Task;
+import com.ilp506.taskward.data.models.SearchResult;
+import com.ilp506.taskward.data.storage.AndroidDatabaseProvider;
+import com.ilp506.taskward.data.storage.CompiledStatement;
+import com.ilp506.taskward.data.storage.Database;
+import com.ilp506.taskward.data.storage.DatabaseProvider;
+import com.ilp506.taskward.data.storage.Rows;
+import com.ilp506.taskward.data.storage.StorageException;
+import com.ilp506.taskward.data.storage.Values;
 import com.ilp506.taskward.exceptions.codes.DatabaseErrorCode;
 import com.ilp506.taskward.exceptions.custom.DatabaseOperationException;
 import com.ilp506.taskward.exceptions.handlers.DatabaseErrorHandler;
 import com.ilp506.taskward.utils.DateUtils;
 import com.ilp506.taskward.utils.Logger;
+import com.ilp506.taskward.utils.SearchUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -28,7 +37,7 @@ import java.util.List;
 public class TaskRepository {
     private static final String TAG = TaskRepository.class.getSimpleName();
 
-    private final DatabaseHelper dbHelper;
+    private final DatabaseProvider databaseProvider;
 
     /**
      * Constructs a TaskRepository with a database helper instance.
@@ -36,20 +45,39 @@ public class TaskRepository {
      * @param context The application context used to initialize the database helper.
      */
     public TaskRepository(Context context) {
-        this.dbHelper = DatabaseHelper.getInstance(context);
+        this(DatabaseHelper.getInstance(context));
     }
 
     /**
-     * Maps the data from a Cursor object to a Task instance.
+     * Constructs a TaskRepository for a given database.
      *
-     * @param cursor The cursor containing the queried data.
+     * @param dbHelper The helper of the database to operate on.
+     */
+    public TaskRepository(@NonNull SQLiteOpenHelper dbHelper) {
+        this(new AndroidDatabaseProvider(dbHelper));
+    }
+
+    /**
+     * Constructs a TaskRepository on a given storage, e.g. a JVM SQLite driver.
+     *
+     * @param databaseProvider The provider of the database connections.
+     */
+    public TaskRepository(@NonNull DatabaseProvider databaseProvider) {
+        this.databaseProvider = databaseProvider;
+    }
+
+    /**
+     * Maps the current row of a query result to a Task instance.
+     *
+     * @param cursor The rows containing the queried data, positioned on the row to map.
      * @return A Task instance populated with the cursor's data.
      * @throws DatabaseOperationException If an error occurs during the mapping process.
      */
-    protected Task mapCursorToTask(Cursor cursor) {
+    protected Task mapCursorToTask(Rows cursor) {
         Task task = new Task();
         try {
             task.setId(cursor.getInt(cursor.getColumnIndexOrThrow(TaskTable.COLUMN_ID)));
+            task.setUserId(cursor.getInt(cursor.getColumnIndexOrThrow(TaskTable.COLUMN_USER_ID)));
             task.setIcon(cursor.getString(cursor.getColumnIndexOrThrow(TaskTable.COLUMN_ICON)));
             task.setTitle(cursor.getString(cursor.getColumnIndexOrThrow(TaskTable.COLUMN_TITLE)));
             task.setDescription(cursor.getString(cursor.getColumnIndexOrThrow(TaskTable.COLUMN_DESCRIPTION)));
@@ -57,6 +85,7 @@ public class TaskRepository {
                     cursor.getString(cursor.getColumnIndexOrThrow(TaskTable.COLUMN_FREQUENCY)))
             );
             task.setFrequencyInterval(cursor.getInt(cursor.getColumnIndexOrThrow(TaskTable.COLUMN_FREQUENCY_INTERVAL)));
+            task.setRecurrenceRule(cursor.getString(cursor.getColumnIndexOrThrow(TaskTable.COLUMN_RECURRENCE_RULE)));
             task.setStartDate(DateUtils.parseLocalDateTime(
                     cursor.getString(cursor.getColumnIndexOrThrow(TaskTable.COLUMN_START_DATE)))
             );
@@ -86,27 +115,86 @@ public class TaskRepository {
      * @throws DatabaseOperationException If an error occurs during the database operation.
      */
     public Task createTask(@NonNull Task task) {
-        try (SQLiteDatabase db = dbHelper.getWritableDatabase()) {
-            ContentValues values = new ContentValues();
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskRepository.createTask")) {
+            Database db = databaseProvider.getWritableDatabase();
+            Values values = new Values();
+            values.put(TaskTable.COLUMN_USER_ID, task.getUserId());
             values.put(TaskTable.COLUMN_ICON, task.getIcon());
             values.put(TaskTable.COLUMN_TITLE, task.getTitle());
             values.put(TaskTable.COLUMN_DESCRIPTION, task.getDescription());
             values.put(TaskTable.COLUMN_FREQUENCY, task.getFrequency().getValue());
             values.put(TaskTable.COLUMN_FREQUENCY_INTERVAL, task.getFrequencyInterval());
+            values.put(TaskTable.COLUMN_RECURRENCE_RULE, task.getRecurrenceRule());
             values.put(TaskTable.COLUMN_START_DATE, DateUtils.formatLocalDateTime(task.getStartDate()));
             values.put(TaskTable.COLUMN_END_DATE, DateUtils.formatLocalDateTime(task.getEndDate()));
             values.put(TaskTable.COLUMN_POINTS_REWARD, task.getPointsReward());
 
-            long newId = db.insertOrThrow(TaskTable.TABLE_NAME, null, values);
+            probe.insert(TaskTable.TABLE_NAME, values);
+            long newId = db.insert(TaskTable.TABLE_NAME, values);
             if (newId == -1) {
                 throw DatabaseOperationException.fromError(
                         DatabaseErrorCode.QUERY_FAILURE,
                         "Failed to insert task into the database."
                 );
             }
+            probe.rowsWritten(1);
             return getTaskById((int) newId);
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e, "Error during task creation.");
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error during task creation.");
+        }
+    }
+
+    /**
+     * Creates many tasks in a single transaction with one compiled statement.
+     * The generated IDs are set on the given instances; a null creation date defaults to now.
+     *
+     * @param tasks The Task instances to be created.
+     * @throws DatabaseOperationException If an error occurs during the database operation;
+     *         no task of the batch is created then.
+     */
+    public void createTasks(@NonNull List<Task> tasks) {
+        final String sql = "INSERT INTO " + TaskTable.TABLE_NAME + " (" +
+                TaskTable.COLUMN_USER_ID + ", " +
+                TaskTable.COLUMN_ICON + ", " +
+                TaskTable.COLUMN_TITLE + ", " +
+                TaskTable.COLUMN_DESCRIPTION + ", " +
+                TaskTable.COLUMN_FREQUENCY + ", " +
+                TaskTable.COLUMN_FREQUENCY_INTERVAL + ", " +
+                TaskTable.COLUMN_RECURRENCE_RULE + ", " +
+                TaskTable.COLUMN_START_DATE + ", " +
+                TaskTable.COLUMN_END_DATE + ", " +
+                TaskTable.COLUMN_POINTS_REWARD + ", " +
+                TaskTable.COLUMN_CREATED_AT +
+                ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, COALESCE(?, CURRENT_TIMESTAMP))";
+
+        try (QueryProbe probe = QueryInstrumentation.transaction("TaskRepository.createTasks")) {
+            Database db = databaseProvider.getWritableDatabase();
+            probe.sql(sql, null);
+            db.beginTransaction();
+            try (CompiledStatement insert = db.compileStatement(sql)) {
+                for (Task task : tasks) {
+                    insert.bindLong(1, task.getUserId());
+                    insert.bindString(2, task.getIcon());
+                    insert.bindString(3, task.getTitle());
+                    insert.bindValue(4, task.getDescription());
+                    insert.bindString(5, task.getFrequency().getValue());
+                    insert.bindLong(6, task.getFrequencyInterval());
+                    insert.bindValue(7, task.getRecurrenceRule());
+                    insert.bindValue(8, DateUtils.formatLocalDateTime(task.getStartDate()));
+                    insert.bindValue(9, DateUtils.formatLocalDateTime(task.getEndDate()));
+                    insert.bindLong(10, task.getPointsReward());
+                    insert.bindValue(11, DateUtils.formatLocalDateTime(task.getCreatedAt()));
+                    task.setId((int) insert.executeInsert());
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            probe.rowsWritten(tasks.size());
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
+                    String.format("Error during creation of %d tasks.", tasks.size())
+            );
         }
     }
 
@@ -120,21 +208,55 @@ public class TaskRepository {
         List<Task> tasks = new ArrayList<>();
         final String[] columns = TaskTable.ALL_COLUMNS;
 
-        try (SQLiteDatabase db = dbHelper.getReadableDatabase();
-             Cursor cursor = db.query(
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskRepository.getAllTasks");
+             Rows cursor = databaseProvider.getReadableDatabase().query(
                      TaskTable.TABLE_NAME,
                      columns,
                      null,
                      null,
-                     null,
-                     null,
                      null
              )) {
+            probe.query(TaskTable.TABLE_NAME, columns, null, null, null);
+            while (cursor.moveToNext()) {
+                tasks.add(mapCursorToTask(cursor));
+            }
+            probe.rowsRead(tasks.size());
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error during retrieval of all tasks.");
+        }
+        return tasks;
+    }
+
+    /**
+     * Retrieves the tasks assigned to a user, over the user index.
+     *
+     * @param userId The ID of the user.
+     * @return A list of Task instances.
+     * @throws DatabaseOperationException If an error occurs during the database operation.
+     */
+    public List<Task> getTasksByUserId(int userId) {
+        List<Task> tasks = new ArrayList<>();
+        final String[] columns = TaskTable.ALL_COLUMNS;
+        final String selection = TaskTable.COLUMN_USER_ID + " = ?";
+        final String[] selectionArgs = {String.valueOf(userId)};
+
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskRepository.getTasksByUserId");
+             Rows cursor = databaseProvider.getReadableDatabase().query(
+                     TaskTable.TABLE_NAME,
+                     columns,
+                     selection,
+                     selectionArgs,
+                     null
+             )) {
+            probe.query(TaskTable.TABLE_NAME, columns, selection, selectionArgs, null);
             while (cursor.moveToNext()) {
                 tasks.add(mapCursorToTask(cursor));
             }
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e, "Error during retrieval of all tasks.");
+            probe.rowsRead(tasks.size());
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
+                    String.format("Error during retrieval of tasks of user %d.", userId)
+            );
         }
         return tasks;
     }
@@ -151,27 +273,26 @@ public class TaskRepository {
         final String selection = TaskTable.COLUMN_ID + " = ?";
         final String[] selectionArgs = {String.valueOf(taskId)};
 
-        try (SQLiteDatabase db = dbHelper.getReadableDatabase();
-             Cursor cursor = db.query(
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskRepository.getTaskById");
+             Rows cursor = databaseProvider.getReadableDatabase().query(
                      TaskTable.TABLE_NAME,
                      columns,
                      selection,
                      selectionArgs,
-                     null,
-                     null,
                      null
              )) {
-
-            if (cursor.moveToFirst())
+            probe.query(TaskTable.TABLE_NAME, columns, selection, selectionArgs, null);
+            if (cursor.moveToFirst()) {
+                probe.rowsRead(1);
                 return mapCursorToTask(cursor);
-            else {
+            } else {
                 throw DatabaseOperationException.fromError(
                         DatabaseErrorCode.RESOURCE_NOT_FOUND,
                         String.format("Task not found with ID %d.", taskId)
                 );
             }
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e,
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
                     String.format("Error during retrieval of task with ID %d.", taskId)
             );
         }
@@ -188,18 +309,23 @@ public class TaskRepository {
         final String selection = TaskTable.COLUMN_ID + " = ?";
         final String[] selectionArgs = {String.valueOf(task.getId())};
 
-        try (SQLiteDatabase db = dbHelper.getWritableDatabase()) {
-            ContentValues values = new ContentValues();
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskRepository.updateTask")) {
+            Database db = databaseProvider.getWritableDatabase();
+            Values values = new Values();
+            values.put(TaskTable.COLUMN_USER_ID, task.getUserId());
             values.put(TaskTable.COLUMN_ICON, task.getIcon());
             values.put(TaskTable.COLUMN_TITLE, task.getTitle());
             values.put(TaskTable.COLUMN_DESCRIPTION, task.getDescription());
             values.put(TaskTable.COLUMN_FREQUENCY, task.getFrequency().getValue());
             values.put(TaskTable.COLUMN_FREQUENCY_INTERVAL, task.getFrequencyInterval());
+            values.put(TaskTable.COLUMN_RECURRENCE_RULE, task.getRecurrenceRule());
             values.put(TaskTable.COLUMN_START_DATE, DateUtils.formatLocalDateTime(task.getStartDate()));
             values.put(TaskTable.COLUMN_END_DATE, DateUtils.formatLocalDateTime(task.getEndDate()));
             values.put(TaskTable.COLUMN_POINTS_REWARD, task.getPointsReward());
 
+            probe.update(TaskTable.TABLE_NAME, values, selection, selectionArgs);
             int rowsUpdated = db.update(TaskTable.TABLE_NAME, values, selection, selectionArgs);
+            probe.rowsWritten(rowsUpdated);
             if (rowsUpdated == 0) {
                 throw DatabaseOperationException.fromError(
                         DatabaseErrorCode.DATA_INTEGRITY_VIOLATION,
@@ -207,8 +333,8 @@ public class TaskRepository {
                 );
             }
             return getTaskById(task.getId());
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e,
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
                     String.format("Error during task update for ID %d.", task.getId())
             );
         }
@@ -224,18 +350,63 @@ public class TaskRepository {
         final String selection = TaskTable.COLUMN_ID + " = ?";
         final String[] selectionArgs = {String.valueOf(taskId)};
 
-        try (SQLiteDatabase db = dbHelper.getWritableDatabase()) {
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskRepository.deleteTask")) {
+            Database db = databaseProvider.getWritableDatabase();
+            probe.delete(TaskTable.TABLE_NAME, selection, selectionArgs);
             int rowsDeleted = db.delete(TaskTable.TABLE_NAME, selection, selectionArgs);
+            probe.rowsWritten(rowsDeleted);
             if (rowsDeleted == 0) {
                 throw DatabaseOperationException.fromError(
                         DatabaseErrorCode.RESOURCE_NOT_FOUND,
                         String.format("Failed to delete task with ID %d. Task not found.", taskId)
                 );
             }
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e,
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
                     String.format("Error during task deletion for ID %d.", taskId)
             );
         }
     }
+
+    /**
+     * Searches tasks by title and description using the full-text index.
+     * Every word of the search text is matched as a prefix, and results are ranked by relevance
+     * with title hits weighing more than description hits.
+     *
+     * @param searchText The text typed by the user.
+     * @param limit The maximum number of results to return.
+     * @return A list of ranked search results, empty if nothing matches.
+     * @throws DatabaseOperationException If an error occurs during the database operation.
+     */
+    public List<SearchResult<Task>> searchTasks(String searchText, int limit) {
+        List<SearchResult<Task>> results = new ArrayList<>();
+        final String matchQuery = SearchUtils.buildPrefixMatchQuery(searchText);
+        if (matchQuery.isEmpty()) return results;
+
+        final String query = SearchUtils.buildSearchQuery(
+                TaskSearchTable.TABLE_NAME, TaskTable.TABLE_NAME, TaskTable.COLUMN_ID);
+
+        final String[] selectionArgs = {matchQuery};
+
+        try (QueryProbe probe = QueryInstrumentation.probe("TaskRepository.searchTasks");
+             Rows cursor = databaseProvider.getReadableDatabase().rawQuery(query, selectionArgs)) {
+            probe.sql(query, selectionArgs);
+            probe.rowsRead(cursor.getCount());
+            for (SearchUtils.RankedPosition ranked : SearchUtils.rankPositions(
+                    cursor, SearchUtils.TITLE_DESCRIPTION_WEIGHTS, limit)) {
+                cursor.moveToPosition(ranked.getPosition());
+                results.add(new SearchResult<>(
+                        mapCursorToTask(cursor),
+                        ranked.getScore(),
+                        cursor.getString(cursor.getColumnIndexOrThrow(SearchUtils.COLUMN_HIGHLIGHTED_TITLE)),
+                        cursor.getString(cursor.getColumnIndexOrThrow(SearchUtils.COLUMN_HIGHLIGHTED_DESCRIPTION))
+                ));
+            }
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
+                    String.format("Error during task search for '%s'.", matchQuery)
+            );
+        }
+        return results;
+    }
 }
@@ -1,22 +1,29 @@
 package com.ilp506.taskward.data.repositories;
 
-import android.content.ContentValues;
 import android.content.Context;
-import android.database.Cursor;
-import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteOpenHelper;
 
 import androidx.annotation.NonNull;
 
 import com.ilp506.taskward.data.DatabaseContract.UserTable;
 import com.ilp506.taskward.data.DatabaseHelper;
+import com.ilp506.taskward.data.instrumentation.QueryInstrumentation;
+import com.ilp506.taskward.data.instrumentation.QueryProbe;
 import com.ilp506.taskward.data.models.User;
+import com.ilp506.taskward.data.storage.AndroidDatabaseProvider;
+import com.ilp506.taskward.data.storage.Database;
+import com.ilp506.taskward.data.storage.DatabaseProvider;
+import com.ilp506.taskward.data.storage.Rows;
+import com.ilp506.taskward.data.storage.StorageException;
+import com.ilp506.taskward.data.storage.Values;
 import com.ilp506.taskward.exceptions.codes.DatabaseErrorCode;
 import com.ilp506.taskward.exceptions.custom.DatabaseOperationException;
 import com.ilp506.taskward.exceptions.handlers.DatabaseErrorHandler;
 import com.ilp506.taskward.utils.DateUtils;
 import com.ilp506.taskward.utils.Logger;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -26,7 +33,7 @@ import java.util.Objects;
 public class UserRepository {
     private static final String TAG = UserRepository.class.getSimpleName();
 
-    private final DatabaseHelper dbHelper;
+    private final DatabaseProvider databaseProvider;
 
     /**
      * Constructs a UserRepository with a database helper instance.
@@ -34,17 +41,35 @@ public class UserRepository {
      * @param context The application context used to initialize the database helper.
      */
     public UserRepository(Context context) {
-        this.dbHelper = DatabaseHelper.getInstance(context);
+        this(DatabaseHelper.getInstance(context));
     }
 
     /**
-     * Maps the data from a Cursor object to a User instance.
+     * Constructs a UserRepository for a given database.
      *
-     * @param cursor The cursor containing the queried data.
+     * @param dbHelper The helper of the database to operate on.
+     */
+    public UserRepository(@NonNull SQLiteOpenHelper dbHelper) {
+        this(new AndroidDatabaseProvider(dbHelper));
+    }
+
+    /**
+     * Constructs a UserRepository on a given storage, e.g. a JVM SQLite driver.
+     *
+     * @param databaseProvider The provider of the database connections.
+     */
+    public UserRepository(@NonNull DatabaseProvider databaseProvider) {
+        this.databaseProvider = databaseProvider;
+    }
+
+    /**
+     * Maps the current row of a query result to a User instance.
+     *
+     * @param cursor The rows containing the queried data, positioned on the row to map.
      * @return A User instance populated with the cursor's data.
      * @throws DatabaseOperationException If an error occurs during the mapping process.
      */
-    protected User mapCursorToUser(@NonNull Cursor cursor) {
+    protected User mapCursorToUser(@NonNull Rows cursor) {
         User user = new User();
         try {
             user.setId(cursor.getInt(cursor.getColumnIndexOrThrow(UserTable.COLUMN_ID)));
@@ -74,13 +99,15 @@ public class UserRepository {
      * @throws DatabaseOperationException If an error occurs during the database operation, such as an insertion failure.
      */
     public User createUser(@NonNull User user) {
-        try (SQLiteDatabase db = dbHelper.getWritableDatabase()) {
-            ContentValues values = new ContentValues();
+        try (QueryProbe probe = QueryInstrumentation.probe("UserRepository.createUser")) {
+            Database db = databaseProvider.getWritableDatabase();
+            Values values = new Values();
             values.put(UserTable.COLUMN_NAME, user.getName());
             values.put(UserTable.COLUMN_EMAIL, user.getEmail());
             values.put(UserTable.COLUMN_PHOTO, user.getPhoto());
 
-            long newId = db.insertOrThrow(UserTable.TABLE_NAME, null, values);
+            probe.insert(UserTable.TABLE_NAME, values);
+            long newId = db.insert(UserTable.TABLE_NAME, values);
             if (newId == -1) {
                 Logger.e(TAG, "Failed to insert new user");
                 throw DatabaseOperationException.fromError(
@@ -88,10 +115,41 @@ public class UserRepository {
                         "Failed to insert new user."
                 );
             }
+            probe.rowsWritten(1);
             return getUserById((int) newId);
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e, "Error during user creation.");
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error during user creation.");
+        }
+    }
+
+    /**
+     * Retrieves all users, i.e. the profiles sharing the device, ordered by ID.
+     *
+     * @return A list of User instances.
+     * @throws DatabaseOperationException If an error occurs during the database operation.
+     */
+    public List<User> getAllUsers() {
+        List<User> users = new ArrayList<>();
+        final String[] columns = UserTable.ALL_COLUMNS;
+        final String orderBy = UserTable.COLUMN_ID + " ASC";
+
+        try (QueryProbe probe = QueryInstrumentation.probe("UserRepository.getAllUsers");
+             Rows cursor = databaseProvider.getReadableDatabase().query(
+                     UserTable.TABLE_NAME,
+                     columns,
+                     null,
+                     null,
+                     orderBy
+             )) {
+            probe.query(UserTable.TABLE_NAME, columns, null, null, orderBy);
+            while (cursor.moveToNext()) {
+                users.add(mapCursorToUser(cursor));
+            }
+            probe.rowsRead(users.size());
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error occurred while retrieving all users.");
         }
+        return users;
     }
 
     /**
@@ -106,28 +164,27 @@ public class UserRepository {
         final String selection = UserTable.COLUMN_ID + " = ?";
         final String[] selectionArgs = {String.valueOf(userId)};
 
-        try (SQLiteDatabase db = dbHelper.getReadableDatabase();
-             Cursor cursor = db.query(
+        try (QueryProbe probe = QueryInstrumentation.probe("UserRepository.getUserById");
+             Rows cursor = databaseProvider.getReadableDatabase().query(
                      UserTable.TABLE_NAME,
                      columns,
                      selection,
                      selectionArgs,
-                     null,
-                     null,
                      null
              )) {
-
-            if (cursor.moveToFirst())
+            probe.query(UserTable.TABLE_NAME, columns, selection, selectionArgs, null);
+            if (cursor.moveToFirst()) {
+                probe.rowsRead(1);
                 return mapCursorToUser(cursor);
-            else {
-                Logger.w(TAG, "User not found with ID: " + userId);
+            } else {
+                Logger.w(TAG, "User not found with ID: {}", userId);
                 throw DatabaseOperationException.fromError(
                         DatabaseErrorCode.RESOURCE_NOT_FOUND,
                         String.format("User not found with ID %d.", userId)
                 );
             }
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e,
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
                     String.format("Error occurred while retrieving user with ID %d.", userId)
             );
         }
@@ -145,14 +202,17 @@ public class UserRepository {
         final String selection = UserTable.COLUMN_ID + " = ?";
         final String[] selectionArgs = {String.valueOf(user.getId())};
 
-        try (SQLiteDatabase db = dbHelper.getWritableDatabase()) {
-            ContentValues values = new ContentValues();
+        try (QueryProbe probe = QueryInstrumentation.probe("UserRepository.updateUser")) {
+            Database db = databaseProvider.getWritableDatabase();
+            Values values = new Values();
             values.put(UserTable.COLUMN_NAME, user.getName());
             values.put(UserTable.COLUMN_EMAIL, user.getEmail());
             values.put(UserTable.COLUMN_PHOTO, user.getPhoto());
             values.put(UserTable.COLUMN_POINTS, user.getPoints());
 
+            probe.update(UserTable.TABLE_NAME, values, selection, selectionArgs);
             int rowsUpdated = db.update(UserTable.TABLE_NAME, values, selection, selectionArgs);
+            probe.rowsWritten(rowsUpdated);
             if (rowsUpdated == 0) {
                 throw DatabaseOperationException.fromError(
                         DatabaseErrorCode.DATA_INTEGRITY_VIOLATION,
@@ -160,8 +220,8 @@ public class UserRepository {
                 );
             }
             return getUserById(user.getId());
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e,
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
                     String.format("Error during user update for ID %d.", user.getId())
             );
         }
@@ -177,16 +237,19 @@ public class UserRepository {
         final String selection = UserTable.COLUMN_ID + " = ?";
         final String[] selectionArgs = {String.valueOf(userId)};
 
-        try (SQLiteDatabase db = dbHelper.getWritableDatabase()) {
+        try (QueryProbe probe = QueryInstrumentation.probe("UserRepository.deleteUser")) {
+            Database db = databaseProvider.getWritableDatabase();
+            probe.delete(UserTable.TABLE_NAME, selection, selectionArgs);
             int rowsDeleted = db.delete(UserTable.TABLE_NAME, selection, selectionArgs);
+            probe.rowsWritten(rowsDeleted);
             if (rowsDeleted == 0) {
                 throw DatabaseOperationException.fromError(
                         DatabaseErrorCode.RESOURCE_NOT_FOUND,
                         String.format("Failed to delete user with ID %d. User not found.", userId)
                 );
             }
-        } catch (SQLiteException e) {
-            throw DatabaseErrorHandler.handleSQLiteException(e,
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e,
                     String.format("Error during user deletion for ID %d.", userId)
             );
         }
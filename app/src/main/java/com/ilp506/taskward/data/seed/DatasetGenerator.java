@@ -0,0 +1,280 @@
+package com.ilp506.taskward.data.seed;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import androidx.annotation.NonNull;
+
+import com.ilp506.taskward.data.DatabaseContract.RewardTable;
+import com.ilp506.taskward.data.DatabaseContract.TaskEventTable;
+import com.ilp506.taskward.data.DatabaseContract.TaskTable;
+import com.ilp506.taskward.data.DatabaseContract.UserTable;
+import com.ilp506.taskward.data.DatabaseHelper;
+import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.enums.TaskFrequencyEnum;
+import com.ilp506.taskward.data.models.Reward;
+import com.ilp506.taskward.data.models.Task;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.models.User;
+import com.ilp506.taskward.data.repositories.RewardRepository;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.data.repositories.TaskRepository;
+import com.ilp506.taskward.data.repositories.UserRepository;
+import com.ilp506.taskward.data.storage.AndroidDatabaseProvider;
+import com.ilp506.taskward.data.storage.DatabaseProvider;
+import com.ilp506.taskward.utils.Logger;
+import com.ilp506.taskward.utils.TaskScheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates synthetic data for load and scale testing.
+ *
+ * The generator creates a user, tasks across every frequency, the event history of each task up
+ * to a fixed end date and a set of rewards, some of them redeemed. Events are stepped with
+ * {@link TaskScheduler}, like the app does, and each task gets its own completion rate, so the
+ * history mixes completed, expired and a few cancelled events; the last event of every active
+ * task stays scheduled. All rows are written through the repositories' bulk paths, events in
+ * batches of {@value #EVENT_BATCH_SIZE}, so memory use does not grow with the history.
+ *
+ * Generation is deterministic: the same seed, sizes and end date always produce the same rows.
+ * The user email embeds the seed, so a seed can be generated only once per database.
+ */
+public class DatasetGenerator {
+    private static final String TAG = DatasetGenerator.class.getSimpleName();
+
+    /** End of the generated history used by the presets; fixed so that datasets are reproducible. */
+    public static final LocalDateTime DEFAULT_END_DATE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private static final int EVENT_BATCH_SIZE = 1_000;
+    private static final TaskFrequencyEnum[] FREQUENCY_MIX = {
+            TaskFrequencyEnum.DAILY, TaskFrequencyEnum.DAILY, TaskFrequencyEnum.DAILY, TaskFrequencyEnum.DAILY,
+            TaskFrequencyEnum.WEEKLY, TaskFrequencyEnum.WEEKLY, TaskFrequencyEnum.WEEKLY,
+            TaskFrequencyEnum.MONTHLY, TaskFrequencyEnum.MONTHLY,
+            TaskFrequencyEnum.YEARLY
+    };
+    private static final String[] TASK_TITLES = {
+            "Drink water", "Exercise", "Read", "Study", "Meditate", "Clean the house",
+            "Review the budget", "Call family", "Water the plants", "Plan the week"
+    };
+    private static final String[] REWARD_TITLES = {
+            "Movie night", "Coffee break", "New book", "Day off", "Dinner out", "Game session"
+    };
+
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final TaskEventRepository taskEventRepository;
+    private final RewardRepository rewardRepository;
+
+    /**
+     * Constructs a DatasetGenerator writing to the application database.
+     *
+     * @param context The application context used to initialize the database helper.
+     */
+    public DatasetGenerator(Context context) {
+        this(DatabaseHelper.getInstance(context));
+    }
+
+    /**
+     * Constructs a DatasetGenerator writing to a given database.
+     *
+     * @param dbHelper The helper of the database to fill.
+     */
+    public DatasetGenerator(@NonNull SQLiteOpenHelper dbHelper) {
+        this(new AndroidDatabaseProvider(dbHelper));
+    }
+
+    /**
+     * Constructs a DatasetGenerator writing to a given storage, e.g. a JVM SQLite driver.
+     *
+     * @param databaseProvider The provider of the database connections.
+     */
+    public DatasetGenerator(@NonNull DatabaseProvider databaseProvider) {
+        this.userRepository = new UserRepository(databaseProvider);
+        this.taskRepository = new TaskRepository(databaseProvider);
+        this.taskEventRepository = new TaskEventRepository(databaseProvider);
+        this.rewardRepository = new RewardRepository(databaseProvider);
+    }
+
+    /**
+     * Generates a preset dataset ending at {@link #DEFAULT_END_DATE}.
+     *
+     * @param preset The dataset size.
+     * @param seed The random seed.
+     * @return The number of rows created per table.
+     * @throws com.ilp506.taskward.exceptions.custom.DatabaseOperationException If writing fails.
+     */
+    @NonNull
+    public Map<String, Long> generate(@NonNull DatasetPreset preset, long seed) {
+        return generate(preset.getYears(), preset.getTaskCount(), preset.getRewardCount(), seed, DEFAULT_END_DATE);
+    }
+
+    /**
+     * Generates a dataset.
+     *
+     * @param years The length of the event history.
+     * @param taskCount The number of tasks; from four on, every frequency is present.
+     * @param rewardCount The number of rewards.
+     * @param seed The random seed.
+     * @param endDate The end of the history; events from this date on stay scheduled.
+     * @return The number of rows created per table.
+     * @throws com.ilp506.taskward.exceptions.custom.DatabaseOperationException If writing fails.
+     */
+    @NonNull
+    public Map<String, Long> generate(int years, int taskCount, int rewardCount, long seed,
+                                      @NonNull LocalDateTime endDate) {
+        if (years <= 0 || taskCount < 0 || rewardCount < 0)
+            throw new IllegalArgumentException("Dataset sizes must be positive.");
+
+        Random random = new Random(seed);
+        LocalDateTime startDate = endDate.minusYears(years);
+        Map<String, Long> counts = new LinkedHashMap<>();
+
+        User user = new User();
+        user.setName("Synthetic user " + seed);
+        user.setEmail("synthetic-" + seed + "@taskward.test");
+        user = userRepository.createUser(user);
+        counts.put(UserTable.TABLE_NAME, 1L);
+
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) tasks.add(createTask(random, i, user.getId(), startDate, endDate));
+        taskRepository.createTasks(tasks);
+        counts.put(TaskTable.TABLE_NAME, (long) tasks.size());
+
+        long eventCount = 0;
+        long points = 0;
+        List<TaskEvent> batch = new ArrayList<>(EVENT_BATCH_SIZE);
+        for (Task task : tasks) {
+            // Between 35% and 95% of a task's events get completed
+            double completionRate = 0.35 + random.nextDouble() * 0.6;
+            TaskEvent last = null;
+            TaskEvent next;
+            while ((next = TaskScheduler.generateNextTaskEvent(task, last)) != null) {
+                next.setCreatedAt(last != null ? last.getScheduledDate() : task.getCreatedAt());
+                boolean pending = !next.getScheduledDate().isBefore(endDate);
+                if (!pending) points += settle(next, completionRate, random);
+
+                batch.add(next);
+                if (batch.size() == EVENT_BATCH_SIZE) {
+                    taskEventRepository.createTaskEvents(batch);
+                    eventCount += batch.size();
+                    batch.clear();
+                }
+                if (pending) break;
+                last = next;
+            }
+        }
+        taskEventRepository.createTaskEvents(batch);
+        eventCount += batch.size();
+        counts.put(TaskEventTable.TABLE_NAME, eventCount);
+
+        List<Reward> rewards = new ArrayList<>(rewardCount);
+        for (int i = 0; i < rewardCount; i++) {
+            Reward reward = createReward(random, i, user.getId(), startDate, endDate);
+            // Roughly 40% of the rewards were redeemed, as long as the points allowed it
+            if (random.nextInt(10) < 4 && points >= reward.getPointsRequired()) {
+                points -= reward.getPointsRequired();
+                reward.setDateRedeemed(randomDateBetween(random, reward.getCreatedAt(), endDate));
+            }
+            rewards.add(reward);
+        }
+        rewardRepository.createRewards(rewards);
+        counts.put(RewardTable.TABLE_NAME, (long) rewards.size());
+
+        user.setPoints((int) Math.min(Integer.MAX_VALUE, points));
+        userRepository.updateUser(user);
+
+        Logger.i(TAG, "Synthetic dataset generated: " + counts);
+        return counts;
+    }
+
+    /**
+     * Creates a task starting within the first month of the history. The first four tasks cover
+     * every frequency; the rest follow a mix dominated by daily and weekly tasks.
+     */
+    @NonNull
+    private static Task createTask(@NonNull Random random, int index, int userId,
+                                   @NonNull LocalDateTime startDate, @NonNull LocalDateTime endDate) {
+        TaskFrequencyEnum frequency = index < TaskFrequencyEnum.values().length
+                ? TaskFrequencyEnum.values()[index]
+                : FREQUENCY_MIX[random.nextInt(FREQUENCY_MIX.length)];
+
+        Task task = new Task();
+        task.setUserId(userId);
+        task.setIcon("ic_task");
+        task.setTitle(TASK_TITLES[index % TASK_TITLES.length] + " #" + (index + 1));
+        task.setDescription("Synthetic " + frequency.getValue() + " task");
+        task.setFrequency(frequency);
+        task.setStartDate(startDate.plusDays(random.nextInt(30)).withHour(6 + random.nextInt(16)));
+        task.setCreatedAt(task.getStartDate());
+
+        switch (frequency) {
+            case DAILY:
+                task.setFrequencyInterval(1 + random.nextInt(3));
+                task.setPointsReward(5 * (1 + random.nextInt(4)));
+                break;
+            case WEEKLY:
+                task.setFrequencyInterval(1 + random.nextInt(2));
+                task.setPointsReward(5 * (4 + random.nextInt(7)));
+                break;
+            case MONTHLY:
+                task.setFrequencyInterval(1);
+                task.setPointsReward(5 * (10 + random.nextInt(21)));
+                break;
+            default:
+                task.setFrequencyInterval(1);
+                task.setPointsReward(5 * (40 + random.nextInt(61)));
+                break;
+        }
+
+        // One task in ten was given an end date somewhere in the history
+        if (random.nextInt(10) == 0)
+            task.setEndDate(randomDateBetween(random, task.getStartDate(), endDate));
+        return task;
+    }
+
+    /**
+     * Gives a past event its final status.
+     *
+     * @return The points earned by the event.
+     */
+    private static int settle(@NonNull TaskEvent event, double completionRate, @NonNull Random random) {
+        double roll = random.nextDouble();
+        if (roll < completionRate) {
+            event.setStatus(TaskEventStatusEnum.COMPLETED);
+            event.setCompletedDate(event.getScheduledDate().plusMinutes(random.nextInt(12 * 60)));
+            return event.getPointsEarned();
+        }
+        event.setStatus(roll < completionRate + 0.03
+                ? TaskEventStatusEnum.CANCELLED
+                : TaskEventStatusEnum.EXPIRED);
+        return 0;
+    }
+
+    @NonNull
+    private static Reward createReward(@NonNull Random random, int index, int userId,
+                                       @NonNull LocalDateTime startDate, @NonNull LocalDateTime endDate) {
+        Reward reward = new Reward();
+        reward.setUserId(userId);
+        reward.setIcon("ic_reward");
+        reward.setTitle(REWARD_TITLES[index % REWARD_TITLES.length] + " #" + (index + 1));
+        reward.setDescription("Synthetic reward");
+        reward.setPointsRequired(50 * (1 + random.nextInt(40)));
+        reward.setCreatedAt(randomDateBetween(random, startDate, endDate));
+        return reward;
+    }
+
+    @NonNull
+    private static LocalDateTime randomDateBetween(@NonNull Random random, @NonNull LocalDateTime from,
+                                                   @NonNull LocalDateTime to) {
+        long minutes = Duration.between(from, to).toMinutes();
+        if (minutes <= 0) return from;
+        return from.plusMinutes((long) (random.nextDouble() * minutes)).withSecond(0).withNano(0);
+    }
+}
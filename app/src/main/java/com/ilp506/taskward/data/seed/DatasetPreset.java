@@ -0,0 +1,33 @@
+package com.ilp506.taskward.data.seed;
+
+/**
+ * Standard dataset sizes for benchmarks and tests, so results stay comparable between them.
+ * Every preset has one user, 50 tasks across all frequencies and 20 rewards; only the length
+ * of the event history differs.
+ */
+public enum DatasetPreset {
+    ONE_YEAR(1),
+    FIVE_YEARS(5),
+    TEN_YEARS(10);
+
+    private static final int TASK_COUNT = 50;
+    private static final int REWARD_COUNT = 20;
+
+    private final int years;
+
+    DatasetPreset(int years) {
+        this.years = years;
+    }
+
+    public int getYears() {
+        return years;
+    }
+
+    public int getTaskCount() {
+        return TASK_COUNT;
+    }
+
+    public int getRewardCount() {
+        return REWARD_COUNT;
+    }
+}
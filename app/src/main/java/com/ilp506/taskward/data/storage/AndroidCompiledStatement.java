@@ -0,0 +1,67 @@
+package com.ilp506.taskward.data.storage;
+
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteStatement;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * {@link CompiledStatement} backed by an Android {@link SQLiteStatement}.
+ */
+final class AndroidCompiledStatement implements CompiledStatement {
+    private final SQLiteStatement statement;
+
+    AndroidCompiledStatement(@NonNull SQLiteStatement statement) {
+        this.statement = statement;
+    }
+
+    @Override
+    public void bindNull(int index) {
+        statement.bindNull(index);
+    }
+
+    @Override
+    public void bindLong(int index, long value) {
+        statement.bindLong(index, value);
+    }
+
+    @Override
+    public void bindDouble(int index, double value) {
+        statement.bindDouble(index, value);
+    }
+
+    @Override
+    public void bindString(int index, @NonNull String value) {
+        statement.bindString(index, value);
+    }
+
+    @Override
+    public void bindValue(int index, @Nullable Object value) {
+        DatabaseUtils.bindObjectToProgram(statement, index, value);
+    }
+
+    @Override
+    public long executeInsert() {
+        try {
+            return statement.executeInsert();
+        } catch (SQLiteException e) {
+            throw AndroidDatabase.translate(e);
+        }
+    }
+
+    @Override
+    public int executeUpdateDelete() {
+        try {
+            return statement.executeUpdateDelete();
+        } catch (SQLiteException e) {
+            throw AndroidDatabase.translate(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        statement.close();
+    }
+}
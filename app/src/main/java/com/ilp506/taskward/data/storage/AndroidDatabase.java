@@ -0,0 +1,143 @@
+package com.ilp506.taskward.data.storage;
+
+import android.content.ContentValues;
+import android.database.sqlite.SQLiteConstraintException;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteDatabaseLockedException;
+import android.database.sqlite.SQLiteException;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * {@link Database} backed by an Android {@link SQLiteDatabase}.
+ */
+final class AndroidDatabase implements Database {
+    private final SQLiteDatabase db;
+
+    AndroidDatabase(@NonNull SQLiteDatabase db) {
+        this.db = db;
+    }
+
+    @NonNull
+    SQLiteDatabase unwrap() {
+        return db;
+    }
+
+    @NonNull
+    @Override
+    public Rows query(@NonNull String table, @Nullable String[] columns, @Nullable String selection,
+                      @Nullable String[] selectionArgs, @Nullable String orderBy) {
+        try {
+            return new AndroidRows(db.query(table, columns, selection, selectionArgs, null, null, orderBy));
+        } catch (SQLiteException e) {
+            throw translate(e);
+        }
+    }
+
+    @NonNull
+    @Override
+    public Rows rawQuery(@NonNull String sql, @Nullable String[] selectionArgs) {
+        try {
+            return new AndroidRows(db.rawQuery(sql, selectionArgs));
+        } catch (SQLiteException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public long insert(@NonNull String table, @NonNull Values values) {
+        try {
+            return db.insertOrThrow(table, null, toContentValues(values));
+        } catch (SQLiteException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public int update(@NonNull String table, @NonNull Values values, @Nullable String whereClause,
+                      @Nullable String[] whereArgs) {
+        try {
+            return db.update(table, toContentValues(values), whereClause, whereArgs);
+        } catch (SQLiteException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public int delete(@NonNull String table, @Nullable String whereClause, @Nullable String[] whereArgs) {
+        try {
+            return db.delete(table, whereClause, whereArgs);
+        } catch (SQLiteException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public void execSQL(@NonNull String sql) {
+        try {
+            db.execSQL(sql);
+        } catch (SQLiteException e) {
+            throw translate(e);
+        }
+    }
+
+    @NonNull
+    @Override
+    public CompiledStatement compileStatement(@NonNull String sql) {
+        try {
+            return new AndroidCompiledStatement(db.compileStatement(sql));
+        } catch (SQLiteException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public void beginTransaction() {
+        try {
+            db.beginTransaction();
+        } catch (SQLiteException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public void setTransactionSuccessful() {
+        db.setTransactionSuccessful();
+    }
+
+    @Override
+    public void endTransaction() {
+        try {
+            db.endTransaction();
+        } catch (SQLiteException e) {
+            throw translate(e);
+        }
+    }
+
+    /**
+     * Converts an Android SQLite exception into a driver-independent one.
+     */
+    @NonNull
+    static StorageException translate(@NonNull SQLiteException e) {
+        StorageException.Kind kind;
+        if (e instanceof SQLiteConstraintException) kind = StorageException.Kind.CONSTRAINT;
+        else if (e instanceof SQLiteDatabaseLockedException) kind = StorageException.Kind.LOCKED;
+        else kind = StorageException.Kind.OTHER;
+        return new StorageException(kind, e.getMessage(), e);
+    }
+
+    @NonNull
+    private static ContentValues toContentValues(@NonNull Values values) {
+        ContentValues contentValues = new ContentValues(values.size());
+        for (String key : values.keySet()) {
+            Object value = values.get(key);
+            if (value == null) contentValues.putNull(key);
+            else if (value instanceof String) contentValues.put(key, (String) value);
+            else if (value instanceof Integer) contentValues.put(key, (Integer) value);
+            else if (value instanceof Long) contentValues.put(key, (Long) value);
+            else contentValues.put(key, (Double) value);
+        }
+        return contentValues;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ilp506.taskward.data.storage;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import androidx.annotation.NonNull;
+
+import com.ilp506.taskward.utils.metrics.Counter;
+import com.ilp506.taskward.utils.metrics.MetricsRegistry;
+
+/**
+ * {@link DatabaseProvider} backed by an {@link SQLiteOpenHelper}.
+ * The helper keeps one connection open for the app's lifetime; the wrapper of that connection is
+ * reused until the helper hands out a new one, e.g. after a restore closed it.
+ * Every acquisition is counted in {@value #OPENS_METRIC}.
+ */
+public final class AndroidDatabaseProvider implements DatabaseProvider {
+    public static final String OPENS_METRIC = "database.opens";
+
+    private static final Counter opens = MetricsRegistry.getInstance().counter(OPENS_METRIC);
+
+    private final SQLiteOpenHelper dbHelper;
+    private volatile AndroidDatabase current;
+
+    public AndroidDatabaseProvider(@NonNull SQLiteOpenHelper dbHelper) {
+        this.dbHelper = dbHelper;
+    }
+
+    @NonNull
+    @Override
+    public Database getWritableDatabase() {
+        try {
+            return wrap(dbHelper.getWritableDatabase());
+        } catch (SQLiteException e) {
+            throw AndroidDatabase.translate(e);
+        }
+    }
+
+    @NonNull
+    @Override
+    public Database getReadableDatabase() {
+        try {
+            return wrap(dbHelper.getReadableDatabase());
+        } catch (SQLiteException e) {
+            throw AndroidDatabase.translate(e);
+        }
+    }
+
+    /**
+     * Gets the platform connection, for work that needs more than {@link Database} offers, such
+     * as the cancellable statements of database maintenance. It is the connection the wrappers
+     * use, and must not be closed either.
+     *
+     * @return The writable connection.
+     * @throws StorageException If the database cannot be opened.
+     */
+    @NonNull
+    public SQLiteDatabase getSQLiteDatabase() {
+        try {
+            SQLiteDatabase db = dbHelper.getWritableDatabase();
+            opens.increment();
+            return db;
+        } catch (SQLiteException e) {
+            throw AndroidDatabase.translate(e);
+        }
+    }
+
+    @NonNull
+    private Database wrap(@NonNull SQLiteDatabase db) {
+        opens.increment();
+        AndroidDatabase wrapper = current;
+        if (wrapper == null || wrapper.unwrap() != db) {
+            wrapper = new AndroidDatabase(db);
+            current = wrapper;
+        }
+        return wrapper;
+    }
+}
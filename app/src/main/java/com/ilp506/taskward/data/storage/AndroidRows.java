@@ -0,0 +1,116 @@
+package com.ilp506.taskward.data.storage;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteException;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * {@link Rows} backed by an Android {@link Cursor}.
+ */
+public final class AndroidRows implements Rows {
+    private final Cursor cursor;
+
+    /**
+     * Wraps a cursor; closing the rows closes the cursor.
+     *
+     * @param cursor The cursor to read.
+     */
+    public AndroidRows(@NonNull Cursor cursor) {
+        this.cursor = cursor;
+    }
+
+    @Override
+    public int getCount() {
+        try {
+            return cursor.getCount();
+        } catch (SQLiteException e) {
+            throw AndroidDatabase.translate(e);
+        }
+    }
+
+    @Override
+    public int getPosition() {
+        return cursor.getPosition();
+    }
+
+    @Override
+    public boolean moveToFirst() {
+        try {
+            return cursor.moveToFirst();
+        } catch (SQLiteException e) {
+            throw AndroidDatabase.translate(e);
+        }
+    }
+
+    @Override
+    public boolean moveToNext() {
+        try {
+            return cursor.moveToNext();
+        } catch (SQLiteException e) {
+            throw AndroidDatabase.translate(e);
+        }
+    }
+
+    @Override
+    public boolean moveToPosition(int position) {
+        try {
+            return cursor.moveToPosition(position);
+        } catch (SQLiteException e) {
+            throw AndroidDatabase.translate(e);
+        }
+    }
+
+    @Override
+    public int getColumnCount() {
+        return cursor.getColumnCount();
+    }
+
+    @Override
+    public int getColumnIndex(@NonNull String columnName) {
+        return cursor.getColumnIndex(columnName);
+    }
+
+    @Override
+    public int getColumnIndexOrThrow(@NonNull String columnName) {
+        return cursor.getColumnIndexOrThrow(columnName);
+    }
+
+    @Override
+    public boolean isNull(int columnIndex) {
+        return cursor.isNull(columnIndex);
+    }
+
+    @Nullable
+    @Override
+    public String getString(int columnIndex) {
+        return cursor.getString(columnIndex);
+    }
+
+    @Override
+    public int getInt(int columnIndex) {
+        return cursor.getInt(columnIndex);
+    }
+
+    @Override
+    public long getLong(int columnIndex) {
+        return cursor.getLong(columnIndex);
+    }
+
+    @Override
+    public double getDouble(int columnIndex) {
+        return cursor.getDouble(columnIndex);
+    }
+
+    @Nullable
+    @Override
+    public byte[] getBlob(int columnIndex) {
+        return cursor.getBlob(columnIndex);
+    }
+
+    @Override
+    public void close() {
+        cursor.close();
+    }
+}
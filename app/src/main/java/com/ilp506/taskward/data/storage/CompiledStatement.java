@@ -0,0 +1,40 @@
+package com.ilp506.taskward.data.storage;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * A compiled statement for repeated execution. Parameter indexes start at 1.
+ */
+public interface CompiledStatement extends AutoCloseable {
+
+    void bindNull(int index);
+
+    void bindLong(int index, long value);
+
+    void bindDouble(int index, double value);
+
+    void bindString(int index, @NonNull String value);
+
+    /**
+     * Binds a value of any supported type: null, a number, a string or a byte array.
+     */
+    void bindValue(int index, @Nullable Object value);
+
+    /**
+     * Runs the statement as an INSERT.
+     *
+     * @return The row ID of the new row, or -1 if no row was inserted.
+     */
+    long executeInsert();
+
+    /**
+     * Runs the statement as an UPDATE or DELETE.
+     *
+     * @return The number of rows changed.
+     */
+    int executeUpdateDelete();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,93 @@
+package com.ilp506.taskward.data.storage;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * The subset of SQLite operations used by the repositories, independent of the driver.
+ * Semantics follow {@link android.database.sqlite.SQLiteDatabase}: selection arguments are bound
+ * as text, transactions may nest and only commit when every level was marked successful.
+ * Every method throws {@link StorageException} when the driver reports an error.
+ */
+public interface Database {
+
+    /**
+     * Queries a table.
+     *
+     * @param table The table, or a join expression.
+     * @param columns The columns to return, or null for all columns.
+     * @param selection The WHERE clause with '?' placeholders, or null.
+     * @param selectionArgs The values of the placeholders.
+     * @param orderBy The ORDER BY clause, or null.
+     * @return The rows; the caller must close them.
+     */
+    @NonNull
+    Rows query(@NonNull String table, @Nullable String[] columns, @Nullable String selection,
+               @Nullable String[] selectionArgs, @Nullable String orderBy);
+
+    /**
+     * Runs a SELECT statement.
+     *
+     * @param sql The SQL with '?' placeholders.
+     * @param selectionArgs The values of the placeholders.
+     * @return The rows; the caller must close them.
+     */
+    @NonNull
+    Rows rawQuery(@NonNull String sql, @Nullable String[] selectionArgs);
+
+    /**
+     * Inserts a row.
+     *
+     * @param table The table.
+     * @param values The column values.
+     * @return The row ID of the new row.
+     */
+    long insert(@NonNull String table, @NonNull Values values);
+
+    /**
+     * Updates rows.
+     *
+     * @return The number of rows updated.
+     */
+    int update(@NonNull String table, @NonNull Values values, @Nullable String whereClause,
+               @Nullable String[] whereArgs);
+
+    /**
+     * Deletes rows.
+     *
+     * @return The number of rows deleted.
+     */
+    int delete(@NonNull String table, @Nullable String whereClause, @Nullable String[] whereArgs);
+
+    /**
+     * Runs a statement that returns no rows.
+     *
+     * @param sql The SQL.
+     */
+    void execSQL(@NonNull String sql);
+
+    /**
+     * Compiles a statement for repeated execution, e.g. inside a bulk insert.
+     *
+     * @param sql The SQL with '?' placeholders.
+     * @return The statement; the caller must close it.
+     */
+    @NonNull
+    CompiledStatement compileStatement(@NonNull String sql);
+
+    /**
+     * Begins a transaction that holds the write lock; transactions may nest.
+     */
+    void beginTransaction();
+
+    /**
+     * Marks the current transaction level as successful.
+     */
+    void setTransactionSuccessful();
+
+    /**
+     * Ends the current transaction level, committing the transaction when the outermost level
+     * ends and every level was marked successful, and rolling it back otherwise.
+     */
+    void endTransaction();
+}
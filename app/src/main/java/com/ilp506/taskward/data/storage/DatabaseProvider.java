@@ -0,0 +1,31 @@
+package com.ilp506.taskward.data.storage;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Source of database connections for the repositories.
+ *
+ * On Android it is backed by the app's {@link android.database.sqlite.SQLiteOpenHelper}; on a
+ * plain JVM it can be backed by any SQLite driver, which lets the repositories be measured on a
+ * host machine. Connections are owned by the provider and must not be closed by callers.
+ */
+public interface DatabaseProvider {
+
+    /**
+     * Gets a connection that can read and write, creating or upgrading the database if needed.
+     *
+     * @return The connection.
+     * @throws StorageException If the database cannot be opened.
+     */
+    @NonNull
+    Database getWritableDatabase();
+
+    /**
+     * Gets a connection for reading.
+     *
+     * @return The connection.
+     * @throws StorageException If the database cannot be opened.
+     */
+    @NonNull
+    Database getReadableDatabase();
+}
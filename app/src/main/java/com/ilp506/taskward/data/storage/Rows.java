@@ -0,0 +1,57 @@
+package com.ilp506.taskward.data.storage;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Result rows of a query, read like an {@link android.database.Cursor}: positions start before
+ * the first row and column indexes are zero-based.
+ */
+public interface Rows extends AutoCloseable {
+
+    int getCount();
+
+    int getPosition();
+
+    boolean moveToFirst();
+
+    boolean moveToNext();
+
+    boolean moveToPosition(int position);
+
+    int getColumnCount();
+
+    /**
+     * Gets the index of a column.
+     *
+     * @param columnName The column name, without table prefix.
+     * @return The zero-based index, or -1 if the column does not exist.
+     */
+    int getColumnIndex(@NonNull String columnName);
+
+    /**
+     * Gets the index of a column.
+     *
+     * @param columnName The column name, without table prefix.
+     * @return The zero-based index.
+     * @throws IllegalArgumentException If the column does not exist.
+     */
+    int getColumnIndexOrThrow(@NonNull String columnName);
+
+    boolean isNull(int columnIndex);
+
+    @Nullable
+    String getString(int columnIndex);
+
+    int getInt(int columnIndex);
+
+    long getLong(int columnIndex);
+
+    double getDouble(int columnIndex);
+
+    @Nullable
+    byte[] getBlob(int columnIndex);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,35 @@
+package com.ilp506.taskward.data.storage;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Driver-independent error raised by {@link Database} operations.
+ * The kind carries what the repositories need to pick an error code; the driver's own
+ * exception is kept as the cause.
+ */
+public class StorageException extends RuntimeException {
+
+    /**
+     * Category of a storage error.
+     */
+    public enum Kind {
+        /** A UNIQUE, NOT NULL, CHECK or foreign key constraint failed. */
+        CONSTRAINT,
+        /** The database was locked by another connection. */
+        LOCKED,
+        /** Any other error. */
+        OTHER
+    }
+
+    private final Kind kind;
+
+    public StorageException(@NonNull Kind kind, String message, Throwable cause) {
+        super(message, cause);
+        this.kind = kind;
+    }
+
+    @NonNull
+    public Kind getKind() {
+        return kind;
+    }
+}
@@ -0,0 +1,69 @@
+package com.ilp506.taskward.data.storage;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Column values of a row to insert or update, kept in insertion order.
+ * Driver-independent counterpart of {@link android.content.ContentValues}.
+ */
+public final class Values {
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    public void put(@NonNull String key, @Nullable String value) {
+        values.put(key, value);
+    }
+
+    public void put(@NonNull String key, @Nullable Integer value) {
+        values.put(key, value);
+    }
+
+    public void put(@NonNull String key, @Nullable Long value) {
+        values.put(key, value);
+    }
+
+    public void put(@NonNull String key, @Nullable Double value) {
+        values.put(key, value);
+    }
+
+    public void putNull(@NonNull String key) {
+        values.put(key, null);
+    }
+
+    @Nullable
+    public Object get(@NonNull String key) {
+        return values.get(key);
+    }
+
+    @NonNull
+    public Set<String> keySet() {
+        return values.keySet();
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Values)) return false;
+        return values.equals(((Values) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(values);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,176 @@
+package com.ilp506.taskward.data.transfer;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads rows streamed by {@link CsvRecordWriter}.
+ * Records are parsed character by character, so quoted values may span lines and only the
+ * current row is ever held in memory.
+ */
+public class CsvRecordReader implements RecordReader {
+    private static final int END_OF_STREAM = -1;
+
+    private final Reader reader;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private final Map<String, String> row = new HashMap<>();
+
+    private String table;
+    private long tableRowCount = -1;
+    private String[] columns;
+    private int pending = END_OF_STREAM - 1;
+    private boolean recordStartsWithMarker;
+
+    /**
+     * Constructs a CsvRecordReader.
+     *
+     * @param in The source reader, ideally buffered; it is closed together with this reader.
+     */
+    public CsvRecordReader(@NonNull Reader in) {
+        this.reader = in;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        while (readRecord()) {
+            if (recordStartsWithMarker) {
+                beginTable();
+                continue;
+            }
+            if (fields.size() == 1 && fields.get(0) == null) continue; // Blank line between sections
+
+            if (columns == null) throw new IOException("Row found before any table section.");
+            if (fields.size() != columns.length)
+                throw new IOException(String.format("Expected %d values in table %s but found %d.",
+                        columns.length, table, fields.size()));
+
+            row.clear();
+            for (int i = 0; i < columns.length; i++) row.put(columns[i], fields.get(i));
+            return true;
+        }
+        return false;
+    }
+
+    @NonNull
+    @Override
+    public String getTable() {
+        if (table == null) throw new IllegalStateException("No current row.");
+        return table;
+    }
+
+    @Override
+    public long getTableRowCount() {
+        return tableRowCount;
+    }
+
+    @Override
+    public String getValue(@NonNull String column) {
+        return row.get(column);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Parses a "# table count" marker and the header record that follows it.
+     */
+    private void beginTable() throws IOException {
+        String[] marker = fields.get(0).substring(1).trim().split(" ");
+        if (marker.length == 0 || marker[0].isEmpty()) throw new IOException("Malformed table section marker.");
+        table = marker[0];
+        try {
+            tableRowCount = marker.length > 1 ? Long.parseLong(marker[1]) : -1;
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed row count for table " + table, e);
+        }
+
+        if (!readRecord() || recordStartsWithMarker)
+            throw new IOException("Missing header for table " + table);
+        columns = new String[fields.size()];
+        for (int i = 0; i < columns.length; i++) {
+            if (fields.get(i) == null) throw new IOException("Empty column name in table " + table);
+            columns[i] = fields.get(i);
+        }
+    }
+
+    /**
+     * Reads the next record into {@link #fields}.
+     * Unquoted empty values are stored as null, quoted values are stored verbatim.
+     *
+     * @return false if the end of the stream was reached before any character was read.
+     */
+    private boolean readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        recordStartsWithMarker = false;
+
+        int c = read();
+        if (c == END_OF_STREAM) return false;
+        if (c == CsvRecordWriter.SECTION_MARKER) recordStartsWithMarker = true;
+
+        boolean quoted = false;
+        while (true) {
+            if (c == CsvRecordWriter.QUOTE && field.length() == 0 && !quoted) {
+                quoted = true;
+                readQuoted();
+                c = read();
+                continue;
+            }
+            if (c == CsvRecordWriter.SEPARATOR && !recordStartsWithMarker) {
+                endField(quoted);
+                quoted = false;
+            } else if (c == '\r' || c == '\n' || c == END_OF_STREAM) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') pending = next;
+                }
+                endField(quoted);
+                return true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Reads a quoted value up to its closing quote, unescaping doubled quotes.
+     */
+    private void readQuoted() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == END_OF_STREAM) throw new IOException("Unterminated quoted value in table " + table);
+            if (c == CsvRecordWriter.QUOTE) {
+                int next = read();
+                if (next != CsvRecordWriter.QUOTE) {
+                    pending = next;
+                    return;
+                }
+            }
+            field.append((char) c);
+        }
+    }
+
+    private void endField(boolean quoted) {
+        fields.add(quoted || field.length() > 0 ? field.toString() : null);
+        field.setLength(0);
+    }
+
+    private int read() throws IOException {
+        if (pending >= END_OF_STREAM) {
+            int c = pending;
+            pending = END_OF_STREAM - 1;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,120 @@
+package com.ilp506.taskward.data.transfer;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Streams exported rows as CSV, one section per table.
+ * Each section starts with a "# table count" marker line followed by a header line and the rows,
+ * and ends with a blank line. Text values are always quoted, so an empty quoted value is an empty
+ * string and an empty unquoted value is NULL.
+ */
+public class CsvRecordWriter implements RecordWriter {
+    static final char SECTION_MARKER = '#';
+    static final char SEPARATOR = ',';
+    static final char QUOTE = '"';
+    static final String LINE_END = "\r\n";
+
+    private final Writer writer;
+    private String[] columns;
+    private int nextColumn;
+
+    /**
+     * Constructs a CsvRecordWriter.
+     *
+     * @param out The destination writer; it is closed together with this writer.
+     */
+    public CsvRecordWriter(@NonNull Writer out) {
+        this.writer = out;
+    }
+
+    @Override
+    public void beginTable(@NonNull String table, @NonNull String[] columns, long rowCount) throws IOException {
+        this.columns = columns;
+        writer.write(SECTION_MARKER);
+        writer.write(' ');
+        writer.write(table);
+        writer.write(' ');
+        writer.write(Long.toString(rowCount));
+        writer.write(LINE_END);
+
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) writer.write(SEPARATOR);
+            writer.write(columns[i]);
+        }
+        writer.write(LINE_END);
+    }
+
+    @Override
+    public void beginRow() {
+        nextColumn = 0;
+    }
+
+    @Override
+    public void writeNull(int column) throws IOException {
+        beginField(column);
+    }
+
+    @Override
+    public void writeLong(int column, long value) throws IOException {
+        beginField(column);
+        writer.write(Long.toString(value));
+    }
+
+    @Override
+    public void writeDouble(int column, double value) throws IOException {
+        beginField(column);
+        writer.write(Double.toString(value));
+    }
+
+    @Override
+    public void writeString(int column, @NonNull String value) throws IOException {
+        beginField(column);
+        writer.write(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == QUOTE) writer.write(QUOTE);
+            writer.write(c);
+        }
+        writer.write(QUOTE);
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        skipTo(columns.length);
+        writer.write(LINE_END);
+    }
+
+    @Override
+    public void endTable() throws IOException {
+        writer.write(LINE_END);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Starts the field of the given column, leaving any skipped column empty (NULL).
+     */
+    private void beginField(int column) throws IOException {
+        if (column < nextColumn)
+            throw new IllegalStateException("Columns must be written in order.");
+        skipTo(column);
+        if (column > 0) writer.write(SEPARATOR);
+        nextColumn = column + 1;
+    }
+
+    private void skipTo(int column) throws IOException {
+        for (; nextColumn < column; nextColumn++)
+            if (nextColumn > 0) writer.write(SEPARATOR);
+    }
+}
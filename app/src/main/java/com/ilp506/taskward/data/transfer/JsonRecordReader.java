@@ -0,0 +1,142 @@
+package com.ilp506.taskward.data.transfer;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads rows streamed by {@link JsonRecordWriter}.
+ * The document is consumed token by token, so only the current row is ever held in memory.
+ */
+public class JsonRecordReader implements RecordReader {
+    private final JsonReader reader;
+    private final Map<String, String> row = new HashMap<>();
+
+    private String table;
+    private long tableRowCount = -1;
+    private boolean inRows;
+    private boolean finished;
+
+    /**
+     * Constructs a JsonRecordReader and validates the document header.
+     *
+     * @param in The source reader; it is closed together with this reader.
+     * @throws IOException If the header cannot be read or is not a Taskward export.
+     */
+    public JsonRecordReader(@NonNull Reader in) throws IOException {
+        this.reader = new JsonReader(in);
+        reader.beginObject();
+
+        String format = null;
+        int version = -1;
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (JsonRecordWriter.KEY_FORMAT.equals(name)) format = reader.nextString();
+            else if (JsonRecordWriter.KEY_VERSION.equals(name)) version = reader.nextInt();
+            else if (JsonRecordWriter.KEY_TABLES.equals(name)) break;
+            else reader.skipValue();
+        }
+
+        if (!JsonRecordWriter.FORMAT_NAME.equals(format) || version != JsonRecordWriter.FORMAT_VERSION)
+            throw new IOException("Unsupported export format: " + format + " version " + version);
+        reader.beginArray();
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        while (!finished) {
+            if (inRows) {
+                if (reader.hasNext()) {
+                    readRow();
+                    return true;
+                }
+                reader.endArray();
+                skipRemaining();
+                reader.endObject();
+                inRows = false;
+            }
+
+            if (reader.hasNext()) {
+                beginTable();
+            } else {
+                reader.endArray();
+                skipRemaining();
+                reader.endObject();
+                finished = true;
+            }
+        }
+        return false;
+    }
+
+    @NonNull
+    @Override
+    public String getTable() {
+        if (table == null) throw new IllegalStateException("No current row.");
+        return table;
+    }
+
+    @Override
+    public long getTableRowCount() {
+        return tableRowCount;
+    }
+
+    @Override
+    public String getValue(@NonNull String column) {
+        return row.get(column);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Reads the table header up to the start of its rows array.
+     */
+    private void beginTable() throws IOException {
+        reader.beginObject();
+        table = null;
+        tableRowCount = -1;
+
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (JsonRecordWriter.KEY_NAME.equals(name)) table = reader.nextString();
+            else if (JsonRecordWriter.KEY_COUNT.equals(name)) tableRowCount = reader.nextLong();
+            else if (JsonRecordWriter.KEY_ROWS.equals(name)) {
+                if (table == null) throw new IOException("Table rows found before the table name.");
+                reader.beginArray();
+                inRows = true;
+                return;
+            } else reader.skipValue();
+        }
+        throw new IOException("Table without rows: " + table);
+    }
+
+    private void readRow() throws IOException {
+        row.clear();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String column = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                row.put(column, null);
+            } else {
+                row.put(column, reader.nextString());
+            }
+        }
+        reader.endObject();
+    }
+
+    private void skipRemaining() throws IOException {
+        while (reader.hasNext()) {
+            reader.nextName();
+            reader.skipValue();
+        }
+    }
+}
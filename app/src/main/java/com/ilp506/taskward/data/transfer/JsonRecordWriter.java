@@ -0,0 +1,99 @@
+package com.ilp506.taskward.data.transfer;
+
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Streams exported rows as a single JSON document.
+ * Layout: {"format":"taskward","version":1,"tables":[{"name":..,"count":..,"rows":[{..},..]},..]}.
+ * The row count precedes the rows so readers can report progress while streaming.
+ */
+public class JsonRecordWriter implements RecordWriter {
+    static final String FORMAT_NAME = "taskward";
+    static final int FORMAT_VERSION = 1;
+
+    static final String KEY_FORMAT = "format";
+    static final String KEY_VERSION = "version";
+    static final String KEY_TABLES = "tables";
+    static final String KEY_NAME = "name";
+    static final String KEY_COUNT = "count";
+    static final String KEY_ROWS = "rows";
+
+    private final JsonWriter writer;
+    private String[] columns;
+
+    /**
+     * Constructs a JsonRecordWriter and writes the document header.
+     *
+     * @param out The destination writer; it is closed together with this writer.
+     * @throws IOException If writing the header fails.
+     */
+    public JsonRecordWriter(@NonNull Writer out) throws IOException {
+        this.writer = new JsonWriter(out);
+        writer.beginObject();
+        writer.name(KEY_FORMAT).value(FORMAT_NAME);
+        writer.name(KEY_VERSION).value(FORMAT_VERSION);
+        writer.name(KEY_TABLES).beginArray();
+    }
+
+    @Override
+    public void beginTable(@NonNull String table, @NonNull String[] columns, long rowCount) throws IOException {
+        this.columns = columns;
+        writer.beginObject();
+        writer.name(KEY_NAME).value(table);
+        writer.name(KEY_COUNT).value(rowCount);
+        writer.name(KEY_ROWS).beginArray();
+    }
+
+    @Override
+    public void beginRow() throws IOException {
+        writer.beginObject();
+    }
+
+    @Override
+    public void writeNull(int column) throws IOException {
+        writer.name(columns[column]).nullValue();
+    }
+
+    @Override
+    public void writeLong(int column, long value) throws IOException {
+        writer.name(columns[column]).value(value);
+    }
+
+    @Override
+    public void writeDouble(int column, double value) throws IOException {
+        writer.name(columns[column]).value(value);
+    }
+
+    @Override
+    public void writeString(int column, @NonNull String value) throws IOException {
+        writer.name(columns[column]).value(value);
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        writer.endObject();
+    }
+
+    @Override
+    public void endTable() throws IOException {
+        writer.endArray();
+        writer.endObject();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
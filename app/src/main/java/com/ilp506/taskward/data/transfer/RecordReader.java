@@ -0,0 +1,44 @@
+package com.ilp506.taskward.data.transfer;
+
+import androidx.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads imported rows from an input stream one row at a time.
+ * Implementations keep only the current row in memory, so imports run in constant memory.
+ */
+public interface RecordReader extends Closeable {
+
+    /**
+     * Advances to the next row, across table sections.
+     *
+     * @return true if a row is available, false at the end of the document.
+     * @throws IOException If reading fails or the document is malformed.
+     */
+    boolean next() throws IOException;
+
+    /**
+     * Gets the table of the current row.
+     *
+     * @return The table name.
+     */
+    @NonNull
+    String getTable();
+
+    /**
+     * Gets the number of rows declared for the table of the current row.
+     *
+     * @return The declared row count, or -1 if the document does not declare it.
+     */
+    long getTableRowCount();
+
+    /**
+     * Gets a value of the current row as text.
+     *
+     * @param column The column name.
+     * @return The value, or null if the value is null or the column is absent.
+     */
+    String getValue(@NonNull String column);
+}
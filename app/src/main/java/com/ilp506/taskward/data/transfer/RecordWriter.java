@@ -0,0 +1,86 @@
+package com.ilp506.taskward.data.transfer;
+
+import androidx.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes exported rows to an output stream one value at a time.
+ * Implementations must not buffer more than the current row, so exports run in constant memory.
+ */
+public interface RecordWriter extends Closeable {
+
+    /**
+     * Starts a new table section.
+     *
+     * @param table The name of the table.
+     * @param columns The columns written for every row of the table, in order.
+     * @param rowCount The number of rows that will follow.
+     * @throws IOException If writing fails.
+     */
+    void beginTable(@NonNull String table, @NonNull String[] columns, long rowCount) throws IOException;
+
+    /**
+     * Starts a new row in the current table.
+     *
+     * @throws IOException If writing fails.
+     */
+    void beginRow() throws IOException;
+
+    /**
+     * Writes a null value for the given column index.
+     *
+     * @param column The index of the column in the table columns.
+     * @throws IOException If writing fails.
+     */
+    void writeNull(int column) throws IOException;
+
+    /**
+     * Writes an integer value for the given column index.
+     *
+     * @param column The index of the column in the table columns.
+     * @param value The value.
+     * @throws IOException If writing fails.
+     */
+    void writeLong(int column, long value) throws IOException;
+
+    /**
+     * Writes a floating point value for the given column index.
+     *
+     * @param column The index of the column in the table columns.
+     * @param value The value.
+     * @throws IOException If writing fails.
+     */
+    void writeDouble(int column, double value) throws IOException;
+
+    /**
+     * Writes a text value for the given column index.
+     *
+     * @param column The index of the column in the table columns.
+     * @param value The value.
+     * @throws IOException If writing fails.
+     */
+    void writeString(int column, @NonNull String value) throws IOException;
+
+    /**
+     * Finishes the current row.
+     *
+     * @throws IOException If writing fails.
+     */
+    void endRow() throws IOException;
+
+    /**
+     * Finishes the current table section.
+     *
+     * @throws IOException If writing fails.
+     */
+    void endTable() throws IOException;
+
+    /**
+     * Finishes the document and flushes everything written so far.
+     *
+     * @throws IOException If writing fails.
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,53 @@
+package com.ilp506.taskward.data.transfer;
+
+import androidx.annotation.NonNull;
+
+/**
+ * This enum represents the file formats supported by data export and import.
+ * It has two possible values: JSON and CSV.
+ */
+public enum TransferFormat {
+    JSON("json"),
+    CSV("csv");
+
+    private final String value;
+
+    /**
+     * Constructor to initialize the enum with a string value
+     */
+    TransferFormat(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Getter method to retrieve the string value associated with the enum constant
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Overriding the toString() method to return the string value of the enum.
+     *
+     * @return The string value of the enum (e.g., "json" or "csv").
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return value;
+    }
+
+    /**
+     * Converts a string, such as a file extension, to its corresponding TransferFormat constant.
+     *
+     * @param value The string value to be converted into an enum constant.
+     * @return The corresponding TransferFormat constant (e.g., TransferFormat.JSON).
+     * @throws IllegalArgumentException if the provided string does not match any of the enum values.
+     */
+    public static TransferFormat fromString(String value) {
+        for (TransferFormat format : TransferFormat.values()) {
+            if (format.value.equalsIgnoreCase(value)) return format;
+        }
+        throw new IllegalArgumentException("Unknown transfer format: " + value);
+    }
+}
@@ -0,0 +1,19 @@
+package com.ilp506.taskward.data.transfer;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Interface for receiving progress updates while data is exported or imported.
+ * Callbacks are delivered on the thread running the transfer.
+ */
+public interface TransferProgressListener {
+
+    /**
+     * Called periodically while the rows of a table are transferred, and once when the table is done.
+     *
+     * @param table The name of the table being transferred.
+     * @param processedRows The number of rows of this table transferred so far.
+     * @param totalRows The total number of rows of this table, or -1 if unknown.
+     */
+    void onProgress(@NonNull String table, long processedRows, long totalRows);
+}
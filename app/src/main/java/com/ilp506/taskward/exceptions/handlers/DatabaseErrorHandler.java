@@ -3,15 +3,16 @@ package com.ilp506.taskward.exceptions.handlers;
 import android.database.sqlite.SQLiteConstraintException;
 import android.database.sqlite.SQLiteDatabaseLockedException;
 import android.database.sqlite.SQLiteException;
-import android.util.Log;
 
 import androidx.annotation.NonNull;
 
 import com.ilp506.taskward.exceptions.codes.DatabaseErrorCode;
+import com.ilp506.taskward.data.storage.StorageException;
 import com.ilp506.taskward.exceptions.custom.DatabaseOperationException;
+import com.ilp506.taskward.utils.Logger;
 
 /**
- * Handles SQLite exceptions on Android, providing detailed error codes and logging.
+ * Handles SQLite exceptions, on Android or from the storage layer, providing detailed error codes and logging.
  */
 public class DatabaseErrorHandler {
 
@@ -27,18 +28,64 @@ public class DatabaseErrorHandler {
     @NonNull
     public static DatabaseOperationException handleSQLiteException(@NonNull SQLiteException e,
                                                                    @NonNull String operationDetails) {
-        Log.e(TAG, "SQLiteException occurred during operation: " + operationDetails, e);
+        Logger.e(TAG, "SQLiteException occurred during operation: " + operationDetails, e);
 
         if (e instanceof SQLiteConstraintException)
-            return handleConstraintException((SQLiteConstraintException) e, operationDetails);
-        else if (e instanceof SQLiteDatabaseLockedException) {
-            return createDatabaseOperationException(
-                    DatabaseErrorCode.CONNECTION_FAILURE,
-                    "Database is locked. Retry or check concurrent operations. " + operationDetails,
-                    e
-            );
+            return handleConstraintException(e, operationDetails);
+        else if (e instanceof SQLiteDatabaseLockedException)
+            return handleLockedException(e, operationDetails);
+        return handleOtherException(e, operationDetails);
+    }
+
+    /**
+     * Maps storage exceptions to DatabaseOperationException with appropriate error codes.
+     *
+     * @param e The storage exception to handle.
+     * @param operationDetails Additional context or details about the failed operation.
+     * @return A DatabaseOperationException with a relevant error code and message.
+     */
+    @NonNull
+    public static DatabaseOperationException handleStorageException(@NonNull StorageException e,
+                                                                    @NonNull String operationDetails) {
+        Logger.e(TAG, "StorageException occurred during operation: " + operationDetails, e);
+
+        switch (e.getKind()) {
+            case CONSTRAINT:
+                return handleConstraintException(e, operationDetails);
+            case LOCKED:
+                return handleLockedException(e, operationDetails);
+            default:
+                return handleOtherException(e, operationDetails);
         }
+    }
 
+    /**
+     * Handles a locked database.
+     *
+     * @param e The exception instance.
+     * @param operationDetails Details about the operation.
+     * @return A DatabaseOperationException.
+     */
+    @NonNull
+    private static DatabaseOperationException handleLockedException(@NonNull RuntimeException e,
+                                                                    @NonNull String operationDetails) {
+        return createDatabaseOperationException(
+                DatabaseErrorCode.CONNECTION_FAILURE,
+                "Database is locked. Retry or check concurrent operations. " + operationDetails,
+                e
+        );
+    }
+
+    /**
+     * Handles any other error, based on its message.
+     *
+     * @param e The exception instance.
+     * @param operationDetails Details about the operation.
+     * @return A DatabaseOperationException.
+     */
+    @NonNull
+    private static DatabaseOperationException handleOtherException(@NonNull RuntimeException e,
+                                                                   @NonNull String operationDetails) {
         String errorMessage = e.getMessage();
         if (errorMessage != null) {
             if (errorMessage.contains("syntax error")) {
@@ -70,7 +117,7 @@ public class DatabaseErrorHandler {
     }
 
     /**
-     * Handles SQLiteConstraintException specifically.
+     * Handles constraint violations specifically.
      *
      * @param e The exception instance.
      * @param operationDetails Details about the operation.
@@ -78,7 +125,7 @@ public class DatabaseErrorHandler {
      */
     @NonNull
     private static DatabaseOperationException handleConstraintException(
-            @NonNull SQLiteConstraintException e,
+            @NonNull RuntimeException e,
             @NonNull String operationDetails
     ) {
         String errorMessage = e.getMessage();
@@ -0,0 +1,43 @@
+package com.ilp506.taskward.services;
+
+import android.app.AlarmManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * ReminderAlarm backed by the AlarmManager, delivering the alarm to {@link ReminderReceiver}.
+ * The alarm is inexact, which needs no permission and lets the system batch wake-ups; a reminder
+ * may arrive a few minutes late.
+ */
+public class AndroidReminderAlarm implements ReminderAlarm {
+    private final Context context;
+    private final AlarmManager alarmManager;
+
+    /**
+     * Constructs an AndroidReminderAlarm.
+     *
+     * @param context Any context of the application.
+     */
+    public AndroidReminderAlarm(@NonNull Context context) {
+        this.context = context.getApplicationContext();
+        this.alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+    }
+
+    @Override
+    public void set(@Nullable LocalDateTime time) {
+        PendingIntent intent = PendingIntent.getBroadcast(context, 0, new Intent(context, ReminderReceiver.class),
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+        if (time == null) {
+            alarmManager.cancel(intent);
+            return;
+        }
+        alarmManager.set(AlarmManager.RTC_WAKEUP, time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), intent);
+    }
+}
@@ -0,0 +1,18 @@
+package com.ilp506.taskward.services;
+
+/**
+ * Interface for a job working on the database in the background for as long as the process
+ * lives, such as the expiry of task events. Jobs are stopped while the database file is replaced.
+ */
+public interface BackgroundJob {
+
+    /**
+     * Starts the job, or restarts it after {@link #stop()}.
+     */
+    void start();
+
+    /**
+     * Stops the job from doing further work until it is started again.
+     */
+    void stop();
+}
@@ -0,0 +1,280 @@
+package com.ilp506.taskward.services;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+
+import com.ilp506.taskward.TaskwardApplication;
+import com.ilp506.taskward.data.DatabaseHelper;
+import com.ilp506.taskward.data.storage.AndroidDatabaseProvider;
+import com.ilp506.taskward.data.storage.StorageException;
+import com.ilp506.taskward.exceptions.codes.DatabaseErrorCode;
+import com.ilp506.taskward.exceptions.custom.DatabaseOperationException;
+import com.ilp506.taskward.exceptions.handlers.DatabaseErrorHandler;
+import com.ilp506.taskward.utils.Logger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Service class responsible for taking and restoring snapshots of the application database.
+ *
+ * Snapshots are taken while the database stays open. On API 30 and later they are written with
+ * {@code VACUUM INTO}, which reads inside a single read transaction and produces a compacted copy
+ * without blocking readers or writers. Older SQLite versions lack it, so the database and its
+ * write-ahead log are copied while holding the write lock (readers keep going) and the copy is
+ * then vacuumed on its own. Every snapshot is written to a temporary file and renamed into place,
+ * so a crash never leaves a partial snapshot behind. Only the newest {@value #MAX_SNAPSHOTS}
+ * snapshots are kept. Snapshots use the provider's shared connection and leave it open.
+ */
+public class BackupService {
+    private static final String TAG = BackupService.class.getSimpleName();
+
+    private static final String BACKUP_DIRECTORY = "backups";
+    private static final String SNAPSHOT_PREFIX = "taskward-";
+    private static final String SNAPSHOT_EXTENSION = ".db";
+    private static final String TEMP_EXTENSION = ".tmp";
+    private static final String[] SIDE_FILE_SUFFIXES = {"-wal", "-shm", "-journal"};
+    private static final int MAX_SNAPSHOTS = 5;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final DateTimeFormatter SNAPSHOT_NAME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS", Locale.ROOT);
+
+    private final SQLiteOpenHelper dbHelper;
+    private final AndroidDatabaseProvider databaseProvider;
+    private final File databaseFile;
+    private final File backupDirectory;
+    private final List<BackgroundJob> databaseJobs;
+
+    /**
+     * Constructs a BackupService for the application database, stopping the application's
+     * database jobs during a restore.
+     *
+     * @param context The application context used to locate the database and backup directory.
+     */
+    public BackupService(Context context) {
+        this(DatabaseHelper.getInstance(context),
+                context.getDatabasePath(DatabaseHelper.getInstance(context).getDatabaseName()),
+                new File(context.getFilesDir(), BACKUP_DIRECTORY),
+                ((TaskwardApplication) context.getApplicationContext()).getDatabaseJobs());
+    }
+
+    /**
+     * Constructs a BackupService for a given database, used by nothing else in the background.
+     *
+     * @param dbHelper The helper owning the database.
+     * @param databaseFile The main database file of the helper.
+     * @param backupDirectory The directory holding the snapshots.
+     */
+    public BackupService(@NonNull SQLiteOpenHelper dbHelper, @NonNull File databaseFile,
+                         @NonNull File backupDirectory) {
+        this(dbHelper, databaseFile, backupDirectory, Collections.emptyList());
+    }
+
+    /**
+     * Constructs a BackupService for a given database.
+     *
+     * @param dbHelper The helper owning the database.
+     * @param databaseFile The main database file of the helper.
+     * @param backupDirectory The directory holding the snapshots.
+     * @param databaseJobs The background jobs using the database, stopped during a restore.
+     */
+    public BackupService(@NonNull SQLiteOpenHelper dbHelper, @NonNull File databaseFile,
+                         @NonNull File backupDirectory, @NonNull List<BackgroundJob> databaseJobs) {
+        this.dbHelper = dbHelper;
+        this.databaseProvider = new AndroidDatabaseProvider(dbHelper);
+        this.databaseFile = databaseFile;
+        this.backupDirectory = backupDirectory;
+        this.databaseJobs = new ArrayList<>(databaseJobs);
+    }
+
+    /**
+     * Takes a compacted snapshot of the open database and prunes the oldest snapshots.
+     *
+     * @return The snapshot file.
+     * @throws DatabaseOperationException If the snapshot cannot be taken.
+     */
+    @NonNull
+    public synchronized File createBackup() {
+        if (!backupDirectory.isDirectory() && !backupDirectory.mkdirs())
+            throw DatabaseOperationException.fromError(DatabaseErrorCode.PERMISSION_DENIED,
+                    "Cannot create backup directory " + backupDirectory);
+
+        String name = SNAPSHOT_PREFIX + LocalDateTime.now().format(SNAPSHOT_NAME_FORMAT);
+        File snapshot = new File(backupDirectory, name + SNAPSHOT_EXTENSION);
+        File temp = new File(backupDirectory, name + TEMP_EXTENSION);
+        deleteWithSideFiles(temp);
+
+        try {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) vacuumInto(temp);
+            else copyAndVacuum(temp);
+
+            if (!temp.renameTo(snapshot))
+                throw new IOException("Cannot rename " + temp + " to " + snapshot);
+        } catch (StorageException e) {
+            deleteWithSideFiles(temp);
+            throw DatabaseErrorHandler.handleStorageException(e, "Error opening the database for backup.");
+        } catch (SQLiteException e) {
+            deleteWithSideFiles(temp);
+            throw DatabaseErrorHandler.handleSQLiteException(e, "Error during database backup.");
+        } catch (IOException e) {
+            deleteWithSideFiles(temp);
+            throw DatabaseOperationException.fromError(DatabaseErrorCode.QUERY_FAILURE,
+                    "Error writing database backup.", e);
+        }
+
+        pruneSnapshots();
+        Logger.i(TAG, "Database backup created: " + snapshot.getName());
+        return snapshot;
+    }
+
+    /**
+     * Lists the available snapshots.
+     *
+     * @return The snapshot files, newest first.
+     */
+    @NonNull
+    public List<File> getBackups() {
+        File[] files = backupDirectory.listFiles((dir, name) ->
+                name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_EXTENSION));
+        if (files == null) return new ArrayList<>();
+
+        // Names embed a sortable timestamp, so the reverse name order is newest first
+        Arrays.sort(files, (a, b) -> b.getName().compareTo(a.getName()));
+        return new ArrayList<>(Arrays.asList(files));
+    }
+
+    /**
+     * Replaces the database with a snapshot.
+     * The snapshot is copied and checked next to the database first; the live database is then
+     * closed and the copy renamed over it, so the database is always either the old or the new one.
+     * The background database jobs are stopped while the files are swapped and started again
+     * afterwards, on whichever database is then in place. Must be called on the application's
+     * background thread, so no queued database work runs meanwhile; the helper reopens the
+     * restored file on its next use.
+     *
+     * @param snapshot A snapshot returned by {@link #getBackups()}.
+     * @throws DatabaseOperationException If the snapshot is invalid or cannot be restored.
+     */
+    public synchronized void restoreBackup(@NonNull File snapshot) {
+        File temp = new File(databaseFile.getPath() + TEMP_EXTENSION);
+        deleteWithSideFiles(temp);
+
+        try {
+            copyFile(snapshot, temp);
+            checkIntegrity(temp);
+            swapDatabaseFile(temp);
+        } catch (IOException e) {
+            deleteWithSideFiles(temp);
+            throw DatabaseOperationException.fromError(DatabaseErrorCode.QUERY_FAILURE,
+                    "Error restoring database backup " + snapshot.getName(), e);
+        } catch (SQLiteException e) {
+            deleteWithSideFiles(temp);
+            throw DatabaseErrorHandler.handleSQLiteException(e, "Error restoring database backup.");
+        }
+        Logger.i(TAG, "Database restored from backup: " + snapshot.getName());
+    }
+
+    /**
+     * Closes the live database and renames the checked copy over it, with the background jobs stopped.
+     */
+    private void swapDatabaseFile(@NonNull File restored) throws IOException {
+        for (BackgroundJob job : databaseJobs) job.stop();
+        try {
+            dbHelper.close();
+            for (String suffix : SIDE_FILE_SUFFIXES) deleteIfExists(new File(databaseFile.getPath() + suffix));
+            if (!restored.renameTo(databaseFile))
+                throw new IOException("Cannot rename " + restored + " to " + databaseFile);
+        } finally {
+            for (int i = databaseJobs.size() - 1; i >= 0; i--) {
+                try {
+                    databaseJobs.get(i).start();
+                } catch (RuntimeException e) {
+                    Logger.e(TAG, "Error restarting a database job after restore: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a compacted copy of the database in a single read transaction.
+     */
+    private void vacuumInto(@NonNull File target) {
+        databaseProvider.getSQLiteDatabase().execSQL("VACUUM INTO ?", new Object[]{target.getPath()});
+    }
+
+    /**
+     * Copies the database and its write-ahead log while holding the write lock, then compacts the copy.
+     * Holding the write lock stops commits and checkpoints from changing the files mid-copy while
+     * readers keep running. Opening the copy replays the log and closing it folds the log back in.
+     */
+    private void copyAndVacuum(@NonNull File target) throws IOException {
+        SQLiteDatabase db = databaseProvider.getSQLiteDatabase();
+        db.beginTransactionNonExclusive();
+        try {
+            copyFile(databaseFile, target);
+            File wal = new File(databaseFile.getPath() + SIDE_FILE_SUFFIXES[0]);
+            if (wal.exists()) copyFile(wal, new File(target.getPath() + SIDE_FILE_SUFFIXES[0]));
+        } finally {
+            db.endTransaction();
+        }
+
+        try (SQLiteDatabase copy = SQLiteDatabase.openDatabase(target.getPath(), null,
+                SQLiteDatabase.OPEN_READWRITE)) {
+            copy.execSQL("VACUUM");
+        }
+        for (String suffix : SIDE_FILE_SUFFIXES) deleteIfExists(new File(target.getPath() + suffix));
+    }
+
+    /**
+     * Verifies that a database file is a readable, uncorrupted SQLite database.
+     */
+    private static void checkIntegrity(@NonNull File file) throws IOException {
+        try (SQLiteDatabase db = SQLiteDatabase.openDatabase(file.getPath(), null,
+                SQLiteDatabase.OPEN_READONLY)) {
+            if (!db.isDatabaseIntegrityOk())
+                throw new IOException("Backup failed the integrity check: " + file.getName());
+        }
+    }
+
+    private void pruneSnapshots() {
+        List<File> snapshots = getBackups();
+        for (int i = MAX_SNAPSHOTS; i < snapshots.size(); i++) {
+            if (snapshots.get(i).delete()) Logger.d(TAG, "Old backup removed: {}", snapshots.get(i).getName());
+            else Logger.w(TAG, "Failed to remove old backup: " + snapshots.get(i).getName());
+        }
+    }
+
+    private static void copyFile(@NonNull File source, @NonNull File target) throws IOException {
+        try (InputStream in = new FileInputStream(source);
+             FileOutputStream out = new FileOutputStream(target)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) out.write(buffer, 0, read);
+            out.getFD().sync();
+        }
+    }
+
+    private static void deleteWithSideFiles(@NonNull File file) {
+        deleteIfExists(file);
+        for (String suffix : SIDE_FILE_SUFFIXES) deleteIfExists(new File(file.getPath() + suffix));
+    }
+
+    private static void deleteIfExists(@NonNull File file) {
+        if (file.exists() && !file.delete()) Logger.w(TAG, "Failed to delete " + file);
+    }
+}
@@ -0,0 +1,395 @@
+package com.ilp506.taskward.services;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteDoneException;
+import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.util.LongSparseArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.ilp506.taskward.data.DatabaseContract.RewardTable;
+import com.ilp506.taskward.data.DatabaseContract.TaskEventTable;
+import com.ilp506.taskward.data.DatabaseContract.TaskTable;
+import com.ilp506.taskward.data.DatabaseContract.UserTable;
+import com.ilp506.taskward.data.DatabaseHelper;
+import com.ilp506.taskward.data.instrumentation.QueryInstrumentation;
+import com.ilp506.taskward.data.instrumentation.QueryProbe;
+import com.ilp506.taskward.data.storage.AndroidDatabaseProvider;
+import com.ilp506.taskward.data.storage.StorageException;
+import com.ilp506.taskward.data.transfer.CsvRecordReader;
+import com.ilp506.taskward.data.transfer.CsvRecordWriter;
+import com.ilp506.taskward.data.transfer.JsonRecordReader;
+import com.ilp506.taskward.data.transfer.JsonRecordWriter;
+import com.ilp506.taskward.data.transfer.RecordReader;
+import com.ilp506.taskward.data.transfer.RecordWriter;
+import com.ilp506.taskward.data.transfer.TransferFormat;
+import com.ilp506.taskward.data.transfer.TransferProgressListener;
+import com.ilp506.taskward.exceptions.handlers.DatabaseErrorHandler;
+import com.ilp506.taskward.utils.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Service class responsible for exporting and importing all user data.
+ *
+ * Both directions stream rows one at a time: the export walks a cursor per table and the import
+ * parses one row, inserts it and forgets it. Memory use therefore does not grow with the number
+ * of task events. Tables are always processed in foreign key order (users, tasks, task events,
+ * rewards), so every reference can be remapped to the new IDs as soon as it is read.
+ * Both run on the provider's shared connection and leave it open.
+ */
+public class DataTransferService {
+    private static final String TAG = DataTransferService.class.getSimpleName();
+
+    private static final String[] TABLES = {
+            UserTable.TABLE_NAME, TaskTable.TABLE_NAME, TaskEventTable.TABLE_NAME, RewardTable.TABLE_NAME
+    };
+    private static final int IMPORT_CHUNK_SIZE = 1_000;
+    private static final int PROGRESS_INTERVAL = 1_000;
+
+    private final AndroidDatabaseProvider databaseProvider;
+
+    /**
+     * Constructs a DataTransferService using the application database.
+     *
+     * @param context The application context used to initialize the database helper.
+     */
+    public DataTransferService(Context context) {
+        this(DatabaseHelper.getInstance(context));
+    }
+
+    /**
+     * Constructs a DataTransferService on top of a given database helper.
+     *
+     * @param dbHelper The helper of the database to export from or import into.
+     */
+    public DataTransferService(@NonNull SQLiteOpenHelper dbHelper) {
+        this.databaseProvider = new AndroidDatabaseProvider(dbHelper);
+    }
+
+    /**
+     * Exports every table to the given stream.
+     * The export runs inside a single transaction so the tables are consistent with each other.
+     * The stream is flushed but not closed.
+     *
+     * @param out The destination stream.
+     * @param format The output format.
+     * @param listener Optional listener notified as rows are written.
+     * @return The number of rows written per table, in export order.
+     * @throws IOException If writing to the stream fails.
+     * @throws com.ilp506.taskward.exceptions.custom.DatabaseOperationException If reading the database fails.
+     */
+    @NonNull
+    public Map<String, Long> exportData(@NonNull OutputStream out, @NonNull TransferFormat format,
+                                        @Nullable TransferProgressListener listener) throws IOException {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        RecordWriter writer = createWriter(out, format);
+
+        try {
+            SQLiteDatabase db = databaseProvider.getSQLiteDatabase();
+            db.beginTransactionNonExclusive();
+            try {
+                for (String table : TABLES)
+                    counts.put(table, exportTable(db, table, writer, listener));
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error opening the database for export.");
+        } catch (SQLiteException e) {
+            throw DatabaseErrorHandler.handleSQLiteException(e, "Error during data export.");
+        }
+
+        writer.finish();
+        Logger.i(TAG, "Data exported successfully: " + counts);
+        return counts;
+    }
+
+    /**
+     * Imports every row from the given stream, appending to the existing data.
+     * Rows are committed in chunks of {@value #IMPORT_CHUNK_SIZE}, so a failure rolls back only the
+     * chunk being written. Users are matched by email and reuse the existing account; every other
+     * row receives a new ID and its references are remapped. The stream is not closed.
+     *
+     * @param in The source stream.
+     * @param format The input format.
+     * @param listener Optional listener notified as rows are read.
+     * @return The number of rows read per table, in import order.
+     * @throws IOException If reading the stream fails or its content is malformed.
+     * @throws com.ilp506.taskward.exceptions.custom.DatabaseOperationException If writing to the database fails.
+     */
+    @NonNull
+    public Map<String, Long> importData(@NonNull InputStream in, @NonNull TransferFormat format,
+                                        @Nullable TransferProgressListener listener) throws IOException {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        RecordReader reader = createReader(in, format);
+
+        try {
+            SQLiteDatabase db = databaseProvider.getSQLiteDatabase();
+            Importer importer = new Importer(db);
+            String currentTable = null;
+            long tableRows = 0;
+            int chunkRows = 0;
+
+            db.beginTransaction();
+            QueryProbe chunk = QueryInstrumentation.transaction("DataTransferService.importData");
+            try {
+                while (reader.next()) {
+                    String table = reader.getTable();
+                    if (!table.equals(currentTable)) {
+                        if (currentTable != null) {
+                            counts.put(currentTable, tableRows);
+                            notifyProgress(listener, currentTable, tableRows, tableRows);
+                        }
+                        importer.checkOrder(table);
+                        currentTable = table;
+                        tableRows = 0;
+                    }
+
+                    importer.insert(reader);
+                    tableRows++;
+
+                    if (++chunkRows == IMPORT_CHUNK_SIZE) {
+                        db.setTransactionSuccessful();
+                        db.endTransaction();
+                        chunk.rowsWritten(chunkRows);
+                        chunk.close();
+                        db.beginTransaction();
+                        chunk = QueryInstrumentation.transaction("DataTransferService.importData");
+                        chunkRows = 0;
+                    }
+                    if (tableRows % PROGRESS_INTERVAL == 0)
+                        notifyProgress(listener, table, tableRows, reader.getTableRowCount());
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+                chunk.rowsWritten(chunkRows);
+                chunk.close();
+                importer.close();
+            }
+
+            if (currentTable != null) {
+                counts.put(currentTable, tableRows);
+                notifyProgress(listener, currentTable, tableRows, tableRows);
+            }
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error opening the database for import.");
+        } catch (SQLiteException e) {
+            throw DatabaseErrorHandler.handleSQLiteException(e, "Error during data import.");
+        }
+
+        Logger.i(TAG, "Data imported successfully: " + counts);
+        return counts;
+    }
+
+    /**
+     * Streams one table to the writer, keeping each value's storage type.
+     *
+     * @return The number of rows written.
+     */
+    private long exportTable(@NonNull SQLiteDatabase db, @NonNull String table,
+                             @NonNull RecordWriter writer,
+                             @Nullable TransferProgressListener listener) throws IOException {
+        final String[] columns = getColumns(table);
+        final long total = DatabaseUtils.queryNumEntries(db, table);
+        long rows = 0;
+
+        writer.beginTable(table, columns, total);
+        try (Cursor cursor = db.query(table, columns, null, null, null, null, columns[0])) {
+            while (cursor.moveToNext()) {
+                writer.beginRow();
+                for (int i = 0; i < columns.length; i++) {
+                    switch (cursor.getType(i)) {
+                        case Cursor.FIELD_TYPE_NULL:
+                            writer.writeNull(i);
+                            break;
+                        case Cursor.FIELD_TYPE_INTEGER:
+                            writer.writeLong(i, cursor.getLong(i));
+                            break;
+                        case Cursor.FIELD_TYPE_FLOAT:
+                            writer.writeDouble(i, cursor.getDouble(i));
+                            break;
+                        default:
+                            writer.writeString(i, cursor.getString(i));
+                            break;
+                    }
+                }
+                writer.endRow();
+
+                if (++rows % PROGRESS_INTERVAL == 0)
+                    notifyProgress(listener, table, rows, total);
+            }
+        }
+        writer.endTable();
+        notifyProgress(listener, table, rows, total);
+        return rows;
+    }
+
+    @NonNull
+    private static RecordWriter createWriter(@NonNull OutputStream out, @NonNull TransferFormat format)
+            throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        return format == TransferFormat.JSON ? new JsonRecordWriter(writer) : new CsvRecordWriter(writer);
+    }
+
+    @NonNull
+    private static RecordReader createReader(@NonNull InputStream in, @NonNull TransferFormat format)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return format == TransferFormat.JSON ? new JsonRecordReader(reader) : new CsvRecordReader(reader);
+    }
+
+    @NonNull
+    private static String[] getColumns(@NonNull String table) {
+        switch (table) {
+            case UserTable.TABLE_NAME:
+                return UserTable.ALL_COLUMNS;
+            case TaskTable.TABLE_NAME:
+                return TaskTable.ALL_COLUMNS;
+            case TaskEventTable.TABLE_NAME:
+                return TaskEventTable.ALL_COLUMNS;
+            case RewardTable.TABLE_NAME:
+                return RewardTable.ALL_COLUMNS;
+            default:
+                throw new IllegalArgumentException("Unknown table: " + table);
+        }
+    }
+
+    private static void notifyProgress(@Nullable TransferProgressListener listener,
+                                       @NonNull String table, long processedRows, long totalRows) {
+        if (listener != null) listener.onProgress(table, processedRows, totalRows);
+    }
+
+    /**
+     * Inserts imported rows through precompiled statements and remaps their IDs.
+     * Only user and task IDs are kept in memory, since nothing references events or rewards.
+     */
+    private static final class Importer {
+        private final SQLiteDatabase db;
+        private final Map<String, SQLiteStatement> inserts = new HashMap<>();
+        private final LongSparseArray<Long> userIds = new LongSparseArray<>();
+        private final LongSparseArray<Long> taskIds = new LongSparseArray<>();
+        private final SQLiteStatement findUserByEmail;
+        private int lastTableIndex = -1;
+
+        Importer(@NonNull SQLiteDatabase db) {
+            this.db = db;
+            this.findUserByEmail = db.compileStatement(String.format("SELECT %s FROM %s WHERE %s = ?",
+                    UserTable.COLUMN_ID, UserTable.TABLE_NAME, UserTable.COLUMN_EMAIL));
+        }
+
+        /**
+         * Rejects tables that are unknown or appear after a table that references them.
+         */
+        void checkOrder(@NonNull String table) throws IOException {
+            int index = Arrays.asList(TABLES).indexOf(table);
+            if (index < 0) throw new IOException("Unknown table in import: " + table);
+            if (index < lastTableIndex) throw new IOException("Table out of order in import: " + table);
+            lastTableIndex = index;
+        }
+
+        void insert(@NonNull RecordReader row) throws IOException {
+            final String table = row.getTable();
+            final String[] columns = getColumns(table);
+            final long oldId = parseId(table, row.getValue(columns[0]));
+
+            if (UserTable.TABLE_NAME.equals(table)) {
+                Long existingId = findUser(row.getValue(UserTable.COLUMN_EMAIL));
+                if (existingId != null) {
+                    userIds.put(oldId, existingId);
+                    return;
+                }
+            }
+
+            SQLiteStatement statement = getInsert(table, columns);
+            statement.clearBindings();
+            for (int i = 1; i < columns.length; i++) {
+                String value = row.getValue(columns[i]);
+                if (TaskEventTable.COLUMN_USER_ID.equals(columns[i]))
+                    value = remap(userIds, table, columns[i], value);
+                else if (TaskEventTable.COLUMN_TASK_ID.equals(columns[i]))
+                    value = remap(taskIds, table, columns[i], value);
+
+                if (value == null) statement.bindNull(i);
+                else statement.bindString(i, value);
+            }
+            long newId = statement.executeInsert();
+
+            if (UserTable.TABLE_NAME.equals(table)) userIds.put(oldId, newId);
+            else if (TaskTable.TABLE_NAME.equals(table)) taskIds.put(oldId, newId);
+        }
+
+        void close() {
+            findUserByEmail.close();
+            for (SQLiteStatement statement : inserts.values()) statement.close();
+        }
+
+        @Nullable
+        private Long findUser(@Nullable String email) {
+            if (email == null) return null;
+            findUserByEmail.bindString(1, email);
+            try {
+                return findUserByEmail.simpleQueryForLong();
+            } catch (SQLiteDoneException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Compiles the insert statement of a table once; the ID column is left to SQLite.
+         */
+        @NonNull
+        private SQLiteStatement getInsert(@NonNull String table, @NonNull String[] columns) {
+            SQLiteStatement statement = inserts.get(table);
+            if (statement == null) {
+                String[] insertColumns = Arrays.copyOfRange(columns, 1, columns.length);
+                char[] placeholders = new char[insertColumns.length * 2 - 1];
+                Arrays.fill(placeholders, ',');
+                for (int i = 0; i < placeholders.length; i += 2) placeholders[i] = '?';
+
+                statement = db.compileStatement(String.format("INSERT INTO %s (%s) VALUES (%s)",
+                        table, String.join(", ", insertColumns), new String(placeholders)));
+                inserts.put(table, statement);
+            }
+            return statement;
+        }
+
+        @Nullable
+        private static String remap(@NonNull LongSparseArray<Long> ids, @NonNull String table,
+                                     @NonNull String column, @Nullable String value) throws IOException {
+            if (value == null) return null;
+            Long newId = ids.get(parseId(table, value));
+            if (newId == null)
+                throw new IOException(String.format("Row in %s references unknown %s %s.", table, column, value));
+            return Long.toString(newId);
+        }
+
+        private static long parseId(@NonNull String table, @Nullable String value) throws IOException {
+            try {
+                if (value == null) throw new NumberFormatException("null");
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid ID in " + table + ": " + value, e);
+            }
+        }
+    }
+}
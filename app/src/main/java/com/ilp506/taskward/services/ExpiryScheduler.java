@@ -0,0 +1,252 @@
+package com.ilp506.taskward.services;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.models.User;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.data.repositories.UserRepository;
+import com.ilp506.taskward.exceptions.custom.DatabaseOperationException;
+import com.ilp506.taskward.utils.CacheManager;
+import com.ilp506.taskward.utils.Logger;
+import com.ilp506.taskward.utils.metrics.Counter;
+import com.ilp506.taskward.utils.metrics.MetricsRegistry;
+import com.ilp506.taskward.utils.trace.TraceSection;
+import com.ilp506.taskward.utils.trace.Tracer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class expiring the task events whose scheduled date has passed, in the background.
+ *
+ * Users are swept separately, over the user index: a watermark per user, persisted in the cache,
+ * records the scheduled date up to which their events have been checked, so each run only reads
+ * the events that fell due since the previous one. Each run expires one chunk of at most
+ * {@value #DEFAULT_CHUNK_SIZE} events for every user with events due, each chunk in its own
+ * short transaction, and runs again right away while any user has more. Users' backlogs are thus
+ * worked through side by side, so one user's years of missed events do not hold back the
+ * others', and other database work interleaves between runs on the background executor. Once
+ * no event is due, the next run is scheduled for the next scheduled date, or within
+ * {@link #MAX_DELAY} so that events planned in the meantime are picked up; there is no polling in
+ * between. On the first run of a day, the planning horizon is topped up as well.
+ * An event set back to scheduled after its date passed, e.g. by reverting its completion, is
+ * behind the watermark and stays scheduled.
+ *
+ * Given a pool of workers, the users' chunks of a run are expired in parallel, and the run waits
+ * for all of them before saving the watermarks. SQLite still commits one transaction at a time,
+ * so this mostly overlaps the queries and row mapping of different users. A user whose chunk
+ * fails keeps their watermark; the other users' chunks are committed and their watermarks saved.
+ *
+ * The time is read from an injected {@link Clock}, so runs can be driven by a fake one.
+ */
+public class ExpiryScheduler implements BackgroundJob {
+    private static final String TAG = ExpiryScheduler.class.getSimpleName();
+
+    public static final int DEFAULT_CHUNK_SIZE = 200;
+    public static final Duration MAX_DELAY = Duration.ofMinutes(15);
+
+    private static final Counter expiredCounter = MetricsRegistry.getInstance().counter("ExpiryScheduler.expired");
+
+    private final UserRepository userRepository;
+    private final TaskEventRepository taskEventRepository;
+    private final HorizonPlanner horizonPlanner;
+    private final CacheManager cacheManager;
+    private final ScheduledExecutorService executor;
+    private final Clock clock;
+    private final int chunkSize;
+    @Nullable
+    private final Executor workers;
+
+    private ScheduledFuture<?> nextRun;
+    private boolean stopped;
+    private LocalDate lastTopUp;
+
+    /**
+     * Constructs an ExpiryScheduler with the default chunk size.
+     *
+     * @param userRepository The repository of the users to sweep.
+     * @param taskEventRepository The repository of task events.
+     * @param horizonPlanner The planner topped up once a day.
+     * @param cacheManager The cache persisting the watermarks.
+     * @param executor The executor running the chunks.
+     * @param clock The clock giving the current time.
+     */
+    public ExpiryScheduler(@NonNull UserRepository userRepository, @NonNull TaskEventRepository taskEventRepository,
+                           @NonNull HorizonPlanner horizonPlanner, @NonNull CacheManager cacheManager,
+                           @NonNull ScheduledExecutorService executor, @NonNull Clock clock) {
+        this(userRepository, taskEventRepository, horizonPlanner, cacheManager, executor, clock, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs an ExpiryScheduler.
+     *
+     * @param userRepository The repository of the users to sweep.
+     * @param taskEventRepository The repository of task events.
+     * @param horizonPlanner The planner topped up once a day.
+     * @param cacheManager The cache persisting the watermarks.
+     * @param executor The executor running the chunks.
+     * @param clock The clock giving the current time.
+     * @param chunkSize The maximum number of events expired per transaction.
+     */
+    public ExpiryScheduler(@NonNull UserRepository userRepository, @NonNull TaskEventRepository taskEventRepository,
+                           @NonNull HorizonPlanner horizonPlanner, @NonNull CacheManager cacheManager,
+                           @NonNull ScheduledExecutorService executor, @NonNull Clock clock, int chunkSize) {
+        this(userRepository, taskEventRepository, horizonPlanner, cacheManager, executor, clock, chunkSize, null);
+    }
+
+    /**
+     * Constructs an ExpiryScheduler expiring the chunks of different users in parallel.
+     *
+     * @param userRepository The repository of the users to sweep.
+     * @param taskEventRepository The repository of task events.
+     * @param horizonPlanner The planner topped up once a day.
+     * @param cacheManager The cache persisting the watermarks.
+     * @param executor The executor running the chunks.
+     * @param clock The clock giving the current time.
+     * @param chunkSize The maximum number of events expired per transaction.
+     * @param workers The executor expiring the users' chunks, or null to expire them one after another
+     *                on the executor.
+     */
+    public ExpiryScheduler(@NonNull UserRepository userRepository, @NonNull TaskEventRepository taskEventRepository,
+                           @NonNull HorizonPlanner horizonPlanner, @NonNull CacheManager cacheManager,
+                           @NonNull ScheduledExecutorService executor, @NonNull Clock clock, int chunkSize,
+                           @Nullable Executor workers) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("Chunk size must be positive");
+        this.userRepository = userRepository;
+        this.taskEventRepository = taskEventRepository;
+        this.horizonPlanner = horizonPlanner;
+        this.cacheManager = cacheManager;
+        this.executor = executor;
+        this.clock = clock;
+        this.chunkSize = chunkSize;
+        this.workers = workers;
+    }
+
+    /**
+     * Schedules the first run right away.
+     */
+    @Override
+    public synchronized void start() {
+        stopped = false;
+        schedule(Duration.ZERO);
+    }
+
+    /**
+     * Cancels the next run. A chunk already running still finishes.
+     */
+    @Override
+    public synchronized void stop() {
+        stopped = true;
+        if (nextRun != null) nextRun.cancel(false);
+    }
+
+    /**
+     * Expires one chunk of due events of every user and works out when to run next. A failure is
+     * logged and the run retried after {@link #MAX_DELAY}; watermarks only move past expired events.
+     *
+     * @return The delay until the next run: zero if more events are due, otherwise the time until
+     *         the next scheduled date, at most {@link #MAX_DELAY}.
+     */
+    @NonNull
+    @VisibleForTesting
+    Duration runChunk() {
+        try (TraceSection section = Tracer.section("ExpiryScheduler.runChunk")) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            List<User> users = userRepository.getAllUsers();
+            List<Future<List<TaskEvent>>> chunks = expireChunks(users, now);
+
+            boolean moreDue = false;
+            int expiredCount = 0;
+            DatabaseOperationException failure = null;
+            for (int i = 0; i < users.size(); i++) {
+                int userId = users.get(i).getId();
+                List<TaskEvent> expired;
+                try {
+                    expired = chunks.get(i).get();
+                } catch (ExecutionException e) {
+                    if (!(e.getCause() instanceof DatabaseOperationException)) {
+                        if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                        throw new IllegalStateException(e.getCause());
+                    }
+                    if (failure == null) failure = (DatabaseOperationException) e.getCause();
+                    continue;
+                }
+                expiredCount += expired.size();
+
+                if (expired.size() == chunkSize) {
+                    cacheManager.saveExpiryWatermark(userId, expired.get(expired.size() - 1).getScheduledDate());
+                    moreDue = true;
+                } else {
+                    cacheManager.saveExpiryWatermark(userId, now);
+                }
+            }
+            expiredCounter.add(expiredCount);
+            if (failure != null) throw failure;
+            if (moreDue) return Duration.ZERO;
+            Logger.d(TAG, "Expired {} task events due before {}", expiredCount, now);
+
+            if (!now.toLocalDate().equals(lastTopUp)) {
+                horizonPlanner.topUp(now);
+                lastTopUp = now.toLocalDate();
+            }
+
+            LocalDateTime next = taskEventRepository.getNextScheduledDate(now);
+            if (next == null) return MAX_DELAY;
+            // Due once strictly past, so one second after the scheduled date
+            Duration delay = Duration.between(now, next).plusSeconds(1);
+            return delay.compareTo(MAX_DELAY) < 0 ? delay : MAX_DELAY;
+        } catch (DatabaseOperationException e) {
+            Logger.e(TAG, "Error expiring task events: " + e.getMessage(), e);
+            return MAX_DELAY;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return MAX_DELAY;
+        }
+    }
+
+    /**
+     * Starts expiring one chunk of each user's due events, from their watermark: on the workers if
+     * there are any and more than one user, otherwise one after another on the calling thread.
+     *
+     * @return The chunks, in the order of the users.
+     */
+    private List<Future<List<TaskEvent>>> expireChunks(List<User> users, LocalDateTime now) {
+        boolean parallel = workers != null && users.size() > 1;
+        List<Future<List<TaskEvent>>> chunks = new ArrayList<>(users.size());
+        for (User user : users) {
+            int userId = user.getId();
+            LocalDateTime watermark = cacheManager.getExpiryWatermark(userId);
+            FutureTask<List<TaskEvent>> chunk = new FutureTask<>(
+                    () -> taskEventRepository.expireDueTaskEvents(userId, watermark, now, chunkSize));
+            if (parallel) workers.execute(chunk);
+            else chunk.run();
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private void run() {
+        Duration delay = runChunk();
+        synchronized (this) {
+            if (!stopped) schedule(delay);
+        }
+    }
+
+    private void schedule(Duration delay) {
+        nextRun = executor.schedule(this::run, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
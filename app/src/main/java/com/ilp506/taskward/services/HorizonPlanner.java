@@ -0,0 +1,280 @@
+package com.ilp506.taskward.services;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.ilp506.taskward.data.models.Task;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.data.repositories.TaskRepository;
+import com.ilp506.taskward.exceptions.codes.DatabaseErrorCode;
+import com.ilp506.taskward.exceptions.custom.DatabaseOperationException;
+import com.ilp506.taskward.utils.Logger;
+import com.ilp506.taskward.utils.TaskScheduler;
+import com.ilp506.taskward.utils.metrics.Histogram;
+import com.ilp506.taskward.utils.metrics.MetricsRegistry;
+import com.ilp506.taskward.utils.trace.TraceSection;
+import com.ilp506.taskward.utils.trace.Tracer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+
+/**
+ * Service class keeping the events of every task materialised a number of days ahead, so that
+ * calendars and reminders can read upcoming occurrences from the database.
+ *
+ * A top-up continues each task's schedule from its latest event, whatever its status: occurrences
+ * missed before now are recorded as expired, and scheduled ones are added until the first one past
+ * the horizon, which guarantees every active task one event beyond it. Planning only ever
+ * extends a schedule past its latest event, and an occurrence already stored, e.g. by another
+ * writer, is skipped on insert, so an occurrence is never created twice and a top-up can simply
+ * be run again.
+ *
+ * Given a pool of workers, a top-up of every task runs as a pipeline: the tasks are split into
+ * partitions, the workers plan them in parallel with {@link TaskScheduler}, and the calling thread
+ * is the single writer, committing the planned events in batches of {@value #WRITE_BATCH_SIZE} as
+ * partitions complete, so writing overlaps with planning. If it fails partway, the tasks written
+ * so far stay planned and the next top-up continues from their latest events. Without workers,
+ * all the events of a top-up are planned on the calling thread and written in one transaction.
+ *
+ * Only the writes are serialised, one batch at a time, so a top-up of every task never makes a
+ * top-up or replan of one task wait for its planning. Events a top-up of every task planned for a
+ * task replanned in the meantime are stale and dropped before they are written.
+ */
+public class HorizonPlanner {
+    private static final String TAG = HorizonPlanner.class.getSimpleName();
+
+    public static final int DEFAULT_HORIZON_DAYS = 14;
+    public static final int WRITE_BATCH_SIZE = 2000;
+
+    /** Below this many tasks, planning them is cheaper than handing them to the workers. */
+    private static final int MIN_PARALLEL_TASKS = 64;
+
+    private static final Histogram topUpTimer = MetricsRegistry.getInstance().timer("HorizonPlanner.topUp");
+
+    private final TaskRepository taskRepository;
+    private final TaskEventRepository taskEventRepository;
+    private final int horizonDays;
+    @Nullable
+    private final Executor workers;
+    private final int partitions;
+
+    private final Object writeLock = new Object();
+    /** Tasks replanned while a top-up of every task was running; guarded by the write lock. */
+    private final Set<Integer> replannedTaskIds = new HashSet<>();
+    private int topUpsRunning;
+
+    /**
+     * Constructs a HorizonPlanner with the default horizon.
+     *
+     * @param taskRepository The repository of tasks.
+     * @param taskEventRepository The repository the events are written to.
+     */
+    public HorizonPlanner(@NonNull TaskRepository taskRepository, @NonNull TaskEventRepository taskEventRepository) {
+        this(taskRepository, taskEventRepository, DEFAULT_HORIZON_DAYS);
+    }
+
+    /**
+     * Constructs a HorizonPlanner.
+     *
+     * @param taskRepository The repository of tasks.
+     * @param taskEventRepository The repository the events are written to.
+     * @param horizonDays How many days ahead events are kept.
+     */
+    public HorizonPlanner(@NonNull TaskRepository taskRepository, @NonNull TaskEventRepository taskEventRepository,
+                          int horizonDays) {
+        this(taskRepository, taskEventRepository, horizonDays, null, 1);
+    }
+
+    /**
+     * Constructs a HorizonPlanner planning top-ups of every task on a pool of workers.
+     *
+     * @param taskRepository The repository of tasks.
+     * @param taskEventRepository The repository the events are written to.
+     * @param horizonDays How many days ahead events are kept.
+     * @param workers The executor planning the partitions, or null to plan on the calling thread.
+     * @param partitions The number of partitions the tasks are split into, e.g. a few per worker.
+     */
+    public HorizonPlanner(@NonNull TaskRepository taskRepository, @NonNull TaskEventRepository taskEventRepository,
+                          int horizonDays, @Nullable Executor workers, int partitions) {
+        if (horizonDays < 0) throw new IllegalArgumentException("Horizon must not be negative");
+        if (partitions <= 0) throw new IllegalArgumentException("Partitions must be positive");
+        this.taskRepository = taskRepository;
+        this.taskEventRepository = taskEventRepository;
+        this.horizonDays = horizonDays;
+        this.workers = workers;
+        this.partitions = partitions;
+    }
+
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+
+    /**
+     * Tops up the events of every task, e.g. once a day.
+     *
+     * @param now The current date and time.
+     * @return The number of events created.
+     * @throws DatabaseOperationException If reading or writing fails; without workers, no event is
+     *         created then.
+     */
+    public int topUp(@NonNull LocalDateTime now) {
+        long start = System.nanoTime();
+        synchronized (writeLock) {
+            topUpsRunning++;
+        }
+        try (TraceSection section = Tracer.section("HorizonPlanner.topUp")) {
+            Map<Integer, LocalDateTime> latestDates = taskEventRepository.getLatestScheduledDates();
+            List<Task> tasks = taskRepository.getAllTasks();
+            if (workers != null && partitions > 1 && tasks.size() >= MIN_PARALLEL_TASKS)
+                return topUpInParallel(tasks, latestDates, now);
+
+            List<TaskEvent> events = new ArrayList<>();
+            for (Task task : tasks)
+                events.addAll(plan(task, latestDates.get(task.getId()), now));
+
+            return writePlanned(events);
+        } finally {
+            synchronized (writeLock) {
+                if (--topUpsRunning == 0) replannedTaskIds.clear();
+            }
+            topUpTimer.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Tops up the events of one task, e.g. after it was created or one of its events completed.
+     * It does not wait for a top-up of every task in progress: an occurrence both plan is stored
+     * once, by whichever writes it first.
+     *
+     * @param task The task.
+     * @param now The current date and time.
+     * @return The number of events created.
+     * @throws DatabaseOperationException If reading or writing fails; no event is created then.
+     */
+    public int topUp(@NonNull Task task, @NonNull LocalDateTime now) {
+        try (TraceSection section = Tracer.section("HorizonPlanner.topUpTask")) {
+            synchronized (writeLock) {
+                return write(plan(task, taskEventRepository.getLatestScheduledDate(task.getId()), now));
+            }
+        }
+    }
+
+    /**
+     * Plans a task's future again after its schedule changed: its scheduled events after now are
+     * replaced by those of the new schedule.
+     *
+     * @param task The task, with its new schedule.
+     * @param now The current date and time.
+     * @return The number of events created.
+     * @throws DatabaseOperationException If reading or writing fails.
+     */
+    public int replan(@NonNull Task task, @NonNull LocalDateTime now) {
+        try (TraceSection section = Tracer.section("HorizonPlanner.replan")) {
+            synchronized (writeLock) {
+                if (topUpsRunning > 0) replannedTaskIds.add(task.getId());
+                int deleted = taskEventRepository.deleteScheduledTaskEventsAfter(task.getId(), now);
+                Logger.d(TAG, "Replanning task {}: {} scheduled events dropped", task.getId(), deleted);
+                return write(plan(task, taskEventRepository.getLatestScheduledDate(task.getId()), now));
+            }
+        }
+    }
+
+    /**
+     * Works out the events extending a task's schedule from its latest event to the horizon.
+     *
+     * @param task The task.
+     * @param latestDate The scheduled date of the task's latest event, or null if it has none.
+     * @param now The current date and time.
+     * @return The events to create, oldest first.
+     */
+    @NonNull
+    List<TaskEvent> plan(@NonNull Task task, @Nullable LocalDateTime latestDate, @NonNull LocalDateTime now) {
+        LocalDateTime horizon = now.plusDays(horizonDays);
+        if (latestDate != null && latestDate.isAfter(horizon))
+            return Collections.emptyList();
+
+        TaskEvent latest = null;
+        if (latestDate != null) {
+            latest = new TaskEvent();
+            latest.setTaskId(task.getId());
+            latest.setScheduledDate(latestDate);
+        }
+
+        TaskScheduler.CatchUp catchUp = TaskScheduler.catchUp(task, latest, now);
+        List<TaskEvent> events = catchUp.getEvents();
+        TaskEvent tail = catchUp.getNextEvent();
+        while (tail != null && !tail.getScheduledDate().isAfter(horizon)) {
+            tail = TaskScheduler.generateNextTaskEvent(task, tail);
+            if (tail != null) events.add(tail);
+        }
+        return events;
+    }
+
+    /**
+     * Plans the partitions of the tasks on the workers and writes the events on the calling
+     * thread, in batches, in the order the partitions complete.
+     */
+    private int topUpInParallel(List<Task> tasks, Map<Integer, LocalDateTime> latestDates, LocalDateTime now) {
+        CompletionService<List<TaskEvent>> planned = new ExecutorCompletionService<>(workers);
+        List<Future<List<TaskEvent>>> futures = new ArrayList<>(partitions);
+        int partitionSize = (tasks.size() + partitions - 1) / partitions;
+        for (int from = 0; from < tasks.size(); from += partitionSize) {
+            List<Task> partition = tasks.subList(from, Math.min(from + partitionSize, tasks.size()));
+            futures.add(planned.submit(() -> {
+                List<TaskEvent> events = new ArrayList<>();
+                for (Task task : partition)
+                    events.addAll(plan(task, latestDates.get(task.getId()), now));
+                return events;
+            }));
+        }
+
+        int created = 0;
+        List<TaskEvent> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                batch.addAll(planned.take().get());
+                if (batch.size() >= WRITE_BATCH_SIZE) {
+                    created += writePlanned(batch);
+                    batch.clear();
+                }
+            }
+            return created + writePlanned(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw DatabaseOperationException.fromError(DatabaseErrorCode.TRANSACTION_FAILURE,
+                    "Top-up interrupted after " + created + " events", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw DatabaseOperationException.fromError(DatabaseErrorCode.UNEXPECTED_ERROR,
+                    "Planning failed after " + created + " events", e.getCause());
+        } finally {
+            for (Future<List<TaskEvent>> future : futures) future.cancel(false);
+        }
+    }
+
+    /**
+     * Writes events a top-up of every task planned, except those of tasks replanned since.
+     */
+    private int writePlanned(List<TaskEvent> events) {
+        synchronized (writeLock) {
+            if (!replannedTaskIds.isEmpty())
+                events.removeIf(event -> replannedTaskIds.contains(event.getTaskId()));
+            return write(events);
+        }
+    }
+
+    private int write(List<TaskEvent> events) {
+        return events.isEmpty() ? 0 : taskEventRepository.createTaskEvents(events);
+    }
+}
@@ -0,0 +1,184 @@
+package com.ilp506.taskward.services;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import com.ilp506.taskward.data.maintenance.AnalyzeJob;
+import com.ilp506.taskward.data.maintenance.IncrementalVacuumJob;
+import com.ilp506.taskward.data.maintenance.MaintenanceJob;
+import com.ilp506.taskward.data.maintenance.OptimizeJob;
+import com.ilp506.taskward.data.maintenance.QuickCheckJob;
+import com.ilp506.taskward.data.maintenance.TimeBudget;
+import com.ilp506.taskward.data.models.MaintenanceRun;
+import com.ilp506.taskward.data.repositories.MaintenanceRunRepository;
+import com.ilp506.taskward.data.storage.AndroidDatabaseProvider;
+import com.ilp506.taskward.data.storage.StorageException;
+import com.ilp506.taskward.exceptions.handlers.DatabaseErrorHandler;
+import com.ilp506.taskward.utils.Logger;
+import com.ilp506.taskward.utils.trace.AsyncSlice;
+import com.ilp506.taskward.utils.trace.Tracer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service class responsible for running database maintenance while the app is idle.
+ *
+ * Once started, the scheduler listens for the main thread's message queue going idle. At most
+ * every {@value #IDLE_CHECK_INTERVAL_MILLIS} ms it then runs the due jobs on the given executor,
+ * each within its own time budget. The app passes its background thread, so maintenance never
+ * overlaps the other database work queued there. A job is due when it has never run, when its last run stopped
+ * at the budget, or when its interval has passed. Every run is recorded in 'maintenance_runs'.
+ */
+public class MaintenanceScheduler implements BackgroundJob {
+    private static final String TAG = MaintenanceScheduler.class.getSimpleName();
+
+    private static final long IDLE_CHECK_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(15);
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final long WEEK_MILLIS = TimeUnit.DAYS.toMillis(7);
+    private static final long DEFAULT_BUDGET_MILLIS = 50;
+
+    private final AndroidDatabaseProvider databaseProvider;
+    private final MaintenanceRunRepository runRepository;
+    private final List<MaintenanceJob> jobs;
+    private final Executor executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final MessageQueue.IdleHandler idleHandler = this::onIdle;
+
+    private long nextIdleCheck;
+
+    /**
+     * Constructs a MaintenanceScheduler with the default jobs.
+     *
+     * @param databaseProvider The provider of the database to maintain.
+     * @param executor The executor running the jobs.
+     * @param scheduleVacuumConversion Schedules the full VACUUM of {@link IncrementalVacuumJob#convert}
+     *                                 to run without a budget.
+     */
+    public MaintenanceScheduler(@NonNull AndroidDatabaseProvider databaseProvider, @NonNull Executor executor,
+                                @NonNull Runnable scheduleVacuumConversion) {
+        this(databaseProvider, executor, Arrays.asList(
+                new IncrementalVacuumJob(DAY_MILLIS, DEFAULT_BUDGET_MILLIS, scheduleVacuumConversion),
+                new OptimizeJob(DAY_MILLIS, DEFAULT_BUDGET_MILLIS),
+                new AnalyzeJob(WEEK_MILLIS, DEFAULT_BUDGET_MILLIS),
+                new QuickCheckJob(WEEK_MILLIS, DEFAULT_BUDGET_MILLIS)
+        ));
+    }
+
+    /**
+     * Constructs a MaintenanceScheduler for a given set of jobs.
+     *
+     * @param databaseProvider The provider of the database to maintain.
+     * @param executor The executor running the jobs.
+     * @param jobs The jobs, run in order.
+     */
+    public MaintenanceScheduler(@NonNull AndroidDatabaseProvider databaseProvider, @NonNull Executor executor,
+                                @NonNull List<MaintenanceJob> jobs) {
+        this.databaseProvider = databaseProvider;
+        this.runRepository = new MaintenanceRunRepository(databaseProvider);
+        this.executor = executor;
+        this.jobs = new ArrayList<>(jobs);
+    }
+
+    /**
+     * Starts running due jobs whenever the main thread goes idle. May be called on any thread.
+     */
+    @Override
+    public void start() {
+        Looper.getMainLooper().getQueue().addIdleHandler(idleHandler);
+    }
+
+    /**
+     * Stops reacting to idle periods; {@link #start()} resumes. A run already in progress still
+     * finishes within its job budgets. May be called on any thread.
+     */
+    @Override
+    public void stop() {
+        Looper.getMainLooper().getQueue().removeIdleHandler(idleHandler);
+    }
+
+    /**
+     * Runs every due job in order, each within its budget, and records the runs.
+     *
+     * @return The recorded runs, in job order.
+     */
+    @NonNull
+    public List<MaintenanceRun> runDueJobs() {
+        if (!running.compareAndSet(false, true)) return Collections.emptyList();
+
+        List<MaintenanceRun> runs = new ArrayList<>();
+        try {
+            for (MaintenanceJob job : jobs) {
+                MaintenanceRun previous = runRepository.getLatestMaintenanceRun(job.getName());
+                if (!isDue(job, previous)) continue;
+
+                MaintenanceRun run = runJob(job, previous != null && !previous.isCompleted()
+                        ? previous.getResumeToken() : null);
+                runRepository.createMaintenanceRun(run);
+                runs.add(run);
+                Logger.d(TAG, "Maintenance run recorded: {}", run);
+            }
+        } catch (RuntimeException e) {
+            Logger.e(TAG, "Database maintenance failed: " + e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+        return runs;
+    }
+
+    private boolean onIdle() {
+        long now = SystemClock.elapsedRealtime();
+        if (now >= nextIdleCheck && !running.get()) {
+            nextIdleCheck = now + IDLE_CHECK_INTERVAL_MILLIS;
+            // The slice spans the wait for the background thread as well as the run
+            AsyncSlice slice = Tracer.beginAsync("MaintenanceScheduler.runDueJobs");
+            executor.execute(() -> {
+                try {
+                    runDueJobs();
+                } finally {
+                    slice.close();
+                }
+            });
+        }
+        return true;
+    }
+
+    @NonNull
+    private MaintenanceRun runJob(@NonNull MaintenanceJob job, String resumeToken) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        TimeBudget budget = new TimeBudget(job.getBudgetMillis());
+
+        MaintenanceRun run;
+        try {
+            SQLiteDatabase db = databaseProvider.getSQLiteDatabase();
+            run = job.run(db, budget, resumeToken);
+        } catch (StorageException e) {
+            throw DatabaseErrorHandler.handleStorageException(e, "Error opening the database for maintenance");
+        } catch (SQLiteException e) {
+            throw DatabaseErrorHandler.handleSQLiteException(e, "Error during maintenance job " + job.getName());
+        }
+
+        run.setJob(job.getName());
+        run.setStartedAt(startedAt);
+        run.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return run;
+    }
+
+    private static boolean isDue(@NonNull MaintenanceJob job, MaintenanceRun previous) {
+        if (previous == null || !previous.isCompleted() || previous.getStartedAt() == null) return true;
+        return !LocalDateTime.now().isBefore(previous.getStartedAt().plusNanos(
+                TimeUnit.MILLISECONDS.toNanos(job.getIntervalMillis())));
+    }
+}
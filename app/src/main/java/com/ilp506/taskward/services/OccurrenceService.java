@@ -0,0 +1,96 @@
+package com.ilp506.taskward.services;
+
+import androidx.annotation.NonNull;
+
+import com.ilp506.taskward.data.models.Task;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.data.repositories.TaskRepository;
+import com.ilp506.taskward.exceptions.custom.DatabaseOperationException;
+import com.ilp506.taskward.utils.TaskScheduler;
+import com.ilp506.taskward.utils.trace.TraceSection;
+import com.ilp506.taskward.utils.trace.Tracer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service class reading task occurrences over any date range without requiring them to be stored.
+ *
+ * The scheduled occurrences of a task follow from its definition, so they are generated on read;
+ * only the occurrences something happened to (completed, cancelled or expired) need a row. Stored
+ * events take the place of the generated occurrence they match, by task and scheduled date, so a
+ * range reads the same whether upcoming events are materialised ahead or not.
+ */
+public class OccurrenceService {
+    private static final Comparator<TaskEvent> BY_SCHEDULED_DATE = Comparator
+            .comparing(TaskEvent::getScheduledDate)
+            .thenComparingInt(TaskEvent::getTaskId);
+
+    private final TaskRepository taskRepository;
+    private final TaskEventRepository taskEventRepository;
+
+    /**
+     * Constructs an OccurrenceService on given repositories.
+     *
+     * @param taskRepository The repository of tasks, whose definitions give the occurrences.
+     * @param taskEventRepository The repository of stored events.
+     */
+    public OccurrenceService(@NonNull TaskRepository taskRepository, @NonNull TaskEventRepository taskEventRepository) {
+        this.taskRepository = taskRepository;
+        this.taskEventRepository = taskEventRepository;
+    }
+
+    /**
+     * Returns the occurrences of every task within a range, ordered by scheduled date then task:
+     * the stored events in the range, and the generated occurrences no stored event matches.
+     * Generated occurrences are SCHEDULED and have no ID until {@link #store(TaskEvent)} is called.
+     *
+     * @param from The start of the range, inclusive.
+     * @param to The end of the range, inclusive.
+     * @return The occurrences in the range.
+     * @throws DatabaseOperationException If reading the tasks or events fails.
+     */
+    @NonNull
+    public List<TaskEvent> getOccurrences(@NonNull LocalDateTime from, @NonNull LocalDateTime to) {
+        try (TraceSection section = Tracer.section("OccurrenceService.getOccurrences")) {
+            List<TaskEvent> stored = taskEventRepository.getTaskEventsBetween(from, to);
+            Map<Integer, Set<LocalDateTime>> storedDates = new HashMap<>();
+            for (TaskEvent event : stored)
+                storedDates.computeIfAbsent(event.getTaskId(), id -> new HashSet<>()).add(event.getScheduledDate());
+
+            List<TaskEvent> occurrences = new ArrayList<>(stored);
+            for (Task task : taskRepository.getAllTasks()) {
+                Set<LocalDateTime> taken = storedDates.get(task.getId());
+                for (TaskEvent occurrence : TaskScheduler.occurrencesBetween(task, from, to)) {
+                    if (taken != null && taken.contains(occurrence.getScheduledDate())) continue;
+                    occurrence.setTitle(task.getTitle());
+                    occurrences.add(occurrence);
+                }
+            }
+
+            occurrences.sort(BY_SCHEDULED_DATE);
+            return occurrences;
+        }
+    }
+
+    /**
+     * Stores an occurrence generated on read, e.g. before it is completed or cancelled. Stored
+     * events are returned as they are.
+     *
+     * @param occurrence The occurrence.
+     * @return The stored event, with its ID.
+     * @throws DatabaseOperationException If the insertion fails.
+     */
+    @NonNull
+    public TaskEvent store(@NonNull TaskEvent occurrence) {
+        if (occurrence.getId() != 0) return occurrence;
+        return taskEventRepository.createTaskEvent(occurrence);
+    }
+}
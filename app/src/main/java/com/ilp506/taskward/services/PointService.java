@@ -19,7 +19,16 @@ public class PointService {
      * @param context The application context to initialize the UserRepository.
      */
     public PointService(Context context) {
-        this.userRepository = new UserRepository(context);
+        this(new UserRepository(context));
+    }
+
+    /**
+     * Constructs a PointService on a given repository.
+     *
+     * @param userRepository The repository holding the users' points.
+     */
+    public PointService(UserRepository userRepository) {
+        this.userRepository = userRepository;
     }
 
     /**
@@ -0,0 +1,19 @@
+package com.ilp506.taskward.services;
+
+import androidx.annotation.Nullable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Interface for the single system alarm waking the {@link ReminderScheduler} when the next
+ * reminder is due.
+ */
+public interface ReminderAlarm {
+
+    /**
+     * Sets the alarm, replacing any previous one.
+     *
+     * @param time The time to go off at, or null to cancel the alarm.
+     */
+    void set(@Nullable LocalDateTime time);
+}
@@ -0,0 +1,117 @@
+package com.ilp506.taskward.services;
+
+import android.Manifest;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.PackageManager;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.NotificationManagerCompat;
+import androidx.core.content.ContextCompat;
+
+import com.ilp506.taskward.R;
+import com.ilp506.taskward.data.models.Task;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.repositories.TaskRepository;
+import com.ilp506.taskward.exceptions.custom.DatabaseOperationException;
+import com.ilp506.taskward.ui.MainActivity;
+import com.ilp506.taskward.utils.Logger;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Posts a notification for each task event reminded of by the {@link ReminderScheduler}, on the
+ * "reminders" channel. Tapping a notification opens the app. Nothing is posted while the user has
+ * not granted the notification permission or has turned the app's notifications off.
+ */
+public class ReminderNotifier {
+    private static final String TAG = ReminderNotifier.class.getSimpleName();
+    public static final String CHANNEL_ID = "reminders";
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm", Locale.getDefault());
+
+    private final Context context;
+    private final TaskRepository taskRepository;
+
+    /**
+     * Constructs a ReminderNotifier.
+     *
+     * @param context Any context of the application.
+     * @param taskRepository The repository of tasks, giving the title of each reminder.
+     */
+    public ReminderNotifier(@NonNull Context context, @NonNull TaskRepository taskRepository) {
+        this.context = context.getApplicationContext();
+        this.taskRepository = taskRepository;
+    }
+
+    /**
+     * Posts a notification for each reminder, replacing any earlier one of the same event.
+     * Reads the tasks' titles, so must not be called on the main thread.
+     *
+     * @param reminders The task events to remind of.
+     */
+    public void notify(@NonNull List<TaskEvent> reminders) {
+        if (reminders.isEmpty()) return;
+
+        NotificationManagerCompat manager = NotificationManagerCompat.from(context);
+        if (!canNotify(manager)) {
+            Logger.w(TAG, "Notifications are off; {} reminder(s) not shown", reminders.size());
+            return;
+        }
+        createChannel();
+
+        PendingIntent openApp = PendingIntent.getActivity(context, 0,
+                new Intent(context, MainActivity.class).setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TOP),
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+        for (TaskEvent event : reminders) {
+            Task task;
+            try {
+                task = taskRepository.getTaskById(event.getTaskId());
+            } catch (DatabaseOperationException e) {
+                Logger.w(TAG, "No task {} for the reminder of event {}", event.getTaskId(), event.getId());
+                continue;
+            }
+
+            NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+                    .setSmallIcon(R.drawable.ic_menu_task)
+                    .setContentTitle(task.getTitle())
+                    .setContentText(context.getString(R.string.reminder_text,
+                            event.getScheduledDate().format(TIME_FORMAT)))
+                    .setCategory(NotificationCompat.CATEGORY_REMINDER)
+                    .setContentIntent(openApp)
+                    .setAutoCancel(true);
+            try {
+                manager.notify(event.getId(), builder.build());
+            } catch (SecurityException e) {
+                // The permission was revoked since it was checked
+                Logger.w(TAG, "Notification permission revoked; reminder of event {} not shown", event.getId());
+                return;
+            }
+        }
+    }
+
+    private boolean canNotify(NotificationManagerCompat manager) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+                && ContextCompat.checkSelfPermission(context, Manifest.permission.POST_NOTIFICATIONS)
+                != PackageManager.PERMISSION_GRANTED)
+            return false;
+        return manager.areNotificationsEnabled();
+    }
+
+    /**
+     * Creates the channel of reminders; does nothing if it exists already.
+     */
+    private void createChannel() {
+        NotificationChannel channel = new NotificationChannel(CHANNEL_ID,
+                context.getString(R.string.reminder_channel_name), NotificationManager.IMPORTANCE_DEFAULT);
+        channel.setDescription(context.getString(R.string.reminder_channel_description));
+        context.getSystemService(NotificationManager.class).createNotificationChannel(channel);
+    }
+}
@@ -0,0 +1,29 @@
+package com.ilp506.taskward.services;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+import com.ilp506.taskward.ServiceContainer;
+import com.ilp506.taskward.TaskwardApplication;
+
+/**
+ * Receives the reminder alarm, collects the due reminders on the background thread and notifies
+ * the user of them.
+ */
+public class ReminderReceiver extends BroadcastReceiver {
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        TaskwardApplication application = (TaskwardApplication) context.getApplicationContext();
+        PendingResult result = goAsync();
+        application.getBackgroundExecutor().execute(() -> {
+            try {
+                ServiceContainer services = ServiceContainer.from(context);
+                new ReminderNotifier(context, services.getTaskRepository())
+                        .notify(services.getReminderScheduler().onAlarm());
+            } finally {
+                result.finish();
+            }
+        });
+    }
+}
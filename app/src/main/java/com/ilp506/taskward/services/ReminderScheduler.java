@@ -0,0 +1,269 @@
+package com.ilp506.taskward.services;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.repositories.TaskEventListener;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.exceptions.custom.DatabaseOperationException;
+import com.ilp506.taskward.utils.DueEventQueue;
+import com.ilp506.taskward.utils.trace.TraceSection;
+import com.ilp506.taskward.utils.trace.Tracer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Service class tracking the upcoming scheduled task events in memory, to remind of them a lead
+ * time before they are due.
+ *
+ * The events are kept in a {@link DueEventQueue}, loaded page by page in due order over the
+ * scheduled_date index: the queue holds every scheduled event from now up to the last one loaded,
+ * and the next page is read once fewer than a quarter of a page remain. Writes through the
+ * repository are applied as they are committed, so no query runs on a tick. They are applied on
+ * the given executor, as they may need the next page read, so the writer's thread, possibly the
+ * main thread, never waits for it. Only one system
+ * alarm is ever set, for the reminder of the head of the queue; it is moved whenever the head
+ * changes.
+ *
+ * Each event is reminded of once: the events already reminded of are remembered, with their due
+ * time, until they are due, and are not queued again when the events are reloaded or written
+ * unless rescheduled. They are kept in memory only, so a reminder may be repeated once after the
+ * process is restarted.
+ */
+public class ReminderScheduler implements TaskEventListener, BackgroundJob {
+    public static final Duration DEFAULT_LEAD_TIME = Duration.ofMinutes(15);
+    public static final int DEFAULT_PAGE_SIZE = 512;
+
+    private final TaskEventRepository taskEventRepository;
+    private final ReminderAlarm alarm;
+    private final Clock clock;
+    private final Executor executor;
+    private final Duration leadTime;
+    private final int pageSize;
+    private final DueEventQueue queue;
+    /** The due time of each event reminded of and not yet due, by ID. */
+    private final Map<Integer, Long> delivered = new HashMap<>();
+
+    /** The position, in due order, of the last event loaded; the queue holds every event up to it. */
+    private LocalDateTime loadedDate;
+    private int loadedId;
+    private boolean fullyLoaded;
+    private long alarmDueTime = Long.MAX_VALUE;
+
+    /**
+     * Constructs a ReminderScheduler with the default lead time and page size.
+     *
+     * @param taskEventRepository The repository of task events, whose writes are tracked.
+     * @param alarm The system alarm.
+     * @param clock The clock giving the current time.
+     * @param executor The executor applying the repository's writes, one at a time and in order.
+     */
+    public ReminderScheduler(@NonNull TaskEventRepository taskEventRepository, @NonNull ReminderAlarm alarm,
+                             @NonNull Clock clock, @NonNull Executor executor) {
+        this(taskEventRepository, alarm, clock, executor, DEFAULT_LEAD_TIME, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Constructs a ReminderScheduler.
+     *
+     * @param taskEventRepository The repository of task events, whose writes are tracked.
+     * @param alarm The system alarm.
+     * @param clock The clock giving the current time.
+     * @param executor The executor applying the repository's writes, one at a time and in order.
+     * @param leadTime How long before an event is due it is reminded of.
+     * @param pageSize The number of events loaded per query.
+     */
+    public ReminderScheduler(@NonNull TaskEventRepository taskEventRepository, @NonNull ReminderAlarm alarm,
+                             @NonNull Clock clock, @NonNull Executor executor, @NonNull Duration leadTime,
+                             int pageSize) {
+        if (pageSize <= 0) throw new IllegalArgumentException("Page size must be positive");
+        this.taskEventRepository = taskEventRepository;
+        this.alarm = alarm;
+        this.clock = clock;
+        this.executor = executor;
+        this.leadTime = leadTime;
+        this.pageSize = pageSize;
+        this.queue = new DueEventQueue(pageSize);
+    }
+
+    /**
+     * Loads the first events, sets the alarm and starts tracking the repository's writes.
+     *
+     * @throws DatabaseOperationException If loading fails.
+     */
+    @Override
+    public synchronized void start() {
+        taskEventRepository.addListener(this);
+        reload();
+    }
+
+    /**
+     * Stops tracking the repository's writes and cancels the alarm.
+     */
+    @Override
+    public synchronized void stop() {
+        taskEventRepository.removeListener(this);
+        queue.clear();
+        alarmDueTime = Long.MAX_VALUE;
+        alarm.set(null);
+    }
+
+    /**
+     * Takes the events to remind of now, those due within the lead time, and sets the alarm for
+     * the next ones. Called when the alarm goes off.
+     *
+     * @return The events to remind of, in due order.
+     * @throws DatabaseOperationException If reading the events fails.
+     */
+    @NonNull
+    public synchronized List<TaskEvent> onAlarm() {
+        try (TraceSection section = Tracer.section("ReminderScheduler.onAlarm")) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            forgetPastDeliveries(now);
+            List<Integer> dueIds = new ArrayList<>();
+            queue.pollDue(dueTime(now.plus(leadTime)), dueIds::add);
+            refill();
+            updateAlarm();
+
+            List<TaskEvent> reminders = new ArrayList<>(dueIds.size());
+            for (int eventId : dueIds) {
+                TaskEvent event = taskEventRepository.getTaskEventById(eventId);
+                if (event != null && event.getStatus() == TaskEventStatusEnum.SCHEDULED) {
+                    delivered.put(eventId, dueTime(event.getScheduledDate()));
+                    reminders.add(event);
+                }
+            }
+            return reminders;
+        }
+    }
+
+    @Override
+    public void onTaskEventsWritten(@NonNull List<TaskEvent> taskEvents) {
+        // Copied on the writer's thread: the caller may change the events once the write returns
+        List<WrittenEvent> written = new ArrayList<>(taskEvents.size());
+        for (TaskEvent event : taskEvents)
+            written.add(new WrittenEvent(event.getId(), event.getScheduledDate(),
+                    event.getStatus() == TaskEventStatusEnum.SCHEDULED));
+        executor.execute(() -> applyWritten(written));
+    }
+
+    @Override
+    public void onTaskEventDeleted(int taskEventId) {
+        executor.execute(() -> applyDeleted(taskEventId));
+    }
+
+    @Override
+    public void onTaskEventsInvalidated() {
+        executor.execute(this::applyInvalidated);
+    }
+
+    @VisibleForTesting
+    synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    private synchronized void applyWritten(List<WrittenEvent> written) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (WrittenEvent event : written) {
+            boolean pending = event.scheduled && !event.scheduledDate.isBefore(now);
+            if (pending && !isDelivered(event.id, event.scheduledDate) && isLoaded(event.id, event.scheduledDate))
+                queue.add(event.id, dueTime(event.scheduledDate));
+            else queue.remove(event.id);
+        }
+        refill();
+        updateAlarm();
+    }
+
+    private synchronized void applyDeleted(int taskEventId) {
+        queue.remove(taskEventId);
+        refill();
+        updateAlarm();
+    }
+
+    private synchronized void applyInvalidated() {
+        reload();
+    }
+
+    private void reload() {
+        queue.clear();
+        loadedDate = LocalDateTime.now(clock);
+        forgetPastDeliveries(loadedDate);
+        loadedId = 0;
+        fullyLoaded = false;
+        refill();
+        updateAlarm();
+    }
+
+    /**
+     * Loads pages until a quarter of a page is queued or every event is loaded.
+     */
+    private void refill() {
+        while (!fullyLoaded && queue.size() < Math.max(1, pageSize / 4)) {
+            List<TaskEvent> page = taskEventRepository.getScheduledTaskEventsAfter(loadedDate, loadedId, pageSize);
+            for (TaskEvent event : page)
+                if (!isDelivered(event.getId(), event.getScheduledDate())) queue.add(event.getId(), dueTime(event.getScheduledDate()));
+            if (!page.isEmpty()) {
+                TaskEvent last = page.get(page.size() - 1);
+                loadedDate = last.getScheduledDate();
+                loadedId = last.getId();
+            }
+            fullyLoaded = page.size() < pageSize;
+        }
+    }
+
+    private boolean isLoaded(int eventId, LocalDateTime scheduledDate) {
+        if (fullyLoaded) return true;
+        int order = scheduledDate.compareTo(loadedDate);
+        return order < 0 || (order == 0 && eventId <= loadedId);
+    }
+
+    /**
+     * Checks whether an event was reminded of already, at its current due time.
+     */
+    private boolean isDelivered(int eventId, LocalDateTime scheduledDate) {
+        Long dueTime = delivered.get(eventId);
+        return dueTime != null && dueTime == dueTime(scheduledDate);
+    }
+
+    private void forgetPastDeliveries(LocalDateTime now) {
+        long nowTime = dueTime(now);
+        delivered.values().removeIf(dueTime -> dueTime < nowTime);
+    }
+
+    private void updateAlarm() {
+        long head = queue.peekDueTime();
+        if (head == alarmDueTime) return;
+
+        alarmDueTime = head;
+        alarm.set(head == Long.MAX_VALUE ? null : LocalDateTime.ofEpochSecond(head, 0, ZoneOffset.UTC).minus(leadTime));
+    }
+
+    private static long dueTime(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * The fields of a written event the queue depends on, as they were written.
+     */
+    private static final class WrittenEvent {
+        final int id;
+        final LocalDateTime scheduledDate;
+        final boolean scheduled;
+
+        WrittenEvent(int id, LocalDateTime scheduledDate, boolean scheduled) {
+            this.id = id;
+            this.scheduledDate = scheduledDate;
+            this.scheduled = scheduled;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.ilp506.taskward.services;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteException;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.ilp506.taskward.ServiceContainer;
+import com.ilp506.taskward.data.DatabaseHelper;
+import com.ilp506.taskward.data.models.User;
+import com.ilp506.taskward.utils.Logger;
+import com.ilp506.taskward.utils.OperationResponse;
+import com.ilp506.taskward.utils.metrics.MetricsRegistry;
+import com.ilp506.taskward.utils.trace.AsyncSlice;
+import com.ilp506.taskward.utils.trace.TraceSection;
+import com.ilp506.taskward.utils.trace.Tracer;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service class running the database work of a cold start off the main thread.
+ *
+ * Started when the process starts, the pipeline opens the database, creating it on the first run,
+ * and loads the current user on the background executor while the activity inflates its layout.
+ * The activity keeps placeholders until the user arrives through {@link #getUser()}, which also
+ * delivers the new user when another profile is selected with {@link #switchUser(int)}.
+ * The duration of each phase, and the time from process start to each milestone reported with
+ * {@link #recordMilestone(String)}, are recorded as "startup.*" timers in the MetricsRegistry.
+ */
+public class StartupPipeline {
+    private static final String TAG = StartupPipeline.class.getSimpleName();
+
+    private final Context context;
+    private final ServiceContainer services;
+    private final Executor executor;
+    private final MutableLiveData<OperationResponse<User>> user = new MutableLiveData<>();
+    private final AtomicBoolean preloadClaimed = new AtomicBoolean();
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Constructs a StartupPipeline.
+     *
+     * @param context The application context.
+     * @param services The container providing the user controller.
+     * @param executor The executor running the database work.
+     */
+    public StartupPipeline(@NonNull Context context, @NonNull ServiceContainer services,
+                           @NonNull Executor executor) {
+        this.context = context.getApplicationContext();
+        this.services = services;
+        this.executor = executor;
+    }
+
+    /**
+     * Opens the database and preloads the current user in the background.
+     */
+    public void start() {
+        AsyncSlice slice = Tracer.beginAsync("StartupPipeline.start");
+        executor.execute(() -> {
+            try {
+                openDatabase();
+                loadUser();
+            } finally {
+                slice.close();
+            }
+        });
+    }
+
+    /**
+     * Observes the current user: null while loading, then the result of the load.
+     *
+     * @return LiveData holding the user load result.
+     */
+    @NonNull
+    public LiveData<OperationResponse<User>> getUser() {
+        return user;
+    }
+
+    /**
+     * Makes sure the user about to be shown is current. The first activity of the process gets
+     * the preloaded user; later ones, e.g. after a configuration change, trigger a fresh load.
+     * Must be called on the main thread.
+     */
+    public void requestUser() {
+        if (preloadClaimed.compareAndSet(false, true)) return;
+        user.setValue(null);
+        executor.execute(this::loadUser);
+    }
+
+    /**
+     * Makes another user the active one and delivers it through {@link #getUser()}. Only that
+     * user is loaded: screens observing the user reload their own data for it, while the
+     * process, the database and the shared services stay as they are.
+     * Must be called on the main thread.
+     *
+     * @param userId The ID of the user to switch to.
+     */
+    public void switchUser(int userId) {
+        preloadClaimed.set(true);
+        user.setValue(null);
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            OperationResponse<User> response;
+            try (TraceSection section = Tracer.section("StartupPipeline.switchUser")) {
+                response = services.getUserController().switchUser(userId);
+            }
+            MetricsRegistry.getInstance().timer("user.switch").record(System.nanoTime() - start);
+            user.postValue(response);
+        });
+    }
+
+    /**
+     * Records the time elapsed since process start as the "startup.&lt;milestone&gt;" timer.
+     *
+     * @param milestone The milestone, e.g. "user_displayed".
+     */
+    public void recordMilestone(@NonNull String milestone) {
+        MetricsRegistry.getInstance().timer("startup." + milestone).record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Opens the database, running its creation script on the first start. A failure is only
+     * logged: the user load that follows reports it.
+     */
+    private void openDatabase() {
+        long start = System.nanoTime();
+        try (TraceSection section = Tracer.section("StartupPipeline.openDatabase")) {
+            DatabaseHelper.getInstance(context).getWritableDatabase();
+        } catch (SQLiteException e) {
+            Logger.e(TAG, "Error opening database during startup: " + e.getMessage(), e);
+        }
+        MetricsRegistry.getInstance().timer("startup.open_database").record(System.nanoTime() - start);
+    }
+
+    private void loadUser() {
+        long start = System.nanoTime();
+        OperationResponse<User> response;
+        try (TraceSection section = Tracer.section("StartupPipeline.loadUser")) {
+            int userId = services.getCacheManager().getUserId();
+            response = services.getUserController().getUserById(userId);
+        }
+        MetricsRegistry.getInstance().timer("startup.load_user").record(System.nanoTime() - start);
+        user.postValue(response);
+    }
+}
@@ -0,0 +1,75 @@
+package com.ilp506.taskward.services;
+
+import android.app.job.JobInfo;
+import android.app.job.JobParameters;
+import android.app.job.JobScheduler;
+import android.app.job.JobService;
+import android.content.ComponentName;
+import android.content.Context;
+import android.database.sqlite.SQLiteException;
+
+import androidx.annotation.NonNull;
+
+import com.ilp506.taskward.ServiceContainer;
+import com.ilp506.taskward.TaskwardApplication;
+import com.ilp506.taskward.data.maintenance.IncrementalVacuumJob;
+import com.ilp506.taskward.data.storage.AndroidDatabaseProvider;
+import com.ilp506.taskward.data.storage.StorageException;
+import com.ilp506.taskward.utils.Logger;
+
+/**
+ * Runs the one-off full VACUUM switching an older database to incremental auto-vacuum, which is
+ * too long for the budget of an idle maintenance run. The job only starts while the device is idle
+ * and charging, and runs on the application's background thread so no other database work
+ * overlaps it. It is retried later if the VACUUM fails.
+ */
+public class VacuumConversionService extends JobService {
+    private static final String TAG = VacuumConversionService.class.getSimpleName();
+    private static final int JOB_ID = 1;
+
+    /**
+     * Schedules the conversion for the next time the device is idle and charging.
+     * Does nothing if it is scheduled already.
+     *
+     * @param context Any context of the application.
+     */
+    public static void schedule(@NonNull Context context) {
+        JobScheduler scheduler = context.getSystemService(JobScheduler.class);
+        if (scheduler.getPendingJob(JOB_ID) != null) return;
+
+        JobInfo job = new JobInfo.Builder(JOB_ID, new ComponentName(context, VacuumConversionService.class))
+                .setRequiresDeviceIdle(true)
+                .setRequiresCharging(true)
+                .build();
+        if (scheduler.schedule(job) == JobScheduler.RESULT_SUCCESS)
+            Logger.i(TAG, "Conversion to incremental auto-vacuum scheduled for when the device is idle and charging");
+        else
+            Logger.w(TAG, "Conversion to incremental auto-vacuum could not be scheduled");
+    }
+
+    @Override
+    public boolean onStartJob(JobParameters params) {
+        TaskwardApplication application = (TaskwardApplication) getApplication();
+        application.getBackgroundExecutor().execute(() -> {
+            boolean retry = false;
+            try {
+                AndroidDatabaseProvider provider =
+                        (AndroidDatabaseProvider) ServiceContainer.from(application).getDatabaseProvider();
+                IncrementalVacuumJob.convert(provider.getSQLiteDatabase());
+                Logger.i(TAG, "Database converted to incremental auto-vacuum");
+            } catch (StorageException | SQLiteException e) {
+                Logger.e(TAG, "Error converting to incremental auto-vacuum: " + e.getMessage(), e);
+                retry = true;
+            } finally {
+                jobFinished(params, retry);
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public boolean onStopJob(JobParameters params) {
+        // The VACUUM cannot be interrupted half-way; it finishes on the background thread regardless
+        return false;
+    }
+}
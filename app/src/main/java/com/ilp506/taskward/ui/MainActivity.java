@@ -1,13 +1,20 @@
 package com.ilp506.taskward.ui;
 
+import android.Manifest;
+import android.content.pm.PackageManager;
+import android.os.Build;
 import android.os.Bundle;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.activity.EdgeToEdge;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
+import androidx.core.content.ContextCompat;
 import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
@@ -17,20 +24,30 @@ import androidx.navigation.NavController;
 import androidx.navigation.Navigation;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
+import com.ilp506.taskward.BuildConfig;
 import com.ilp506.taskward.R;
-import com.ilp506.taskward.controllers.UserController;
-import com.ilp506.taskward.data.models.User;
+import com.ilp506.taskward.TaskwardApplication;
+import com.ilp506.taskward.data.instrumentation.QueryInstrumentation;
 import com.ilp506.taskward.exceptions.handlers.ExceptionHandler;
-import com.ilp506.taskward.utils.CacheManager;
+import com.ilp506.taskward.services.StartupPipeline;
 import com.ilp506.taskward.utils.Logger;
 import com.ilp506.taskward.utils.NavigationHelper;
-import com.ilp506.taskward.utils.OperationResponse;
+import com.ilp506.taskward.utils.metrics.MetricsRegistry;
+
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.io.PrintWriter;
 
 public class MainActivity extends AppCompatActivity {
     private static final String TAG = MainActivity.class.getSimpleName();
 
+
     private final MutableLiveData<NavigationHelper> navigationHelperLiveData = new MutableLiveData<>();
+    private final ActivityResultLauncher<String> notificationPermissionLauncher = registerForActivityResult(
+            new ActivityResultContracts.RequestPermission(),
+            granted -> Logger.i(TAG, "Notification permission granted: {}", granted));
     private NavigationHelper navigationHelper;
+    private StartupPipeline startupPipeline;
 
     private Toolbar toolbar;
     private TextView pointsTextView;
@@ -39,15 +56,50 @@ public class MainActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        startupPipeline = ((TaskwardApplication) getApplication()).getStartupPipeline();
+        startupPipeline.requestUser();
+
+        long inflateStart = System.nanoTime();
         EdgeToEdge.enable(this);
         setContentView(R.layout.activity_main);
+        MetricsRegistry.getInstance().timer("startup.inflate").record(System.nanoTime() - inflateStart);
+        startupPipeline.recordMilestone("content_view");
 
-        ExceptionHandler.getInstance().setErrorNotifier(message ->
+        // Errors may be reported from the background thread
+        ExceptionHandler.getInstance().setErrorNotifier(message -> runOnUiThread(() ->
                 Toast.makeText(this, message, Toast.LENGTH_LONG).show()
-        );
+        ));
 
         initializeUI();
         findViewById(R.id.nav_host_fragment).post(this::initializeNavigation);
+
+        if (savedInstanceState == null) requestNotificationPermission();
+
+        Runtime runtime = Runtime.getRuntime();
+        MetricsRegistry.getInstance().gauge("heap.used_bytes", () -> runtime.totalMemory() - runtime.freeMemory());
+    }
+
+    /**
+     * Appends the app metrics and repository query statistics to the activity dump, so they can be
+     * collected with {@code adb shell dumpsys activity com.ilp506.taskward/.ui.MainActivity}.
+     */
+    @Override
+    public void dump(@NonNull String prefix, @Nullable FileDescriptor fd, @NonNull PrintWriter writer,
+                     @Nullable String[] args) {
+        super.dump(prefix, fd, writer, args);
+        try {
+            writer.print(prefix);
+            writer.println("Metrics:");
+            MetricsRegistry.getInstance().dump(writer);
+            writer.println();
+
+            writer.print(prefix);
+            writer.println("Query instrumentation:");
+            QueryInstrumentation.getInstance().dump(writer);
+            writer.println();
+        } catch (IOException e) {
+            Logger.e(TAG, "Error dumping metrics: " + e.getMessage(), e);
+        }
     }
 
     /**
@@ -62,9 +114,20 @@ public class MainActivity extends AppCompatActivity {
 
         toolbar = findViewById(R.id.custom_toolbar);
         pointsTextView = toolbar.findViewById(R.id.toolbar_points);
+        pointsTextView.setText(R.string.points_placeholder);
         bottomNavigationView = findViewById(R.id.bottom_navigation);
     }
 
+    /**
+     * Asks for the permission to post task reminders, needed from Android 13.
+     */
+    private void requestNotificationPermission() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+                && ContextCompat.checkSelfPermission(this, Manifest.permission.POST_NOTIFICATIONS)
+                != PackageManager.PERMISSION_GRANTED)
+            notificationPermissionLauncher.launch(Manifest.permission.POST_NOTIFICATIONS);
+    }
+
     /**
      * Initializes the navigation helper and sets up components and observers.
      */
@@ -73,7 +136,7 @@ public class MainActivity extends AppCompatActivity {
         navigationHelperLiveData.setValue(navigationHelper);
 
         setupComponents();
-        loadUserAndInitializePoints();
+        observeStartupUser();
     }
 
     /**
@@ -83,44 +146,37 @@ public class MainActivity extends AppCompatActivity {
         navigationHelper.setupBottomNavigationView(bottomNavigationView);
         navigationHelper.setupToolbar(toolbar);
 
+        // Debug builds open the performance screen on a long press of the toolbar title
+        if (BuildConfig.DEBUG)
+            toolbar.findViewById(R.id.toolbar_title).setOnLongClickListener(v -> {
+                navigationHelper.navigateTo(R.id.performanceFragment);
+                return true;
+            });
+
         navigationHelper.getPointsLiveData().observe(this, points -> {
             if (points != null) pointsTextView.setText(String.valueOf(points));
         });
     }
 
     /**
-     * Loads the user from cache and initializes their points.
-     * If the user is not found, navigates to the profile creation screen.
-     */
-    private void loadUserAndInitializePoints() {
-        User user = fetchUserFromCache();
-        if (user != null)
-            navigationHelper.updatePoints(user.getPoints());
-        else {
-            Toast.makeText(this, "User not found. Please create a profile.",
-                    Toast.LENGTH_SHORT).show();
-            NavController navController = Navigation.findNavController(this, R.id.nav_host_fragment);
-            navController.navigate(R.id.action_global_to_createProfileFragment);
-        }
-    }
-
-    /**
-     * Fetches the user from the cache using the UserController and handles errors via ExceptionHandler.
-     *
-     * @return The user object if found, otherwise null.
+     * Initializes the points once the startup pipeline has loaded the user; until then the
+     * toolbar keeps its placeholder. If the user is not found, navigates to the profile creation screen.
      */
-    @Nullable
-    private User fetchUserFromCache() {
-        CacheManager cacheManager = new CacheManager(this);
-        UserController userController = new UserController(this);
-
-        OperationResponse<User> response = userController.getUserById(cacheManager.getUserId());
-        if (response.isSuccessful()) {
-            return response.getData();
-        }
-
-        Logger.e(TAG, "Error fetching user: " + response.getMessage());
-        return null;
+    private void observeStartupUser() {
+        startupPipeline.getUser().observe(this, response -> {
+            if (response == null) return;
+
+            if (response.isSuccessful())
+                navigationHelper.updatePoints(response.getData().getPoints());
+            else {
+                Logger.e(TAG, "Error fetching user: " + response.getMessage());
+                Toast.makeText(this, "User not found. Please create a profile.",
+                        Toast.LENGTH_SHORT).show();
+                NavController navController = Navigation.findNavController(this, R.id.nav_host_fragment);
+                navController.navigate(R.id.action_global_to_createProfileFragment);
+            }
+            startupPipeline.recordMilestone("user_displayed");
+        });
     }
 
     /**
@@ -13,6 +13,8 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.ilp506.taskward.R;
 import com.ilp506.taskward.data.models.Reward;
+import com.ilp506.taskward.utils.trace.TraceSection;
+import com.ilp506.taskward.utils.trace.Tracer;
 
 import java.util.List;
 
@@ -69,8 +71,10 @@ public class RewardsAdapter extends RecyclerView.Adapter<RewardsAdapter.RewardVi
      */
     @Override
     public void onBindViewHolder(@NonNull RewardViewHolder holder, int position) {
-        Reward reward = rewards.get(position);
-        holder.bind(reward);
+        try (TraceSection section = Tracer.section("RewardsAdapter.onBindViewHolder")) {
+            Reward reward = rewards.get(position);
+            holder.bind(reward);
+        }
     }
 
     /**
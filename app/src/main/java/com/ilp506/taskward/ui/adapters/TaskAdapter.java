@@ -10,6 +10,8 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.ilp506.taskward.R;
 import com.ilp506.taskward.data.models.Task;
+import com.ilp506.taskward.utils.trace.TraceSection;
+import com.ilp506.taskward.utils.trace.Tracer;
 
 import java.util.List;
 
@@ -55,8 +57,10 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder
      */
     @Override
     public void onBindViewHolder(@NonNull TaskViewHolder holder, int position) {
-        Task task = tasks.get(position);
-        holder.bind(task);
+        try (TraceSection section = Tracer.section("TaskAdapter.onBindViewHolder")) {
+            Task task = tasks.get(position);
+            holder.bind(task);
+        }
     }
 
     /**
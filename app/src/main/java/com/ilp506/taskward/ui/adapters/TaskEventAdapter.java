@@ -8,20 +8,64 @@ import android.widget.CheckBox;
 import android.widget.ImageView;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.ilp506.taskward.R;
 import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.utils.trace.TraceSection;
+import com.ilp506.taskward.utils.trace.Tracer;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 
 /**
  * Adapter for displaying task events in the TaskWard app.
+ *
+ * New lists are handed over with {@link #submitList(List)} and diffed against the current one on
+ * a background thread, so only the items that changed are rebound, with their animations and the
+ * scroll position kept. Items are matched by event ID, which is also their stable ID, and an item
+ * whose status alone changed is rebound partially, updating its completion state only. Submitted
+ * lists must not be modified afterwards; a refresh submits freshly loaded events.
  */
-public class TaskEventAdapter extends RecyclerView.Adapter<TaskEventAdapter.TaskEventViewHolder> {
+public class TaskEventAdapter extends ListAdapter<TaskEvent, TaskEventAdapter.TaskEventViewHolder> {
     private static final String TAG = TaskEventAdapter.class.getSimpleName();
 
-    private final List<TaskEvent> taskEvents;
+    /** Payload of an item whose status is the only change. */
+    static final Object PAYLOAD_STATUS = new Object();
+
+    static final DiffUtil.ItemCallback<TaskEvent> DIFF_CALLBACK = new DiffUtil.ItemCallback<TaskEvent>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull TaskEvent oldItem, @NonNull TaskEvent newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull TaskEvent oldItem, @NonNull TaskEvent newItem) {
+            return oldItem.getStatus() == newItem.getStatus() && isDisplayedAlike(oldItem, newItem);
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull TaskEvent oldItem, @NonNull TaskEvent newItem) {
+            return isDisplayedAlike(oldItem, newItem) ? PAYLOAD_STATUS : null;
+        }
+
+        /**
+         * Compares what an item shows besides its completion state.
+         */
+        private boolean isDisplayedAlike(TaskEvent oldItem, TaskEvent newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getScheduledDate(), newItem.getScheduledDate())
+                    && oldItem.getPointsEarned() == newItem.getPointsEarned();
+        }
+    };
+
     private final OnTaskStatusChangeListener statusChangeListener;
 
     /**
@@ -33,14 +77,29 @@ public class TaskEventAdapter extends RecyclerView.Adapter<TaskEventAdapter.Task
 
     /**
      * Constructor for the TaskEventAdapter.
-     * This method initializes the adapter with a list of task events and a listener for task status changes.
+     * This method initializes an empty adapter with a listener for task status changes; the task
+     * events are submitted once loaded.
      *
-     * @param taskEvents The list of task events to be displayed
      * @param statusChangeListener The listener for task status change events
      */
-    public TaskEventAdapter(List<TaskEvent> taskEvents, OnTaskStatusChangeListener statusChangeListener) {
-        this.taskEvents = taskEvents;
+    public TaskEventAdapter(OnTaskStatusChangeListener statusChangeListener) {
+        this(statusChangeListener, null);
+    }
+
+    /**
+     * Constructor for the TaskEventAdapter diffing lists on a given executor, e.g. the calling
+     * thread in tests.
+     *
+     * @param statusChangeListener The listener for task status change events
+     * @param diffExecutor The executor computing the diffs, or null for the default background one
+     */
+    @VisibleForTesting
+    TaskEventAdapter(OnTaskStatusChangeListener statusChangeListener, @Nullable Executor diffExecutor) {
+        super(diffExecutor == null
+                ? new AsyncDifferConfig.Builder<>(DIFF_CALLBACK).build()
+                : new AsyncDifferConfig.Builder<>(DIFF_CALLBACK).setBackgroundThreadExecutor(diffExecutor).build());
         this.statusChangeListener = statusChangeListener;
+        setHasStableIds(true);
     }
 
     /**
@@ -68,19 +127,40 @@ public class TaskEventAdapter extends RecyclerView.Adapter<TaskEventAdapter.Task
      */
     @Override
     public void onBindViewHolder(@NonNull TaskEventViewHolder holder, int position) {
-        TaskEvent taskEvent = taskEvents.get(position);
-        holder.bind(taskEvent);
+        try (TraceSection section = Tracer.section("TaskEventAdapter.onBindViewHolder")) {
+            TaskEvent taskEvent = getItem(position);
+            holder.bind(taskEvent);
+        }
     }
 
     /**
-     * Returns the total number of task events in the adapter.
-     * This method provides the total number of items in the dataset, which is required by RecyclerView.
+     * Binds the data for a specific position to the ViewHolder, only updating the completion
+     * state if the status is all that changed.
      *
-     * @return The total number of task events in the list.
+     * @param holder The ViewHolder that should be updated.
+     * @param position The position of the item in the dataset.
+     * @param payloads The changes of the item, empty for a full bind.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull TaskEventViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (!payloads.contains(PAYLOAD_STATUS)) {
+            super.onBindViewHolder(holder, position, payloads);
+            return;
+        }
+        try (TraceSection section = Tracer.section("TaskEventAdapter.onBindViewHolderStatus")) {
+            holder.bindStatus(getItem(position));
+        }
+    }
+
+    /**
+     * Returns the stable ID of an item, the ID of its task event.
+     *
+     * @param position The position of the item in the dataset.
+     * @return The ID of the task event.
      */
     @Override
-    public int getItemCount() {
-        return taskEvents.size();
+    public long getItemId(int position) {
+        return getItem(position).getId();
     }
 
     /**
@@ -113,7 +193,7 @@ public class TaskEventAdapter extends RecyclerView.Adapter<TaskEventAdapter.Task
                 if (statusChangeListener != null) {
                     int position = getAdapterPosition();
                     if (position != RecyclerView.NO_POSITION) {
-                        TaskEvent taskEvent = taskEvents.get(position);
+                        TaskEvent taskEvent = getItem(position);
                         statusChangeListener.onTaskStatusChanged(taskEvent, isChecked);
                         updateTaskAppearance(isChecked);
                     }
@@ -132,10 +212,19 @@ public class TaskEventAdapter extends RecyclerView.Adapter<TaskEventAdapter.Task
             String temporaryImplTitle = taskEvent.getTitle() + " - " +
                     taskEvent.getScheduledDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
 
-            isBinding = true;
             title.setText(temporaryImplTitle);
             String pointsText = itemView.getContext().getString(R.string.points_earned, taskEvent.getPointsEarned());
             points.setText(pointsText);
+            bindStatus(taskEvent);
+        }
+
+        /**
+         * Binds the completion state of a task event alone, when nothing else about it changed.
+         *
+         * @param taskEvent The TaskEvent object containing the status to bind.
+         */
+        public void bindStatus(@NonNull TaskEvent taskEvent) {
+            isBinding = true;
             checkBox.setChecked(taskEvent.isCompleted());
             updateTaskAppearance(taskEvent.isCompleted());
             isBinding = false;
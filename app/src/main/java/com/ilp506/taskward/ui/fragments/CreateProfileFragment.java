@@ -16,6 +16,7 @@ import android.widget.ImageButton;
 import android.widget.Toast;
 
 import com.ilp506.taskward.R;
+import com.ilp506.taskward.ServiceContainer;
 import com.ilp506.taskward.controllers.UserController;
 import com.ilp506.taskward.data.models.User;
 import com.ilp506.taskward.utils.OperationResponse;
@@ -38,7 +39,7 @@ public class CreateProfileFragment extends Fragment {
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        userController = new UserController(requireContext());
+        userController = ServiceContainer.from(requireContext()).getUserController();
     }
 
     @Override
@@ -16,6 +16,7 @@ import android.widget.ImageButton;
 import android.widget.Toast;
 
 import com.ilp506.taskward.R;
+import com.ilp506.taskward.ServiceContainer;
 import com.ilp506.taskward.controllers.RewardController;
 import com.ilp506.taskward.data.models.Reward;
 import com.ilp506.taskward.utils.CacheManager;
@@ -40,7 +41,7 @@ public class CreateRewardsFragment extends Fragment {
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        rewardController = new RewardController(requireContext());
+        rewardController = ServiceContainer.from(requireContext()).getRewardController();
     }
 
     @Override
@@ -116,7 +117,7 @@ public class CreateRewardsFragment extends Fragment {
         String description = editRewardDescription.getText().toString().trim();
         int points = Integer.parseInt(editRewardPoints.getText().toString().trim());
 
-        CacheManager cacheManager = new CacheManager(requireContext());
+        CacheManager cacheManager = ServiceContainer.from(requireContext()).getCacheManager();
 
         Reward reward = new Reward();
         reward.setUserId(cacheManager.getUserId());
@@ -21,9 +21,11 @@ import android.widget.Toast;
 
 import com.google.android.material.slider.Slider;
 import com.ilp506.taskward.R;
+import com.ilp506.taskward.ServiceContainer;
 import com.ilp506.taskward.controllers.TaskController;
 import com.ilp506.taskward.data.enums.TaskFrequencyEnum;
 import com.ilp506.taskward.data.models.Task;
+import com.ilp506.taskward.utils.CacheManager;
 import com.ilp506.taskward.utils.DateUtils;
 import com.ilp506.taskward.utils.OperationResponse;
 import com.ilp506.taskward.utils.UIUtils;
@@ -37,6 +39,7 @@ import java.util.Arrays;
  */
 public class CreateTaskFragment extends Fragment {
     private TaskController taskController;
+    private CacheManager cacheManager;
 
     private EditText editTaskTitle, editTaskDescription,
             editTaskFrequencyValue, editTaskStartDate, editTaskEndDate;
@@ -53,7 +56,9 @@ public class CreateTaskFragment extends Fragment {
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        taskController = new TaskController(requireContext());
+        ServiceContainer services = ServiceContainer.from(requireContext());
+        taskController = services.getTaskController();
+        cacheManager = services.getCacheManager();
     }
 
     @Override
@@ -209,6 +214,7 @@ public class CreateTaskFragment extends Fragment {
         TaskFrequencyEnum frequency = TaskFrequencyEnum.values()[spinnerTaskFrequency.getSelectedItemPosition()];
 
         Task task = new Task();
+        task.setUserId(cacheManager.getUserId());
         task.setTitle(title);
         task.setIcon("ic_task"); // TODO implement icon selection logic
         task.setDescription(description);
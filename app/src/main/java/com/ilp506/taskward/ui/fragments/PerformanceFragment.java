@@ -0,0 +1,177 @@
+package com.ilp506.taskward.ui.fragments;
+
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+import androidx.fragment.app.Fragment;
+import androidx.navigation.fragment.NavHostFragment;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import com.ilp506.taskward.BuildConfig;
+import com.ilp506.taskward.R;
+import com.ilp506.taskward.data.instrumentation.QueryInstrumentation;
+import com.ilp506.taskward.data.instrumentation.QueryStats;
+import com.ilp506.taskward.utils.Logger;
+import com.ilp506.taskward.utils.metrics.Counter;
+import com.ilp506.taskward.utils.metrics.Gauge;
+import com.ilp506.taskward.utils.metrics.Histogram;
+import com.ilp506.taskward.utils.metrics.MetricsRegistry;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Debug-only fragment showing the live metrics and query statistics of the app.
+ * The numbers refresh every second while the fragment is shown, and can be dumped to a JSON file.
+ * In release builds the fragment leaves as soon as it is opened.
+ */
+public class PerformanceFragment extends Fragment {
+    private static final String TAG = PerformanceFragment.class.getSimpleName();
+
+    private static final long REFRESH_INTERVAL_MILLIS = 1_000;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable refresh = new Runnable() {
+        @Override
+        public void run() {
+            showMetrics();
+            handler.postDelayed(this, REFRESH_INTERVAL_MILLIS);
+        }
+    };
+
+    private TextView headerTitle;
+    private TextView metricsText;
+    private Button dumpButton;
+
+    public PerformanceFragment() {
+        // Required empty public constructor
+    }
+
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container,
+                             Bundle savedInstanceState) {
+        View view = inflater.inflate(R.layout.fragment_performance, container, false);
+
+        initializeUI(view);
+        setupComponents();
+        return view;
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        if (!BuildConfig.DEBUG) NavHostFragment.findNavController(this).popBackStack();
+    }
+
+    @Override
+    public void onResume() {
+        super.onResume();
+        handler.post(refresh);
+    }
+
+    @Override
+    public void onPause() {
+        handler.removeCallbacks(refresh);
+        super.onPause();
+    }
+
+    /**
+     * Initializes the UI components of the fragment.
+     *
+     * @param view The view of the fragment
+     */
+    private void initializeUI(@NonNull View view) {
+        headerTitle = view.findViewById(R.id.fragmentTitle);
+        metricsText = view.findViewById(R.id.textMetrics);
+        dumpButton = view.findViewById(R.id.buttonDumpMetrics);
+    }
+
+    /**
+     * Sets up the components of the fragment.
+     */
+    private void setupComponents() {
+        headerTitle.setText(R.string.performance_metrics_header);
+        dumpButton.setOnClickListener(v -> dumpToFile());
+    }
+
+    /**
+     * Renders every metric as text. Durations are in microseconds.
+     */
+    private void showMetrics() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        StringBuilder text = new StringBuilder();
+
+        text.append("COUNTERS\n");
+        for (Map.Entry<String, Counter> entry : registry.getCounters().entrySet())
+            text.append(String.format(Locale.US, "%s = %d%n", entry.getKey(), entry.getValue().getCount()));
+
+        text.append("\nGAUGES\n");
+        for (Map.Entry<String, Gauge> entry : registry.getGauges().entrySet())
+            text.append(String.format(Locale.US, "%s = %d%n", entry.getKey(), entry.getValue().getValue()));
+
+        text.append("\nTIMERS (us)\n");
+        for (Map.Entry<String, Histogram> entry : registry.getTimers().entrySet())
+            appendHistogram(text, entry.getKey(), entry.getValue(), 1_000);
+
+        text.append("\nHISTOGRAMS\n");
+        for (Map.Entry<String, Histogram> entry : registry.getHistograms().entrySet())
+            appendHistogram(text, entry.getKey(), entry.getValue(), 1);
+
+        text.append("\nQUERIES (us)\n");
+        for (QueryStats stats : QueryInstrumentation.getInstance().getStats())
+            appendHistogram(text, stats.getTag(), stats.getLatency(), 1_000);
+
+        metricsText.setText(text);
+    }
+
+    private static void appendHistogram(@NonNull StringBuilder text, @NonNull String name,
+                                        @NonNull Histogram histogram, long divisor) {
+        text.append(String.format(Locale.US, "%s%n  n=%d p50=%d p90=%d p99=%d max=%d%n", name,
+                histogram.getCount(),
+                histogram.getValueAtPercentile(50) / divisor,
+                histogram.getValueAtPercentile(90) / divisor,
+                histogram.getValueAtPercentile(99) / divisor,
+                histogram.getMax() / divisor));
+    }
+
+    /**
+     * Writes the metrics and query statistics to a timestamped JSON file in the app's
+     * external files, falling back to internal storage when it is unavailable.
+     */
+    private void dumpToFile() {
+        File directory = requireContext().getExternalFilesDir("metrics");
+        if (directory == null) directory = new File(requireContext().getFilesDir(), "metrics");
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            Toast.makeText(requireContext(), "Error creating metrics directory", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        File file = new File(directory, "metrics_" + System.currentTimeMillis() + ".json");
+        try (Writer out = new FileWriter(file)) {
+            JsonWriter writer = new JsonWriter(out);
+            writer.setIndent("  ");
+            writer.beginObject();
+            MetricsRegistry.getInstance().writeTo(writer.name("metrics"));
+            QueryInstrumentation.getInstance().writeTo(writer.name("queries"));
+            writer.endObject();
+            writer.flush();
+            Toast.makeText(requireContext(), file.getAbsolutePath(), Toast.LENGTH_LONG).show();
+        } catch (IOException e) {
+            Logger.e(TAG, "Error dumping metrics: " + e.getMessage(), e);
+            Toast.makeText(requireContext(), "Error dumping metrics", Toast.LENGTH_SHORT).show();
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.ilp506.taskward.ui.fragments;
 import android.os.Bundle;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -10,32 +12,42 @@ import androidx.recyclerview.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.Button;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import com.ilp506.taskward.R;
+import com.ilp506.taskward.ServiceContainer;
+import com.ilp506.taskward.TaskwardApplication;
 import com.ilp506.taskward.controllers.TaskController;
 import com.ilp506.taskward.controllers.UserController;
 import com.ilp506.taskward.data.models.Task;
-import com.ilp506.taskward.data.models.TaskEvent;
 import com.ilp506.taskward.data.models.User;
+import com.ilp506.taskward.services.StartupPipeline;
 import com.ilp506.taskward.ui.adapters.TaskAdapter;
-import com.ilp506.taskward.utils.CacheManager;
-import com.ilp506.taskward.utils.Logger;
 import com.ilp506.taskward.utils.OperationResponse;
+import com.ilp506.taskward.utils.trace.TraceSection;
+import com.ilp506.taskward.utils.trace.Tracer;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
- * Fragment for displaying user profiles in the TaskWard app.
+ * Fragment for displaying the profile of the active user in the TaskWard app, with the statistics
+ * of their tasks. Another profile can be picked here; the fragment follows the user delivered by
+ * the startup pipeline, so it shows the picked profile once it is loaded.
  */
 public class ProfileFragment extends Fragment {
     private UserController userController;
     private TaskController taskController;
+    private StartupPipeline startupPipeline;
+    private int userId;
 
     private TextView headerTitle;
     private RecyclerView recyclerView;
     private TextView profileName;
+    private Button switchProfileButton;
 
     public ProfileFragment() {
         // Required empty public constructor
@@ -44,8 +56,9 @@ public class ProfileFragment extends Fragment {
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        userController = new UserController(requireContext());
-        taskController = new TaskController(requireContext());
+        userController = ServiceContainer.from(requireContext()).getUserController();
+        taskController = ServiceContainer.from(requireContext()).getTaskController();
+        startupPipeline = ((TaskwardApplication) requireActivity().getApplication()).getStartupPipeline();
     }
 
     @Override
@@ -55,11 +68,15 @@ public class ProfileFragment extends Fragment {
 
         initializeUI(view);
         setupComponents();
-        loadTasks();
-        loadProfile();
         return view;
     }
 
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        observeActiveUser();
+    }
+
     /**
      * Initializes the UI components of the fragment.
      *
@@ -69,6 +86,7 @@ public class ProfileFragment extends Fragment {
         headerTitle = view.findViewById(R.id.fragmentTitle);
         recyclerView = view.findViewById(R.id.recyclerViewTasks);
         profileName = view.findViewById(R.id.profileName);
+        switchProfileButton = view.findViewById(R.id.switchProfileButton);
     }
 
     /**
@@ -78,35 +96,92 @@ public class ProfileFragment extends Fragment {
         headerTitle.setText(R.string.profile_statistics_header);
 
         recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
+        switchProfileButton.setOnClickListener(v -> loadProfiles());
     }
 
     /**
-     * Loads the user profile and sets up the task adapter.
+     * Shows the profile and loads its tasks whenever the active user arrives, at startup or after
+     * a switch.
      */
-    private void loadProfile() {
-        CacheManager cacheManager = new CacheManager(requireContext());
-        OperationResponse<User> response = userController.getUserById(cacheManager.getUserId());
+    private void observeActiveUser() {
+        startupPipeline.getUser().observe(getViewLifecycleOwner(), response -> {
+            if (response == null || !response.isSuccessful()) return;
 
-        if (response.isSuccessful()) {
             User user = response.getData();
+            userId = user.getId();
             profileName.setText(user.getName());
-        }
-        else
-            Toast.makeText(requireContext(), "Error loading profile", Toast.LENGTH_SHORT).show();
+            loadTasks();
+        });
     }
 
     /**
-     * Loads the task events and sets up the task adapter.
+     * Loads the active user's tasks with their events on the background thread and shows them once
+     * back on the main thread. Results arriving after the view is gone or the user changed are discarded.
      */
     private void loadTasks() {
-        OperationResponse<List<Task>> response = taskController.getAllTasksWithTaskEvents();
+        ExecutorService executor = ((TaskwardApplication) requireActivity().getApplication()).getBackgroundExecutor();
+        int loadedUserId = userId;
+        executor.execute(() -> {
+            OperationResponse<List<Task>> response;
+            try (TraceSection section = Tracer.section("ProfileFragment.loadTasks")) {
+                response = taskController.getTasksByUserWithTaskEvents(loadedUserId);
+            }
+            recyclerView.post(() -> {
+                if (!isAdded() || getView() == null || loadedUserId != userId) return;
+
+                if (response.isSuccessful())
+                    recyclerView.setAdapter(new TaskAdapter(response.getData()));
+                else {
+                    recyclerView.setAdapter(new TaskAdapter(Collections.emptyList()));
+                    Toast.makeText(requireContext(), "Error loading tasks", Toast.LENGTH_SHORT).show();
+                }
+            });
+        });
+    }
 
-        if (response.isSuccessful()) {
-            List<Task> tasks = response.getData();
-            TaskAdapter adapter = new TaskAdapter(tasks);
-            recyclerView.setAdapter(adapter);
+    /**
+     * Loads every profile on the background thread, then lets the user pick one.
+     */
+    private void loadProfiles() {
+        ExecutorService executor = ((TaskwardApplication) requireActivity().getApplication()).getBackgroundExecutor();
+        executor.execute(() -> {
+            OperationResponse<List<User>> response;
+            try (TraceSection section = Tracer.section("ProfileFragment.loadProfiles")) {
+                response = userController.getAllUsers();
+            }
+            recyclerView.post(() -> {
+                if (!isAdded() || getView() == null) return;
+
+                if (response.isSuccessful())
+                    showProfilePicker(response.getData());
+                else
+                    Toast.makeText(requireContext(), "Error loading profiles", Toast.LENGTH_SHORT).show();
+            });
+        });
+    }
+
+    /**
+     * Shows the profiles and switches to the one picked. Every screen observing the active user
+     * reloads its data for it.
+     *
+     * @param users The profiles to pick from
+     */
+    private void showProfilePicker(@NonNull List<User> users) {
+        String[] names = new String[users.size()];
+        int checked = -1;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = users.get(i).getName();
+            if (users.get(i).getId() == userId) checked = i;
         }
-        else
-            Toast.makeText(requireContext(), "Error loading tasks", Toast.LENGTH_SHORT).show();
+
+        new AlertDialog.Builder(requireContext())
+                .setTitle(R.string.profile_switch_title)
+                .setSingleChoiceItems(names, checked, (dialog, which) -> {
+                    dialog.dismiss();
+                    int pickedUserId = users.get(which).getId();
+                    if (pickedUserId != userId) startupPipeline.switchUser(pickedUserId);
+                })
+                .setNegativeButton("Cancel", null)
+                .show();
     }
-}
\ No newline at end of file
+}
@@ -18,23 +18,33 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import com.ilp506.taskward.R;
+import com.ilp506.taskward.ServiceContainer;
+import com.ilp506.taskward.TaskwardApplication;
 import com.ilp506.taskward.controllers.RewardController;
 import com.ilp506.taskward.controllers.UserController;
 import com.ilp506.taskward.data.models.Reward;
 import com.ilp506.taskward.data.models.User;
+import com.ilp506.taskward.services.StartupPipeline;
 import com.ilp506.taskward.ui.MainActivity;
 import com.ilp506.taskward.ui.adapters.RewardsAdapter;
 import com.ilp506.taskward.utils.NavigationHelper;
 import com.ilp506.taskward.utils.OperationResponse;
+import com.ilp506.taskward.utils.trace.TraceSection;
+import com.ilp506.taskward.utils.trace.Tracer;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
- * Fragment for displaying rewards in the TaskWard app.
+ * Fragment for displaying the rewards of the active user in the TaskWard app. The rewards are
+ * loaded for the user delivered by the startup pipeline, and loaded again when another user is
+ * switched to.
  */
 public class RewardsFragment extends Fragment {
     private RewardController rewardController;
     private NavigationHelper navigationHelper;
+    private int userId;
 
     private TextView headerTitle;
     private RecyclerView recyclerView;
@@ -47,13 +57,14 @@ public class RewardsFragment extends Fragment {
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        rewardController = new RewardController(requireContext());
+        rewardController = ServiceContainer.from(requireContext()).getRewardController();
     }
 
     @Override
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
         setupNavigationHelper(view);
+        observeActiveUser();
     }
 
     @Override
@@ -82,25 +93,47 @@ public class RewardsFragment extends Fragment {
      */
     private void setupComponents() {
         headerTitle.setText(R.string.to_get_rewards_header);
+
+        recyclerView.setLayoutManager(new GridLayoutManager(requireContext(), 2));
     }
 
     /**
-     * Loads the rewards and sets up the rewards adapter.
+     * Loads the rewards whenever the active user arrives, at startup or after a switch.
      */
-    private void loadRewards() {
-        OperationResponse<List<Reward>> response = rewardController.getAllRewards();
-
-        if (response.isSuccessful()) {
-            List<Reward> rewards = response.getData();
-
-            GridLayoutManager gridLayoutManager = new GridLayoutManager(requireContext(), 2);
-            recyclerView.setLayoutManager(gridLayoutManager);
+    private void observeActiveUser() {
+        StartupPipeline startupPipeline =
+                ((TaskwardApplication) requireActivity().getApplication()).getStartupPipeline();
+        startupPipeline.getUser().observe(getViewLifecycleOwner(), response -> {
+            if (response == null || !response.isSuccessful()) return;
+
+            userId = response.getData().getId();
+            loadRewards();
+        });
+    }
 
-            RewardsAdapter adapter = new RewardsAdapter(rewards, this::onRewardClick);
-            recyclerView.setAdapter(adapter);
-        }
-        else
-            Toast.makeText(requireContext(), "Error loading rewards", Toast.LENGTH_SHORT).show();
+    /**
+     * Loads the active user's rewards on the background thread and shows them once back on the
+     * main thread. Results arriving after the view is gone or the user changed are discarded.
+     */
+    private void loadRewards() {
+        ExecutorService executor = ((TaskwardApplication) requireActivity().getApplication()).getBackgroundExecutor();
+        int loadedUserId = userId;
+        executor.execute(() -> {
+            OperationResponse<List<Reward>> response;
+            try (TraceSection section = Tracer.section("RewardsFragment.loadRewards")) {
+                response = rewardController.getRewardsByUser(loadedUserId);
+            }
+            recyclerView.post(() -> {
+                if (!isAdded() || getView() == null || loadedUserId != userId) return;
+
+                if (response.isSuccessful())
+                    recyclerView.setAdapter(new RewardsAdapter(response.getData(), this::onRewardClick));
+                else {
+                    recyclerView.setAdapter(new RewardsAdapter(Collections.emptyList(), this::onRewardClick));
+                    Toast.makeText(requireContext(), "Error loading rewards", Toast.LENGTH_SHORT).show();
+                }
+            });
+        });
     }
 
     /**
@@ -129,7 +162,7 @@ public class RewardsFragment extends Fragment {
      * @param reward The reward to redeem
      */
     private void redeemReward(@NonNull Reward reward) {
-        UserController userController = new UserController(requireContext());
+        UserController userController = ServiceContainer.from(requireContext()).getUserController();
         OperationResponse<User> userResponse = userController.getUserById(reward.getUserId());
 
         if (!userResponse.isSuccessful()) {
@@ -158,7 +191,7 @@ public class RewardsFragment extends Fragment {
      * @param userId The user ID
      */
     private void updateUserPoints(int userId) {
-        UserController userController = new UserController(requireContext());
+        UserController userController = ServiceContainer.from(requireContext()).getUserController();
         OperationResponse<User> userResponse = userController.getUserById(userId);
 
         if (userResponse.isSuccessful())
@@ -178,7 +211,6 @@ public class RewardsFragment extends Fragment {
         helperLiveData.observe(getViewLifecycleOwner(), helper -> {
             if (helper != null) {
                 navigationHelper = helper;
-                loadRewards();
                 createRewardButton.setOnClickListener(v ->
                         navigationHelper.navigateTo(R.id.action_rewardsFragment_to_createRewardsFragment)
                 );
@@ -19,24 +19,36 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.ilp506.taskward.R;
+import com.ilp506.taskward.ServiceContainer;
+import com.ilp506.taskward.TaskwardApplication;
 import com.ilp506.taskward.controllers.TaskEventController;
 import com.ilp506.taskward.controllers.UserController;
 import com.ilp506.taskward.data.models.TaskEvent;
 import com.ilp506.taskward.data.models.User;
+import com.ilp506.taskward.services.StartupPipeline;
 import com.ilp506.taskward.ui.MainActivity;
 import com.ilp506.taskward.ui.adapters.TaskEventAdapter;
 import com.ilp506.taskward.utils.Logger;
 import com.ilp506.taskward.utils.NavigationHelper;
 import com.ilp506.taskward.utils.OperationResponse;
+import com.ilp506.taskward.utils.trace.AsyncSlice;
+import com.ilp506.taskward.utils.trace.TraceSection;
+import com.ilp506.taskward.utils.trace.Tracer;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
- * Fragment for displaying tasks events in the TaskWard app.
+ * Fragment for displaying the task events of the active user in the TaskWard app. The list is
+ * loaded for the user delivered by the startup pipeline, and loaded again when another user is
+ * switched to.
  */
 public class TasksFragment extends Fragment {
     private TaskEventController taskEventController;
     private NavigationHelper navigationHelper;
+    private TaskEventAdapter adapter;
+    private int userId;
 
     private TextView headerTitle;
     private RecyclerView recyclerView;
@@ -45,7 +57,7 @@ public class TasksFragment extends Fragment {
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        taskEventController = new TaskEventController(requireContext());
+        taskEventController = ServiceContainer.from(requireContext()).getTaskEventController();
     }
 
     @Nullable
@@ -57,7 +69,6 @@ public class TasksFragment extends Fragment {
 
         initializeUI(view);
         setupComponents();
-        loadTaskEvents();
         return view;
     }
 
@@ -65,6 +76,7 @@ public class TasksFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
         setupNavigationHelper(view);
+        observeActiveUser();
     }
 
     /**
@@ -87,56 +99,102 @@ public class TasksFragment extends Fragment {
         recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
         DividerItemDecoration divider = new DividerItemDecoration(requireContext(), LinearLayoutManager.VERTICAL);
         recyclerView.addItemDecoration(divider);
+
+        adapter = new TaskEventAdapter(this::onTaskStatusChanged);
+        recyclerView.setAdapter(adapter);
     }
 
     /**
-     * Loads the task events and sets up the task adapter.
+     * Loads the task events whenever the active user arrives, at startup or after a switch.
      */
-    private void loadTaskEvents() {
-        OperationResponse<List<TaskEvent>> response = taskEventController.getAllTaskEvents();
+    private void observeActiveUser() {
+        StartupPipeline startupPipeline =
+                ((TaskwardApplication) requireActivity().getApplication()).getStartupPipeline();
+        startupPipeline.getUser().observe(getViewLifecycleOwner(), response -> {
+            if (response == null || !response.isSuccessful()) return;
+
+            userId = response.getData().getId();
+            loadTaskEvents();
+        });
+    }
 
-        if (response.isSuccessful()) {
-            List<TaskEvent> taskEvents = response.getData();
-            TaskEventAdapter adapter = new TaskEventAdapter(taskEvents, this::onTaskStatusChanged);
-            recyclerView.setAdapter(adapter);
-        }
-        else
-            Toast.makeText(requireContext(), "Error loading tasks", Toast.LENGTH_SHORT).show();
+    /**
+     * Loads the active user's task events on the background thread and submits them to the adapter
+     * once they are back on the main thread, which rebinds only the items that changed. Results
+     * arriving after the view is gone are discarded.
+     */
+    private void loadTaskEvents() {
+        ExecutorService executor = ((TaskwardApplication) requireActivity().getApplication()).getBackgroundExecutor();
+        AsyncSlice slice = Tracer.beginAsync("TasksFragment.loadTaskEvents");
+        int loadedUserId = userId;
+        executor.execute(() -> {
+            OperationResponse<List<TaskEvent>> response;
+            try (TraceSection section = Tracer.section("TasksFragment.loadTaskEvents")) {
+                response = taskEventController.getTaskEventsByUser(loadedUserId);
+            }
+            recyclerView.post(() -> {
+                slice.close();
+                if (!isAdded() || getView() == null || loadedUserId != userId) return;
+
+                if (response.isSuccessful())
+                    adapter.submitList(response.getData());
+                else {
+                    adapter.submitList(Collections.emptyList());
+                    Toast.makeText(requireContext(), "Error loading tasks", Toast.LENGTH_SHORT).show();
+                }
+            });
+        });
     }
 
     /**
-     * Handles the task status change event.
+     * Handles the task status change event. The event is completed or reverted, and the user's
+     * points read back, on the background thread, since completing tops up the task's planned
+     * events; the points and the list are updated once back on the main thread.
      *
      * @param taskEvent The task event
      * @param isChecked Whether the task is checked
      */
     private void onTaskStatusChanged(TaskEvent taskEvent, boolean isChecked) {
-        OperationResponse<Void> taskEventResponse = isChecked
-                ? taskEventController.completeTaskEvent(taskEvent.getId())
-                : taskEventController.revertTaskEventCompletion(taskEvent.getId());
-
-        if (taskEventResponse.isSuccessful()){
-            updateUserPoints(taskEvent.getUserId());
-            loadTaskEvents(); // TODO refresh the list is the best practice?
-        }
-        else {
-            Toast.makeText(requireContext(), "Error updating task status", Toast.LENGTH_SHORT).show();
-        }
+        ExecutorService executor = ((TaskwardApplication) requireActivity().getApplication()).getBackgroundExecutor();
+        UserController userController = ServiceContainer.from(requireContext()).getUserController();
+        int taskEventId = taskEvent.getId();
+        int eventUserId = taskEvent.getUserId();
+        executor.execute(() -> {
+            OperationResponse<Void> taskEventResponse;
+            OperationResponse<User> userResponse = null;
+            try (TraceSection section = Tracer.section("TasksFragment.onTaskStatusChanged")) {
+                taskEventResponse = isChecked
+                        ? taskEventController.completeTaskEvent(taskEventId)
+                        : taskEventController.revertTaskEventCompletion(taskEventId);
+                if (taskEventResponse.isSuccessful())
+                    userResponse = userController.getUserById(eventUserId);
+            }
+            OperationResponse<User> pointsResponse = userResponse;
+            recyclerView.post(() -> {
+                if (!isAdded() || getView() == null) return;
+
+                if (taskEventResponse.isSuccessful()) {
+                    updateUserPoints(pointsResponse);
+                    loadTaskEvents(); // Diffed against the shown list, so only this item is rebound
+                } else {
+                    Toast.makeText(requireContext(), "Error updating task status", Toast.LENGTH_SHORT).show();
+                }
+            });
+        });
     }
 
     /**
-     * Updates the user points based on the task event.
+     * Shows the user's points read back after a task event changed.
      *
-     * @param userId The user ID
+     * @param userResponse The response of reading the user
      */
-    private void updateUserPoints(int userId) {
-        UserController userController = new UserController(requireContext());
-        OperationResponse<User> userResponse = userController.getUserById(userId);
-
-        if (userResponse.isSuccessful())
-            navigationHelper.updatePoints(userResponse.getData().getPoints());
-        else
+    private void updateUserPoints(@NonNull OperationResponse<User> userResponse) {
+        if (userResponse.isSuccessful()) {
+            if (navigationHelper != null)
+                navigationHelper.updatePoints(userResponse.getData().getPoints());
+        } else {
             Toast.makeText(requireContext(), "Error updating points", Toast.LENGTH_SHORT).show();
+        }
     }
 
     /**
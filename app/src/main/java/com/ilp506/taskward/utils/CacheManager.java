@@ -4,6 +4,12 @@ import android.content.Context;
 import android.content.SharedPreferences;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.ilp506.taskward.utils.metrics.Counter;
+import com.ilp506.taskward.utils.metrics.MetricsRegistry;
+
+import java.time.LocalDateTime;
 
 /**
  * A utility class for managing cached data using SharedPreferences.
@@ -14,9 +20,13 @@ public class CacheManager {  // TODO SINGLETON
     private static final String PREFS_NAME = "user_cache";
 
     private static final String KEY_USER_ID = "user_id";
+    private static final String KEY_EXPIRY_WATERMARK = "expiry_watermark";
 
-    private static final int DEFAULT_USER_ID = 1;
+    /** The user ID returned while no profile has been selected on the device. */
+    public static final int NO_USER_ID = 0;
 
+    private static final Counter hits = MetricsRegistry.getInstance().counter("CacheManager.hits");
+    private static final Counter misses = MetricsRegistry.getInstance().counter("CacheManager.misses");
 
     private final SharedPreferences sharedPreferences;
 
@@ -39,12 +49,40 @@ public class CacheManager {  // TODO SINGLETON
     }
 
     /**
-     * Retrieves the user ID from the cache.
+     * Retrieves the ID of the active user from the cache.
      *
-     * @return The stored user ID, or the default value if no ID is stored.
+     * @return The stored user ID, or {@link #NO_USER_ID} if no profile has been selected.
      */
     public int getUserId() {
-        return sharedPreferences.getInt(KEY_USER_ID, DEFAULT_USER_ID);
+        if (sharedPreferences.contains(KEY_USER_ID)) hits.increment();
+        else misses.increment();
+        return sharedPreferences.getInt(KEY_USER_ID, NO_USER_ID);
+    }
+
+    /**
+     * Saves the scheduled date up to which a user's task events have been checked for expiry.
+     *
+     * @param userId The ID of the user.
+     * @param watermark The watermark to save.
+     */
+    public void saveExpiryWatermark(int userId, @NonNull LocalDateTime watermark) {
+        sharedPreferences.edit()
+                .putString(KEY_EXPIRY_WATERMARK + "_" + userId, DateUtils.formatLocalDateTime(watermark))
+                .apply();
+    }
+
+    /**
+     * Retrieves the scheduled date up to which a user's task events have been checked for expiry.
+     * Falls back to the watermark shared by all users before they had their own.
+     *
+     * @param userId The ID of the user.
+     * @return The stored watermark, or null if no expiry check has run yet.
+     */
+    @Nullable
+    public LocalDateTime getExpiryWatermark(int userId) {
+        String shared = sharedPreferences.getString(KEY_EXPIRY_WATERMARK, null);
+        return DateUtils.parseLocalDateTime(
+                sharedPreferences.getString(KEY_EXPIRY_WATERMARK + "_" + userId, shared));
     }
 
     /**
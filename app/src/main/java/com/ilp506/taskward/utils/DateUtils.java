@@ -1,7 +1,5 @@
 package com.ilp506.taskward.utils;
 
-import android.util.Log;
-
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -42,7 +40,7 @@ public class DateUtils {
         try {
             return LocalDateTime.parse(dateString, getDefaultFormatter());
         } catch (DateTimeParseException e) {
-            Log.e(TAG, "Error parsing date string: " + dateString, e);
+            Logger.e(TAG, "Error parsing date string: " + dateString, e);
             return null;
         }
     }
@@ -75,7 +73,7 @@ public class DateUtils {
 
             return parseLocalDateTime(date.atStartOfDay().format(getDefaultFormatter()));
         } catch (DateTimeParseException e) {
-            Log.e(TAG, "Error converting date string: " + dateString, e);
+            Logger.e(TAG, "Error converting date string: " + dateString, e);
             return null;
         }
     }
@@ -0,0 +1,178 @@
+package com.ilp506.taskward.utils;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Priority queue of event IDs by due time, for finding the next due events without a query.
+ *
+ * A binary min-heap kept in parallel primitive arrays, with a map from event ID to heap slot so
+ * an event can be cancelled or rescheduled in O(log n). Events due at the same time come out in
+ * ID order. Due times are plain longs, e.g. epoch seconds.
+ *
+ * Not thread-safe.
+ */
+public final class DueEventQueue {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] dueTimes;
+    private int[] eventIds;
+    private final Map<Integer, Integer> slots;
+    private int size;
+
+    public DueEventQueue() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a DueEventQueue sized for a number of events.
+     *
+     * @param capacity The number of events expected.
+     */
+    public DueEventQueue(int capacity) {
+        capacity = Math.max(capacity, 1);
+        this.dueTimes = new long[capacity];
+        this.eventIds = new int[capacity];
+        this.slots = new HashMap<>(capacity * 4 / 3 + 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int eventId) {
+        return slots.containsKey(eventId);
+    }
+
+    /**
+     * Adds an event, or moves it to a new due time if it is queued already.
+     *
+     * @param eventId The event ID.
+     * @param dueTime The time the event is due.
+     */
+    public void add(int eventId, long dueTime) {
+        Integer slot = slots.get(eventId);
+        if (slot != null) {
+            long previous = dueTimes[slot];
+            dueTimes[slot] = dueTime;
+            if (dueTime < previous) siftUp(slot);
+            else siftDown(slot);
+            return;
+        }
+
+        if (size == dueTimes.length) {
+            dueTimes = Arrays.copyOf(dueTimes, size * 2);
+            eventIds = Arrays.copyOf(eventIds, size * 2);
+        }
+        dueTimes[size] = dueTime;
+        eventIds[size] = eventId;
+        slots.put(eventId, size);
+        siftUp(size++);
+    }
+
+    /**
+     * Cancels an event.
+     *
+     * @param eventId The event ID.
+     * @return true if the event was queued.
+     */
+    public boolean remove(int eventId) {
+        Integer slot = slots.remove(eventId);
+        if (slot == null) return false;
+
+        int last = --size;
+        if (slot != last) {
+            move(last, slot);
+            siftDown(slot);
+            siftUp(slot);
+        }
+        return true;
+    }
+
+    /**
+     * @return The due time of the next event, or {@link Long#MAX_VALUE} if the queue is empty.
+     */
+    public long peekDueTime() {
+        return size == 0 ? Long.MAX_VALUE : dueTimes[0];
+    }
+
+    /**
+     * @return The ID of the next event, or -1 if the queue is empty.
+     */
+    public int peekEventId() {
+        return size == 0 ? -1 : eventIds[0];
+    }
+
+    /**
+     * Removes the events due at or before a given time, in due order.
+     *
+     * @param now The current time.
+     * @param consumer Receives the IDs of the due events.
+     * @return The number of events removed.
+     */
+    public int pollDue(long now, @NonNull IntConsumer consumer) {
+        int count = 0;
+        while (size > 0 && dueTimes[0] <= now) {
+            int eventId = eventIds[0];
+            remove(eventId);
+            consumer.accept(eventId);
+            count++;
+        }
+        return count;
+    }
+
+    public void clear() {
+        size = 0;
+        slots.clear();
+    }
+
+    private void siftUp(int slot) {
+        long dueTime = dueTimes[slot];
+        int eventId = eventIds[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!before(dueTime, eventId, dueTimes[parent], eventIds[parent])) break;
+            move(parent, slot);
+            slot = parent;
+        }
+        place(dueTime, eventId, slot);
+    }
+
+    private void siftDown(int slot) {
+        long dueTime = dueTimes[slot];
+        int eventId = eventIds[slot];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            int right = child + 1;
+            if (right < size && before(dueTimes[right], eventIds[right], dueTimes[child], eventIds[child]))
+                child = right;
+            if (!before(dueTimes[child], eventIds[child], dueTime, eventId)) break;
+            move(child, slot);
+            slot = child;
+        }
+        place(dueTime, eventId, slot);
+    }
+
+    private void move(int from, int to) {
+        place(dueTimes[from], eventIds[from], to);
+    }
+
+    private void place(long dueTime, int eventId, int slot) {
+        dueTimes[slot] = dueTime;
+        eventIds[slot] = eventId;
+        slots.put(eventId, slot);
+    }
+
+    private static boolean before(long dueTime, int eventId, long otherDueTime, int otherEventId) {
+        return dueTime < otherDueTime || (dueTime == otherDueTime && eventId < otherEventId);
+    }
+}
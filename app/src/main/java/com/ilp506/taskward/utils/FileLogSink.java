@@ -0,0 +1,263 @@
+package com.ilp506.taskward.utils;
+
+import androidx.annotation.NonNull;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link LogSink} writing messages to size-rotated files on a background thread.
+ *
+ * Logging threads only add the record to a bounded lock-free queue. The writer thread drains it
+ * in batches, writes each batch with a single flush, and rotates the files once the current one
+ * exceeds its size limit: 'taskward.log' becomes 'taskward.1.log', and so on up to the file limit,
+ * past which the oldest file is deleted. When the queue is full, the record is dropped or the
+ * logging thread waits for room, depending on the {@link OverflowPolicy}; dropped records are
+ * counted and reported in the file. {@link #close()} writes everything queued before it was
+ * called; records logged while it runs may be dropped.
+ */
+public final class FileLogSink implements LogSink, Closeable {
+    private static final String TAG = FileLogSink.class.getSimpleName();
+
+    /**
+     * What a logging thread does when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Drop the record and count it. */
+        DROP,
+        /** Wait until the writer makes room. */
+        BLOCK
+    }
+
+    static final String FILE_PREFIX = "taskward";
+    static final String FILE_EXTENSION = ".log";
+
+    private static final int BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final File directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+
+    private final ConcurrentLinkedQueue<LogRecord> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writerThread;
+
+    private volatile boolean closed;
+    private volatile boolean writerParked;
+
+    // Writer thread only
+    private Writer writer;
+    private long fileBytes;
+
+    /**
+     * Creates the sink and starts its writer thread.
+     *
+     * @param directory The directory of the log files; created if missing.
+     * @param maxFileBytes The size past which the current file is rotated.
+     * @param maxFiles The number of files kept, including the current one.
+     * @param capacity The number of records the queue holds.
+     * @param overflowPolicy What to do when the queue is full.
+     */
+    public FileLogSink(@NonNull File directory, long maxFileBytes, int maxFiles, int capacity,
+                       @NonNull OverflowPolicy overflowPolicy) {
+        if (maxFileBytes <= 0 || maxFiles <= 0 || capacity <= 0)
+            throw new IllegalArgumentException("File size, file count and capacity must be positive.");
+
+        this.directory = directory;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+
+        writerThread = new Thread(this::runWriter, "log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void accept(@NonNull LogRecord record) {
+        if (closed) {
+            dropped.incrementAndGet();
+            return;
+        }
+
+        while (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            if (overflowPolicy == OverflowPolicy.DROP || closed) {
+                dropped.incrementAndGet();
+                return;
+            }
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+        queue.offer(record);
+        if (writerParked) LockSupport.unpark(writerThread);
+    }
+
+    /**
+     * Gets the number of records dropped because the queue was full or the sink closed.
+     *
+     * @return The number of dropped records.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets the current log file; rotated files are numbered from 1, newest first.
+     *
+     * @return The current log file.
+     */
+    @NonNull
+    public File getCurrentFile() {
+        return new File(directory, FILE_PREFIX + FILE_EXTENSION);
+    }
+
+    /**
+     * Stops accepting records, writes everything already queued and closes the current file.
+     * Waits for the writer thread to finish.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        LockSupport.unpark(writerThread);
+        boolean interrupted = false;
+        while (writerThread.isAlive()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void runWriter() {
+        long reportedDrops = 0;
+        try {
+            openCurrentFile();
+            while (true) {
+                // Read before draining, so records queued before close() are always written
+                boolean closing = closed;
+                int written = drainBatch();
+
+                long drops = dropped.get();
+                if (drops > reportedDrops) {
+                    writeLine(formatTimestamp(System.currentTimeMillis()) + " W/" + TAG + ": " +
+                            (drops - reportedDrops) + " log records dropped");
+                    reportedDrops = drops;
+                    written++;
+                }
+                if (written > 0) writer.flush();
+
+                if (written >= BATCH_SIZE) continue;
+                if (closing && queue.isEmpty()) break;
+
+                writerParked = true;
+                if (queue.isEmpty() && !closed) LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                writerParked = false;
+            }
+        } catch (IOException e) {
+            // Stop accepting records, so blocked logging threads give up instead of waiting forever
+            closed = true;
+            Logger.removeSink(this);
+            Logger.e(TAG, "Log file writer failed: " + e.getMessage(), e);
+        } finally {
+            closeCurrentFile();
+        }
+    }
+
+    private int drainBatch() throws IOException {
+        int written = 0;
+        LogRecord record;
+        while (written < BATCH_SIZE && (record = queue.poll()) != null) {
+            queued.decrementAndGet();
+            writeRecord(record);
+            written++;
+        }
+        return written;
+    }
+
+    private void writeRecord(@NonNull LogRecord record) throws IOException {
+        StringBuilder line = new StringBuilder(64 + (record.getMessage() == null ? 4 : record.getMessage().length()));
+        line.append(formatTimestamp(record.getTimestampMillis())).append(' ')
+                .append(record.getLevel().getLetter()).append('/')
+                .append(record.getTag()).append(": ")
+                .append(record.getMessage());
+        if (record.getThrowable() != null) {
+            StringWriter stackTrace = new StringWriter();
+            record.getThrowable().printStackTrace(new PrintWriter(stackTrace));
+            line.append('\n').append(stackTrace.toString().trim());
+        }
+        writeLine(line.toString());
+    }
+
+    private void writeLine(@NonNull String line) throws IOException {
+        if (fileBytes >= maxFileBytes) rotate();
+        writer.write(line);
+        writer.write('\n');
+        // Exact for ASCII, which log lines nearly always are
+        fileBytes += line.length() + 1;
+    }
+
+    private void rotate() throws IOException {
+        closeCurrentFile();
+        new File(directory, FILE_PREFIX + "." + (maxFiles - 1) + FILE_EXTENSION).delete();
+        for (int i = maxFiles - 2; i >= 1; i--) {
+            File older = new File(directory, FILE_PREFIX + "." + i + FILE_EXTENSION);
+            if (older.exists()) older.renameTo(new File(directory, FILE_PREFIX + "." + (i + 1) + FILE_EXTENSION));
+        }
+        File current = getCurrentFile();
+        if (maxFiles > 1) current.renameTo(new File(directory, FILE_PREFIX + ".1" + FILE_EXTENSION));
+        else current.delete();
+        openCurrentFile();
+    }
+
+    private void openCurrentFile() throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs())
+            throw new IOException("Cannot create log directory " + directory);
+        File current = getCurrentFile();
+        fileBytes = current.length();
+        writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(current, true), StandardCharsets.UTF_8));
+    }
+
+    private void closeCurrentFile() {
+        if (writer == null) return;
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+            // Nothing left to do with a file that cannot be closed
+        }
+        writer = null;
+    }
+
+    @NonNull
+    private static String formatTimestamp(long timestampMillis) {
+        return TIMESTAMP_FORMAT.format(Instant.ofEpochMilli(timestampMillis));
+    }
+}
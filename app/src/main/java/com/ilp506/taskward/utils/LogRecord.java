@@ -0,0 +1,52 @@
+package com.ilp506.taskward.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * One message accepted by {@link Logger}, as kept in its in-memory buffer.
+ */
+public final class LogRecord {
+    private final long timestampMillis;
+    private final Logger.Level level;
+    private final String tag;
+    private final String message;
+    private final Throwable throwable;
+
+    public LogRecord(long timestampMillis, @NonNull Logger.Level level, String tag, String message,
+                     @Nullable Throwable throwable) {
+        this.timestampMillis = timestampMillis;
+        this.level = level;
+        this.tag = tag;
+        this.message = message;
+        this.throwable = throwable;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    @NonNull
+    public Logger.Level getLevel() {
+        return level;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Nullable
+    public Throwable getThrowable() {
+        return throwable;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return level.getLetter() + "/" + tag + ": " + message;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ilp506.taskward.utils;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Destination for the messages accepted by {@link Logger}, besides the Android log.
+ */
+public interface LogSink {
+    /**
+     * Receives a message. Called on the thread that logged it.
+     *
+     * @param record The message.
+     */
+    void accept(@NonNull LogRecord record);
+}
@@ -2,15 +2,182 @@ package com.ilp506.taskward.utils;
 
 import android.util.Log;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
 /**
  * Utility class to log messages to the console.
  *
- * This class provides methods to log debug, info, warning, and error messages.
- * The logs can be enabled or disabled based on the build configuration.
+ * This class provides methods to log debug, info, warning, and error messages. A message is only
+ * logged when its level reaches the threshold of its tag: the global level unless a level was set
+ * for that tag. Below the threshold a call returns after the level check, so messages should be
+ * passed as a constant with arguments ({@code "Task {} not found", taskId}) or as a supplier rather
+ * than built up front; arguments are only formatted, and suppliers only called, when the message
+ * is logged. Numeric arguments have primitive overloads, so they are not boxed either.
+ *
+ * Accepted messages are kept in a fixed-size in-memory buffer that overwrites the oldest entry,
+ * so recent logs can be inspected or attached to reports, and are handed to the registered
+ * {@link LogSink}s, e.g. a {@link FileLogSink} keeping them across process death.
  */
 public class Logger {
 
-    private static final boolean ENABLE_LOGS = true;
+    /**
+     * Log levels, from the most to the least verbose.
+     */
+    public enum Level {
+        DEBUG(Log.DEBUG, 'D'),
+        INFO(Log.INFO, 'I'),
+        WARN(Log.WARN, 'W'),
+        ERROR(Log.ERROR, 'E'),
+        OFF(Integer.MAX_VALUE, '-');
+
+        private final int priority;
+        private final char letter;
+
+        Level(int priority, char letter) {
+            this.priority = priority;
+            this.letter = letter;
+        }
+
+        public char getLetter() {
+            return letter;
+        }
+    }
+
+    private static final Level DEFAULT_LEVEL = Level.DEBUG;
+    private static final int BUFFER_CAPACITY = 256;
+
+    private static final ConcurrentHashMap<String, Level> tagLevels = new ConcurrentHashMap<>();
+    private static final AtomicReferenceArray<LogRecord> buffer = new AtomicReferenceArray<>(BUFFER_CAPACITY);
+    private static final AtomicLong bufferCount = new AtomicLong();
+    private static final CopyOnWriteArrayList<LogSink> sinks = new CopyOnWriteArrayList<>();
+
+    private static volatile Level level = DEFAULT_LEVEL;
+    private static volatile boolean hasTagLevels;
+    private static volatile boolean consoleEnabled = true;
+
+    /**
+     * Enables or disables logging at runtime, e.g. by hosts without the Android logger such as
+     * the JVM benchmarks. Disabling sets the global level to {@link Level#OFF}; enabling restores
+     * the default level.
+     *
+     * @param enabled Whether messages are logged.
+     */
+    public static void setEnabled(boolean enabled) {
+        level = enabled ? DEFAULT_LEVEL : Level.OFF;
+    }
+
+    /**
+     * Sets the global threshold, used by every tag without a level of its own.
+     *
+     * @param threshold The least severe level logged.
+     */
+    public static void setLevel(@NonNull Level threshold) {
+        level = threshold;
+    }
+
+    /**
+     * Sets the threshold of one tag, overriding the global level.
+     *
+     * @param tag The tag.
+     * @param threshold The least severe level logged for the tag, or null to follow the global level again.
+     */
+    public static void setLevel(@NonNull String tag, @Nullable Level threshold) {
+        if (threshold == null) tagLevels.remove(tag);
+        else tagLevels.put(tag, threshold);
+        hasTagLevels = !tagLevels.isEmpty();
+    }
+
+    /**
+     * Gets the threshold applied to a tag.
+     *
+     * @param tag The tag.
+     * @return The tag's own level, or the global level.
+     */
+    @NonNull
+    public static Level getLevel(@NonNull String tag) {
+        if (hasTagLevels) {
+            Level tagLevel = tagLevels.get(tag);
+            if (tagLevel != null) return tagLevel;
+        }
+        return level;
+    }
+
+    /**
+     * Enables or disables writing to the Android log. Messages keep reaching the in-memory buffer.
+     *
+     * @param enabled Whether messages are written to the Android log.
+     */
+    public static void setConsoleEnabled(boolean enabled) {
+        consoleEnabled = enabled;
+    }
+
+    /**
+     * Registers a sink receiving every accepted message, on the logging thread.
+     *
+     * @param sink The sink; it runs on the logging thread, so it should hand records off quickly.
+     */
+    public static void addSink(@NonNull LogSink sink) {
+        sinks.addIfAbsent(sink);
+    }
+
+    /**
+     * Unregisters a sink. The caller remains responsible for closing it.
+     *
+     * @param sink The sink.
+     */
+    public static void removeSink(@NonNull LogSink sink) {
+        sinks.remove(sink);
+    }
+
+    /**
+     * Tells whether a message would be logged, e.g. before building an expensive one.
+     *
+     * @param messageLevel The level of the message.
+     * @param tag The tag of the message.
+     * @return true if the message reaches the threshold of its tag.
+     */
+    public static boolean isLoggable(@NonNull Level messageLevel, String tag) {
+        if (messageLevel == Level.OFF) return false;
+        Level threshold = level;
+        if (hasTagLevels && tag != null) {
+            Level tagLevel = tagLevels.get(tag);
+            if (tagLevel != null) threshold = tagLevel;
+        }
+        return messageLevel.compareTo(threshold) >= 0;
+    }
+
+    /**
+     * Gets the messages still held in the in-memory buffer.
+     *
+     * @return The messages, oldest first.
+     */
+    @NonNull
+    public static List<LogRecord> getRecentRecords() {
+        List<LogRecord> recent = new ArrayList<>();
+        long newest = bufferCount.get();
+        for (long i = Math.max(0, newest - BUFFER_CAPACITY); i < newest; i++) {
+            LogRecord record = buffer.get((int) (i % BUFFER_CAPACITY));
+            if (record != null) recent.add(record);
+        }
+        return recent;
+    }
+
+    /**
+     * Clears the in-memory buffer.
+     */
+    public static void clearRecentRecords() {
+        for (int i = 0; i < BUFFER_CAPACITY; i++) buffer.set(i, null);
+        bufferCount.set(0);
+    }
 
     /**
      * Logs a debug message.
@@ -19,28 +186,52 @@ public class Logger {
      * @param message The message to be logged.
      */
     public static void d(String tag, String message) {
-        if (ENABLE_LOGS) Log.d(tag, message);
+        if (isLoggable(Level.DEBUG, tag)) log(Level.DEBUG, tag, message, null);
     }
 
     /**
-     * Logs an error message with an optional throwable.
+     * Logs a debug message built only if it is logged.
      *
      * @param tag The tag identifying the source of the log message.
-     * @param message The message to be logged.
-     * @param throwable The optional throwable to be logged (can be null).
+     * @param message Supplies the message to be logged.
      */
-    public static void e(String tag, String message, Throwable throwable) {
-        if (ENABLE_LOGS) Log.e(tag, message, throwable);
+    public static void d(String tag, @NonNull Supplier<String> message) {
+        if (isLoggable(Level.DEBUG, tag)) log(Level.DEBUG, tag, message.get(), null);
     }
 
     /**
-     * Logs an error message.
+     * Logs a debug message with one argument substituted for its {@code {}} placeholder.
      *
      * @param tag The tag identifying the source of the log message.
-     * @param message The message to be logged.
+     * @param format The message, with one placeholder.
+     * @param arg The argument, formatted only if the message is logged.
      */
-    public static void e(String tag, String message) {
-        if (ENABLE_LOGS) Log.e(tag, message);
+    public static void d(String tag, String format, Object arg) {
+        if (isLoggable(Level.DEBUG, tag)) log(Level.DEBUG, tag, format(format, arg, null, 1), null);
+    }
+
+    /**
+     * Logs a debug message with a number substituted for its {@code {}} placeholder, without
+     * boxing it unless the message is logged.
+     *
+     * @param tag The tag identifying the source of the log message.
+     * @param format The message, with one placeholder.
+     * @param arg The argument, e.g. an ID.
+     */
+    public static void d(String tag, String format, long arg) {
+        if (isLoggable(Level.DEBUG, tag)) log(Level.DEBUG, tag, format(format, arg, null, 1), null);
+    }
+
+    /**
+     * Logs a debug message with two arguments substituted for its {@code {}} placeholders.
+     *
+     * @param tag The tag identifying the source of the log message.
+     * @param format The message, with two placeholders.
+     * @param arg1 The first argument, formatted only if the message is logged.
+     * @param arg2 The second argument, formatted only if the message is logged.
+     */
+    public static void d(String tag, String format, Object arg1, Object arg2) {
+        if (isLoggable(Level.DEBUG, tag)) log(Level.DEBUG, tag, format(format, arg1, arg2, 2), null);
     }
 
     /**
@@ -50,7 +241,52 @@ public class Logger {
      * @param message The message to be logged.
      */
     public static void i(String tag, String message) {
-        if (ENABLE_LOGS) Log.i(tag, message);
+        if (isLoggable(Level.INFO, tag)) log(Level.INFO, tag, message, null);
+    }
+
+    /**
+     * Logs an info message built only if it is logged.
+     *
+     * @param tag The tag identifying the source of the log message.
+     * @param message Supplies the message to be logged.
+     */
+    public static void i(String tag, @NonNull Supplier<String> message) {
+        if (isLoggable(Level.INFO, tag)) log(Level.INFO, tag, message.get(), null);
+    }
+
+    /**
+     * Logs an info message with one argument substituted for its {@code {}} placeholder.
+     *
+     * @param tag The tag identifying the source of the log message.
+     * @param format The message, with one placeholder.
+     * @param arg The argument, formatted only if the message is logged.
+     */
+    public static void i(String tag, String format, Object arg) {
+        if (isLoggable(Level.INFO, tag)) log(Level.INFO, tag, format(format, arg, null, 1), null);
+    }
+
+    /**
+     * Logs an info message with a number substituted for its {@code {}} placeholder, without
+     * boxing it unless the message is logged.
+     *
+     * @param tag The tag identifying the source of the log message.
+     * @param format The message, with one placeholder.
+     * @param arg The argument, e.g. an ID.
+     */
+    public static void i(String tag, String format, long arg) {
+        if (isLoggable(Level.INFO, tag)) log(Level.INFO, tag, format(format, arg, null, 1), null);
+    }
+
+    /**
+     * Logs an info message with two arguments substituted for its {@code {}} placeholders.
+     *
+     * @param tag The tag identifying the source of the log message.
+     * @param format The message, with two placeholders.
+     * @param arg1 The first argument, formatted only if the message is logged.
+     * @param arg2 The second argument, formatted only if the message is logged.
+     */
+    public static void i(String tag, String format, Object arg1, Object arg2) {
+        if (isLoggable(Level.INFO, tag)) log(Level.INFO, tag, format(format, arg1, arg2, 2), null);
     }
 
     /**
@@ -60,6 +296,113 @@ public class Logger {
      * @param message The message to be logged.
      */
     public static void w(String tag, String message) {
-        if (ENABLE_LOGS) Log.w(tag, message);
+        if (isLoggable(Level.WARN, tag)) log(Level.WARN, tag, message, null);
+    }
+
+    /**
+     * Logs a warning message built only if it is logged.
+     *
+     * @param tag The tag identifying the source of the log message.
+     * @param message Supplies the message to be logged.
+     */
+    public static void w(String tag, @NonNull Supplier<String> message) {
+        if (isLoggable(Level.WARN, tag)) log(Level.WARN, tag, message.get(), null);
+    }
+
+    /**
+     * Logs a warning message with one argument substituted for its {@code {}} placeholder.
+     *
+     * @param tag The tag identifying the source of the log message.
+     * @param format The message, with one placeholder.
+     * @param arg The argument, formatted only if the message is logged.
+     */
+    public static void w(String tag, String format, Object arg) {
+        if (isLoggable(Level.WARN, tag)) log(Level.WARN, tag, format(format, arg, null, 1), null);
+    }
+
+    /**
+     * Logs a warning message with a number substituted for its {@code {}} placeholder, without
+     * boxing it unless the message is logged.
+     *
+     * @param tag The tag identifying the source of the log message.
+     * @param format The message, with one placeholder.
+     * @param arg The argument, e.g. an ID.
+     */
+    public static void w(String tag, String format, long arg) {
+        if (isLoggable(Level.WARN, tag)) log(Level.WARN, tag, format(format, arg, null, 1), null);
+    }
+
+    /**
+     * Logs a warning message with two arguments substituted for its {@code {}} placeholders.
+     *
+     * @param tag The tag identifying the source of the log message.
+     * @param format The message, with two placeholders.
+     * @param arg1 The first argument, formatted only if the message is logged.
+     * @param arg2 The second argument, formatted only if the message is logged.
+     */
+    public static void w(String tag, String format, Object arg1, Object arg2) {
+        if (isLoggable(Level.WARN, tag)) log(Level.WARN, tag, format(format, arg1, arg2, 2), null);
+    }
+
+    /**
+     * Logs an error message.
+     *
+     * @param tag The tag identifying the source of the log message.
+     * @param message The message to be logged.
+     */
+    public static void e(String tag, String message) {
+        if (isLoggable(Level.ERROR, tag)) log(Level.ERROR, tag, message, null);
+    }
+
+    /**
+     * Logs an error message with an optional throwable.
+     *
+     * @param tag The tag identifying the source of the log message.
+     * @param message The message to be logged.
+     * @param throwable The optional throwable to be logged (can be null).
+     */
+    public static void e(String tag, String message, Throwable throwable) {
+        if (isLoggable(Level.ERROR, tag)) log(Level.ERROR, tag, message, throwable);
+    }
+
+    /**
+     * Logs an error message with one argument substituted for its {@code {}} placeholder.
+     *
+     * @param tag The tag identifying the source of the log message.
+     * @param format The message, with one placeholder.
+     * @param arg The argument, formatted only if the message is logged.
+     * @param throwable The optional throwable to be logged (can be null).
+     */
+    public static void e(String tag, String format, Object arg, Throwable throwable) {
+        if (isLoggable(Level.ERROR, tag)) log(Level.ERROR, tag, format(format, arg, null, 1), throwable);
+    }
+
+    private static void log(@NonNull Level messageLevel, String tag, String message, @Nullable Throwable throwable) {
+        LogRecord record = new LogRecord(System.currentTimeMillis(), messageLevel, tag, message, throwable);
+        long index = bufferCount.getAndIncrement();
+        buffer.set((int) (index % BUFFER_CAPACITY), record);
+        for (LogSink sink : sinks) sink.accept(record);
+
+        if (!consoleEnabled) return;
+        if (throwable != null) message = message + '\n' + Log.getStackTraceString(throwable);
+        Log.println(messageLevel.priority, tag, message);
+    }
+
+    /**
+     * Substitutes the arguments, in order, for the first {@code {}} placeholders of a message.
+     * Placeholders without an argument are left as they are.
+     */
+    @NonNull
+    static String format(String format, Object arg1, Object arg2, int argCount) {
+        if (format == null) return "null";
+        StringBuilder message = new StringBuilder(format.length() + 32);
+        int start = 0;
+        for (int i = 0; i < argCount; i++) {
+            int placeholder = format.indexOf("{}", start);
+            if (placeholder < 0) break;
+            message.append(format, start, placeholder).append(i == 0 ? arg1 : arg2);
+            start = placeholder + 2;
+        }
+        return message.append(format, start, format.length()).toString();
     }
 }
@@ -18,7 +18,10 @@ import androidx.navigation.ui.NavigationUI;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.ilp506.taskward.R;
 import com.ilp506.taskward.exceptions.codes.NavigationErrorCode;
+import com.ilp506.taskward.data.storage.AndroidDatabaseProvider;
 import com.ilp506.taskward.exceptions.custom.NavigationHelperException;
+import com.ilp506.taskward.utils.metrics.Counter;
+import com.ilp506.taskward.utils.metrics.MetricsRegistry;
 
 /**
  * A helper class for managing navigation-related functionality in the app.
@@ -29,6 +32,10 @@ public class NavigationHelper {
 
     private final NavController navController;
     private final MutableLiveData<Integer> pointsLiveData = new MutableLiveData<>();
+    private final Counter databaseOpens = MetricsRegistry.getInstance().counter(AndroidDatabaseProvider.OPENS_METRIC);
+
+    private String currentScreen;
+    private long opensAtScreenStart;
 
     /**
      * Constructor for NavigationHelper.
@@ -103,11 +110,13 @@ public class NavigationHelper {
 
     /**
      * Configures the Toolbar to update its title dynamically.
+     * Also records how many times each screen acquired the database while it was shown.
      *
      * @param toolbar The Toolbar instance.
      */
     public void setupToolbar(@NonNull Toolbar toolbar) {
         navController.addOnDestinationChangedListener((controller, destination, arguments) -> {
+            recordScreenOpens(destination.getDisplayName());
             if (destination.getLabel() != null) {
                 String label = destination.getLabel().toString();
                 TextView toolbarTitle = toolbar.findViewById(R.id.toolbar_title);
@@ -116,6 +125,20 @@ public class NavigationHelper {
         });
     }
 
+    /**
+     * Closes the database-open count of the screen being left and starts one for the next.
+     *
+     * @param nextScreen The name of the screen being shown.
+     */
+    private void recordScreenOpens(@NonNull String nextScreen) {
+        long opens = databaseOpens.getCount();
+        if (currentScreen != null)
+            MetricsRegistry.getInstance().histogram("database.opens_per_screen." + currentScreen)
+                    .record(opens - opensAtScreenStart);
+        currentScreen = nextScreen.substring(nextScreen.lastIndexOf('/') + 1);
+        opensAtScreenStart = opens;
+    }
+
     /**
      * Configures a menu item in the BottomNavigationView with a custom icon and tint color.
      *
@@ -39,7 +39,7 @@ public class SQLScriptUtils {
         if (db == null || context == null)
             throw new IllegalArgumentException("Database and context must not be null.");
 
-        Logger.d(TAG, "Starting execution of SQL script from resource: " + resourceId);
+        Logger.d(TAG, "Starting execution of SQL script from resource: {}", resourceId);
 
         db.beginTransaction();
         try (InputStream inputStream = context.getResources().openRawResource(resourceId);
@@ -56,7 +56,7 @@ public class SQLScriptUtils {
 
             executeParsedSQLCommands(sqlBuilder.toString(), db);
             db.setTransactionSuccessful();
-            Logger.d(TAG, "SQL script from resource " + resourceId + " executed successfully.");
+            Logger.d(TAG, "SQL script from resource {} executed successfully.", resourceId);
 
         } catch (IOException e) {
             Logger.e(TAG, "Error reading SQL script from resource: " + resourceId, e);
@@ -80,7 +80,7 @@ public class SQLScriptUtils {
             List<Statement> statements = CCJSqlParserUtil.parseStatements(sql).getStatements();
 
             for (Statement stmt : statements) {
-                Logger.d(TAG, "Executing SQL: " + stmt);
+                Logger.d(TAG, "Executing SQL: {}", stmt);
 
                 if (stmt instanceof Select)
                     executeSelect(db, stmt.toString());
@@ -89,7 +89,7 @@ public class SQLScriptUtils {
                          stmt instanceof Drop)
                     executeModification(db, stmt.toString());
                 else
-                    Logger.w(TAG, "Unsupported SQL command: " + stmt);
+                    Logger.w(TAG, "Unsupported SQL command: {}", stmt);
             }
         } catch (Exception e) {
             Logger.e(TAG, "Error parsing SQL with JSQLParser.", e);
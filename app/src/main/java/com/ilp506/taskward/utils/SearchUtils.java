@@ -0,0 +1,191 @@
+package com.ilp506.taskward.utils;
+
+import androidx.annotation.NonNull;
+
+import com.ilp506.taskward.data.models.SearchResult;
+import com.ilp506.taskward.data.storage.Rows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * Utility class for building and ranking full-text search queries against the FTS4 indexes.
+ */
+public class SearchUtils {
+
+    public static final String COLUMN_HIGHLIGHTED_TITLE = "highlighted_title";
+    public static final String COLUMN_HIGHLIGHTED_DESCRIPTION = "highlighted_description";
+    public static final String COLUMN_MATCH_INFO = "match_info";
+
+    /**
+     * Relative weight of a hit in the title and in the description, in index column order.
+     */
+    public static final double[] TITLE_DESCRIPTION_WEIGHTS = {2.0, 1.0};
+
+    private static final int MAX_TERMS = 8;
+    private static final int TITLE_SNIPPET_TOKENS = 64;
+    private static final int DESCRIPTION_SNIPPET_TOKENS = 16;
+    private static final String ELLIPSIS = "...";
+
+    private SearchUtils() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Converts free text typed by the user into an FTS prefix query.
+     * Every word becomes a prefix term ("wat" matches "water") and all terms must match.
+     * Characters with a meaning in the FTS query syntax are dropped, so user input can never
+     * produce a malformed MATCH expression.
+     *
+     * @param text The raw search text.
+     * @return The MATCH expression, or an empty string if the text contains no searchable terms.
+     */
+    @NonNull
+    public static String buildPrefixMatchQuery(String text) {
+        if (text == null) return "";
+
+        StringBuilder query = new StringBuilder();
+        StringBuilder term = new StringBuilder();
+        int terms = 0;
+
+        for (int i = 0; i <= text.length() && terms < MAX_TERMS; i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                term.append(Character.toLowerCase(c));
+                continue;
+            }
+            if (term.length() > 0) {
+                if (query.length() > 0) query.append(' ');
+                query.append(term).append('*');
+                term.setLength(0);
+                terms++;
+            }
+        }
+        return query.toString();
+    }
+
+    /**
+     * Builds a search query joining an FTS4 index with its content table.
+     * The query selects every content column plus the highlighted title, a highlighted
+     * description snippet and the raw matchinfo blob used for ranking. It takes the MATCH
+     * expression as its single argument.
+     *
+     * @param ftsTable The name of the FTS4 virtual table.
+     * @param contentTable The name of the content table.
+     * @param idColumn The content table column that matches the index docid.
+     * @return The SQL query.
+     */
+    @NonNull
+    public static String buildSearchQuery(String ftsTable, String contentTable, String idColumn) {
+        return String.format(Locale.ROOT,
+                "SELECT %2$s.*, " +
+                        "snippet(%1$s, '%4$s', '%5$s', '%6$s', 0, %7$d) AS %8$s, " +
+                        "snippet(%1$s, '%4$s', '%5$s', '%6$s', 1, %9$d) AS %10$s, " +
+                        "matchinfo(%1$s, 'pcx') AS %11$s " +
+                        "FROM %1$s JOIN %2$s ON %2$s.%3$s = %1$s.docid " +
+                        "WHERE %1$s MATCH ?",
+                ftsTable, contentTable, idColumn,
+                SearchResult.HIGHLIGHT_START, SearchResult.HIGHLIGHT_END, ELLIPSIS,
+                TITLE_SNIPPET_TOKENS, COLUMN_HIGHLIGHTED_TITLE,
+                DESCRIPTION_SNIPPET_TOKENS, COLUMN_HIGHLIGHTED_DESCRIPTION,
+                COLUMN_MATCH_INFO);
+    }
+
+    /**
+     * Computes a relevance score from an FTS4 matchinfo('pcx') blob.
+     * Each phrase hit in a column contributes its frequency in the row relative to its
+     * frequency across the whole index, so rare terms weigh more than common ones.
+     *
+     * @param matchInfo The matchinfo blob (native byte order unsigned 32-bit integers).
+     * @param columnWeights The weight of each indexed column.
+     * @return The relevance score, higher is better.
+     */
+    public static double score(byte[] matchInfo, @NonNull double[] columnWeights) {
+        if (matchInfo == null || matchInfo.length < 8) return 0;
+
+        IntBuffer info = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder()).asIntBuffer();
+        int phraseCount = info.get(0);
+        int columnCount = info.get(1);
+        double score = 0;
+
+        for (int phrase = 0; phrase < phraseCount; phrase++) {
+            for (int column = 0; column < columnCount; column++) {
+                int base = 2 + 3 * (phrase * columnCount + column);
+                int hitsInRow = info.get(base);
+                int hitsInAllRows = info.get(base + 1);
+                if (hitsInRow > 0 && hitsInAllRows > 0) {
+                    double weight = column < columnWeights.length ? columnWeights[column] : 1.0;
+                    score += weight * hitsInRow / hitsInAllRows;
+                }
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Scores every row of a search result and returns the positions of the best rows.
+     * Only positions and scores are kept while scanning, so callers map just the rows they return.
+     *
+     * @param cursor The rows produced by a query from {@link #buildSearchQuery}.
+     * @param columnWeights The weight of each indexed column.
+     * @param limit The maximum number of positions to return.
+     * @return The best positions, ordered from the most to the least relevant.
+     */
+    @NonNull
+    public static List<RankedPosition> rankPositions(@NonNull Rows cursor,
+                                                     @NonNull double[] columnWeights,
+                                                     int limit) {
+        if (limit <= 0) return Collections.emptyList();
+
+        int matchInfoIndex = cursor.getColumnIndexOrThrow(COLUMN_MATCH_INFO);
+        PriorityQueue<RankedPosition> best = new PriorityQueue<>(limit + 1);
+
+        while (cursor.moveToNext()) {
+            double score = score(cursor.getBlob(matchInfoIndex), columnWeights);
+            if (best.size() < limit)
+                best.add(new RankedPosition(cursor.getPosition(), score));
+            else if (score > best.peek().score) {
+                best.poll();
+                best.add(new RankedPosition(cursor.getPosition(), score));
+            }
+        }
+
+        List<RankedPosition> ranked = new ArrayList<>(best);
+        ranked.sort(Collections.reverseOrder());
+        return ranked;
+    }
+
+    /**
+     * Position of a row in a search cursor together with its relevance score.
+     * Natural ordering is by ascending score, ties broken by the earlier position first.
+     */
+    public static final class RankedPosition implements Comparable<RankedPosition> {
+        private final int position;
+        private final double score;
+
+        RankedPosition(int position, double score) {
+            this.position = position;
+            this.score = score;
+        }
+
+        public int getPosition() {
+            return position;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        @Override
+        public int compareTo(@NonNull RankedPosition other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(other.position, position);
+        }
+    }
+}
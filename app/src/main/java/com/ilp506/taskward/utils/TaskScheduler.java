@@ -1,26 +1,39 @@
 package com.ilp506.taskward.utils;
 
 import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.enums.TaskFrequencyEnum;
 import com.ilp506.taskward.data.models.Task;
 import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.utils.recurrence.Recurrence;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 /**
  * Utility class for generating task event schedules.
  */
 public class TaskScheduler {
+    private static final long CALENDAR_CYCLE_MONTHS = 400 * 12;
+    private static final int MIN_MONTH_LENGTH = 28;
+    private static final int MAX_INITIAL_CAPACITY = 4096;
 
     /**
      * Generates the next scheduled task event for a given task and its last event.
+     * A task with a recurrence rule gets the rule's next occurrence, its first one being the
+     * first match at or after the start date; other tasks recur every frequency interval from
+     * the start date.
      *
      * @param task The task to generate the next event for.
      * @param lastEvent The last scheduled event (can be null if no previous event exists).
-     * @return TaskEvent The next scheduled task event or null if the task's end date is exceeded.
+     * @return TaskEvent The next scheduled task event or null if the task's end date is exceeded
+     *         or its recurrence rule never matches again.
      */
     public static TaskEvent generateNextTaskEvent(Task task, TaskEvent lastEvent) {
         if (task == null)
@@ -33,33 +46,248 @@ public class TaskScheduler {
         LocalDateTime lastScheduledDate = lastEvent != null ? lastEvent.getScheduledDate() : task.getStartDate();
         LocalDateTime nextScheduledDate;
 
+        Recurrence recurrence = task.getRecurrence();
+        if (recurrence != null)
+            nextScheduledDate = lastEvent != null ? recurrence.next(lastScheduledDate) : recurrence.first();
+        else
+            nextScheduledDate = addInterval(lastScheduledDate, task.getFrequency(), task.getFrequencyInterval());
+
+        if (nextScheduledDate == null)
+            return null;
+        if (task.getEndDate() != null && nextScheduledDate.isAfter(task.getEndDate()))
+            return null;
+
+        return newTaskEvent(task, nextScheduledDate, TaskEventStatusEnum.SCHEDULED);
+    }
+
+    private static LocalDateTime addInterval(LocalDateTime date, TaskFrequencyEnum frequency, int interval) {
+        switch (frequency) {
+            case DAILY:
+                return date.plusDays(interval);
+            case WEEKLY:
+                return date.plusWeeks(interval);
+            case MONTHLY:
+                return date.plusMonths(interval);
+            case YEARLY:
+                return date.plusYears(interval);
+            default:
+                throw new IllegalArgumentException("Unsupported frequency: " + frequency);
+        }
+    }
+
+    /**
+     * Works out, for a task not looked at since its last event, every occurrence missed before
+     * {@code now} and the next one due, as {@link #generateNextTaskEvent(Task, TaskEvent)} would
+     * produce them one at a time, including how month-end and leap-day dates are clamped.
+     *
+     * The next occurrence is located with arithmetic rather than by stepping through the gap;
+     * only the missed events themselves are built one by one.
+     *
+     * @param task The task to catch up.
+     * @param lastEvent The last scheduled event (can be null if no previous event exists).
+     * @param now The current date and time; occurrences before it are missed.
+     * @return The missed occurrences, as EXPIRED events, and the next one, as a SCHEDULED event
+     *         unless the task's end date is exceeded first.
+     */
+    public static CatchUp catchUp(Task task, TaskEvent lastEvent, LocalDateTime now) {
+        if (task == null)
+            throw new IllegalArgumentException("Task cannot be null");
+        if (task.getStartDate() == null)
+            throw new IllegalArgumentException("Task must have a start date");
+        if (task.getFrequency() == null)
+            throw new IllegalArgumentException("Task must have a frequency");
+        if (task.getFrequencyInterval() <= 0)
+            throw new IllegalArgumentException("Task must have a positive frequency interval");
+        if (now == null)
+            throw new IllegalArgumentException("Current date cannot be null");
+
+        if (task.getRecurrence() != null)
+            return catchUpByRecurrence(task, lastEvent, now);
+
+        LocalDateTime lastScheduledDate = lastEvent != null ? lastEvent.getScheduledDate() : task.getStartDate();
+        LocalDateTime endDate = task.getEndDate();
+
+        long nextIndex = indexNotBefore(task, lastScheduledDate, now);
+        LocalDateTime nextScheduledDate = occurrence(task, lastScheduledDate, nextIndex);
+
+        List<TaskEvent> missedEvents = new ArrayList<>((int) Math.min(nextIndex - 1, MAX_INITIAL_CAPACITY));
+        TaskEvent previous = lastEvent;
+        for (long i = 1; i < nextIndex; i++) {
+            TaskEvent missed = generateNextTaskEvent(task, previous);
+            if (missed == null) return new CatchUp(missedEvents, null);
+
+            missed.setStatus(TaskEventStatusEnum.EXPIRED);
+            missedEvents.add(missed);
+            previous = missed;
+        }
+
+        if (endDate != null && nextScheduledDate.isAfter(endDate))
+            return new CatchUp(missedEvents, null);
+        return new CatchUp(missedEvents, newTaskEvent(task, nextScheduledDate, TaskEventStatusEnum.SCHEDULED));
+    }
+
+    /**
+     * Returns the occurrences of a task scheduled within a range, in order: the events
+     * {@link #generateNextTaskEvent(Task, TaskEvent)} produces one after another from the task's
+     * start, without generating those before the range. They are SCHEDULED and have no ID.
+     *
+     * @param task The task to generate the occurrences of.
+     * @param from The start of the range, inclusive.
+     * @param to The end of the range, inclusive.
+     * @return The occurrences in the range, oldest first.
+     */
+    public static List<TaskEvent> occurrencesBetween(Task task, LocalDateTime from, LocalDateTime to) {
+        if (task == null)
+            throw new IllegalArgumentException("Task cannot be null");
+        if (task.getStartDate() == null)
+            throw new IllegalArgumentException("Task must have a start date");
+        if (task.getFrequency() == null)
+            throw new IllegalArgumentException("Task must have a frequency");
+        if (task.getFrequencyInterval() <= 0)
+            throw new IllegalArgumentException("Task must have a positive frequency interval");
+        if (from == null || to == null)
+            throw new IllegalArgumentException("Range cannot be null");
+
+        LocalDateTime last = task.getEndDate() != null && task.getEndDate().isBefore(to) ? task.getEndDate() : to;
+        List<TaskEvent> occurrences = new ArrayList<>();
+
+        Recurrence recurrence = task.getRecurrence();
+        if (recurrence != null) {
+            for (LocalDateTime date : recurrence.between(from, last))
+                occurrences.add(newTaskEvent(task, date, TaskEventStatusEnum.SCHEDULED));
+            return occurrences;
+        }
+
+        LocalDateTime date = occurrence(task, task.getStartDate(), indexNotBefore(task, task.getStartDate(), from));
+        for (; !date.isAfter(last); date = addInterval(date, task.getFrequency(), task.getFrequencyInterval()))
+            occurrences.add(newTaskEvent(task, date, TaskEventStatusEnum.SCHEDULED));
+        return occurrences;
+    }
+
+    /**
+     * Returns the index of the first occurrence of a plain task, counted from a scheduled date,
+     * that is not before a given date. The index is at least 1, the scheduled date itself being 0.
+     */
+    private static long indexNotBefore(Task task, LocalDateTime scheduledDate, LocalDateTime date) {
+        int interval = task.getFrequencyInterval();
+        long index;
         switch (task.getFrequency()) {
             case DAILY:
-                nextScheduledDate = lastScheduledDate.plusDays(task.getFrequencyInterval());
-                break;
             case WEEKLY:
-                nextScheduledDate = lastScheduledDate.plusWeeks(task.getFrequencyInterval());
+                long stepDays = task.getFrequency() == TaskFrequencyEnum.WEEKLY ? 7L * interval : interval;
+                index = Math.max(1, Math.floorDiv(ChronoUnit.DAYS.between(scheduledDate, date), stepDays));
                 break;
             case MONTHLY:
-                nextScheduledDate = lastScheduledDate.plusMonths(task.getFrequencyInterval());
-                break;
             case YEARLY:
-                nextScheduledDate = lastScheduledDate.plusYears(task.getFrequencyInterval());
+                long stepMonths = task.getFrequency() == TaskFrequencyEnum.YEARLY ? 12L * interval : interval;
+                long monthsBetween = YearMonth.from(scheduledDate).until(YearMonth.from(date), ChronoUnit.MONTHS);
+                index = Math.max(1, Math.floorDiv(monthsBetween, stepMonths));
                 break;
             default:
                 throw new IllegalArgumentException("Unsupported frequency: " + task.getFrequency());
         }
+        while (occurrence(task, scheduledDate, index).isBefore(date)) index++;
+        return index;
+    }
 
-        if (task.getEndDate() != null && nextScheduledDate.isAfter(task.getEndDate()))
-            return null;
+    /**
+     * Returns the occurrence of a plain task reached from a scheduled date after {@code index} intervals.
+     */
+    private static LocalDateTime occurrence(Task task, LocalDateTime scheduledDate, long index) {
+        int interval = task.getFrequencyInterval();
+        switch (task.getFrequency()) {
+            case DAILY:
+                return scheduledDate.plusDays(index * interval);
+            case WEEKLY:
+                return scheduledDate.plusDays(index * 7L * interval);
+            case MONTHLY:
+                return monthlyOccurrence(scheduledDate, interval, index);
+            case YEARLY:
+                return monthlyOccurrence(scheduledDate, 12L * interval, index);
+            default:
+                throw new IllegalArgumentException("Unsupported frequency: " + task.getFrequency());
+        }
+    }
 
+    /**
+     * Catches up a task with a recurrence rule, whose compiled recurrence jumps straight from one
+     * occurrence to the next.
+     */
+    private static CatchUp catchUpByRecurrence(Task task, TaskEvent lastEvent, LocalDateTime now) {
+        List<TaskEvent> missedEvents = new ArrayList<>();
+        TaskEvent event = generateNextTaskEvent(task, lastEvent);
+        while (event != null && event.getScheduledDate().isBefore(now)) {
+            event.setStatus(TaskEventStatusEnum.EXPIRED);
+            missedEvents.add(event);
+            event = generateNextTaskEvent(task, event);
+        }
+        return new CatchUp(missedEvents, event);
+    }
+
+    /**
+     * Returns the date reached by adding {@code stepMonths} months {@code index} times. Each
+     * addition clamps the day to the length of the month reached, so the day of month is the
+     * smallest of the original day and the lengths of all months visited. The Gregorian calendar
+     * repeats every 400 years, so at most one such cycle of visited months needs to be scanned.
+     */
+    private static LocalDateTime monthlyOccurrence(LocalDateTime from, long stepMonths, long index) {
+        YearMonth fromMonth = YearMonth.from(from);
+        long cycleSteps = CALENDAR_CYCLE_MONTHS / gcd(stepMonths, CALENDAR_CYCLE_MONTHS);
+        int day = from.getDayOfMonth();
+        for (long i = 1; i <= Math.min(index, cycleSteps) && day > MIN_MONTH_LENGTH; i++)
+            day = Math.min(day, fromMonth.plusMonths(i * stepMonths).lengthOfMonth());
+
+        return fromMonth.plusMonths(index * stepMonths).atDay(day).atTime(from.toLocalTime());
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static TaskEvent newTaskEvent(Task task, LocalDateTime scheduledDate, TaskEventStatusEnum status) {
         TaskEvent newEvent = new TaskEvent();
         newEvent.setTaskId(task.getId());
-        newEvent.setUserId(1); // TODO Replace with actual user ID
+        newEvent.setUserId(task.getUserId());
         newEvent.setPointsEarned(task.getPointsReward());
-        newEvent.setScheduledDate(nextScheduledDate);
-        newEvent.setStatus(TaskEventStatusEnum.SCHEDULED);
-
+        newEvent.setScheduledDate(scheduledDate);
+        newEvent.setStatus(status);
         return newEvent;
     }
+
+    /**
+     * The occurrences {@link #catchUp(Task, TaskEvent, LocalDateTime)} works out for a task.
+     */
+    public static final class CatchUp {
+        private final List<TaskEvent> missedEvents;
+        private final TaskEvent nextEvent;
+
+        CatchUp(List<TaskEvent> missedEvents, TaskEvent nextEvent) {
+            this.missedEvents = Collections.unmodifiableList(missedEvents);
+            this.nextEvent = nextEvent;
+        }
+
+        /**
+         * @return The occurrences before now, oldest first, with the EXPIRED status.
+         */
+        public List<TaskEvent> getMissedEvents() {
+            return missedEvents;
+        }
+
+        /**
+         * @return The next occurrence due, or null if the task's end date is exceeded.
+         */
+        public TaskEvent getNextEvent() {
+            return nextEvent;
+        }
+
+        /**
+         * @return The missed occurrences followed by the next one, to be persisted as one batch.
+         */
+        public List<TaskEvent> getEvents() {
+            List<TaskEvent> events = new ArrayList<>(missedEvents.size() + 1);
+            events.addAll(missedEvents);
+            if (nextEvent != null) events.add(nextEvent);
+            return events;
+        }
+    }
 }
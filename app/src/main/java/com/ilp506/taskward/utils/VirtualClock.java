@@ -0,0 +1,73 @@
+package com.ilp506.taskward.utils;
+
+import androidx.annotation.NonNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Clock standing still until moved, for driving time-based code from tests and simulations
+ * instead of waiting for the wall clock. Every component sharing an instance sees the same time.
+ *
+ * Thread-safe.
+ */
+public final class VirtualClock extends Clock {
+    private final ZoneId zone;
+    private volatile Instant instant;
+
+    /**
+     * Constructs a VirtualClock in a given time zone.
+     *
+     * @param now The local date and time to start at.
+     * @param zone The time zone local times are read in.
+     */
+    public VirtualClock(@NonNull LocalDateTime now, @NonNull ZoneId zone) {
+        this(now.atZone(zone).toInstant(), zone);
+    }
+
+    private VirtualClock(Instant instant, ZoneId zone) {
+        this.instant = instant;
+        this.zone = zone;
+    }
+
+    /**
+     * Moves the clock forward.
+     *
+     * @param duration How far to move; must not be negative.
+     */
+    public synchronized void advance(@NonNull Duration duration) {
+        if (duration.isNegative()) throw new IllegalArgumentException("Duration must not be negative");
+        instant = instant.plus(duration);
+    }
+
+    /**
+     * Moves the clock to a given local date and time, which may be in the past.
+     *
+     * @param now The local date and time to move to.
+     */
+    public void set(@NonNull LocalDateTime now) {
+        instant = now.atZone(zone).toInstant();
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * Returns a clock at the same instant in another zone. It is a snapshot: moving either clock
+     * does not move the other.
+     */
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(this.zone) ? this : new VirtualClock(instant, zone);
+    }
+
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+}
@@ -0,0 +1,36 @@
+package com.ilp506.taskward.utils.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free monotonic counter.
+ * Increments from many threads are spread over internal cells, so they never contend on a
+ * single atomic and never allocate once the cells exist.
+ */
+public class Counter {
+    private final LongAdder count = new LongAdder();
+
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Adds to the counter.
+     *
+     * @param amount The amount to add.
+     */
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Resets the counter to zero. Increments racing with the reset may be lost.
+     */
+    public void reset() {
+        count.reset();
+    }
+}
@@ -0,0 +1,15 @@
+package com.ilp506.taskward.utils.metrics;
+
+/**
+ * Instantaneous value read when metrics are displayed or dumped, e.g. a cache size.
+ * Implementations must be cheap and thread-safe; they are never called on a recording path.
+ */
+public interface Gauge {
+
+    /**
+     * Reads the current value.
+     *
+     * @return The value.
+     */
+    long getValue();
+}
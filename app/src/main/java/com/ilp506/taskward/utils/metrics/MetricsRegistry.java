@@ -0,0 +1,183 @@
+package com.ilp506.taskward.utils.metrics;
+
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the app's counters, gauges, timers and histograms, looked up by name.
+ *
+ * Metrics are created on first lookup and live for the process lifetime. Callers on hot paths
+ * look a metric up once and keep the reference, so recording is only the metric's own
+ * lock-free update. Timers are histograms of durations in nanoseconds, reported in
+ * microseconds; histograms report their values as recorded. Everything can be written out as
+ * JSON through {@link #dump(Writer)}. It follows the Singleton design pattern, so all callers
+ * feed the same registry.
+ */
+public final class MetricsRegistry {
+    private static final MetricsRegistry instance = new MetricsRegistry();
+
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Histogram> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    // Private constructor to enforce the Singleton pattern
+    private MetricsRegistry() {}
+
+    /**
+     * Returns the singleton instance of MetricsRegistry.
+     *
+     * @return The singleton instance.
+     */
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets or creates a counter.
+     *
+     * @param name The metric name, e.g. "CacheManager.hits".
+     * @return The counter.
+     */
+    @NonNull
+    public Counter counter(@NonNull String name) {
+        Counter counter = counters.get(name);
+        return counter != null ? counter : counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Gets or creates a timer, a histogram of durations in nanoseconds.
+     *
+     * @param name The metric name, e.g. "TaskEventController.completeTaskEvent".
+     * @return The timer.
+     */
+    @NonNull
+    public Histogram timer(@NonNull String name) {
+        Histogram timer = timers.get(name);
+        return timer != null ? timer : timers.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    /**
+     * Gets or creates a histogram of plain values, e.g. rows or database opens.
+     *
+     * @param name The metric name.
+     * @return The histogram.
+     */
+    @NonNull
+    public Histogram histogram(@NonNull String name) {
+        Histogram histogram = histograms.get(name);
+        return histogram != null ? histogram : histograms.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    /**
+     * Registers a gauge, replacing any gauge of the same name.
+     *
+     * @param name The metric name.
+     * @param gauge The gauge.
+     */
+    public void gauge(@NonNull String name, @NonNull Gauge gauge) {
+        gauges.put(name, gauge);
+    }
+
+    @NonNull
+    public SortedMap<String, Counter> getCounters() {
+        return new TreeMap<>(counters);
+    }
+
+    @NonNull
+    public SortedMap<String, Gauge> getGauges() {
+        return new TreeMap<>(gauges);
+    }
+
+    @NonNull
+    public SortedMap<String, Histogram> getTimers() {
+        return new TreeMap<>(timers);
+    }
+
+    @NonNull
+    public SortedMap<String, Histogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    /**
+     * Clears all counters, timers and histograms. Gauges keep reporting their live values.
+     */
+    public void reset() {
+        for (Counter counter : counters.values()) counter.reset();
+        for (Histogram timer : timers.values()) timer.reset();
+        for (Histogram histogram : histograms.values()) histogram.reset();
+    }
+
+    /**
+     * Writes all metrics as a JSON document. Timer durations are in microseconds.
+     *
+     * @param out The destination; it is flushed but not closed.
+     * @throws IOException If writing fails.
+     */
+    public void dump(@NonNull Writer out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.setIndent("  ");
+        writeTo(writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes all metrics as one JSON object, e.g. as part of a larger report.
+     *
+     * @param writer The JSON writer, positioned where a value is expected.
+     * @throws IOException If writing fails.
+     */
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+
+        writer.name("counters").beginObject();
+        for (Map.Entry<String, Counter> entry : getCounters().entrySet())
+            writer.name(entry.getKey()).value(entry.getValue().getCount());
+        writer.endObject();
+
+        writer.name("gauges").beginObject();
+        for (Map.Entry<String, Gauge> entry : getGauges().entrySet())
+            writer.name(entry.getKey()).value(entry.getValue().getValue());
+        writer.endObject();
+
+        writer.name("timers_us").beginObject();
+        for (Map.Entry<String, Histogram> entry : getTimers().entrySet())
+            writeHistogram(writer.name(entry.getKey()), entry.getValue(), 1_000);
+        writer.endObject();
+
+        writer.name("histograms").beginObject();
+        for (Map.Entry<String, Histogram> entry : getHistograms().entrySet())
+            writeHistogram(writer.name(entry.getKey()), entry.getValue(), 1);
+        writer.endObject();
+
+        writer.endObject();
+    }
+
+    /**
+     * Writes the count and percentiles of a histogram as a JSON object.
+     *
+     * @param writer The JSON writer, positioned where a value is expected.
+     * @param histogram The histogram.
+     * @param divisor The unit conversion applied to every value, e.g. 1000 for nanoseconds to microseconds.
+     * @throws IOException If writing fails.
+     */
+    public static void writeHistogram(@NonNull JsonWriter writer, @NonNull Histogram histogram,
+                                      long divisor) throws IOException {
+        writer.beginObject();
+        writer.name("count").value(histogram.getCount());
+        writer.name("mean").value(Math.round(histogram.getMean() / divisor));
+        writer.name("p50").value(histogram.getValueAtPercentile(50) / divisor);
+        writer.name("p90").value(histogram.getValueAtPercentile(90) / divisor);
+        writer.name("p99").value(histogram.getValueAtPercentile(99) / divisor);
+        writer.name("max").value(histogram.getMax() / divisor);
+        writer.endObject();
+    }
+}
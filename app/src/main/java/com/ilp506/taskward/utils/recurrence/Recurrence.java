@@ -0,0 +1,236 @@
+package com.ilp506.taskward.utils.recurrence;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.ilp506.taskward.data.enums.TaskFrequencyEnum;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link RecurrenceRule} compiled against a start date, enumerating its occurrences.
+ *
+ * Finding the next occurrence never tests dates one by one: the periods (days, weeks or months)
+ * skipped by the interval are jumped over with arithmetic, and within a week or month the
+ * matching days are a bit mask whose next set bit is the answer. Enumerating the occurrences in
+ * a range therefore costs one such jump per occurrence.
+ *
+ * Instances are immutable and can be shared between threads.
+ */
+public final class Recurrence {
+    /** The Gregorian calendar repeats every 400 years; a month pattern not matched in one cycle never is. */
+    private static final long CALENDAR_CYCLE_MONTHS = 400 * 12;
+
+    private final RecurrenceRule rule;
+    private final LocalDateTime startDate;
+    private final LocalDate startDay;
+    private final LocalTime time;
+    private final long stepMonths;
+    private final int weekdayMask;
+    private final LocalDate firstWeek;
+    private final YearMonth firstMonth;
+    private final int[] monthDays;
+
+    Recurrence(@NonNull RecurrenceRule rule, @NonNull LocalDateTime startDate) {
+        this.rule = rule;
+        this.startDate = startDate;
+        this.startDay = startDate.toLocalDate();
+        this.time = startDate.toLocalTime();
+        this.firstWeek = startDay.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        this.firstMonth = YearMonth.from(startDate);
+        this.stepMonths = rule.getFrequency() == TaskFrequencyEnum.YEARLY
+                ? 12L * rule.getInterval() : rule.getInterval();
+
+        // Without BYxxx parts a rule recurs on the weekday or day of month of its start date
+        this.weekdayMask = rule.getWeekdayMask() != 0
+                ? rule.getWeekdayMask() : 1 << RecurrenceRule.weekdayIndex(startDay.getDayOfWeek());
+        boolean hasMonthlyParts = rule.getWeekdayMask() != 0 || rule.getOrdinalWeekdays().length > 0
+                || rule.getMonthDays().length > 0;
+        this.monthDays = hasMonthlyParts ? rule.getMonthDays() : new int[]{startDay.getDayOfMonth()};
+    }
+
+    @NonNull
+    public RecurrenceRule getRule() {
+        return rule;
+    }
+
+    @NonNull
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Returns the first occurrence, at or after the start date.
+     *
+     * @return The first occurrence, or null if the rule never matches.
+     */
+    @Nullable
+    public LocalDateTime first() {
+        return onOrAfter(startDay);
+    }
+
+    /**
+     * Returns the first occurrence strictly after a given date and time.
+     *
+     * @param after The date and time to search from, exclusive.
+     * @return The next occurrence, or null if the rule never matches again.
+     */
+    @Nullable
+    public LocalDateTime next(@NonNull LocalDateTime after) {
+        LocalDate day = after.toLocalTime().isBefore(time) ? after.toLocalDate() : after.toLocalDate().plusDays(1);
+        return onOrAfter(day);
+    }
+
+    /**
+     * Returns the occurrences within a range, in order. The first one is found directly, then
+     * each following one with {@link #next(LocalDateTime)}.
+     *
+     * @param from The start of the range, inclusive.
+     * @param to The end of the range, inclusive.
+     * @return The occurrences in the range.
+     */
+    @NonNull
+    public List<LocalDateTime> between(@NonNull LocalDateTime from, @NonNull LocalDateTime to) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        LocalDate day = from.toLocalTime().isAfter(time) ? from.toLocalDate().plusDays(1) : from.toLocalDate();
+        for (LocalDateTime occurrence = onOrAfter(day); occurrence != null && !occurrence.isAfter(to);
+             occurrence = next(occurrence))
+            occurrences.add(occurrence);
+        return occurrences;
+    }
+
+    /**
+     * Returns the first occurrence on a day at or after the given one.
+     */
+    @Nullable
+    private LocalDateTime onOrAfter(@NonNull LocalDate day) {
+        if (day.isBefore(startDay)) day = startDay;
+
+        LocalDate occurrence;
+        switch (rule.getFrequency()) {
+            case DAILY:
+                occurrence = nextDaily(day);
+                break;
+            case WEEKLY:
+                occurrence = nextWeekly(day);
+                break;
+            case MONTHLY:
+            case YEARLY:
+                occurrence = nextMonthly(day);
+                break;
+            default:
+                throw new IllegalStateException("Unsupported frequency: " + rule.getFrequency());
+        }
+        return occurrence != null ? occurrence.atTime(time) : null;
+    }
+
+    private LocalDate nextDaily(LocalDate day) {
+        long interval = rule.getInterval();
+        long periods = Math.floorDiv(ChronoUnit.DAYS.between(startDay, day) + interval - 1, interval);
+        return startDay.plusDays(periods * interval);
+    }
+
+    private LocalDate nextWeekly(LocalDate day) {
+        long interval = rule.getInterval();
+        long week = Math.floorDiv(ChronoUnit.DAYS.between(firstWeek, day), 7);
+        int weekday = RecurrenceRule.weekdayIndex(day.getDayOfWeek());
+
+        long skipped = Math.floorMod(week, interval);
+        if (skipped != 0) {
+            week += interval - skipped;
+            weekday = 0;
+        }
+
+        int remaining = weekdayMask >>> weekday << weekday;
+        if (remaining == 0) {
+            week += interval;
+            remaining = weekdayMask;
+        }
+        return firstWeek.plusDays(week * 7 + Integer.numberOfTrailingZeros(remaining));
+    }
+
+    private LocalDate nextMonthly(LocalDate day) {
+        YearMonth month = YearMonth.from(day);
+        long period = Math.floorDiv(firstMonth.until(month, ChronoUnit.MONTHS) + stepMonths - 1, stepMonths);
+        YearMonth candidate = firstMonth.plusMonths(period * stepMonths);
+        int fromDay = candidate.equals(month) ? day.getDayOfMonth() : 1;
+
+        long cycle = CALENDAR_CYCLE_MONTHS / gcd(stepMonths, CALENDAR_CYCLE_MONTHS);
+        for (long i = 0; i <= cycle; i++) {
+            long remaining = monthMask(candidate) >>> fromDay << fromDay;
+            if (remaining != 0)
+                return candidate.atDay(Long.numberOfTrailingZeros(remaining));
+            candidate = candidate.plusMonths(stepMonths);
+            fromDay = 1;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the days of a month the rule matches, as a mask with bit n set for day n.
+     */
+    private long monthMask(@NonNull YearMonth month) {
+        int length = month.lengthOfMonth();
+        int firstWeekday = RecurrenceRule.weekdayIndex(month.atDay(1).getDayOfWeek());
+
+        long mask = 0;
+        for (int monthDay : monthDays) {
+            int day = monthDay > 0 ? monthDay : length + 1 + monthDay;
+            if (day >= 1 && day <= length) mask |= 1L << day;
+        }
+
+        long weekdays = 0;
+        int plainWeekdays = rule.getWeekdayMask();
+        for (int weekday = 0; plainWeekdays != 0 && weekday < 7; weekday++) {
+            if ((plainWeekdays & 1 << weekday) == 0) continue;
+            for (int day = firstDay(firstWeekday, weekday); day <= length; day += 7)
+                weekdays |= 1L << day;
+        }
+        for (int ordinalWeekday : rule.getOrdinalWeekdays()) {
+            int ordinal = RecurrenceRule.ordinalOf(ordinalWeekday);
+            int first = firstDay(firstWeekday, RecurrenceRule.weekdayOf(ordinalWeekday));
+            int day = ordinal > 0
+                    ? first + 7 * (ordinal - 1)
+                    : first + 7 * ((length - first) / 7) + 7 * (ordinal + 1);
+            if (day >= 1 && day <= length) weekdays |= 1L << day;
+        }
+
+        boolean byDay = plainWeekdays != 0 || rule.getOrdinalWeekdays().length > 0;
+        if (byDay) mask = monthDays.length > 0 ? mask & weekdays : weekdays;
+
+        return applySetPositions(mask);
+    }
+
+    private long applySetPositions(long mask) {
+        int[] positions = rule.getSetPositions();
+        if (positions.length == 0 || mask == 0) return mask;
+
+        int count = Long.bitCount(mask);
+        long selected = 0;
+        for (int position : positions) {
+            int index = position > 0 ? position - 1 : count + position;
+            if (index < 0 || index >= count) continue;
+
+            long remaining = mask;
+            for (int i = 0; i < index; i++) remaining &= remaining - 1;
+            selected |= Long.lowestOneBit(remaining);
+        }
+        return selected;
+    }
+
+    private static int firstDay(int firstWeekdayOfMonth, int weekday) {
+        return 1 + Math.floorMod(weekday - firstWeekdayOfMonth, 7);
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+}
@@ -0,0 +1,284 @@
+package com.ilp506.taskward.utils.recurrence;
+
+import androidx.annotation.NonNull;
+
+import com.ilp506.taskward.data.enums.TaskFrequencyEnum;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A recurrence rule in the subset of the iCalendar RRULE syntax (RFC 5545) stored on tasks.
+ *
+ * Supported parts:
+ * <ul>
+ *     <li>{@code FREQ}: DAILY, WEEKLY, MONTHLY or YEARLY (required);</li>
+ *     <li>{@code INTERVAL}: every n-th day, week, month or year (default 1);</li>
+ *     <li>{@code BYDAY}: weekdays, e.g. {@code MO,WE,FR}; MONTHLY and YEARLY rules also take
+ *     ordinals, e.g. {@code 2TU} for the second Tuesday or {@code -1FR} for the last Friday;</li>
+ *     <li>{@code BYMONTHDAY}: days of the month, negative from the end, MONTHLY and YEARLY only;</li>
+ *     <li>{@code BYSETPOS}: picks among the days matched in a month, e.g. {@code -1} for the last,
+ *     MONTHLY and YEARLY only.</li>
+ * </ul>
+ * Weeks start on Monday. A YEARLY rule recurs in the month of its start date, which the BYDAY,
+ * BYMONTHDAY and BYSETPOS parts apply to. Examples:
+ * <pre>
+ * FREQ=WEEKLY;BYDAY=MO,WE,FR                          Mon/Wed/Fri
+ * FREQ=MONTHLY;BYDAY=MO,TU,WE,TH,FR;BYSETPOS=-1       last weekday of the month
+ * FREQ=MONTHLY;BYDAY=2TU                              second Tuesday of the month
+ * FREQ=WEEKLY;INTERVAL=2;BYDAY=TU                     every other Tuesday
+ * </pre>
+ * Rules are immutable; {@link #compile(LocalDateTime)} turns one into a {@link Recurrence}
+ * anchored on a start date.
+ */
+public final class RecurrenceRule {
+    private static final String[] DAY_CODES = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+    private static final int MAX_ORDINAL = 5;
+    private static final int MAX_MONTH_DAY = 31;
+
+    private final TaskFrequencyEnum frequency;
+    private final int interval;
+    private final int weekdayMask;
+    private final int[] ordinalWeekdays;
+    private final int[] monthDays;
+    private final int[] setPositions;
+
+    private RecurrenceRule(TaskFrequencyEnum frequency, int interval, int weekdayMask,
+                           int[] ordinalWeekdays, int[] monthDays, int[] setPositions) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.weekdayMask = weekdayMask;
+        this.ordinalWeekdays = ordinalWeekdays;
+        this.monthDays = monthDays;
+        this.setPositions = setPositions;
+    }
+
+    /**
+     * Parses a rule, e.g. {@code FREQ=MONTHLY;BYDAY=2TU}. An optional {@code RRULE:} prefix is ignored.
+     *
+     * @param rule The rule to parse.
+     * @return The parsed rule.
+     * @throws IllegalArgumentException If the rule is malformed or uses an unsupported part.
+     */
+    @NonNull
+    public static RecurrenceRule parse(@NonNull String rule) {
+        String text = rule.trim().toUpperCase(Locale.ROOT);
+        if (text.startsWith("RRULE:")) text = text.substring("RRULE:".length());
+        if (text.isEmpty())
+            throw new IllegalArgumentException("Recurrence rule cannot be empty");
+
+        TaskFrequencyEnum frequency = null;
+        int interval = 1;
+        int weekdayMask = 0;
+        int[] ordinalWeekdays = new int[0];
+        int[] monthDays = new int[0];
+        int[] setPositions = new int[0];
+
+        for (String part : text.split(";")) {
+            int separator = part.indexOf('=');
+            if (separator <= 0 || separator == part.length() - 1)
+                throw new IllegalArgumentException("Malformed recurrence rule part: " + part);
+            String name = part.substring(0, separator);
+            String value = part.substring(separator + 1);
+
+            switch (name) {
+                case "FREQ":
+                    frequency = TaskFrequencyEnum.fromString(value);
+                    break;
+                case "INTERVAL":
+                    interval = parseNumber(name, value, 1, Integer.MAX_VALUE);
+                    break;
+                case "BYDAY":
+                    List<Integer> ordinals = new ArrayList<>();
+                    for (String day : value.split(",")) {
+                        int weekday = parseWeekday(day.substring(Math.max(0, day.length() - 2)));
+                        if (day.length() == 2) {
+                            weekdayMask |= 1 << weekday;
+                        } else {
+                            int ordinal = parseNumber(name, day.substring(0, day.length() - 2), -MAX_ORDINAL, MAX_ORDINAL);
+                            if (ordinal == 0)
+                                throw new IllegalArgumentException("BYDAY ordinal cannot be 0: " + day);
+                            ordinals.add(encodeOrdinal(ordinal, weekday));
+                        }
+                    }
+                    ordinalWeekdays = ordinals.stream().mapToInt(Integer::intValue).toArray();
+                    break;
+                case "BYMONTHDAY":
+                    monthDays = parseNonZeroList(name, value, MAX_MONTH_DAY);
+                    break;
+                case "BYSETPOS":
+                    setPositions = parseNonZeroList(name, value, MAX_MONTH_DAY);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported recurrence rule part: " + name);
+            }
+        }
+
+        if (frequency == null)
+            throw new IllegalArgumentException("Recurrence rule must have a FREQ part");
+        boolean monthly = frequency == TaskFrequencyEnum.MONTHLY || frequency == TaskFrequencyEnum.YEARLY;
+        if (frequency == TaskFrequencyEnum.DAILY && (weekdayMask != 0 || ordinalWeekdays.length > 0))
+            throw new IllegalArgumentException("BYDAY is not supported on DAILY rules");
+        if (!monthly && (ordinalWeekdays.length > 0 || monthDays.length > 0 || setPositions.length > 0))
+            throw new IllegalArgumentException("BYDAY ordinals, BYMONTHDAY and BYSETPOS need a MONTHLY or YEARLY rule");
+        if (setPositions.length > 0 && weekdayMask == 0 && ordinalWeekdays.length == 0 && monthDays.length == 0)
+            throw new IllegalArgumentException("BYSETPOS needs BYDAY or BYMONTHDAY");
+
+        return new RecurrenceRule(frequency, interval, weekdayMask, ordinalWeekdays, monthDays, setPositions);
+    }
+
+    /**
+     * Compiles the rule into an iterator of occurrences anchored on a start date, which is the
+     * first possible occurrence and gives the time of day of all of them.
+     *
+     * @param startDate The start date of the recurrence.
+     * @return The compiled recurrence.
+     */
+    @NonNull
+    public Recurrence compile(@NonNull LocalDateTime startDate) {
+        return new Recurrence(this, startDate);
+    }
+
+    @NonNull
+    public TaskFrequencyEnum getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return The weekdays of BYDAY without ordinal, as a mask with bit 0 for Monday.
+     */
+    int getWeekdayMask() {
+        return weekdayMask;
+    }
+
+    /**
+     * @return The BYDAY entries with an ordinal, see {@link #ordinalOf(int)} and {@link #weekdayOf(int)}.
+     */
+    int[] getOrdinalWeekdays() {
+        return ordinalWeekdays;
+    }
+
+    int[] getMonthDays() {
+        return monthDays;
+    }
+
+    int[] getSetPositions() {
+        return setPositions;
+    }
+
+    static int ordinalOf(int ordinalWeekday) {
+        return ordinalWeekday >> 3;
+    }
+
+    static int weekdayOf(int ordinalWeekday) {
+        return ordinalWeekday & 7;
+    }
+
+    private static int encodeOrdinal(int ordinal, int weekday) {
+        return ordinal << 3 | weekday;
+    }
+
+    private static int parseWeekday(String code) {
+        for (int i = 0; i < DAY_CODES.length; i++)
+            if (DAY_CODES[i].equals(code)) return i;
+        throw new IllegalArgumentException("Unknown weekday: " + code);
+    }
+
+    private static int parseNumber(String name, String value, int min, int max) {
+        try {
+            int number = Integer.parseInt(value.startsWith("+") ? value.substring(1) : value);
+            if (number < min || number > max)
+                throw new IllegalArgumentException(name + " out of range: " + value);
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value, e);
+        }
+    }
+
+    private static int[] parseNonZeroList(String name, String value, int max) {
+        String[] items = value.split(",");
+        int[] numbers = new int[items.length];
+        for (int i = 0; i < items.length; i++) {
+            numbers[i] = parseNumber(name, items[i], -max, max);
+            if (numbers[i] == 0)
+                throw new IllegalArgumentException(name + " cannot be 0");
+        }
+        return numbers;
+    }
+
+    /**
+     * Returns the rule in RRULE syntax, with its parts in a fixed order, so equal rules have equal text.
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("FREQ=").append(frequency.name());
+        if (interval != 1) builder.append(";INTERVAL=").append(interval);
+
+        if (weekdayMask != 0 || ordinalWeekdays.length > 0) {
+            builder.append(";BYDAY=");
+            String separator = "";
+            for (int weekday = 0; weekday < DAY_CODES.length; weekday++) {
+                if ((weekdayMask & 1 << weekday) != 0) {
+                    builder.append(separator).append(DAY_CODES[weekday]);
+                    separator = ",";
+                }
+            }
+            for (int ordinalWeekday : ordinalWeekdays) {
+                builder.append(separator).append(ordinalOf(ordinalWeekday)).append(DAY_CODES[weekdayOf(ordinalWeekday)]);
+                separator = ",";
+            }
+        }
+        appendList(builder, "BYMONTHDAY", monthDays);
+        appendList(builder, "BYSETPOS", setPositions);
+        return builder.toString();
+    }
+
+    private static void appendList(StringBuilder builder, String name, int[] values) {
+        if (values.length == 0) return;
+        builder.append(';').append(name).append('=');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) builder.append(',');
+            builder.append(values[i]);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RecurrenceRule that = (RecurrenceRule) o;
+        return interval == that.interval &&
+                weekdayMask == that.weekdayMask &&
+                frequency == that.frequency &&
+                Arrays.equals(ordinalWeekdays, that.ordinalWeekdays) &&
+                Arrays.equals(monthDays, that.monthDays) &&
+                Arrays.equals(setPositions, that.setPositions);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(frequency, interval, weekdayMask);
+        result = 31 * result + Arrays.hashCode(ordinalWeekdays);
+        result = 31 * result + Arrays.hashCode(monthDays);
+        result = 31 * result + Arrays.hashCode(setPositions);
+        return result;
+    }
+
+    /**
+     * @param dayOfWeek A day of the week.
+     * @return Its index in the weekday masks, 0 for Monday.
+     */
+    static int weekdayIndex(@NonNull DayOfWeek dayOfWeek) {
+        return dayOfWeek.getValue() - 1;
+    }
+}
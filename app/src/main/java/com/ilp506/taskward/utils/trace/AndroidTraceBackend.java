@@ -0,0 +1,47 @@
+package com.ilp506.taskward.utils.trace;
+
+import android.os.Build;
+import android.os.Trace;
+
+import androidx.annotation.NonNull;
+
+/**
+ * {@link TraceBackend} writing to the platform trace buffer through {@link Trace}.
+ *
+ * Checking whether a trace is being captured needs API 29; on older devices the backend stays
+ * off rather than pay for a section on every call.
+ */
+public final class AndroidTraceBackend implements TraceBackend {
+    // Longer names are rejected by the platform
+    private static final int MAX_NAME_LENGTH = 127;
+
+    @Override
+    public boolean isEnabled() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && Trace.isEnabled();
+    }
+
+    @Override
+    public void beginSection(@NonNull String name) {
+        Trace.beginSection(truncate(name));
+    }
+
+    @Override
+    public void endSection() {
+        Trace.endSection();
+    }
+
+    @Override
+    public void beginAsyncSection(@NonNull String name, int cookie) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) Trace.beginAsyncSection(truncate(name), cookie);
+    }
+
+    @Override
+    public void endAsyncSection(@NonNull String name, int cookie) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) Trace.endAsyncSection(truncate(name), cookie);
+    }
+
+    @NonNull
+    private static String truncate(@NonNull String name) {
+        return name.length() <= MAX_NAME_LENGTH ? name : name.substring(0, MAX_NAME_LENGTH);
+    }
+}
@@ -0,0 +1,30 @@
+package com.ilp506.taskward.utils.trace;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * A section opened by {@link Tracer#beginAsync(String)} that may be closed on another thread,
+ * e.g. when the background work it covers finishes.
+ */
+public final class AsyncSlice implements AutoCloseable {
+    static final AsyncSlice NONE = new AsyncSlice(null, "", 0);
+
+    private final TraceBackend backend;
+    private final String name;
+    private final int cookie;
+
+    AsyncSlice(@Nullable TraceBackend backend, @NonNull String name, int cookie) {
+        this.backend = backend;
+        this.name = name;
+        this.cookie = cookie;
+    }
+
+    /**
+     * Ends the slice. Must be called exactly once.
+     */
+    @Override
+    public void close() {
+        if (backend != null) backend.endAsyncSection(name, cookie);
+    }
+}
@@ -0,0 +1,43 @@
+package com.ilp506.taskward.utils.trace;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Receives the sections emitted through {@link Tracer}, e.g. the platform trace buffer.
+ */
+public interface TraceBackend {
+    /**
+     * Tells whether a trace is being captured. Checked before every section, so it must be cheap.
+     *
+     * @return true to emit sections.
+     */
+    boolean isEnabled();
+
+    /**
+     * Begins a section on the calling thread.
+     *
+     * @param name The section name.
+     */
+    void beginSection(@NonNull String name);
+
+    /**
+     * Ends the innermost section begun on the calling thread.
+     */
+    void endSection();
+
+    /**
+     * Begins a section that may end on another thread.
+     *
+     * @param name The section name.
+     * @param cookie Identifies the section among concurrent ones of the same name.
+     */
+    void beginAsyncSection(@NonNull String name, int cookie);
+
+    /**
+     * Ends a section begun with {@link #beginAsyncSection(String, int)}.
+     *
+     * @param name The section name.
+     * @param cookie The cookie it was begun with.
+     */
+    void endAsyncSection(@NonNull String name, int cookie);
+}
@@ -0,0 +1,32 @@
+package com.ilp506.taskward.utils.trace;
+
+import androidx.annotation.Nullable;
+
+/**
+ * A section opened by {@link Tracer#section(String)}, ended by {@link #close()}.
+ *
+ * Opening sections as try-with-resources resources keeps begin and end calls balanced even when
+ * the traced code throws. Sections hold no per-call state, so there is one instance per backend
+ * and opening a section allocates nothing.
+ */
+public final class TraceSection implements AutoCloseable {
+    static final TraceSection NONE = new TraceSection(null);
+
+    private final TraceBackend backend;
+
+    TraceSection(@Nullable TraceBackend backend) {
+        this.backend = backend;
+    }
+
+    boolean backendIs(@Nullable TraceBackend traceBackend) {
+        return backend == traceBackend;
+    }
+
+    /**
+     * Ends the section on the backend it was begun on.
+     */
+    @Override
+    public void close() {
+        if (backend != null) backend.endSection();
+    }
+}
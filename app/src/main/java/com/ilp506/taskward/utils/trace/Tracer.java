@@ -0,0 +1,74 @@
+package com.ilp506.taskward.utils.trace;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Emits named trace sections, so controller operations, repository queries, adapter binds and
+ * fragment loads show up in system traces such as Perfetto.
+ *
+ * Sections go to the installed {@link TraceBackend}; until one is installed, or while it is not
+ * capturing, {@link #section(String)} returns a shared no-op section and tracing costs a field
+ * read and a branch. Section names should be constants, so disabled tracing builds no strings.
+ */
+public final class Tracer {
+    private static final AtomicInteger nextCookie = new AtomicInteger();
+
+    private static volatile TraceBackend backend;
+    private static volatile TraceSection activeSection = TraceSection.NONE;
+
+    private Tracer() {}
+
+    /**
+     * Installs the backend receiving the sections.
+     *
+     * @param traceBackend The backend, or null to turn tracing off.
+     */
+    public static void setBackend(@Nullable TraceBackend traceBackend) {
+        backend = traceBackend;
+        activeSection = new TraceSection(traceBackend);
+    }
+
+    /**
+     * Tells whether sections are currently emitted.
+     *
+     * @return true while a backend is installed and capturing.
+     */
+    public static boolean isEnabled() {
+        TraceBackend current = backend;
+        return current != null && current.isEnabled();
+    }
+
+    /**
+     * Begins a section on the calling thread. Use it as a try-with-resources resource.
+     *
+     * @param name The section name, e.g. "TaskController.createTask".
+     * @return The section to close when the traced code ends.
+     */
+    @NonNull
+    public static TraceSection section(@NonNull String name) {
+        TraceSection section = activeSection;
+        TraceBackend current = backend;
+        if (current == null || !current.isEnabled()) return TraceSection.NONE;
+        current.beginSection(name);
+        // The backend may have been replaced since the section was read; end where it began
+        return section.backendIs(current) ? section : new TraceSection(current);
+    }
+
+    /**
+     * Begins a slice covering work that continues on another thread.
+     *
+     * @param name The slice name, e.g. "MaintenanceScheduler.runDueJobs".
+     * @return The slice to close when the work ends, from any thread.
+     */
+    @NonNull
+    public static AsyncSlice beginAsync(@NonNull String name) {
+        TraceBackend current = backend;
+        if (current == null || !current.isEnabled()) return AsyncSlice.NONE;
+        int cookie = nextCookie.incrementAndGet();
+        current.beginAsyncSection(name, cookie);
+        return new AsyncSlice(current, name, cookie);
+    }
+}
@@ -15,17 +15,23 @@ CREATE TABLE IF NOT EXISTS users (
 -- Creating the `tasks` table
 CREATE TABLE IF NOT EXISTS tasks (
   id INTEGER PRIMARY KEY AUTOINCREMENT,
+  user_id INTEGER,
   icon TEXT NOT NULL,
   title TEXT NOT NULL,
   description TEXT,
   frequency TEXT CHECK(frequency IN ('daily', 'weekly', 'monthly', 'yearly')) NOT NULL,
   frequency_interval INTEGER DEFAULT 1 CHECK (frequency_interval >= 1),
+  recurrence_rule TEXT,
   start_date DATETIME DEFAULT CURRENT_TIMESTAMP,
   end_date DATETIME,
   points_reward INTEGER DEFAULT 0 CHECK (points_reward >= 0),
-  created_at DATETIME DEFAULT CURRENT_TIMESTAMP
+  created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+  FOREIGN KEY (user_id) REFERENCES users(id)
 );
 
+-- Indexing the tasks of each user
+CREATE INDEX IF NOT EXISTS idx_tasks_user ON tasks (user_id);
+
 -- Creating the `task_events` table
 CREATE TABLE IF NOT EXISTS task_events (
   id INTEGER PRIMARY KEY AUTOINCREMENT,
@@ -40,6 +46,12 @@ CREATE TABLE IF NOT EXISTS task_events (
   FOREIGN KEY (task_id) REFERENCES tasks(id)
 );
 
+-- Indexing the events by date, overall, within each task and within each user. An occurrence of a
+-- task is stored once: the index on (task_id, scheduled_date, user_id) is unique
+CREATE UNIQUE INDEX IF NOT EXISTS idx_task_events_occurrence ON task_events (task_id, scheduled_date, user_id);
+CREATE INDEX IF NOT EXISTS idx_task_events_scheduled_date ON task_events (scheduled_date);
+CREATE INDEX IF NOT EXISTS idx_task_events_user_date ON task_events (user_id, scheduled_date);
+
 -- Creating the `rewards` table
 CREATE TABLE IF NOT EXISTS rewards (
   id INTEGER PRIMARY KEY AUTOINCREMENT,
@@ -52,3 +64,15 @@ CREATE TABLE IF NOT EXISTS rewards (
   created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
   FOREIGN KEY (user_id) REFERENCES users(id)
 );
+
+-- Creating the `maintenance_runs` table
+CREATE TABLE IF NOT EXISTS maintenance_runs (
+  id INTEGER PRIMARY KEY AUTOINCREMENT,
+  job TEXT NOT NULL,
+  started_at DATETIME NOT NULL,
+  duration_ms INTEGER DEFAULT 0 CHECK (duration_ms >= 0),
+  completed INTEGER DEFAULT 0 CHECK (completed IN (0, 1)),
+  pages_reclaimed INTEGER DEFAULT 0,
+  detail TEXT,
+  resume_token TEXT
+);
@@ -7,6 +7,8 @@
 -- ================================================================
 -- INSERT INTO users (name, email, points)
 -- VALUES ('Maria Oliveira', 'maria.oliveira@email.com', 50);
+-- The tasks and events below belong to the first profile, which gets ID 1
+-- when it is created during onboarding.
 
 -- ================================================================
 -- ----------------------------------------------------------------
@@ -16,9 +18,9 @@
 -- DAILY TASK - UNIQUE AND INDEFINITE DURATION WITHOUT INTERVAL
 -- ================================================================
 -- Inserting the daily task: "Drink 2L of water every day"
-INSERT INTO tasks (icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
+INSERT INTO tasks (user_id, icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
 VALUES (
-  'water-icon.png', 'Drink 2L of water every day',
+  1, 'water-icon.png', 'Drink 2L of water every day',
   'Drink at least 2 liters of water daily to stay hydrated',
   'daily', 1, CURRENT_TIMESTAMP, NULL, 10
 );
@@ -37,9 +39,9 @@ VALUES (
 -- WEEKLY TASK - UNIQUE AND INDEFINITE DURATION WITHOUT INTERVAL
 -- ================================================================
 -- Inserting the weekly task: "Weekly team meeting"
-INSERT INTO tasks (icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
+INSERT INTO tasks (user_id, icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
 VALUES (
-  'meeting-icon.png', 'Weekly team meeting',
+  1, 'meeting-icon.png', 'Weekly team meeting',
   'Attend the weekly team meeting to discuss projects and status.',
   'weekly', 1, CURRENT_TIMESTAMP, NULL, 15
 );
@@ -58,9 +60,9 @@ VALUES (
 -- MONTHLY TASK - UNIQUE AND INDEFINITE DURATION WITHOUT INTERVAL
 -- ================================================================
 -- Inserting the monthly task: "Credit card bill payment"
-INSERT INTO tasks (icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
+INSERT INTO tasks (user_id, icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
 VALUES (
-  'credit-card-icon.png', 'Credit card bill payment',
+  1, 'credit-card-icon.png', 'Credit card bill payment',
   'Pay the credit card bill to avoid interest and keep the available limit.',
   'monthly', 1, CURRENT_TIMESTAMP, NULL, 20
 );
@@ -79,9 +81,9 @@ VALUES (
 -- YEARLY TASK - UNIQUE AND INDEFINITE DURATION WITHOUT INTERVAL
 -- ================================================================
 -- Inserting the yearly task: "Annual goal review"
-INSERT INTO tasks (icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
+INSERT INTO tasks (user_id, icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
 VALUES (
-  'goal-icon.png', 'Annual goal review',
+  1, 'goal-icon.png', 'Annual goal review',
   'Review the personal and professional goals set for the year.',
   'yearly', 1, CURRENT_TIMESTAMP, NULL, 30
 );
@@ -104,9 +106,9 @@ VALUES (
 -- DAILY TASK - UNIQUE AND DEFINED DURATION WITHOUT INTERVAL
 -- ================================================================
 -- Inserting the daily task: "Daily exercise"
-INSERT INTO tasks (icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
+INSERT INTO tasks (user_id, icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
 VALUES (
-  'exercise-icon.png', 'Daily exercise',
+  1, 'exercise-icon.png', 'Daily exercise',
   'Perform daily physical exercise for 30 minutes.',
   'daily', 1, CURRENT_TIMESTAMP, DATETIME('now', '+10 days'), 10
 );
@@ -125,9 +127,9 @@ VALUES (
 -- WEEKLY TASK - UNIQUE AND DEFINED DURATION WITHOUT INTERVAL
 -- ================================================================
 -- Inserting the weekly task: "Weekly meeting"
-INSERT INTO tasks (icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
+INSERT INTO tasks (user_id, icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
 VALUES (
-  'weekly-meeting-icon.png', 'Weekly meeting',
+  1, 'weekly-meeting-icon.png', 'Weekly meeting',
   'Attend the weekly team meeting to review progress.',
   'weekly', 1, CURRENT_TIMESTAMP, DATETIME('now', '+2 months'), 15
 );
@@ -146,9 +148,9 @@ VALUES (
 -- MONTHLY TASK - UNIQUE AND DEFINED DURATION WITHOUT INTERVAL
 -- ================================================================
 -- Inserting the monthly task: "Monthly bill payment"
-INSERT INTO tasks (icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
+INSERT INTO tasks (user_id, icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
 VALUES (
-  'bill-payment-icon.png', 'Monthly bill payment',
+  1, 'bill-payment-icon.png', 'Monthly bill payment',
   'Pay the monthly bills to keep the services active.',
   'monthly', 1, CURRENT_TIMESTAMP, DATETIME('now', '+1 year'), 20
 );
@@ -167,9 +169,9 @@ VALUES (
 -- YEARLY TASK - UNIQUE AND DEFINED DURATION WITHOUT INTERVAL
 -- ================================================================
 -- Inserting the yearly task: "Annual goal review"
-INSERT INTO tasks (icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
+INSERT INTO tasks (user_id, icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
 VALUES (
-  'yearly-goal-icon.png', 'Annual goal review',
+  1, 'yearly-goal-icon.png', 'Annual goal review',
   'Review and adjust personal and professional goals for the upcoming year.',
   'yearly', 1, CURRENT_TIMESTAMP, DATETIME('now', '+5 years'), 30
 );
@@ -192,9 +194,9 @@ VALUES (
 -- DAILY TASK - UNIQUE AND DEFINED DURATION WITH INTERVAL
 -- ================================================================
 -- Inserting the daily task: "Drink water regularly"
-INSERT INTO tasks (icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
+INSERT INTO tasks (user_id, icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
 VALUES (
-  'hydration-icon.png', 'Drink water regularly',
+  1, 'hydration-icon.png', 'Drink water regularly',
   'Drink 2L of water every 3 days to maintain hydration.',
   'daily', 3, CURRENT_TIMESTAMP, DATETIME('now', '+1 month'), 10
 );
@@ -213,9 +215,9 @@ VALUES (
 -- WEEKLY TASK - UNIQUE AND DEFINED DURATION WITH INTERVAL
 -- ================================================================
 -- Inserting the weekly task: "Project review"
-INSERT INTO tasks (icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
+INSERT INTO tasks (user_id, icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
 VALUES (
-  'project-review-icon.png', 'Project review',
+  1, 'project-review-icon.png', 'Project review',
   'Review the project progress every 4 weeks.',
   'weekly', 4, CURRENT_TIMESTAMP, DATETIME('now', '+6 months'), 20
 );
@@ -234,9 +236,9 @@ VALUES (
 -- MONTHLY TASK - UNIQUE AND DEFINED DURATION WITH INTERVAL
 -- ================================================================
 -- Inserting the monthly task: "Billing review"
-INSERT INTO tasks (icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
+INSERT INTO tasks (user_id, icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
 VALUES (
-  'billing-review-icon.png', 'Billing review',
+  1, 'billing-review-icon.png', 'Billing review',
   'Review the credit card bill every 2 months to avoid interest.',
   'monthly', 2, CURRENT_TIMESTAMP, DATETIME('now', '+1 year'), 30
 );
@@ -255,9 +257,9 @@ VALUES (
 -- YEARLY TASK - UNIQUE AND DEFINED DURATION WITH INTERVAL
 -- ================================================================
 -- Inserting the yearly task: "Long-term goal review"
-INSERT INTO tasks (icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
+INSERT INTO tasks (user_id, icon, title, description, frequency, frequency_interval, start_date, end_date, points_reward)
 VALUES (
-  'long-term-goal-icon.png', 'Long-term goal review',
+  1, 'long-term-goal-icon.png', 'Long-term goal review',
   'Review long-term goals every 2 years.',
   'yearly', 2, CURRENT_TIMESTAMP, DATETIME('now', '+6 years'), 50
 );
@@ -0,0 +1,66 @@
+package com.ilp506.taskward;
+
+import android.content.Context;
+
+import com.ilp506.taskward.controllers.RewardController;
+import com.ilp506.taskward.controllers.TaskController;
+import com.ilp506.taskward.controllers.TaskEventController;
+import com.ilp506.taskward.data.repositories.UserRepository;
+import com.ilp506.taskward.data.storage.DatabaseProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ServiceContainerTest {
+
+    private ServiceContainer container;
+
+    @Before
+    public void setUp() {
+        container = new ServiceContainer(mock(Context.class));
+        container.override(DatabaseProvider.class, mock(DatabaseProvider.class));
+    }
+
+    @Test
+    public void getters_shouldReturnSameInstance() {
+        TaskEventController controller = container.getTaskEventController();
+
+        assertSame(controller, container.getTaskEventController());
+        assertSame(container.getTaskRepository(), container.getTaskRepository());
+    }
+
+    @Test
+    public void controllers_shouldShareRepositoriesAndServices() {
+        container.getTaskEventController();
+        container.getTaskController();
+        container.getRewardController();
+
+        Map<String, Integer> counts = container.getCreationCounts();
+        assertEquals(Integer.valueOf(1), counts.get("TaskEventRepository"));
+        assertEquals(Integer.valueOf(1), counts.get("TaskRepository"));
+        assertEquals(Integer.valueOf(1), counts.get("PointService"));
+        assertEquals(Integer.valueOf(1), counts.get("UserRepository"));
+        assertEquals(Integer.valueOf(1), counts.get("TaskController"));
+        assertEquals(Integer.valueOf(1), counts.get("RewardController"));
+        assertEquals(Integer.valueOf(1), counts.get("Clock"));
+    }
+
+    @Test
+    public void override_shouldBeInjectedAndNotCounted() {
+        UserRepository userRepository = mock(UserRepository.class);
+        container.override(UserRepository.class, userRepository);
+
+        assertSame(userRepository, container.getUserRepository());
+        container.getPointService();
+
+        Map<String, Integer> counts = container.getCreationCounts();
+        assertFalse(counts.containsKey("UserRepository"));
+        assertFalse(counts.containsKey("DatabaseProvider"));
+        assertEquals(Integer.valueOf(1), counts.get("PointService"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.ilp506.taskward.data.instrumentation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class QueryStatsTest {
+    private final QueryInstrumentation instrumentation = QueryInstrumentation.getInstance();
+
+    @Before
+    public void setUp() {
+        instrumentation.reset();
+    }
+
+    @After
+    public void tearDown() {
+        instrumentation.reset();
+    }
+
+    @Test
+    public void transactionProbe_shouldCountCallsAndRows() {
+        for (int i = 0; i < 2; i++) {
+            try (QueryProbe probe = QueryInstrumentation.transaction("Test.expire")) {
+                probe.rowsRead(3);
+                probe.rowsWritten(2);
+            }
+        }
+
+        QueryStats stats = stats("Test.expire");
+        assertEquals(2, stats.getCalls());
+        assertEquals(0, stats.getLatency().getCount());
+        assertEquals(6, stats.getRowsRead());
+        assertEquals(4, stats.getRowsWritten());
+    }
+
+    @Test
+    public void callProbe_shouldCountCallsOnly() {
+        for (int i = 0; i < 3; i++) {
+            try (QueryProbe probe = QueryInstrumentation.probe("Test.get")) {
+                probe.rowsRead(1);
+            }
+        }
+
+        QueryStats stats = stats("Test.get");
+        assertEquals(3, stats.getCalls());
+        assertEquals(3, stats.getRowsRead());
+        assertEquals(0, stats.getTransactionTime().getCount());
+    }
+
+    private QueryStats stats(String tag) {
+        for (QueryStats stats : instrumentation.getStats())
+            if (stats.getTag().equals(tag)) return stats;
+        throw new AssertionError("No statistics for " + tag);
+    }
+}
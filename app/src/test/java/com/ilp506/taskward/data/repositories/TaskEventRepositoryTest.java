@@ -0,0 +1,97 @@
+package com.ilp506.taskward.data.repositories;
+
+import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.storage.CompiledStatement;
+import com.ilp506.taskward.data.storage.Database;
+import com.ilp506.taskward.data.storage.DatabaseProvider;
+import com.ilp506.taskward.data.storage.Rows;
+import com.ilp506.taskward.utils.Logger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TaskEventRepositoryTest {
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    private Database database;
+    private CompiledStatement insert;
+    private TaskEventListener listener;
+    private TaskEventRepository repository;
+
+    @Before
+    public void setUp() {
+        Logger.setEnabled(false);
+        insert = mock(CompiledStatement.class);
+        database = mock(Database.class);
+        when(database.compileStatement(anyString())).thenReturn(insert);
+        Rows version = mock(Rows.class);
+        when(version.moveToFirst()).thenReturn(true);
+        when(version.getString(0)).thenReturn("3.22.0");
+        when(database.rawQuery(eq("SELECT sqlite_version()"), any())).thenReturn(version);
+        DatabaseProvider provider = mock(DatabaseProvider.class);
+        when(provider.getWritableDatabase()).thenReturn(database);
+
+        listener = mock(TaskEventListener.class);
+        repository = new TaskEventRepository(provider);
+        repository.addListener(listener);
+    }
+
+    @After
+    public void tearDown() {
+        Logger.setEnabled(true);
+    }
+
+    @Test
+    public void createTaskEvents_whenOccurrenceIsStoredAlready_shouldSkipItAndNotifyOnlyCreated() {
+        // The database reports the repeated occurrence as not inserted
+        TaskEvent first = scheduledEvent(DATE);
+        TaskEvent duplicate = scheduledEvent(DATE);
+        TaskEvent last = scheduledEvent(DATE.plusDays(1));
+        when(insert.executeInsert()).thenReturn(5L, -1L, 7L);
+
+        assertEquals(2, repository.createTaskEvents(Arrays.asList(first, duplicate, last)));
+        assertEquals(5, first.getId());
+        assertEquals(0, duplicate.getId());
+        assertEquals(7, last.getId());
+        verify(listener).onTaskEventsWritten(Arrays.asList(first, last));
+    }
+
+    @Test
+    public void createTaskEvents_whenEveryOccurrenceIsStored_shouldNotNotify() {
+        when(insert.executeInsert()).thenReturn(-1L);
+
+        List<TaskEvent> retried = Collections.singletonList(scheduledEvent(DATE));
+        assertEquals(0, repository.createTaskEvents(retried));
+        verify(listener, never()).onTaskEventsWritten(anyList());
+    }
+
+    @Test
+    public void createTaskEvents_beforeSqlite324_shouldNotUseOnConflictClause() {
+        when(insert.executeInsert()).thenReturn(1L);
+
+        repository.createTaskEvents(Collections.singletonList(scheduledEvent(DATE)));
+        verify(database).compileStatement(TaskEventRepository.buildInsertOccurrenceSql(false));
+    }
+
+    private static TaskEvent scheduledEvent(LocalDateTime scheduledDate) {
+        TaskEvent event = new TaskEvent();
+        event.setTaskId(1);
+        event.setUserId(1);
+        event.setScheduledDate(scheduledDate);
+        event.setStatus(TaskEventStatusEnum.SCHEDULED);
+        return event;
+    }
+}
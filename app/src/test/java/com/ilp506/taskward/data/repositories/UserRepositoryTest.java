@@ -1,51 +1,54 @@
 package com.ilp506.taskward.data.repositories;
 
-import android.content.ContentValues;
-import android.content.Context;
-import android.database.Cursor;
-import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteException;
-
 import com.ilp506.taskward.data.DatabaseContract.UserTable;
-import com.ilp506.taskward.data.DatabaseHelper;
 import com.ilp506.taskward.data.models.User;
+import com.ilp506.taskward.data.storage.Database;
+import com.ilp506.taskward.data.storage.DatabaseProvider;
+import com.ilp506.taskward.data.storage.Rows;
+import com.ilp506.taskward.data.storage.StorageException;
+import com.ilp506.taskward.data.storage.Values;
 import com.ilp506.taskward.exceptions.custom.DatabaseOperationException;
+import com.ilp506.taskward.utils.Logger;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.time.LocalDateTime;
+
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 public class UserRepositoryTest {
 
     private UserRepository userRepository;
-    private SQLiteDatabase mockDatabase;
-    private Cursor mockCursor;
+    private Database mockDatabase;
+    private Rows mockCursor;
 
     @Before
     public void setUp() {
-        Context mockContext = mock(Context.class);
-        mockDatabase = mock(SQLiteDatabase.class);
-        mockCursor = mock(Cursor.class);
-        try (DatabaseHelper mockDatabaseHelper = mock(DatabaseHelper.class)) {
-
-            when(mockDatabaseHelper.getReadableDatabase()).thenReturn(mockDatabase);
-            when(mockDatabaseHelper.getWritableDatabase()).thenReturn(mockDatabase);
-        }
-        when(mockContext.getApplicationContext()).thenReturn(mockContext);
-
-        userRepository = new UserRepository(mockContext);
+        Logger.setEnabled(false);
+        DatabaseProvider mockDatabaseProvider = mock(DatabaseProvider.class);
+        mockDatabase = mock(Database.class);
+        mockCursor = mock(Rows.class);
+        when(mockDatabaseProvider.getReadableDatabase()).thenReturn(mockDatabase);
+        when(mockDatabaseProvider.getWritableDatabase()).thenReturn(mockDatabase);
+
+        userRepository = new UserRepository(mockDatabaseProvider);
+
+        String[] columns = UserTable.ALL_COLUMNS;
+        for (int i = 0; i < columns.length; i++)
+            when(mockCursor.getColumnIndexOrThrow(columns[i])).thenReturn(i);
     }
 
+    @After
+    public void tearDown() {
+        Logger.setEnabled(true);
+    }
 
     @Test
     public void mapCursorToUser_whenCursorHasValidData_shouldReturnUserObject() {
-        when(mockCursor.getInt(mockCursor.getColumnIndexOrThrow(UserTable.COLUMN_ID))).thenReturn(1);
-        when(mockCursor.getString(mockCursor.getColumnIndexOrThrow(UserTable.COLUMN_NAME))).thenReturn("John Doe");
-        when(mockCursor.getString(mockCursor.getColumnIndexOrThrow(UserTable.COLUMN_PHOTO))).thenReturn("photo_url");
-        when(mockCursor.getInt(mockCursor.getColumnIndexOrThrow(UserTable.COLUMN_POINTS))).thenReturn(100);
-        when(mockCursor.getString(mockCursor.getColumnIndexOrThrow(UserTable.COLUMN_CREATED_AT))).thenReturn("2024-11-27 12:00:00");
+        stubUserRow(1, "John Doe", "photo_url", 100);
 
         User user = userRepository.mapCursorToUser(mockCursor);
 
@@ -53,13 +56,12 @@ public class UserRepositoryTest {
         assertEquals("John Doe", user.getName());
         assertEquals("photo_url", user.getPhoto());
         assertEquals(100, user.getPoints());
+        assertEquals(LocalDateTime.of(2024, 11, 27, 12, 0), user.getCreatedAt());
     }
 
     @Test
     public void mapCursorToUser_whenCursorHasNullValues_shouldReturnUserWithNullFields() {
-        when(mockCursor.getInt(mockCursor.getColumnIndexOrThrow(UserTable.COLUMN_ID))).thenReturn(1);
-        when(mockCursor.getString(mockCursor.getColumnIndexOrThrow(UserTable.COLUMN_NAME))).thenReturn(null);
-        when(mockCursor.getString(mockCursor.getColumnIndexOrThrow(UserTable.COLUMN_PHOTO))).thenReturn(null);
+        stubUserRow(1, null, null, 0);
 
         User user = userRepository.mapCursorToUser(mockCursor);
 
@@ -74,13 +76,17 @@ public class UserRepositoryTest {
         user.setName("John Doe");
         user.setPhoto("/path/to/valid/photo");
 
-        ContentValues values = new ContentValues();
+        Values values = new Values();
         values.put(UserTable.COLUMN_NAME, user.getName());
+        values.put(UserTable.COLUMN_EMAIL, user.getEmail());
         values.put(UserTable.COLUMN_PHOTO, user.getPhoto());
+        when(mockDatabase.insert(UserTable.TABLE_NAME, values)).thenReturn(1L);
+        stubQueryReturningUser(1, user.getName(), user.getPhoto(), 0);
 
-        userRepository.createUser(user);
+        User created = userRepository.createUser(user);
 
-        verify(mockDatabase).insertOrThrow(UserTable.TABLE_NAME, null, values);
+        verify(mockDatabase).insert(UserTable.TABLE_NAME, values);
+        assertEquals(1, created.getId());
     }
 
     @Test
@@ -91,12 +97,15 @@ public class UserRepositoryTest {
         user.setPhoto("/updated/path/to/valid/photo");
         user.setPoints(200);
 
-        ContentValues values = new ContentValues();
+        Values values = new Values();
         values.put(UserTable.COLUMN_NAME, user.getName());
+        values.put(UserTable.COLUMN_EMAIL, user.getEmail());
         values.put(UserTable.COLUMN_PHOTO, user.getPhoto());
         values.put(UserTable.COLUMN_POINTS, user.getPoints());
+        when(mockDatabase.update(eq(UserTable.TABLE_NAME), eq(values), anyString(), any())).thenReturn(1);
+        stubQueryReturningUser(1, user.getName(), user.getPhoto(), user.getPoints());
 
-        userRepository.updateUser(user);
+        User updated = userRepository.updateUser(user);
 
         verify(mockDatabase).update(
                 eq(UserTable.TABLE_NAME),
@@ -104,20 +113,20 @@ public class UserRepositoryTest {
                 eq(UserTable.COLUMN_ID + " = ?"),
                 eq(new String[]{"1"})
         );
+        assertEquals(200, updated.getPoints());
     }
 
-    @Test
-    public void getUserById_whenUserDoesNotExist_shouldReturnNull() {
-        when(mockDatabase.query(anyString(), any(), any(), any(), any(), any(), any())).thenReturn(mockCursor);
+    @Test(expected = DatabaseOperationException.class)
+    public void getUserById_whenUserDoesNotExist_shouldThrowDatabaseOperationException() {
+        when(mockDatabase.query(anyString(), any(), any(), any(), any())).thenReturn(mockCursor);
         when(mockCursor.moveToFirst()).thenReturn(false);
 
-        User user = userRepository.getUserById(1);
-        assertNull(user);
+        userRepository.getUserById(1);
     }
 
     @Test(expected = DatabaseOperationException.class)
     public void getUserById_whenDatabaseErrorOccurs_shouldThrowDatabaseOperationException() {
-        when(mockDatabase.query(anyString(), any(), any(), any(), any(), any(), any())).thenThrow(new SQLiteException());
+        when(mockDatabase.query(anyString(), any(), any(), any(), any())).thenThrow(new StorageException(StorageException.Kind.OTHER, "disk I/O error", null));
 
         userRepository.getUserById(1);
     }
@@ -128,8 +137,23 @@ public class UserRepositoryTest {
         user.setName("John Doe");
         user.setPhoto("/path/to/valid/photo");
 
-        doThrow(new SQLiteException()).when(mockDatabase).insertOrThrow(anyString(), any(), any());
+        doThrow(new StorageException(StorageException.Kind.OTHER, "disk I/O error", null))
+                .when(mockDatabase).insert(anyString(), any());
 
         userRepository.createUser(user);
     }
+
+    private void stubQueryReturningUser(int id, String name, String photo, int points) {
+        when(mockDatabase.query(anyString(), any(), any(), any(), any())).thenReturn(mockCursor);
+        when(mockCursor.moveToFirst()).thenReturn(true);
+        stubUserRow(id, name, photo, points);
+    }
+
+    private void stubUserRow(int id, String name, String photo, int points) {
+        when(mockCursor.getInt(mockCursor.getColumnIndexOrThrow(UserTable.COLUMN_ID))).thenReturn(id);
+        when(mockCursor.getString(mockCursor.getColumnIndexOrThrow(UserTable.COLUMN_NAME))).thenReturn(name);
+        when(mockCursor.getString(mockCursor.getColumnIndexOrThrow(UserTable.COLUMN_PHOTO))).thenReturn(photo);
+        when(mockCursor.getInt(mockCursor.getColumnIndexOrThrow(UserTable.COLUMN_POINTS))).thenReturn(points);
+        when(mockCursor.getString(mockCursor.getColumnIndexOrThrow(UserTable.COLUMN_CREATED_AT))).thenReturn("2024-11-27 12:00:00");
+    }
 }
@@ -0,0 +1,172 @@
+package com.ilp506.taskward.services;
+
+import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.models.User;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.data.repositories.UserRepository;
+import com.ilp506.taskward.exceptions.codes.DatabaseErrorCode;
+import com.ilp506.taskward.exceptions.custom.DatabaseOperationException;
+import com.ilp506.taskward.utils.CacheManager;
+import com.ilp506.taskward.utils.Logger;
+import com.ilp506.taskward.utils.VirtualClock;
+import com.ilp506.taskward.utils.metrics.Counter;
+import com.ilp506.taskward.utils.metrics.MetricsRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+public class ExpirySchedulerTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    private final VirtualClock clock = new VirtualClock(NOW, ZoneOffset.UTC);
+    private final Map<Integer, LocalDateTime> watermarks = new HashMap<>();
+    private final Counter expired = MetricsRegistry.getInstance().counter("ExpiryScheduler.expired");
+    private UserRepository users;
+    private TaskEventRepository repository;
+    private HorizonPlanner planner;
+    private CacheManager cache;
+    private ExpiryScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        Logger.setEnabled(false);
+        expired.reset();
+        repository = mock(TaskEventRepository.class);
+        planner = mock(HorizonPlanner.class);
+        users = mock(UserRepository.class);
+        when(users.getAllUsers()).thenReturn(Arrays.asList(user(1), user(2)));
+        cache = mock(CacheManager.class);
+        when(cache.getExpiryWatermark(anyInt())).thenAnswer(invocation -> watermarks.get(invocation.<Integer>getArgument(0)));
+        doAnswer(invocation -> {
+            watermarks.put(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(cache).saveExpiryWatermark(anyInt(), any());
+        when(repository.expireDueTaskEvents(anyInt(), any(), any(), anyInt())).thenReturn(Collections.emptyList());
+
+        scheduler = new ExpiryScheduler(users, repository, planner, cache, mock(ScheduledExecutorService.class),
+                clock, 2);
+    }
+
+    @After
+    public void tearDown() {
+        Logger.setEnabled(true);
+    }
+
+    @Test
+    public void runChunk_whenBacklogExceedsChunk_shouldAdvanceWatermarkChunkByChunk() {
+        TaskEvent first = expiredEvent(NOW.minusDays(3));
+        TaskEvent second = expiredEvent(NOW.minusDays(2));
+        TaskEvent third = expiredEvent(NOW.minusDays(1));
+        when(repository.expireDueTaskEvents(eq(1), isNull(), any(), anyInt())).thenReturn(Arrays.asList(first, second));
+        when(repository.expireDueTaskEvents(eq(1), eq(second.getScheduledDate()), any(), anyInt()))
+                .thenReturn(Collections.singletonList(third));
+
+        assertEquals(Duration.ZERO, scheduler.runChunk());
+        assertEquals(second.getScheduledDate(), watermarks.get(1));
+        assertEquals(2, expired.getCount());
+
+        scheduler.runChunk();
+        assertEquals(NOW, watermarks.get(1));
+        verify(repository).expireDueTaskEvents(1, second.getScheduledDate(), NOW, 2);
+        assertEquals(3, expired.getCount());
+    }
+
+    @Test
+    public void runChunk_whenOneUserHasBacklog_shouldStillSweepTheOthers() {
+        when(repository.expireDueTaskEvents(eq(1), any(), any(), anyInt())).thenReturn(
+                Arrays.asList(expiredEvent(NOW.minusDays(2)), expiredEvent(NOW.minusDays(1))));
+
+        assertEquals(Duration.ZERO, scheduler.runChunk());
+        verify(repository).expireDueTaskEvents(2, null, NOW, 2);
+        assertEquals(NOW.minusDays(1), watermarks.get(1));
+        assertEquals(NOW, watermarks.get(2));
+    }
+
+    @Test
+    public void runChunk_withWorkers_whenOneUserFails_shouldStillSaveTheOthersWatermarks() {
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        try {
+            scheduler = new ExpiryScheduler(users, repository, planner, cache, mock(ScheduledExecutorService.class),
+                    clock, 2, workers);
+            when(repository.expireDueTaskEvents(eq(1), any(), any(), anyInt())).thenThrow(
+                    DatabaseOperationException.fromError(DatabaseErrorCode.QUERY_FAILURE, "disk I/O error"));
+            when(repository.expireDueTaskEvents(eq(2), any(), any(), anyInt())).thenReturn(
+                    Collections.singletonList(expiredEvent(NOW.minusDays(1))));
+
+            assertEquals(ExpiryScheduler.MAX_DELAY, scheduler.runChunk());
+            assertNull(watermarks.get(1));
+            assertEquals(NOW, watermarks.get(2));
+            assertEquals(1, expired.getCount());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void runChunk_whenNothingDue_shouldWakeUpAtNextScheduledDate() {
+        watermarks.put(1, NOW.minusHours(1));
+        when(repository.getNextScheduledDate(any())).thenAnswer(invocation ->
+                ((LocalDateTime) invocation.getArgument(0)).plusMinutes(5));
+
+        assertEquals(Duration.ofMinutes(5).plusSeconds(1), scheduler.runChunk());
+        verify(repository).expireDueTaskEvents(1, NOW.minusHours(1), NOW, 2);
+
+        // The next run only looks at what fell due since this one
+        clock.advance(Duration.ofMinutes(5).plusSeconds(1));
+        scheduler.runChunk();
+        verify(repository).expireDueTaskEvents(1, NOW, NOW.plusMinutes(5).plusSeconds(1), 2);
+    }
+
+    @Test
+    public void runChunk_whenNextEventIsFarOrMissing_shouldWaitAtMostMaxDelay() {
+        when(repository.getNextScheduledDate(any())).thenReturn(NOW.plusDays(2));
+        assertEquals(ExpiryScheduler.MAX_DELAY, scheduler.runChunk());
+
+        when(repository.getNextScheduledDate(any())).thenReturn(null);
+        assertEquals(ExpiryScheduler.MAX_DELAY, scheduler.runChunk());
+    }
+
+    @Test
+    public void runChunk_shouldTopUpHorizonOnceADay() {
+        scheduler.runChunk();
+        clock.advance(Duration.ofHours(1));
+        scheduler.runChunk();
+        verify(planner, times(1)).topUp(any(LocalDateTime.class));
+
+        clock.advance(Duration.ofDays(1));
+        scheduler.runChunk();
+        verify(planner).topUp(NOW.plusDays(1).plusHours(1));
+    }
+
+    private static User user(int id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static TaskEvent expiredEvent(LocalDateTime scheduledDate) {
+        TaskEvent event = new TaskEvent();
+        event.setScheduledDate(scheduledDate);
+        event.setStatus(TaskEventStatusEnum.EXPIRED);
+        return event;
+    }
+}
@@ -0,0 +1,179 @@
+package com.ilp506.taskward.services;
+
+import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.enums.TaskFrequencyEnum;
+import com.ilp506.taskward.data.models.Task;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.data.repositories.TaskRepository;
+import com.ilp506.taskward.utils.Logger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class HorizonPlannerTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private HorizonPlanner planner;
+    private Task task;
+
+    @Before
+    public void setUp() {
+        Logger.setEnabled(false);
+        planner = new HorizonPlanner(mock(TaskRepository.class), mock(TaskEventRepository.class), 14);
+
+        task = new Task();
+        task.setId(1);
+        task.setTitle("Task");
+        task.setFrequency(TaskFrequencyEnum.DAILY);
+        task.setFrequencyInterval(3);
+        task.setPointsReward(10);
+        task.setStartDate(START);
+    }
+
+    @After
+    public void tearDown() {
+        Logger.setEnabled(true);
+    }
+
+    @Test
+    public void plan_whenTaskHasNoEvents_shouldScheduleOneEventPastHorizon() {
+        List<TaskEvent> events = planner.plan(task, null, START);
+
+        // Jan 4, 7, 10, 13, then Jan 16 as the first one past the horizon on Jan 15
+        assertEquals(5, events.size());
+        assertEquals(START.plusDays(3), events.get(0).getScheduledDate());
+        assertEquals(START.plusDays(15), events.get(4).getScheduledDate());
+        for (TaskEvent event : events) assertEquals(TaskEventStatusEnum.SCHEDULED, event.getStatus());
+    }
+
+    @Test
+    public void plan_shouldContinueAfterLatestEventWithoutDuplicates() {
+        LocalDateTime now = START.plusDays(10);
+        List<TaskEvent> events = planner.plan(task, START.plusDays(3), now);
+
+        // Jan 7 and 10 were missed, Jan 13 to 25 are ahead
+        assertEquals(START.plusDays(6), events.get(0).getScheduledDate());
+        assertEquals(TaskEventStatusEnum.EXPIRED, events.get(1).getStatus());
+        assertEquals(TaskEventStatusEnum.SCHEDULED, events.get(2).getStatus());
+        for (int i = 1; i < events.size(); i++)
+            assertTrue(events.get(i).getScheduledDate().isAfter(events.get(i - 1).getScheduledDate()));
+
+        LocalDateTime latest = events.get(events.size() - 1).getScheduledDate();
+        assertTrue(latest.isAfter(now.plusDays(14)));
+        assertTrue(planner.plan(task, latest, now).isEmpty());
+        assertTrue(planner.plan(task, latest, now.plusDays(1)).size() <= 1);
+    }
+
+    @Test
+    public void topUp_withWorkers_shouldWriteSameEventsAsSequentialTopUp() {
+        List<Task> tasks = dailyTasks(100);
+        LocalDateTime now = START.plusDays(60);
+
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        try {
+            Set<String> sequential = topUpEvents(tasks, now, null);
+            Set<String> parallel = topUpEvents(tasks, now, workers);
+            assertEquals(sequential, parallel);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void replan_whileTopUpIsPlanning_shouldNotWaitAndDropTheStaleEvents() throws Exception {
+        List<Task> tasks = dailyTasks(100);
+        LocalDateTime now = START.plusDays(60);
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        TaskEventRepository taskEventRepository = mock(TaskEventRepository.class);
+        when(taskRepository.getAllTasks()).thenReturn(tasks);
+        when(taskEventRepository.getLatestScheduledDates()).thenReturn(Collections.emptyMap());
+        List<TaskEvent> written = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            List<TaskEvent> batch = invocation.getArgument(0);
+            written.addAll(batch);
+            return batch.size();
+        }).when(taskEventRepository).createTaskEvents(anyList());
+
+        // Planning waits until the replan is done
+        CountDownLatch replanned = new CountDownLatch(1);
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        HorizonPlanner planner = new HorizonPlanner(taskRepository, taskEventRepository, 14, command ->
+                workers.execute(() -> {
+                    try {
+                        replanned.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    command.run();
+                }), 8);
+        try {
+            Thread topUp = new Thread(() -> planner.topUp(now));
+            topUp.start();
+            verify(taskEventRepository, timeout(5000)).getLatestScheduledDates();
+
+            Task first = tasks.get(0);
+            int replannedEvents = planner.replan(first, now);
+            replanned.countDown();
+            topUp.join();
+
+            assertTrue(replannedEvents > 0);
+            int firstTaskEvents = 0;
+            for (TaskEvent event : written)
+                if (event.getTaskId() == first.getId()) firstTaskEvents++;
+            assertEquals(replannedEvents, firstTaskEvents);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static List<Task> dailyTasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Task daily = new Task();
+            daily.setId(i);
+            daily.setFrequency(TaskFrequencyEnum.DAILY);
+            daily.setFrequencyInterval(1 + i % 3);
+            daily.setStartDate(START.plusHours(i));
+            tasks.add(daily);
+        }
+        return tasks;
+    }
+
+    /**
+     * Runs a top-up of the tasks and returns the events written, by task and date.
+     */
+    private static Set<String> topUpEvents(List<Task> tasks, LocalDateTime now, ExecutorService workers) {
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        TaskEventRepository taskEventRepository = mock(TaskEventRepository.class);
+        when(taskRepository.getAllTasks()).thenReturn(tasks);
+        when(taskEventRepository.getLatestScheduledDates()).thenReturn(Collections.emptyMap());
+        Set<String> written = new HashSet<>();
+        doAnswer(invocation -> {
+            List<TaskEvent> batch = invocation.getArgument(0);
+            for (TaskEvent event : batch)
+                assertTrue(written.add(event.getTaskId() + "@" + event.getScheduledDate()));
+            return batch.size();
+        }).when(taskEventRepository).createTaskEvents(anyList());
+
+        HorizonPlanner planner = new HorizonPlanner(taskRepository, taskEventRepository, 14, workers, 8);
+        int created = planner.topUp(now);
+        assertEquals(written.size(), created);
+        return written;
+    }
+}
@@ -0,0 +1,172 @@
+package com.ilp506.taskward.services;
+
+import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.utils.Logger;
+import com.ilp506.taskward.utils.VirtualClock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class ReminderSchedulerTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 12, 0);
+    private static final Duration LEAD = Duration.ofMinutes(15);
+
+    private final VirtualClock clock = new VirtualClock(NOW, ZoneOffset.UTC);
+    private final List<TaskEvent> stored = new ArrayList<>();
+    private final List<LocalDateTime> alarms = new ArrayList<>();
+    private TaskEventRepository repository;
+
+    @Before
+    public void setUp() {
+        Logger.setEnabled(false);
+        repository = mock(TaskEventRepository.class);
+        // Keyset page over the scheduled events, like the query on the scheduled_date index
+        when(repository.getScheduledTaskEventsAfter(any(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            LocalDateTime fromDate = invocation.getArgument(0);
+            int afterId = invocation.getArgument(1);
+            int limit = invocation.getArgument(2);
+            return stored.stream()
+                    .filter(event -> event.getStatus() == TaskEventStatusEnum.SCHEDULED)
+                    .filter(event -> event.getScheduledDate().isAfter(fromDate)
+                            || (event.getScheduledDate().equals(fromDate) && event.getId() > afterId))
+                    .sorted((a, b) -> a.getScheduledDate().equals(b.getScheduledDate())
+                            ? Integer.compare(a.getId(), b.getId()) : a.getScheduledDate().compareTo(b.getScheduledDate()))
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        });
+        when(repository.getTaskEventById(anyInt())).thenAnswer(invocation -> stored.stream()
+                .filter(event -> event.getId() == (int) invocation.getArgument(0)).findFirst().orElse(null));
+    }
+
+    @After
+    public void tearDown() {
+        Logger.setEnabled(true);
+    }
+
+    @Test
+    public void onAlarm_shouldRemindOfDueEventsAndLoadNextPages() {
+        for (int i = 1; i <= 10; i++)
+            stored.add(event(i, NOW.plusHours(i)));
+        ReminderScheduler scheduler = scheduler(4);
+        scheduler.start();
+        assertEquals(NOW.plusHours(1).minus(LEAD), last(alarms));
+
+        clock.advance(Duration.ofHours(3));
+        assertEquals(Arrays.asList(1, 2, 3), ids(scheduler.onAlarm()));
+        assertEquals(NOW.plusHours(4).minus(LEAD), last(alarms));
+        verify(repository, times(1)).getScheduledTaskEventsAfter(any(), anyInt(), eq(4));
+
+        // Cancelled since it was loaded; the queue runs empty and the next page is read
+        stored.get(3).setStatus(TaskEventStatusEnum.CANCELLED);
+        clock.advance(Duration.ofHours(1));
+        assertEquals(Collections.emptyList(), ids(scheduler.onAlarm()));
+        assertEquals(NOW.plusHours(5).minus(LEAD), last(alarms));
+        verify(repository, times(2)).getScheduledTaskEventsAfter(any(), anyInt(), eq(4));
+    }
+
+    @Test
+    public void writes_shouldMoveAlarmOnlyWhenHeadChanges() {
+        for (int i = 1; i <= 8; i++)
+            stored.add(event(i, NOW.plusHours(i)));
+        ReminderScheduler scheduler = scheduler(4);
+        scheduler.start();
+        int queued = scheduler.getQueuedCount();
+
+        // Beyond the loaded window: left for a later page
+        scheduler.onTaskEventsWritten(Collections.singletonList(event(20, NOW.plusDays(3))));
+        assertEquals(queued, scheduler.getQueuedCount());
+        assertEquals(1, alarms.size());
+
+        TaskEvent earlier = event(21, NOW.plusMinutes(30));
+        stored.add(earlier);
+        scheduler.onTaskEventsWritten(Collections.singletonList(earlier));
+        assertEquals(NOW.plusMinutes(30).minus(LEAD), last(alarms));
+
+        earlier.setStatus(TaskEventStatusEnum.COMPLETED);
+        scheduler.onTaskEventsWritten(Collections.singletonList(earlier));
+        assertEquals(NOW.plusHours(1).minus(LEAD), last(alarms));
+
+        scheduler.stop();
+        assertNull(last(alarms));
+    }
+
+    @Test
+    public void reloadAndWrites_shouldNotQueueDeliveredReminderUnlessRescheduled() {
+        TaskEvent soon = event(1, NOW.plusMinutes(10));
+        stored.add(soon);
+        stored.add(event(2, NOW.plusHours(2)));
+        ReminderScheduler scheduler = scheduler(4);
+        scheduler.start();
+        assertEquals(Collections.singletonList(1), ids(scheduler.onAlarm()));
+
+        // Still scheduled and not yet due, but reminded of already
+        scheduler.onTaskEventsInvalidated();
+        scheduler.onTaskEventsWritten(Collections.singletonList(soon));
+        assertEquals(1, scheduler.getQueuedCount());
+        assertEquals(Collections.emptyList(), ids(scheduler.onAlarm()));
+
+        soon.setScheduledDate(NOW.plusMinutes(12));
+        scheduler.onTaskEventsWritten(Collections.singletonList(soon));
+        assertEquals(Collections.singletonList(1), ids(scheduler.onAlarm()));
+    }
+
+    @Test
+    public void writes_shouldBeAppliedOnExecutorNotWritersThread() {
+        for (int i = 1; i <= 4; i++)
+            stored.add(event(i, NOW.plusHours(i)));
+        List<Runnable> pending = new ArrayList<>();
+        ReminderScheduler scheduler = new ReminderScheduler(repository, alarms::add, clock, pending::add, LEAD, 4);
+        scheduler.start();
+        stored.clear();
+        for (int i = 1; i <= 4; i++)
+            scheduler.onTaskEventDeleted(i);
+
+        // The queue runs empty, so applying the deletes reads the next page
+        TaskEvent written = event(5, NOW.plusMinutes(30));
+        scheduler.onTaskEventsWritten(Collections.singletonList(written));
+        written.setStatus(TaskEventStatusEnum.COMPLETED);
+        verify(repository, times(1)).getScheduledTaskEventsAfter(any(), anyInt(), anyInt());
+        assertEquals(1, alarms.size());
+
+        pending.forEach(Runnable::run);
+        verify(repository, times(2)).getScheduledTaskEventsAfter(any(), anyInt(), anyInt());
+        assertEquals(NOW.plusMinutes(30).minus(LEAD), last(alarms));
+    }
+
+    private ReminderScheduler scheduler(int pageSize) {
+        return new ReminderScheduler(repository, alarms::add, clock, Runnable::run, LEAD, pageSize);
+    }
+
+    private static TaskEvent event(int id, LocalDateTime scheduledDate) {
+        TaskEvent event = new TaskEvent();
+        event.setId(id);
+        event.setScheduledDate(scheduledDate);
+        event.setStatus(TaskEventStatusEnum.SCHEDULED);
+        return event;
+    }
+
+    private static List<Integer> ids(List<TaskEvent> events) {
+        return events.stream().map(TaskEvent::getId).collect(Collectors.toList());
+    }
+
+    private static <T> T last(List<T> list) {
+        return list.get(list.size() - 1);
+    }
+}
@@ -0,0 +1,115 @@
+package com.ilp506.taskward.ui;
+
+import android.os.Looper;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.ilp506.taskward.TaskwardApplication;
+import com.ilp506.taskward.controllers.UserController;
+import com.ilp506.taskward.data.models.User;
+import com.ilp506.taskward.utils.trace.TraceBackend;
+import com.ilp506.taskward.utils.trace.Tracer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Checks that a cold start of MainActivity runs no repository query on the main thread, by
+ * recording the thread of each traced query. Runs under Robolectric with
+ * {@code ./gradlew :app:testDebugUnitTest --tests '*MainActivityStartupTest'}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class MainActivityStartupTest {
+
+    private TaskwardApplication application;
+    private ThreadRecordingBackend backend;
+
+    @Before
+    public void setUp() throws Exception {
+        application = ApplicationProvider.getApplicationContext();
+        User user = new User();
+        user.setName("Startup");
+        user.setEmail("startup@taskward.com");
+        assertTrue(new UserController(application).createUser(user).isSuccessful());
+
+        // The preload started with the process may have missed the user created above, so it is
+        // claimed here and the activity triggers a fresh load
+        drainBackground();
+        application.getStartupPipeline().requestUser();
+        drainBackground();
+
+        backend = new ThreadRecordingBackend();
+        Tracer.setBackend(backend);
+    }
+
+    @After
+    public void tearDown() {
+        Tracer.setBackend(null);
+    }
+
+    @Test
+    public void coldStart_shouldNotQueryDatabaseOnMainThread() throws Exception {
+        try (ActivityScenario<MainActivity> scenario = ActivityScenario.launch(MainActivity.class)) {
+            for (int i = 0; i < 3; i++) {
+                shadowOf(Looper.getMainLooper()).idle();
+                drainBackground();
+            }
+            shadowOf(Looper.getMainLooper()).idle();
+        }
+
+        assertTrue("The task list was not loaded", backend.sections.contains("TaskEventRepository.getTaskEventsByUserId"));
+        assertTrue("The user was not loaded", backend.sections.contains("UserRepository.getUserById"));
+        for (String section : backend.mainThreadSections)
+            assertFalse(section + " ran on the main thread", section.contains("Repository."));
+    }
+
+    private void drainBackground() throws Exception {
+        application.getBackgroundExecutor().submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Records every section begun, and separately those begun on the main thread.
+     */
+    private static class ThreadRecordingBackend implements TraceBackend {
+        final List<String> sections = Collections.synchronizedList(new ArrayList<>());
+        final List<String> mainThreadSections = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public void beginSection(String name) {
+            sections.add(name);
+            if (Thread.currentThread() == Looper.getMainLooper().getThread())
+                mainThreadSections.add(name);
+        }
+
+        @Override
+        public void endSection() {
+        }
+
+        @Override
+        public void beginAsyncSection(String name, int cookie) {
+        }
+
+        @Override
+        public void endAsyncSection(String name, int cookie) {
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.ilp506.taskward.ui.adapters;
+
+import android.os.Looper;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.ilp506.taskward.R;
+import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.models.TaskEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class TaskEventAdapterTest {
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 3, 1, 9, 0);
+    private static final int EVENT_COUNT = 5;
+
+    private CountingAdapter adapter;
+    private RecyclerView recyclerView;
+
+    @Before
+    public void setUp() {
+        ContextThemeWrapper context = new ContextThemeWrapper(
+                ApplicationProvider.getApplicationContext(), R.style.Theme_Taskward);
+        adapter = new CountingAdapter();
+        recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(new LinearLayoutManager(context));
+        recyclerView.setAdapter(adapter);
+
+        submit(events(-1));
+        assertEquals(EVENT_COUNT, adapter.fullBinds);
+        adapter.fullBinds = 0;
+    }
+
+    @Test
+    public void submitList_whenStatusToggled_shouldRebindOnlyThatItemPartially() {
+        submit(events(2));
+
+        assertEquals(1, adapter.partialBinds);
+        assertEquals(0, adapter.fullBinds);
+    }
+
+    @Test
+    public void submitList_whenReloadedUnchanged_shouldNotRebind() {
+        submit(events(-1));
+
+        assertEquals(0, adapter.partialBinds);
+        assertEquals(0, adapter.fullBinds);
+    }
+
+    @Test
+    public void getItemId_shouldBeTaskEventId() {
+        assertTrue(adapter.hasStableIds());
+        assertEquals(3, adapter.getItemId(2));
+    }
+
+    /**
+     * Submits a list and lays the items out once the diff is dispatched on the main thread.
+     */
+    private void submit(List<TaskEvent> taskEvents) {
+        adapter.submitList(taskEvents);
+        shadowOf(Looper.getMainLooper()).idle();
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, 1080, 1920);
+    }
+
+    /**
+     * Freshly loaded events, as a refresh returns them, with the event at an index completed.
+     */
+    private static List<TaskEvent> events(int completedIndex) {
+        List<TaskEvent> events = new ArrayList<>();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            TaskEvent event = new TaskEvent();
+            event.setId(i + 1);
+            event.setTaskId(1);
+            event.setTitle("Task " + (i + 1));
+            event.setScheduledDate(DATE.plusDays(i));
+            event.setPointsEarned(10);
+            event.setStatus(i == completedIndex ? TaskEventStatusEnum.COMPLETED : TaskEventStatusEnum.SCHEDULED);
+            events.add(event);
+        }
+        return events;
+    }
+
+    private static class CountingAdapter extends TaskEventAdapter {
+        int fullBinds;
+        int partialBinds;
+
+        CountingAdapter() {
+            // Diffs on the calling thread; the result is still dispatched on the main looper
+            super(null, Runnable::run);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull TaskEventViewHolder holder, int position, @NonNull List<Object> payloads) {
+            if (payloads.isEmpty()) fullBinds++;
+            else partialBinds++;
+            super.onBindViewHolder(holder, position, payloads);
+        }
+    }
+}
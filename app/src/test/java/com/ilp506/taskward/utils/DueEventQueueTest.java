@@ -0,0 +1,71 @@
+package com.ilp506.taskward.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DueEventQueueTest {
+
+    @Test
+    public void pollDue_shouldReturnDueEventsInOrderThenById() {
+        DueEventQueue queue = new DueEventQueue(2);
+        queue.add(3, 20);
+        queue.add(1, 10);
+        queue.add(2, 20);
+        queue.add(4, 30);
+
+        List<Integer> due = new ArrayList<>();
+        assertEquals(3, queue.pollDue(20, due::add));
+        assertEquals(List.of(1, 2, 3), due);
+        assertEquals(30, queue.peekDueTime());
+        assertEquals(4, queue.peekEventId());
+    }
+
+    @Test
+    public void add_whenQueued_shouldReschedule() {
+        DueEventQueue queue = new DueEventQueue();
+        queue.add(1, 10);
+        queue.add(2, 20);
+        queue.add(1, 30);
+
+        assertEquals(2, queue.size());
+        assertEquals(2, queue.peekEventId());
+        assertTrue(queue.remove(2));
+        assertFalse(queue.remove(2));
+        assertEquals(1, queue.peekEventId());
+        assertEquals(30, queue.peekDueTime());
+    }
+
+    @Test
+    public void randomOperations_shouldMatchSortedReference() {
+        Random random = new Random(42);
+        for (int run = 0; run < 200; run++) {
+            DueEventQueue queue = new DueEventQueue();
+            Map<Integer, Long> reference = new HashMap<>();
+            for (int op = 0; op < 200; op++) {
+                int eventId = random.nextInt(50);
+                if (random.nextInt(3) == 0) {
+                    assertEquals(reference.remove(eventId) != null, queue.remove(eventId));
+                } else {
+                    long dueTime = random.nextInt(100);
+                    queue.add(eventId, dueTime);
+                    reference.put(eventId, dueTime);
+                }
+            }
+
+            List<Integer> expected = new ArrayList<>(reference.keySet());
+            expected.sort(Comparator.comparing((Integer id) -> reference.get(id)).thenComparing(id -> id));
+            List<Integer> actual = new ArrayList<>();
+            queue.pollDue(Long.MAX_VALUE - 1, actual::add);
+            assertEquals(expected, actual);
+            assertTrue(queue.isEmpty());
+        }
+    }
+}
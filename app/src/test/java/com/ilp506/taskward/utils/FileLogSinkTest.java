@@ -0,0 +1,107 @@
+package com.ilp506.taskward.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class FileLogSinkTest {
+    private static final int THREADS = 4;
+    private static final int RECORDS_PER_THREAD = 5_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = folder.newFolder("logs");
+        Logger.setConsoleEnabled(false);
+        Logger.setEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        Logger.setConsoleEnabled(true);
+    }
+
+    @Test
+    public void close_afterConcurrentLogging_shouldWriteEveryRecord() throws Exception {
+        // A small queue and small files, so producers block and files rotate during the run
+        FileLogSink sink = new FileLogSink(directory, 32 * 1024, 1_000, 64, FileLogSink.OverflowPolicy.BLOCK);
+        Logger.addSink(sink);
+        try {
+            logConcurrently();
+        } finally {
+            Logger.removeSink(sink);
+            sink.close();
+        }
+
+        List<String> lines = readWorkerLines();
+        assertEquals(0, sink.getDroppedCount());
+        assertEquals(THREADS * RECORDS_PER_THREAD, lines.size());
+        assertEquals(THREADS * RECORDS_PER_THREAD, new HashSet<>(lines).size());
+        assertTrue("Files were not rotated", directory.listFiles().length > 1);
+    }
+
+    @Test
+    public void accept_whenQueueIsFullWithDropPolicy_shouldCountEveryDroppedRecord() throws Exception {
+        FileLogSink sink = new FileLogSink(directory, 1024 * 1024, 2, 8, FileLogSink.OverflowPolicy.DROP);
+        Logger.addSink(sink);
+        try {
+            logConcurrently();
+        } finally {
+            Logger.removeSink(sink);
+            sink.close();
+        }
+
+        assertEquals(THREADS * RECORDS_PER_THREAD, readWorkerLines().size() + sink.getDroppedCount());
+    }
+
+    @Test
+    public void accept_afterClose_shouldDropRecord() {
+        FileLogSink sink = new FileLogSink(directory, 1024, 2, 8, FileLogSink.OverflowPolicy.BLOCK);
+        sink.close();
+
+        sink.accept(new LogRecord(0, Logger.Level.INFO, "Worker", "late", null));
+
+        assertEquals(1, sink.getDroppedCount());
+    }
+
+    private void logConcurrently() throws InterruptedException {
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < RECORDS_PER_THREAD; i++)
+                    Logger.i("Worker", "thread {} record {}", thread, i);
+            }));
+        }
+        for (Thread worker : workers) worker.start();
+        for (Thread worker : workers) worker.join();
+    }
+
+    private List<String> readWorkerLines() throws IOException {
+        List<String> lines = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (File file : directory.listFiles()) {
+            assertTrue(names.add(file.getName()));
+            for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8))
+                if (line.contains(" I/Worker: ")) lines.add(line.substring(line.indexOf(" I/Worker: ")));
+        }
+        return lines;
+    }
+}
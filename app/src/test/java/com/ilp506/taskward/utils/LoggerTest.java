@@ -0,0 +1,80 @@
+package com.ilp506.taskward.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LoggerTest {
+
+    @Before
+    public void setUp() {
+        Logger.setConsoleEnabled(false);
+        Logger.setEnabled(true);
+        Logger.clearRecentRecords();
+    }
+
+    @After
+    public void tearDown() {
+        Logger.setLevel("Noisy", null);
+        Logger.setEnabled(true);
+        Logger.setConsoleEnabled(true);
+        Logger.clearRecentRecords();
+    }
+
+    @Test
+    public void log_whenBelowThreshold_shouldNotFormatOrCallSupplier() {
+        Logger.setLevel(Logger.Level.WARN);
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("Argument formatted for a disabled level");
+            }
+        };
+
+        Logger.d("Repository", "Executing SQL: {}", argument);
+        Logger.i("Repository", () -> {
+            throw new AssertionError("Supplier called for a disabled level");
+        });
+
+        assertTrue(Logger.getRecentRecords().isEmpty());
+    }
+
+    @Test
+    public void log_withTagLevel_shouldOverrideGlobalLevel() {
+        Logger.setLevel(Logger.Level.DEBUG);
+        Logger.setLevel("Noisy", Logger.Level.ERROR);
+
+        Logger.w("Noisy", "dropped");
+        Logger.d("Quiet", "kept");
+
+        List<LogRecord> records = Logger.getRecentRecords();
+        assertEquals(1, records.size());
+        assertEquals("Quiet", records.get(0).getTag());
+        assertFalse(Logger.isLoggable(Logger.Level.WARN, "Noisy"));
+    }
+
+    @Test
+    public void log_withArguments_shouldSubstitutePlaceholdersInOrder() {
+        Logger.w("Repository", "No next TaskEvent found for Task ID {} after {}.", "7", "2024-11-27 12:00:00");
+        Logger.i("Repository", "Rows: {}", 42);
+
+        List<LogRecord> records = Logger.getRecentRecords();
+        assertEquals("No next TaskEvent found for Task ID 7 after 2024-11-27 12:00:00.", records.get(0).getMessage());
+        assertEquals("Rows: 42", records.get(1).getMessage());
+        assertEquals(Logger.Level.WARN, records.get(0).getLevel());
+    }
+
+    @Test
+    public void getRecentRecords_whenBufferOverflows_shouldKeepNewestInOrder() {
+        for (int i = 0; i < 300; i++) Logger.d("Loop", "Iteration {}", i);
+
+        List<LogRecord> records = Logger.getRecentRecords();
+        assertEquals(256, records.size());
+        assertEquals("Iteration 44", records.get(0).getMessage());
+        assertEquals("Iteration 299", records.get(records.size() - 1).getMessage());
+    }
+}
@@ -0,0 +1,149 @@
+package com.ilp506.taskward.utils;
+
+import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.enums.TaskFrequencyEnum;
+import com.ilp506.taskward.data.models.Task;
+import com.ilp506.taskward.data.models.TaskEvent;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TaskSchedulerTest {
+    private static final int[] MONTH_END_DAYS = {28, 29, 30, 31};
+
+    @Test
+    public void catchUp_shouldMatchStepByStepGeneration() {
+        Random random = new Random(42);
+        TaskFrequencyEnum[] frequencies = TaskFrequencyEnum.values();
+
+        for (int run = 0; run < 2000; run++) {
+            TaskFrequencyEnum frequency = frequencies[random.nextInt(frequencies.length)];
+            Task task = newTask(frequency, 1 + random.nextInt(random.nextBoolean() ? 3 : 60),
+                    randomStartDate(random));
+            if (random.nextInt(4) == 0)
+                task.setEndDate(task.getStartDate().plusDays(random.nextInt(4000)));
+
+            TaskEvent lastEvent = random.nextBoolean() ? null : TaskScheduler.generateNextTaskEvent(task, null);
+            LocalDateTime now = task.getStartDate().plusMinutes(random.nextInt(10 * 366 * 24 * 60));
+
+            assertSameEvents(task + " at " + now, stepByStep(task, lastEvent, now),
+                    TaskScheduler.catchUp(task, lastEvent, now).getEvents());
+        }
+    }
+
+    @Test
+    public void catchUp_whenMonthEndClamped_shouldKeepClampedDay() {
+        Task task = newTask(TaskFrequencyEnum.MONTHLY, 1, LocalDateTime.of(2024, 1, 31, 9, 0));
+
+        TaskScheduler.CatchUp catchUp = TaskScheduler.catchUp(task, null, LocalDateTime.of(2024, 5, 1, 0, 0));
+
+        // Jan 31 -> Feb 29 -> Mar 29 -> Apr 29 -> May 29, as the step-by-step schedule drifts
+        assertEquals(3, catchUp.getMissedEvents().size());
+        assertEquals(LocalDateTime.of(2024, 2, 29, 9, 0), catchUp.getMissedEvents().get(0).getScheduledDate());
+        assertEquals(LocalDateTime.of(2024, 5, 29, 9, 0), catchUp.getNextEvent().getScheduledDate());
+        assertEquals(TaskEventStatusEnum.EXPIRED, catchUp.getMissedEvents().get(2).getStatus());
+        assertEquals(TaskEventStatusEnum.SCHEDULED, catchUp.getNextEvent().getStatus());
+    }
+
+    @Test
+    public void catchUp_whenLeapDaySkipsCenturyYear_shouldMatchStepByStep() {
+        Task task = newTask(TaskFrequencyEnum.YEARLY, 4, LocalDateTime.of(2092, 2, 29, 9, 0));
+        LocalDateTime now = LocalDateTime.of(2110, 1, 1, 0, 0);
+
+        TaskScheduler.CatchUp catchUp = TaskScheduler.catchUp(task, null, now);
+
+        // 2100 is not a leap year, so every occurrence from then on falls on Feb 28
+        assertSameEvents("leap day", stepByStep(task, null, now), catchUp.getEvents());
+        assertEquals(LocalDateTime.of(2112, 2, 28, 9, 0), catchUp.getNextEvent().getScheduledDate());
+    }
+
+    @Test
+    public void catchUp_whenNotBehind_shouldOnlyReturnNextEvent() {
+        Task task = newTask(TaskFrequencyEnum.DAILY, 1, LocalDateTime.of(2024, 1, 1, 9, 0));
+
+        TaskScheduler.CatchUp catchUp = TaskScheduler.catchUp(task, null, LocalDateTime.of(2024, 1, 1, 10, 0));
+
+        assertTrue(catchUp.getMissedEvents().isEmpty());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 9, 0), catchUp.getNextEvent().getScheduledDate());
+    }
+
+    @Test
+    public void occurrencesBetween_shouldMatchStepByStepGenerationInRange() {
+        Random random = new Random(7);
+        TaskFrequencyEnum[] frequencies = TaskFrequencyEnum.values();
+
+        for (int run = 0; run < 1000; run++) {
+            TaskFrequencyEnum frequency = frequencies[random.nextInt(frequencies.length)];
+            Task task = newTask(frequency, 1 + random.nextInt(random.nextBoolean() ? 3 : 40),
+                    randomStartDate(random));
+            if (random.nextInt(4) == 0)
+                task.setEndDate(task.getStartDate().plusDays(random.nextInt(4000)));
+            if (random.nextInt(4) == 0)
+                task.setRecurrenceRule(frequency == TaskFrequencyEnum.DAILY ? "FREQ=DAILY" : "FREQ=" + frequency.name()
+                        + (frequency == TaskFrequencyEnum.WEEKLY ? ";BYDAY=MO,TH" : ";BYDAY=-1FR"));
+
+            LocalDateTime from = task.getStartDate().plusMinutes(random.nextInt(5 * 366 * 24 * 60) - 30 * 24 * 60);
+            LocalDateTime to = from.plusMinutes(random.nextInt(400 * 24 * 60));
+
+            List<TaskEvent> expected = new ArrayList<>();
+            for (TaskEvent event = TaskScheduler.generateNextTaskEvent(task, null);
+                 event != null && !event.getScheduledDate().isAfter(to);
+                 event = TaskScheduler.generateNextTaskEvent(task, event))
+                if (!event.getScheduledDate().isBefore(from)) expected.add(event);
+
+            assertSameEvents(task + " from " + from + " to " + to, expected,
+                    TaskScheduler.occurrencesBetween(task, from, to));
+        }
+    }
+
+    /**
+     * The reference: what repeated expiry sweeps produce, one interval at a time.
+     */
+    private static List<TaskEvent> stepByStep(Task task, TaskEvent lastEvent, LocalDateTime now) {
+        List<TaskEvent> events = new ArrayList<>();
+        TaskEvent event = TaskScheduler.generateNextTaskEvent(task, lastEvent);
+        while (event != null && event.getScheduledDate().isBefore(now)) {
+            event.setStatus(TaskEventStatusEnum.EXPIRED);
+            events.add(event);
+            event = TaskScheduler.generateNextTaskEvent(task, event);
+        }
+        if (event != null) events.add(event);
+        return events;
+    }
+
+    private static void assertSameEvents(String message, List<TaskEvent> expected, List<TaskEvent> actual) {
+        assertEquals(message, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(message, expected.get(i).getScheduledDate(), actual.get(i).getScheduledDate());
+            assertEquals(message, expected.get(i).getStatus(), actual.get(i).getStatus());
+        }
+    }
+
+    private static LocalDateTime randomStartDate(Random random) {
+        int year = 1996 + random.nextInt(30);
+        int month = 1 + random.nextInt(12);
+        LocalDateTime firstOfMonth = LocalDateTime.of(year, month, 1, random.nextInt(24), random.nextInt(60));
+        // Month ends are where the schedules drift, so they are picked half of the time
+        int day = random.nextBoolean()
+                ? MONTH_END_DAYS[random.nextInt(MONTH_END_DAYS.length)]
+                : 1 + random.nextInt(28);
+        return firstOfMonth.withDayOfMonth(Math.min(day, firstOfMonth.toLocalDate().lengthOfMonth()));
+    }
+
+    private static Task newTask(TaskFrequencyEnum frequency, int interval, LocalDateTime startDate) {
+        Task task = new Task();
+        task.setId(1);
+        task.setTitle("Task");
+        task.setFrequency(frequency);
+        task.setFrequencyInterval(interval);
+        task.setPointsReward(10);
+        task.setStartDate(startDate);
+        return task;
+    }
+}
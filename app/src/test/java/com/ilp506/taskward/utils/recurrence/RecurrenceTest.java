@@ -0,0 +1,106 @@
+package com.ilp506.taskward.utils.recurrence;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+public class RecurrenceTest {
+    // A Monday
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 30);
+
+    @Test
+    public void weeklyByDay_shouldRecurOnMondayWednesdayFriday() {
+        Recurrence recurrence = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE,FR").compile(START);
+
+        assertEquals(Arrays.asList(
+                LocalDateTime.of(2024, 1, 1, 9, 30),
+                LocalDateTime.of(2024, 1, 3, 9, 30),
+                LocalDateTime.of(2024, 1, 5, 9, 30),
+                LocalDateTime.of(2024, 1, 8, 9, 30)
+        ), recurrence.between(START, LocalDateTime.of(2024, 1, 8, 9, 30)));
+    }
+
+    @Test
+    public void monthlyBySetPos_shouldRecurOnLastWeekdayOfMonth() {
+        Recurrence recurrence = RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=MO,TU,WE,TH,FR;BYSETPOS=-1").compile(START);
+
+        // Mar 31 2024 is a Sunday, Jun 30 a Sunday
+        assertEquals(LocalDateTime.of(2024, 1, 31, 9, 30), recurrence.first());
+        assertEquals(LocalDateTime.of(2024, 3, 29, 9, 30), recurrence.next(LocalDateTime.of(2024, 3, 1, 0, 0)));
+        assertEquals(LocalDateTime.of(2024, 6, 28, 9, 30), recurrence.next(LocalDateTime.of(2024, 6, 1, 0, 0)));
+    }
+
+    @Test
+    public void ordinalAndIntervalRules_shouldMatchDayByDayReference() {
+        LocalDate to = START.toLocalDate().plusYears(3);
+
+        assertMatchesReference("FREQ=MONTHLY;BYDAY=2TU", to, date ->
+                date.getDayOfWeek() == DayOfWeek.TUESDAY && (date.getDayOfMonth() - 1) / 7 == 1);
+        assertMatchesReference("FREQ=WEEKLY;INTERVAL=2;BYDAY=TU", to, date ->
+                date.getDayOfWeek() == DayOfWeek.TUESDAY
+                        && (date.toEpochDay() - START.toLocalDate().toEpochDay()) / 7 % 2 == 0);
+        assertMatchesReference("FREQ=MONTHLY;BYDAY=-1FR", to, date ->
+                date.getDayOfWeek() == DayOfWeek.FRIDAY && date.plusWeeks(1).getMonth() != date.getMonth());
+        assertMatchesReference("FREQ=MONTHLY;INTERVAL=3;BYMONTHDAY=-1", to, date ->
+                date.getDayOfMonth() == date.lengthOfMonth() && (date.getMonthValue() - 1) % 3 == 0);
+        assertMatchesReference("FREQ=DAILY;INTERVAL=5", to, date ->
+                (date.toEpochDay() - START.toLocalDate().toEpochDay()) % 5 == 0);
+    }
+
+    @Test
+    public void monthlyByMonthDay_shouldSkipMonthsWithoutThatDay() {
+        Recurrence recurrence = RecurrenceRule.parse("FREQ=MONTHLY;BYMONTHDAY=31").compile(START);
+
+        List<LocalDateTime> occurrences = recurrence.between(START, LocalDateTime.of(2024, 5, 31, 23, 0));
+
+        assertEquals(Arrays.asList(
+                LocalDateTime.of(2024, 1, 31, 9, 30),
+                LocalDateTime.of(2024, 3, 31, 9, 30),
+                LocalDateTime.of(2024, 5, 31, 9, 30)
+        ), occurrences);
+    }
+
+    @Test
+    public void yearlyOnLeapDay_shouldSkipYearsWithoutIt() {
+        Recurrence recurrence = RecurrenceRule.parse("FREQ=YEARLY").compile(LocalDateTime.of(2024, 2, 29, 9, 0));
+
+        assertEquals(LocalDateTime.of(2024, 2, 29, 9, 0), recurrence.first());
+        assertEquals(LocalDateTime.of(2028, 2, 29, 9, 0), recurrence.next(recurrence.first()));
+        // No February has a 30th
+        assertNull(RecurrenceRule.parse("FREQ=YEARLY;BYMONTHDAY=30").compile(START.withMonth(2)).first());
+    }
+
+    @Test
+    public void parse_shouldRoundTripAndRejectUnsupportedParts() {
+        String rule = "FREQ=MONTHLY;INTERVAL=2;BYDAY=MO,-1FR;BYSETPOS=1,-1";
+        assertEquals(rule, RecurrenceRule.parse("rrule:" + rule.toLowerCase()).toString());
+        assertEquals(RecurrenceRule.parse(rule), RecurrenceRule.parse(rule));
+
+        for (String invalid : new String[]{"", "BYDAY=MO", "FREQ=HOURLY", "FREQ=WEEKLY;BYDAY=2MO",
+                "FREQ=DAILY;BYDAY=MO", "FREQ=MONTHLY;BYMONTHDAY=0", "FREQ=MONTHLY;COUNT=3", "FREQ=MONTHLY;BYSETPOS=1"}) {
+            try {
+                RecurrenceRule.parse(invalid);
+                fail("Accepted " + invalid);
+            } catch (IllegalArgumentException expected) {
+                // Rejected as it should
+            }
+        }
+    }
+
+    private static void assertMatchesReference(String rule, LocalDate to, Predicate<LocalDate> reference) {
+        List<LocalDateTime> expected = new ArrayList<>();
+        for (LocalDate date = START.toLocalDate(); !date.isAfter(to); date = date.plusDays(1))
+            if (reference.test(date)) expected.add(date.atTime(START.toLocalTime()));
+
+        Recurrence recurrence = RecurrenceRule.parse(rule).compile(START);
+        assertEquals(rule, expected, recurrence.between(START, to.atTime(23, 59)));
+    }
+}
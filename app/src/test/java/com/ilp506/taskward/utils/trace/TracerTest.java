@@ -0,0 +1,141 @@
+package com.ilp506.taskward.utils.trace;
+
+import com.ilp506.taskward.controllers.TaskController;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.data.repositories.TaskRepository;
+import com.ilp506.taskward.data.storage.Database;
+import com.ilp506.taskward.data.storage.DatabaseProvider;
+import com.ilp506.taskward.data.storage.StorageException;
+import com.ilp506.taskward.utils.Logger;
+import com.ilp506.taskward.utils.OperationResponse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class TracerTest {
+
+    private RecordingBackend backend;
+
+    @Before
+    public void setUp() {
+        Logger.setEnabled(false);
+        backend = new RecordingBackend();
+        Tracer.setBackend(backend);
+    }
+
+    @After
+    public void tearDown() {
+        Tracer.setBackend(null);
+        Logger.setEnabled(true);
+    }
+
+    @Test
+    public void section_whenBodyThrows_shouldStillEndSection() {
+        try (TraceSection outer = Tracer.section("outer")) {
+            try (TraceSection inner = Tracer.section("inner")) {
+                throw new IllegalStateException("boom");
+            }
+        } catch (IllegalStateException expected) {
+            // The sections are closed before the exception arrives here
+        }
+
+        assertEquals(2, backend.begins);
+        assertEquals(2, backend.ends);
+        assertEquals(0, backend.depth);
+    }
+
+    @Test
+    public void controllerOperation_whenRepositoryFails_shouldKeepSectionsBalanced() {
+        DatabaseProvider databaseProvider = mock(DatabaseProvider.class);
+        Database database = mock(Database.class);
+        when(databaseProvider.getReadableDatabase()).thenReturn(database);
+        when(database.query(anyString(), any(), any(), any(), any()))
+                .thenThrow(new StorageException(StorageException.Kind.OTHER, "disk I/O error", null));
+        TaskController controller = new TaskController(
+                new TaskRepository(databaseProvider), new TaskEventRepository(databaseProvider));
+
+        OperationResponse<?> response = controller.getAllTasks();
+
+        assertFalse(response.isSuccessful());
+        assertTrue(backend.names.contains("TaskController.getAllTasks"));
+        assertTrue(backend.names.contains("TaskRepository.getAllTasks"));
+        assertEquals(backend.begins, backend.ends);
+        assertEquals(0, backend.depth);
+    }
+
+    @Test
+    public void section_whenTracingIsOff_shouldNotReachBackend() {
+        backend.enabled = false;
+
+        try (TraceSection section = Tracer.section("ignored")) {
+            assertFalse(Tracer.isEnabled());
+        }
+        Tracer.beginAsync("ignored").close();
+
+        assertEquals(0, backend.begins);
+        assertEquals(0, backend.ends);
+    }
+
+    @Test
+    public void asyncSlice_whenClosedOnAnotherThread_shouldEndWithSameCookie() throws InterruptedException {
+        AsyncSlice slice = Tracer.beginAsync("work");
+        Thread worker = new Thread(slice::close);
+        worker.start();
+        worker.join();
+
+        assertEquals(1, backend.asyncCookies.size());
+        assertTrue(backend.openAsyncCookies.isEmpty());
+    }
+
+    /**
+     * Counts begin and end calls; depth goes negative if a section is ended twice.
+     */
+    private static final class RecordingBackend implements TraceBackend {
+        volatile boolean enabled = true;
+        final List<String> names = new ArrayList<>();
+        final List<Integer> asyncCookies = new ArrayList<>();
+        final List<Integer> openAsyncCookies = new ArrayList<>();
+        int begins;
+        int ends;
+        int depth;
+
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        @Override
+        public void beginSection(String name) {
+            names.add(name);
+            begins++;
+            depth++;
+        }
+
+        @Override
+        public void endSection() {
+            ends++;
+            depth--;
+            assertTrue("Section ended without a matching begin", depth >= 0);
+        }
+
+        @Override
+        public synchronized void beginAsyncSection(String name, int cookie) {
+            asyncCookies.add(cookie);
+            openAsyncCookies.add(cookie);
+        }
+
+        @Override
+        public synchronized void endAsyncSection(String name, int cookie) {
+            assertTrue("Unknown async cookie", openAsyncCookies.remove((Integer) cookie));
+        }
+    }
+}
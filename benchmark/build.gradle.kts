@@ -0,0 +1,88 @@
+// JMH benchmarks for the app's domain logic and repository workflows.
+// Runs on a plain JVM, without the Android SDK; the repositories run on SQLite through JDBC:
+//   ./gradlew --configure-on-demand :benchmark:jmh
+// The tests check the schema and the repositories' SQL against the same driver:
+//   ./gradlew --configure-on-demand :benchmark:test
+// Results are written as JSON to benchmark/build/results/jmh/results.json.
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// Compiles the benchmarked app sources directly, so no Android build is involved.
+// Android framework classes may only be referenced on paths the benchmarks never run, such as
+// the Android storage adapters; the stub jar satisfies the linker. src/main/java holds a
+// stand-in for the generated R class and the JDBC storage.
+sourceSets {
+    main {
+        java {
+            setSrcDirs(listOf("../app/src/main/java", "src/main/java"))
+            include(
+                "com/ilp506/taskward/R.java",
+                "com/ilp506/taskward/benchmark/jdbc/*.java",
+                "com/ilp506/taskward/data/**/*.java",
+                "com/ilp506/taskward/exceptions/**/*.java",
+                "com/ilp506/taskward/controllers/RewardController.java",
+                "com/ilp506/taskward/controllers/TaskController.java",
+                "com/ilp506/taskward/controllers/TaskEventController.java",
+                "com/ilp506/taskward/services/BackgroundJob.java",
+                "com/ilp506/taskward/services/ExpiryScheduler.java",
+                "com/ilp506/taskward/services/HorizonPlanner.java",
+                "com/ilp506/taskward/services/OccurrenceService.java",
+                "com/ilp506/taskward/services/PointService.java",
+                "com/ilp506/taskward/utils/metrics/*.java",
+                "com/ilp506/taskward/utils/recurrence/*.java",
+                "com/ilp506/taskward/utils/CacheManager.java",
+                "com/ilp506/taskward/utils/DateUtils.java",
+                "com/ilp506/taskward/utils/DueEventQueue.java",
+                "com/ilp506/taskward/utils/FileLogSink.java",
+                "com/ilp506/taskward/utils/LogRecord.java",
+                "com/ilp506/taskward/utils/LogSink.java",
+                "com/ilp506/taskward/utils/Logger.java",
+                "com/ilp506/taskward/utils/OperationResponse.java",
+                "com/ilp506/taskward/utils/SQLScriptUtils.java",
+                "com/ilp506/taskward/utils/SearchUtils.java",
+                "com/ilp506/taskward/utils/TaskScheduler.java",
+                "com/ilp506/taskward/utils/VirtualClock.java",
+                "com/ilp506/taskward/utils/trace/AsyncSlice.java",
+                "com/ilp506/taskward/utils/trace/TraceBackend.java",
+                "com/ilp506/taskward/utils/trace/TraceSection.java",
+                "com/ilp506/taskward/utils/trace/Tracer.java"
+            )
+        }
+        resources {
+            // The JDBC storage builds the schema from the app's script
+            srcDir("../app/src/main/res/raw")
+            include("create.sql")
+        }
+    }
+    test {
+        resources {
+            // The seed data of a fresh install
+            srcDir("../app/src/main/res/raw")
+            include("insert.sql")
+        }
+    }
+}
+
+dependencies {
+    compileOnly(libs.annotation)
+    implementation(libs.android.stubs)
+    implementation(libs.jsqlparser)
+    implementation(libs.sqlite.jdbc)
+
+    testImplementation(libs.junit)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    // Allows a CI job to run a subset, e.g. -Pjmh.includes=DateUtils
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.set(listOf(it)) }
+}
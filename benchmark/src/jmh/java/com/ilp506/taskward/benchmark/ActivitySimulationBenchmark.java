@@ -0,0 +1,172 @@
+package com.ilp506.taskward.benchmark;
+
+import com.ilp506.taskward.benchmark.jdbc.JdbcDatabaseProvider;
+import com.ilp506.taskward.controllers.RewardController;
+import com.ilp506.taskward.controllers.TaskController;
+import com.ilp506.taskward.controllers.TaskEventController;
+import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.enums.TaskFrequencyEnum;
+import com.ilp506.taskward.data.models.Reward;
+import com.ilp506.taskward.data.models.Task;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.repositories.RewardRepository;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.data.repositories.TaskRepository;
+import com.ilp506.taskward.data.repositories.UserRepository;
+import com.ilp506.taskward.data.seed.DatasetGenerator;
+import com.ilp506.taskward.services.HorizonPlanner;
+import com.ilp506.taskward.services.PointService;
+import com.ilp506.taskward.utils.Logger;
+import com.ilp506.taskward.utils.OperationResponse;
+import com.ilp506.taskward.utils.VirtualClock;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays daily use at full speed on a {@link VirtualClock}, through the controllers and on a real
+ * SQLite database holding a one-year history of 50 tasks. Each invocation simulates one day: it
+ * expires what fell due and tops up the horizon in the morning, lists the day's occurrences and
+ * completes most of them in the evening, adds a task on Mondays and creates and redeems a reward
+ * on the first of the month. The next invocation moves on to the next day, so an iteration
+ * replays months of activity; the score is in simulated days per second, and the counter gives
+ * the controller operations per second.
+ * Each iteration starts from a freshly generated database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ActivitySimulationBenchmark {
+    private static final int TASK_COUNT = 50;
+    private static final double COMPLETION_RATE = 0.8;
+    private static final long SEED = 42;
+
+    private JdbcDatabaseProvider database;
+    private VirtualClock clock;
+    private TaskController taskController;
+    private TaskEventController taskEventController;
+    private RewardController rewardController;
+    private Random random;
+    private LocalDateTime day;
+
+    /**
+     * Controller calls made by the simulation, reported per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Operations {
+        public long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            operations = 0;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        Logger.setEnabled(false);
+        database = JdbcDatabaseProvider.create(File.createTempFile("activity-simulation", ".db"));
+        new DatasetGenerator(database).generate(1, TASK_COUNT, 0, SEED, DatasetGenerator.DEFAULT_END_DATE);
+
+        clock = new VirtualClock(DatasetGenerator.DEFAULT_END_DATE, ZoneOffset.UTC);
+        TaskRepository taskRepository = new TaskRepository(database);
+        TaskEventRepository taskEventRepository = new TaskEventRepository(database);
+        PointService pointService = new PointService(new UserRepository(database));
+        HorizonPlanner planner = new HorizonPlanner(taskRepository, taskEventRepository);
+        taskController = new TaskController(taskRepository, taskEventRepository, planner, clock);
+        taskEventController = new TaskEventController(taskEventRepository, taskRepository, pointService,
+                planner, clock);
+        rewardController = new RewardController(new RewardRepository(database), pointService, clock);
+        random = new Random(SEED);
+        day = DatasetGenerator.DEFAULT_END_DATE;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public int simulateDay(Operations counter) {
+        clock.set(day.plusHours(7));
+        check(taskEventController.checkAndGenerateExpiredEvents());
+        int operations = 1;
+
+        if (day.getDayOfWeek() == DayOfWeek.MONDAY) {
+            check(taskController.createTask(newTask(day.plusHours(9))));
+            operations++;
+        }
+
+        clock.set(day.plusHours(20));
+        List<TaskEvent> occurrences = check(
+                taskEventController.getOccurrences(day, day.plusDays(1).minusSeconds(1)));
+        operations++;
+        for (TaskEvent occurrence : occurrences) {
+            if (occurrence.getStatus() != TaskEventStatusEnum.SCHEDULED || random.nextDouble() >= COMPLETION_RATE)
+                continue;
+            check(taskEventController.completeOccurrence(occurrence));
+            operations++;
+        }
+
+        if (day.getDayOfMonth() == 1) {
+            Reward reward = check(rewardController.createReward(newReward()));
+            check(rewardController.redeemReward(reward.getId()));
+            operations += 2;
+        }
+
+        day = day.plusDays(1);
+        counter.operations += operations;
+        return operations;
+    }
+
+    private Task newTask(LocalDateTime startDate) {
+        TaskFrequencyEnum[] frequencies = TaskFrequencyEnum.values();
+        Task task = new Task();
+        task.setUserId(1);
+        task.setIcon("ic_task");
+        task.setTitle("Simulated task " + random.nextInt(1_000_000));
+        task.setFrequency(frequencies[random.nextInt(frequencies.length)]);
+        task.setFrequencyInterval(1 + random.nextInt(3));
+        task.setStartDate(startDate);
+        task.setPointsReward(5 + random.nextInt(50));
+        return task;
+    }
+
+    private Reward newReward() {
+        Reward reward = new Reward();
+        reward.setUserId(1);
+        reward.setIcon("ic_reward");
+        reward.setTitle("Simulated reward " + random.nextInt(1_000_000));
+        reward.setPointsRequired(50 + random.nextInt(500));
+        return reward;
+    }
+
+    private static <T> T check(OperationResponse<T> response) {
+        if (!response.isSuccessful()) throw new IllegalStateException(response.getMessage());
+        return response.getData();
+    }
+}
@@ -0,0 +1,99 @@
+package com.ilp506.taskward.benchmark;
+
+import com.ilp506.taskward.benchmark.jdbc.JdbcDatabaseProvider;
+import com.ilp506.taskward.controllers.TaskEventController;
+import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.models.Task;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.data.repositories.TaskRepository;
+import com.ilp506.taskward.data.repositories.UserRepository;
+import com.ilp506.taskward.data.seed.DatasetGenerator;
+import com.ilp506.taskward.data.seed.DatasetPreset;
+import com.ilp506.taskward.services.PointService;
+import com.ilp506.taskward.utils.Logger;
+import com.ilp506.taskward.utils.OperationResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures completing 1,000 scheduled events through the task event controller, on a real
+ * SQLite database holding a one-year dataset. Every completion reads and updates the event,
+ * credits the user's points and tops up the task's upcoming events, as in the app.
+ * Each iteration starts from a freshly generated database.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompleteEventsBenchmark {
+    private static final int EVENT_COUNT = 1_000;
+    private static final long SEED = 42;
+
+    private JdbcDatabaseProvider database;
+    private TaskEventController controller;
+    private List<Integer> eventIds;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        Logger.setEnabled(false);
+        database = JdbcDatabaseProvider.create(File.createTempFile("complete-events", ".db"));
+        new DatasetGenerator(database).generate(DatasetPreset.ONE_YEAR, SEED);
+
+        TaskRepository taskRepository = new TaskRepository(database);
+        TaskEventRepository taskEventRepository = new TaskEventRepository(database);
+        controller = new TaskEventController(taskEventRepository, taskRepository,
+                new PointService(new UserRepository(database)));
+
+        // Events due after the generated history, spread over the tasks
+        List<Task> tasks = taskRepository.getAllTasks();
+        List<TaskEvent> events = new ArrayList<>(EVENT_COUNT);
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            Task task = tasks.get(i % tasks.size());
+            TaskEvent event = new TaskEvent();
+            event.setUserId(1);
+            event.setTaskId(task.getId());
+            event.setScheduledDate(DatasetGenerator.DEFAULT_END_DATE.plusDays(1 + i / tasks.size()));
+            event.setPointsEarned(task.getPointsReward());
+            event.setStatus(TaskEventStatusEnum.SCHEDULED);
+            events.add(event);
+        }
+        taskEventRepository.createTaskEvents(events);
+
+        eventIds = new ArrayList<>(EVENT_COUNT);
+        for (TaskEvent event : events) eventIds.add(event.getId());
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public int completeEvents() {
+        for (int eventId : eventIds) {
+            OperationResponse<Void> response = controller.completeTaskEvent(eventId);
+            if (!response.isSuccessful()) throw new IllegalStateException(response.getMessage());
+        }
+        return eventIds.size();
+    }
+}
@@ -0,0 +1,46 @@
+package com.ilp506.taskward.benchmark;
+
+import com.ilp506.taskward.utils.DateUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the date conversions run for every date column of every mapped row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateUtilsBenchmark {
+    private final String dateString = "2024-11-27 12:30:45";
+    private final String simpleDateString = "27/11/2024";
+    private final LocalDateTime dateTime = LocalDateTime.of(2024, 11, 27, 12, 30, 45);
+
+    @Benchmark
+    public LocalDateTime parseLocalDateTime() {
+        return DateUtils.parseLocalDateTime(dateString);
+    }
+
+    @Benchmark
+    public String formatLocalDateTime() {
+        return DateUtils.formatLocalDateTime(dateTime);
+    }
+
+    @Benchmark
+    public LocalDateTime convertToDefaultFormat() {
+        return DateUtils.convertToDefaultFormat(simpleDateString);
+    }
+}
@@ -0,0 +1,77 @@
+package com.ilp506.taskward.benchmark;
+
+import com.ilp506.taskward.utils.DueEventQueue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the in-memory reminder queue with 100k pending events due over a year: inserting,
+ * cancelling and advancing time past the next events, 10,000 operations per iteration.
+ * Each iteration starts from a freshly filled queue.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = DueEventQueueBenchmark.BATCH_SIZE)
+@Measurement(iterations = 10, batchSize = DueEventQueueBenchmark.BATCH_SIZE)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DueEventQueueBenchmark {
+    static final int BATCH_SIZE = 10_000;
+    private static final int PENDING_EVENTS = 100_000;
+    private static final long YEAR_SECONDS = 365L * 24 * 60 * 60;
+    private static final long SEED = 42;
+
+    private final Random random = new Random(SEED);
+    private DueEventQueue queue;
+    private int nextEventId;
+    private int[] cancelOrder;
+    private int nextCancelled;
+    private long now;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        queue = new DueEventQueue(PENDING_EVENTS + BATCH_SIZE);
+        for (int eventId = 1; eventId <= PENDING_EVENTS; eventId++)
+            queue.add(eventId, (long) (random.nextDouble() * YEAR_SECONDS));
+        nextEventId = PENDING_EVENTS + 1;
+        // Cancelled in random order, spread over the heap
+        cancelOrder = new int[PENDING_EVENTS];
+        for (int i = 0; i < PENDING_EVENTS; i++) {
+            int j = random.nextInt(i + 1);
+            cancelOrder[i] = cancelOrder[j];
+            cancelOrder[j] = i + 1;
+        }
+        nextCancelled = 0;
+        now = 0;
+    }
+
+    @Benchmark
+    public int insert() {
+        queue.add(nextEventId++, (long) (random.nextDouble() * YEAR_SECONDS));
+        return queue.size();
+    }
+
+    @Benchmark
+    public boolean cancel() {
+        return queue.remove(cancelOrder[nextCancelled++]);
+    }
+
+    @Benchmark
+    public int advance() {
+        now = queue.peekDueTime();
+        return queue.pollDue(now, eventId -> { });
+    }
+}
@@ -0,0 +1,57 @@
+package com.ilp506.taskward.benchmark;
+
+import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.enums.TaskFrequencyEnum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the enum lookups run for the status and frequency column of every mapped row.
+ * The first and last constants bound the cost of the linear search; the upper-case value
+ * exercises the case-insensitive comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class StatusState {
+        @Param({"scheduled", "expired", "COMPLETED"})
+        public String status;
+    }
+
+    @State(Scope.Benchmark)
+    public static class FrequencyState {
+        @Param({"daily", "yearly", "YEARLY"})
+        public String frequency;
+    }
+
+    @Benchmark
+    public TaskEventStatusEnum statusFromString(StatusState state) {
+        return TaskEventStatusEnum.fromString(state.status);
+    }
+
+    @Benchmark
+    public TaskFrequencyEnum frequencyFromString(FrequencyState state) {
+        return TaskFrequencyEnum.fromString(state.frequency);
+    }
+
+    @Benchmark
+    public String frequencyRoundTrip(FrequencyState state) {
+        return TaskFrequencyEnum.fromString(state.frequency).getValue();
+    }
+}
@@ -0,0 +1,90 @@
+package com.ilp506.taskward.benchmark;
+
+import com.ilp506.taskward.utils.FileLogSink;
+import com.ilp506.taskward.utils.LogRecord;
+import com.ilp506.taskward.utils.Logger;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many records per second four logging threads can hand to the file sink, with the
+ * writer thread rotating 1 MB files in the background. With the DROP policy the score counts
+ * dropped records too; the number dropped is reported alongside as a secondary result.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class FileLogSinkBenchmark {
+    @Param({"BLOCK", "DROP"})
+    public FileLogSink.OverflowPolicy policy;
+
+    private File directory;
+    private FileLogSink sink;
+    private LogRecord record;
+
+    /**
+     * Records dropped by the sink during an iteration. The sink is shared, so the first thread
+     * reports the total for all of them.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Drops {
+        public long dropped;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            dropped = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void report(FileLogSinkBenchmark benchmark, ThreadParams threadParams) {
+            if (threadParams.getThreadIndex() != 0) return;
+            dropped = benchmark.sink.getDroppedCount();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("taskward-logs").toFile();
+        sink = new FileLogSink(directory, 1024 * 1024, 5, 4096, policy);
+        record = new LogRecord(System.currentTimeMillis(), Logger.Level.INFO, "TaskEventRepository",
+                "No next TaskEvent found for Task ID 42 after 2024-11-27 12:30:45.", null);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        sink.close();
+        File[] files = directory.listFiles();
+        if (files != null) for (File file : files) file.delete();
+        directory.delete();
+    }
+
+    @Benchmark
+    public void accept(Drops drops) {
+        sink.accept(record);
+    }
+}
@@ -0,0 +1,68 @@
+package com.ilp506.taskward.benchmark;
+
+import com.ilp506.taskward.benchmark.jdbc.JdbcDatabaseProvider;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.data.repositories.TaskRepository;
+import com.ilp506.taskward.data.seed.DatasetGenerator;
+import com.ilp506.taskward.services.HorizonPlanner;
+import com.ilp506.taskward.utils.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the daily top-up of the rolling planning horizon for 500 tasks, on a real SQLite
+ * database holding a one-year history. The horizon is planned once in setup, so the measured
+ * top-up only adds the day that came into reach, as it does in the app.
+ * Each iteration starts from a freshly generated database.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HorizonPlannerBenchmark {
+    private static final int TASK_COUNT = 500;
+    private static final long SEED = 42;
+
+    private JdbcDatabaseProvider database;
+    private HorizonPlanner planner;
+    private LocalDateTime nextDay;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        Logger.setEnabled(false);
+        database = JdbcDatabaseProvider.create(File.createTempFile("horizon-planner", ".db"));
+        new DatasetGenerator(database).generate(1, TASK_COUNT, 0, SEED, DatasetGenerator.DEFAULT_END_DATE);
+
+        planner = new HorizonPlanner(new TaskRepository(database), new TaskEventRepository(database));
+        planner.topUp(DatasetGenerator.DEFAULT_END_DATE);
+        nextDay = DatasetGenerator.DEFAULT_END_DATE.plusDays(1);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public int dailyTopUp() {
+        return planner.topUp(nextDay);
+    }
+}
@@ -0,0 +1,134 @@
+package com.ilp506.taskward.benchmark;
+
+import com.ilp506.taskward.benchmark.jdbc.JdbcDatabaseProvider;
+import com.ilp506.taskward.data.DatabaseContract.TaskEventTable;
+import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.data.repositories.TaskRepository;
+import com.ilp506.taskward.data.seed.DatasetGenerator;
+import com.ilp506.taskward.data.storage.Values;
+import com.ilp506.taskward.services.ExpiryScheduler;
+import com.ilp506.taskward.services.HorizonPlanner;
+import com.ilp506.taskward.utils.DateUtils;
+import com.ilp506.taskward.utils.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a household of 20 users with 10 tasks and a five-year history each, on a real SQLite
+ * database: loading the active user's task events over the user index against loading every
+ * event and keeping theirs, and the expiry sweep after a week without opening the app, which
+ * expires the week's planned events of every user in interleaved chunks as
+ * {@link ExpiryScheduler} does.
+ * The database is generated once; the sweep's writes are undone before each iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HouseholdBenchmark {
+    private static final int USER_COUNT = 20;
+    private static final int YEARS = 5;
+    private static final int TASKS_PER_USER = 10;
+    private static final long SEED = 42;
+    private static final LocalDateTime LEFT = DatasetGenerator.DEFAULT_END_DATE;
+    private static final LocalDateTime BACK = LEFT.plusWeeks(1);
+
+    private JdbcDatabaseProvider database;
+    private TaskEventRepository taskEventRepository;
+    private int nextUserId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Logger.setEnabled(false);
+        database = JdbcDatabaseProvider.create(File.createTempFile("household", ".db"));
+        DatasetGenerator generator = new DatasetGenerator(database);
+        for (int i = 0; i < USER_COUNT; i++)
+            generator.generate(YEARS, TASKS_PER_USER, 0, SEED + i, LEFT);
+
+        taskEventRepository = new TaskEventRepository(database);
+        new HorizonPlanner(new TaskRepository(database), taskEventRepository).topUp(LEFT);
+    }
+
+    /**
+     * Sets the events the sweep expired back to scheduled.
+     */
+    @Setup(Level.Iteration)
+    public void resetSweep() {
+        Values values = new Values();
+        values.put(TaskEventTable.COLUMN_STATUS, TaskEventStatusEnum.SCHEDULED.getValue());
+        database.getWritableDatabase().update(TaskEventTable.TABLE_NAME, values,
+                TaskEventTable.COLUMN_STATUS + " = ? AND " + TaskEventTable.COLUMN_SCHEDULED_DATE + " >= ?",
+                new String[]{TaskEventStatusEnum.EXPIRED.getValue(), DateUtils.formatLocalDateTime(LEFT)});
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public List<TaskEvent> loadActiveUserEvents() {
+        return taskEventRepository.getTaskEventsByUserId(nextUserId());
+    }
+
+    @Benchmark
+    public List<TaskEvent> loadAllEventsForActiveUser() {
+        int userId = nextUserId();
+        List<TaskEvent> events = new ArrayList<>();
+        for (TaskEvent event : taskEventRepository.getAllTaskEvents())
+            if (event.getUserId() == userId) events.add(event);
+        return events;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public int sweepAfterWeekAway() {
+        LocalDateTime[] watermarks = new LocalDateTime[USER_COUNT];
+        Arrays.fill(watermarks, LEFT);
+        int expired = 0;
+        boolean moreDue = true;
+        while (moreDue) {
+            moreDue = false;
+            for (int i = 0; i < USER_COUNT; i++) {
+                List<TaskEvent> chunk = taskEventRepository.expireDueTaskEvents(
+                        i + 1, watermarks[i], BACK, ExpiryScheduler.DEFAULT_CHUNK_SIZE);
+                expired += chunk.size();
+                if (chunk.size() == ExpiryScheduler.DEFAULT_CHUNK_SIZE) {
+                    watermarks[i] = chunk.get(chunk.size() - 1).getScheduledDate();
+                    moreDue = true;
+                } else {
+                    watermarks[i] = BACK;
+                }
+            }
+        }
+        return expired;
+    }
+
+    private int nextUserId() {
+        nextUserId = nextUserId % USER_COUNT + 1;
+        return nextUserId;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ilp506.taskward.benchmark;
+
+import com.ilp506.taskward.utils.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the log calls of the repository hot paths while their level is disabled, as in a
+ * release build logging errors only. Run with the GC profiler to see the allocations per call:
+ *   ./gradlew --configure-on-demand :benchmark:jmh -Pjmh.includes=LoggerBenchmark
+ * with {@code profilers = listOf("gc")}, or {@code -prof gc} on the JMH command line.
+ * The concatenated variants are the pre-built messages the call sites used to pass; the
+ * parameterised and supplier variants should report a gc.alloc.rate.norm of about 0 B/op.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggerBenchmark {
+    private static final String TAG = "TaskEventRepository";
+
+    // Not final, so the JIT cannot fold the messages into constants
+    private String taskId = "42";
+    private String formattedDate = "2024-11-27 12:30:45";
+    private int taskEventId = 5_000;
+    private Object statement = new Object() {
+        @Override
+        public String toString() {
+            return "SELECT * FROM task_events WHERE task_id = " + taskId;
+        }
+    };
+
+    @Setup
+    public void setUp() {
+        Logger.setLevel(Logger.Level.ERROR);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Logger.setEnabled(true);
+    }
+
+    @Benchmark
+    public void warnFormatted() {
+        Logger.w(TAG, String.format("No next TaskEvent found for Task ID %s after %s.", taskId, formattedDate));
+    }
+
+    @Benchmark
+    public void warnParameterised() {
+        Logger.w(TAG, "No next TaskEvent found for Task ID {} after {}.", taskId, formattedDate);
+    }
+
+    @Benchmark
+    public void warnConcatenatedId() {
+        Logger.w(TAG, "TaskEvent not found with ID: " + taskEventId);
+    }
+
+    @Benchmark
+    public void warnParameterisedId() {
+        Logger.w(TAG, "TaskEvent not found with ID: {}", taskEventId);
+    }
+
+    @Benchmark
+    public void debugConcatenated() {
+        Logger.d(TAG, "Executing SQL: " + statement);
+    }
+
+    @Benchmark
+    public void debugSupplier() {
+        Logger.d(TAG, () -> "Executing SQL: " + statement);
+    }
+}
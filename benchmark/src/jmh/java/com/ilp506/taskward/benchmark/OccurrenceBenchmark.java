@@ -0,0 +1,128 @@
+package com.ilp506.taskward.benchmark;
+
+import com.ilp506.taskward.benchmark.jdbc.JdbcDatabaseProvider;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.data.repositories.TaskRepository;
+import com.ilp506.taskward.data.seed.DatasetGenerator;
+import com.ilp506.taskward.data.storage.Rows;
+import com.ilp506.taskward.services.HorizonPlanner;
+import com.ilp506.taskward.services.OccurrenceService;
+import com.ilp506.taskward.utils.Logger;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two ways of reading upcoming occurrences, on a real SQLite database holding a
+ * one-year history of 500 tasks:
+ * <ul>
+ *     <li>materialised: every occurrence of the coming year is stored, and a range is a plain read;</li>
+ *     <li>virtual: only the history is stored, and the scheduled occurrences of a range are
+ *     generated from the task definitions and merged with the stored events.</li>
+ * </ul>
+ * The query time is measured over ranges of one day, one month and one year from the end of the
+ * history; the storage size is reported as the "storedEvents" and "databaseBytes" counters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OccurrenceBenchmark {
+    private static final int TASK_COUNT = 500;
+    private static final int PLANNED_DAYS = 366;
+    private static final long SEED = 42;
+
+    @Param({"MATERIALISED", "VIRTUAL"})
+    public String storage;
+
+    @Param({"DAY", "MONTH", "YEAR"})
+    public String range;
+
+    private JdbcDatabaseProvider database;
+    private TaskEventRepository taskEventRepository;
+    private OccurrenceService occurrenceService;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long eventRows;
+    private long databaseSize;
+
+    /**
+     * Reports the storage size of the dataset; the values are assigned, not accumulated.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class StorageCounters {
+        public long storedEvents;
+        public long databaseBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Logger.setEnabled(false);
+        database = JdbcDatabaseProvider.create(File.createTempFile("occurrences", ".db"));
+        new DatasetGenerator(database).generate(1, TASK_COUNT, 0, SEED, DatasetGenerator.DEFAULT_END_DATE);
+
+        TaskRepository taskRepository = new TaskRepository(database);
+        taskEventRepository = new TaskEventRepository(database);
+        occurrenceService = new OccurrenceService(taskRepository, taskEventRepository);
+        if (storage.equals("MATERIALISED"))
+            new HorizonPlanner(taskRepository, taskEventRepository, PLANNED_DAYS).topUp(DatasetGenerator.DEFAULT_END_DATE);
+
+        from = DatasetGenerator.DEFAULT_END_DATE;
+        switch (range) {
+            case "DAY":
+                to = from.plusDays(1);
+                break;
+            case "MONTH":
+                to = from.plusMonths(1);
+                break;
+            default:
+                to = from.plusYears(1);
+        }
+
+        eventRows = queryLong("SELECT COUNT(*) FROM task_events");
+        databaseSize = queryLong("PRAGMA page_count") * queryLong("PRAGMA page_size");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public List<TaskEvent> query(StorageCounters counters) {
+        counters.storedEvents = eventRows;
+        counters.databaseBytes = databaseSize;
+        return storage.equals("MATERIALISED")
+                ? taskEventRepository.getTaskEventsBetween(from, to)
+                : occurrenceService.getOccurrences(from, to);
+    }
+
+    private long queryLong(String sql) {
+        try (Rows rows = database.getReadableDatabase().rawQuery(sql, null)) {
+            rows.moveToFirst();
+            return rows.getLong(0);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ilp506.taskward.benchmark;
+
+import com.ilp506.taskward.benchmark.jdbc.JdbcDatabaseProvider;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.data.repositories.TaskRepository;
+import com.ilp506.taskward.data.seed.DatasetGenerator;
+import com.ilp506.taskward.services.HorizonPlanner;
+import com.ilp506.taskward.utils.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the top-up after three months without opening the app scales with the number of
+ * planning workers, for 1,000 tasks on a real SQLite database holding a one-year history: every
+ * missed occurrence is planned as expired and written, followed by the new horizon. With no
+ * workers, everything is planned on the calling thread and written in one transaction; otherwise
+ * partitions are planned on a fixed pool of workers, like the app's, while the calling thread
+ * writes batches.
+ * Each iteration starts from a freshly generated database.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelTopUpBenchmark {
+    private static final int TASK_COUNT = 1000;
+    private static final long SEED = 42;
+    private static final LocalDateTime BACK = DatasetGenerator.DEFAULT_END_DATE.plusMonths(3);
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int workers;
+
+    private JdbcDatabaseProvider database;
+    private ExecutorService pool;
+    private HorizonPlanner planner;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        Logger.setEnabled(false);
+        database = JdbcDatabaseProvider.create(File.createTempFile("parallel-top-up", ".db"));
+        new DatasetGenerator(database).generate(1, TASK_COUNT, 0, SEED, DatasetGenerator.DEFAULT_END_DATE);
+
+        TaskRepository taskRepository = new TaskRepository(database);
+        TaskEventRepository taskEventRepository = new TaskEventRepository(database);
+        if (workers == 0) {
+            planner = new HorizonPlanner(taskRepository, taskEventRepository);
+        } else {
+            pool = Executors.newFixedThreadPool(workers);
+            planner = new HorizonPlanner(taskRepository, taskEventRepository, HorizonPlanner.DEFAULT_HORIZON_DAYS,
+                    pool, 4 * workers);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (pool != null) pool.shutdown();
+        database.close();
+    }
+
+    @Benchmark
+    public int topUpAfterAbsence() {
+        return planner.topUp(BACK);
+    }
+}
@@ -0,0 +1,64 @@
+package com.ilp506.taskward.benchmark;
+
+import com.ilp506.taskward.utils.recurrence.Recurrence;
+import com.ilp506.taskward.utils.recurrence.RecurrenceRule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures expanding a year of occurrences of a recurrence rule, for each kind of rule tasks use,
+ * and compiling a rule from its stored text.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecurrenceBenchmark {
+    @Param({
+            "FREQ=DAILY",
+            "FREQ=WEEKLY;BYDAY=MO,WE,FR",
+            "FREQ=WEEKLY;INTERVAL=2;BYDAY=TU",
+            "FREQ=MONTHLY;BYDAY=2TU",
+            "FREQ=MONTHLY;BYDAY=MO,TU,WE,TH,FR;BYSETPOS=-1",
+            "FREQ=MONTHLY;BYMONTHDAY=-1",
+            "FREQ=YEARLY"
+    })
+    public String rule;
+
+    private Recurrence recurrence;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Setup
+    public void setUp() {
+        from = LocalDateTime.of(2024, 1, 31, 8, 0);
+        to = from.plusYears(1);
+        recurrence = RecurrenceRule.parse(rule).compile(from);
+    }
+
+    @Benchmark
+    public List<LocalDateTime> expandYear() {
+        return recurrence.between(from, to);
+    }
+
+    @Benchmark
+    public Recurrence compile() {
+        return RecurrenceRule.parse(rule).compile(from);
+    }
+}
@@ -0,0 +1,62 @@
+package com.ilp506.taskward.benchmark;
+
+import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.models.Task;
+import com.ilp506.taskward.data.models.TaskEvent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures filtering the completed events of a task with a growing history.
+ * Two thirds of the events are completed, the rest expired.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int eventCount;
+
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2000, 1, 1, 8, 0);
+        List<TaskEvent> events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            TaskEvent event = new TaskEvent();
+            event.setId(i + 1);
+            event.setTaskId(1);
+            event.setScheduledDate(start.plusDays(i));
+            event.setStatus(i % 3 == 0 ? TaskEventStatusEnum.EXPIRED : TaskEventStatusEnum.COMPLETED);
+            events.add(event);
+        }
+
+        task = new Task();
+        task.setId(1);
+        task.setTaskEvents(events);
+    }
+
+    @Benchmark
+    public List<TaskEvent> getCompletedEvents() {
+        return task.getCompletedEvents();
+    }
+}
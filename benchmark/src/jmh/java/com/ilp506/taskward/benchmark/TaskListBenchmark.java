@@ -0,0 +1,78 @@
+package com.ilp506.taskward.benchmark;
+
+import com.ilp506.taskward.benchmark.jdbc.JdbcDatabaseProvider;
+import com.ilp506.taskward.controllers.TaskController;
+import com.ilp506.taskward.data.models.Task;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.data.repositories.TaskRepository;
+import com.ilp506.taskward.data.seed.DatasetGenerator;
+import com.ilp506.taskward.utils.Logger;
+import com.ilp506.taskward.utils.OperationResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading the task list on a real SQLite database holding about 100k events:
+ * every task with its events, as the home screen does, and the flat event list joined with
+ * the task titles. The dataset spans ten years over {@value #TASK_COUNT} tasks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskListBenchmark {
+    private static final int YEARS = 10;
+    private static final int TASK_COUNT = 90;
+    private static final int REWARD_COUNT = 20;
+    private static final long SEED = 42;
+
+    private JdbcDatabaseProvider database;
+    private TaskController controller;
+    private TaskEventRepository taskEventRepository;
+
+    @Setup
+    public void setUp() throws IOException {
+        Logger.setEnabled(false);
+        database = JdbcDatabaseProvider.create(File.createTempFile("task-list", ".db"));
+        new DatasetGenerator(database).generate(YEARS, TASK_COUNT, REWARD_COUNT, SEED,
+                DatasetGenerator.DEFAULT_END_DATE);
+
+        taskEventRepository = new TaskEventRepository(database);
+        controller = new TaskController(new TaskRepository(database), taskEventRepository);
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public List<Task> loadTasksWithEvents() {
+        OperationResponse<List<Task>> response = controller.getAllTasksWithTaskEvents();
+        if (!response.isSuccessful()) throw new IllegalStateException(response.getMessage());
+        return response.getData();
+    }
+
+    @Benchmark
+    public List<TaskEvent> loadAllTaskEvents() {
+        return taskEventRepository.getAllTaskEvents();
+    }
+}
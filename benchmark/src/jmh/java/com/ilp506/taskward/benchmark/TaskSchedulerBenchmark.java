@@ -0,0 +1,80 @@
+package com.ilp506.taskward.benchmark;
+
+import com.ilp506.taskward.data.enums.TaskFrequencyEnum;
+import com.ilp506.taskward.data.models.Task;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.utils.TaskScheduler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating the next event of a task, for every frequency, both for a task's first
+ * event and after a previous one, and catching up a task left alone for ten years, either with
+ * {@link TaskScheduler#catchUp} or one interval at a time as repeated expiry sweeps did.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskSchedulerBenchmark {
+    @Param({"DAILY", "WEEKLY", "MONTHLY", "YEARLY"})
+    public TaskFrequencyEnum frequency;
+
+    private Task task;
+    private TaskEvent lastEvent;
+    private LocalDateTime tenYearsLater;
+
+    @Setup
+    public void setUp() {
+        task = new Task();
+        task.setId(1);
+        task.setIcon("icon");
+        task.setTitle("Benchmark task");
+        task.setFrequency(frequency);
+        task.setFrequencyInterval(2);
+        task.setPointsReward(10);
+        task.setStartDate(LocalDateTime.of(2024, 1, 31, 8, 0));
+        task.setEndDate(LocalDateTime.of(2124, 1, 31, 8, 0));
+
+        lastEvent = TaskScheduler.generateNextTaskEvent(task, null);
+        tenYearsLater = task.getStartDate().plusYears(10);
+    }
+
+    @Benchmark
+    public TaskEvent generateFirstTaskEvent() {
+        return TaskScheduler.generateNextTaskEvent(task, null);
+    }
+
+    @Benchmark
+    public TaskEvent generateNextTaskEvent() {
+        return TaskScheduler.generateNextTaskEvent(task, lastEvent);
+    }
+
+    @Benchmark
+    public TaskScheduler.CatchUp catchUpTenYears() {
+        return TaskScheduler.catchUp(task, lastEvent, tenYearsLater);
+    }
+
+    @Benchmark
+    public TaskEvent stepByStepTenYears() {
+        TaskEvent event = TaskScheduler.generateNextTaskEvent(task, lastEvent);
+        while (event.getScheduledDate().isBefore(tenYearsLater))
+            event = TaskScheduler.generateNextTaskEvent(task, event);
+        return event;
+    }
+}
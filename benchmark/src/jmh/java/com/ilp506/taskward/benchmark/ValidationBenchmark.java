@@ -0,0 +1,97 @@
+package com.ilp506.taskward.benchmark;
+
+import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.enums.TaskFrequencyEnum;
+import com.ilp506.taskward.data.models.Reward;
+import com.ilp506.taskward.data.models.Task;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.models.User;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the model validation run before every insert and update, on valid models so that
+ * every check is evaluated.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+    private Task task;
+    private TaskEvent taskEvent;
+    private User user;
+    private Reward reward;
+
+    @Setup
+    public void setUp() {
+        // Far in the future, as Task.validate() rejects start dates in the past
+        LocalDateTime start = LocalDateTime.now().plusYears(50);
+
+        task = new Task();
+        task.setUserId(1);
+        task.setIcon("icon");
+        task.setTitle("Benchmark task");
+        task.setDescription("Validated on every insert and update");
+        task.setFrequency(TaskFrequencyEnum.DAILY);
+        task.setFrequencyInterval(1);
+        task.setPointsReward(10);
+        task.setStartDate(start);
+        task.setEndDate(start.plusYears(1));
+
+        taskEvent = new TaskEvent();
+        taskEvent.setScheduledDate(start);
+        taskEvent.setCompletedDate(start);
+        taskEvent.setStatus(TaskEventStatusEnum.COMPLETED);
+        taskEvent.setPointsEarned(10);
+
+        user = new User();
+        user.setName("Benchmark");
+        user.setEmail("benchmark@taskward.test");
+        user.setPoints(100);
+
+        reward = new Reward();
+        reward.setIcon("icon");
+        reward.setTitle("Benchmark reward");
+        reward.setDescription("Validated on every insert and update");
+        reward.setPointsRequired(50);
+    }
+
+    @Benchmark
+    public Task validateTask() {
+        task.validate();
+        return task;
+    }
+
+    @Benchmark
+    public TaskEvent validateTaskEvent() {
+        taskEvent.validate();
+        return taskEvent;
+    }
+
+    @Benchmark
+    public User validateUser() {
+        user.validate();
+        return user;
+    }
+
+    @Benchmark
+    public Reward validateReward() {
+        reward.validate();
+        return reward;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ilp506.taskward;
+
+/**
+ * Stand-in for the resource class generated by the Android build, so that the app's database
+ * helper compiles on the JVM. The benchmarks never open the helper; they build the schema
+ * from {@code create.sql} instead.
+ */
+public final class R {
+    private R() {}
+
+    public static final class raw {
+        public static final int create = 0;
+        public static final int insert = 1;
+
+        private raw() {}
+    }
+}
@@ -0,0 +1,89 @@
+package com.ilp506.taskward.benchmark.jdbc;
+
+import com.ilp506.taskward.data.storage.CompiledStatement;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * {@link CompiledStatement} over a JDBC prepared statement.
+ */
+final class JdbcCompiledStatement implements CompiledStatement {
+    private final JdbcDatabase database;
+    private final PreparedStatement statement;
+
+    JdbcCompiledStatement(JdbcDatabase database, PreparedStatement statement) {
+        this.database = database;
+        this.statement = statement;
+    }
+
+    @Override
+    public void bindNull(int index) {
+        bindValue(index, null);
+    }
+
+    @Override
+    public void bindLong(int index, long value) {
+        bindValue(index, value);
+    }
+
+    @Override
+    public void bindDouble(int index, double value) {
+        bindValue(index, value);
+    }
+
+    @Override
+    public void bindString(int index, String value) {
+        bindValue(index, value);
+    }
+
+    @Override
+    public void bindValue(int index, Object value) {
+        try {
+            bind(statement, index, value);
+        } catch (SQLException e) {
+            throw JdbcDatabase.translate(e);
+        }
+    }
+
+    @Override
+    public long executeInsert() {
+        try {
+            return statement.executeUpdate() > 0 ? database.lastInsertRowId() : -1;
+        } catch (SQLException e) {
+            throw JdbcDatabase.translate(e);
+        }
+    }
+
+    @Override
+    public int executeUpdateDelete() {
+        try {
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw JdbcDatabase.translate(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            throw JdbcDatabase.translate(e);
+        }
+    }
+
+    /**
+     * Binds a value with the same type mapping as Android's {@code DatabaseUtils.bindObjectToProgram}.
+     */
+    static void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+        if (value == null) statement.setNull(index, Types.NULL);
+        else if (value instanceof Double || value instanceof Float)
+            statement.setDouble(index, ((Number) value).doubleValue());
+        else if (value instanceof Number) statement.setLong(index, ((Number) value).longValue());
+        else if (value instanceof Boolean) statement.setLong(index, (Boolean) value ? 1 : 0);
+        else if (value instanceof byte[]) statement.setBytes(index, (byte[]) value);
+        else statement.setString(index, value.toString());
+    }
+}
@@ -0,0 +1,222 @@
+package com.ilp506.taskward.benchmark.jdbc;
+
+import com.ilp506.taskward.data.storage.CompiledStatement;
+import com.ilp506.taskward.data.storage.Database;
+import com.ilp506.taskward.data.storage.Rows;
+import com.ilp506.taskward.data.storage.StorageException;
+import com.ilp506.taskward.data.storage.Values;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link Database} over a SQLite JDBC connection, behaving like one Android connection:
+ * prepared statements are kept in an LRU cache of the same size as Android's, nested
+ * transactions commit only when every level was marked successful, and query results are
+ * read into memory as a cursor window would. Confined to one thread.
+ */
+final class JdbcDatabase implements Database {
+    private static final int STATEMENT_CACHE_SIZE = 25;
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+    private static final int SQLITE_CONSTRAINT = 19;
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statementCache =
+            new LinkedHashMap<String, PreparedStatement>(STATEMENT_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() <= STATEMENT_CACHE_SIZE) return false;
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+            };
+    private final Deque<Boolean> transactionLevels = new ArrayDeque<>();
+    private boolean transactionFailed;
+
+    JdbcDatabase(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public Rows query(String table, String[] columns, String selection, String[] selectionArgs,
+                      String orderBy) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        sql.append(columns == null || columns.length == 0 ? "*" : String.join(", ", columns));
+        sql.append(" FROM ").append(table);
+        if (selection != null && !selection.isEmpty()) sql.append(" WHERE ").append(selection);
+        if (orderBy != null && !orderBy.isEmpty()) sql.append(" ORDER BY ").append(orderBy);
+        return rawQuery(sql.toString(), selectionArgs);
+    }
+
+    @Override
+    public Rows rawQuery(String sql, String[] selectionArgs) {
+        try {
+            PreparedStatement statement = prepare(sql);
+            bindStrings(statement, selectionArgs);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return JdbcRows.read(resultSet);
+            }
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public long insert(String table, Values values) {
+        StringBuilder names = new StringBuilder();
+        StringBuilder placeholders = new StringBuilder();
+        for (String key : values.keySet()) {
+            if (names.length() > 0) {
+                names.append(", ");
+                placeholders.append(", ");
+            }
+            names.append(key);
+            placeholders.append('?');
+        }
+        String sql = "INSERT INTO " + table + " (" + names + ") VALUES (" + placeholders + ")";
+        try {
+            PreparedStatement statement = prepare(sql);
+            int index = 1;
+            for (String key : values.keySet()) JdbcCompiledStatement.bind(statement, index++, values.get(key));
+            return statement.executeUpdate() > 0 ? lastInsertRowId() : -1;
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public int update(String table, Values values, String whereClause, String[] whereArgs) {
+        StringBuilder sql = new StringBuilder("UPDATE ").append(table).append(" SET ");
+        int i = 0;
+        for (String key : values.keySet()) sql.append(i++ > 0 ? ", " : "").append(key).append(" = ?");
+        if (whereClause != null && !whereClause.isEmpty()) sql.append(" WHERE ").append(whereClause);
+        try {
+            PreparedStatement statement = prepare(sql.toString());
+            int index = 1;
+            for (String key : values.keySet()) JdbcCompiledStatement.bind(statement, index++, values.get(key));
+            if (whereArgs != null) for (String arg : whereArgs) statement.setString(index++, arg);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public int delete(String table, String whereClause, String[] whereArgs) {
+        String sql = "DELETE FROM " + table +
+                (whereClause == null || whereClause.isEmpty() ? "" : " WHERE " + whereClause);
+        try {
+            PreparedStatement statement = prepare(sql);
+            bindStrings(statement, whereArgs);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public void execSQL(String sql) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public CompiledStatement compileStatement(String sql) {
+        try {
+            return new JdbcCompiledStatement(this, connection.prepareStatement(sql));
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public void beginTransaction() {
+        if (transactionLevels.isEmpty()) {
+            execSQL("BEGIN IMMEDIATE");
+            transactionFailed = false;
+        }
+        transactionLevels.push(Boolean.FALSE);
+    }
+
+    @Override
+    public void setTransactionSuccessful() {
+        if (transactionLevels.isEmpty()) throw new IllegalStateException("No transaction in progress");
+        transactionLevels.pop();
+        transactionLevels.push(Boolean.TRUE);
+    }
+
+    @Override
+    public void endTransaction() {
+        if (transactionLevels.isEmpty()) throw new IllegalStateException("No transaction in progress");
+        if (!transactionLevels.pop()) transactionFailed = true;
+        if (transactionLevels.isEmpty()) execSQL(transactionFailed ? "ROLLBACK" : "COMMIT");
+    }
+
+    long lastInsertRowId() throws SQLException {
+        try (ResultSet resultSet = prepare("SELECT last_insert_rowid()").executeQuery()) {
+            return resultSet.next() ? resultSet.getLong(1) : -1;
+        }
+    }
+
+    void close() {
+        for (Iterator<PreparedStatement> it = statementCache.values().iterator(); it.hasNext(); ) {
+            closeQuietly(it.next());
+            it.remove();
+        }
+    }
+
+    /**
+     * Converts a driver exception using SQLite's primary result code.
+     */
+    static StorageException translate(SQLException e) {
+        StorageException.Kind kind;
+        switch (e.getErrorCode() & 0xff) {
+            case SQLITE_CONSTRAINT:
+                kind = StorageException.Kind.CONSTRAINT;
+                break;
+            case SQLITE_BUSY:
+            case SQLITE_LOCKED:
+                kind = StorageException.Kind.LOCKED;
+                break;
+            default:
+                kind = StorageException.Kind.OTHER;
+        }
+        return new StorageException(kind, e.getMessage(), e);
+    }
+
+    private PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statementCache.get(sql);
+        if (statement == null) {
+            statement = connection.prepareStatement(sql);
+            statementCache.put(sql, statement);
+        } else {
+            statement.clearParameters();
+        }
+        return statement;
+    }
+
+    private static void bindStrings(PreparedStatement statement, String[] args) throws SQLException {
+        if (args == null) return;
+        for (int i = 0; i < args.length; i++) statement.setString(i + 1, args[i]);
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // The connection is closing or the statement is already gone
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ilp506.taskward.benchmark.jdbc;
+
+import com.ilp506.taskward.data.SearchIndexSchema;
+import com.ilp506.taskward.data.storage.Database;
+import com.ilp506.taskward.data.storage.DatabaseProvider;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link DatabaseProvider} over one SQLite JDBC connection, set up like the app database:
+ * WAL journal, NORMAL synchronous mode, incremental auto-vacuum and the schema of
+ * {@code create.sql} plus the search indexes. The app's seed data is only inserted
+ * on request, see {@link #executeScript(String)}.
+ */
+public final class JdbcDatabaseProvider implements DatabaseProvider, AutoCloseable {
+    private static final String SCHEMA_RESOURCE = "/create.sql";
+    private static final String[] SIDE_FILE_SUFFIXES = {"-wal", "-shm", "-journal"};
+
+    private final File file;
+    private final Connection connection;
+    private final JdbcDatabase database;
+
+    private JdbcDatabaseProvider(File file, Connection connection) {
+        this.file = file;
+        this.connection = connection;
+        this.database = new JdbcDatabase(connection);
+    }
+
+    /**
+     * Creates a fresh database file with the app schema, replacing any existing one.
+     *
+     * @param file The database file.
+     * @return The provider owning the connection.
+     */
+    public static JdbcDatabaseProvider create(File file) {
+        deleteWithSideFiles(file);
+        try {
+            Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file.getPath());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA auto_vacuum = INCREMENTAL");
+                statement.execute("PRAGMA journal_mode = WAL");
+                statement.execute("PRAGMA synchronous = NORMAL");
+                for (String sql : readScript(SCHEMA_RESOURCE)) statement.execute(sql);
+                for (String sql : SearchIndexSchema.getCreateStatements()) statement.execute(sql);
+            }
+            return new JdbcDatabaseProvider(file, connection);
+        } catch (SQLException e) {
+            throw JdbcDatabase.translate(e);
+        }
+    }
+
+    /**
+     * Runs a SQL script from the classpath, e.g. the app's {@code insert.sql} seed data.
+     *
+     * @param resource The absolute resource path of the script.
+     */
+    public void executeScript(String resource) {
+        for (String sql : readScript(resource)) database.execSQL(sql);
+    }
+
+    @Override
+    public Database getWritableDatabase() {
+        return database;
+    }
+
+    @Override
+    public Database getReadableDatabase() {
+        return database;
+    }
+
+    /**
+     * Closes the connection and deletes the database files.
+     */
+    @Override
+    public void close() {
+        database.close();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw JdbcDatabase.translate(e);
+        }
+        deleteWithSideFiles(file);
+    }
+
+    /**
+     * Splits a SQL script into statements, dropping comment lines.
+     */
+    private static List<String> readScript(String resource) {
+        List<String> statements = new ArrayList<>();
+        try (InputStream in = JdbcDatabaseProvider.class.getResourceAsStream(resource)) {
+            if (in == null) throw new IllegalStateException("Missing resource " + resource);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            StringBuilder statement = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().startsWith("--")) continue;
+                statement.append(line).append('\n');
+                if (line.trim().endsWith(";")) {
+                    statements.add(statement.toString().trim());
+                    statement.setLength(0);
+                }
+            }
+            if (statement.toString().trim().length() > 0) statements.add(statement.toString().trim());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return statements;
+    }
+
+    private static void deleteWithSideFiles(File file) {
+        file.delete();
+        for (String suffix : SIDE_FILE_SUFFIXES) new File(file.getPath() + suffix).delete();
+    }
+}
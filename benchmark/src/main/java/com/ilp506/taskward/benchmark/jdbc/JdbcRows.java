@@ -0,0 +1,157 @@
+package com.ilp506.taskward.benchmark.jdbc;
+
+import com.ilp506.taskward.data.storage.Rows;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@link Rows} holding a whole result in memory, like a filled cursor window, with the value
+ * conversions of Android's cursors: numbers read as strings and numeric strings read as numbers.
+ */
+final class JdbcRows implements Rows {
+    private final String[] columnNames;
+    private final List<Object[]> rows;
+    private int position = -1;
+
+    private JdbcRows(String[] columnNames, List<Object[]> rows) {
+        this.columnNames = columnNames;
+        this.rows = rows;
+    }
+
+    static JdbcRows read(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        String[] columnNames = new String[metaData.getColumnCount()];
+        for (int i = 0; i < columnNames.length; i++) columnNames[i] = metaData.getColumnLabel(i + 1);
+
+        List<Object[]> rows = new ArrayList<>();
+        while (resultSet.next()) {
+            Object[] row = new Object[columnNames.length];
+            for (int i = 0; i < row.length; i++) row[i] = resultSet.getObject(i + 1);
+            rows.add(row);
+        }
+        return new JdbcRows(columnNames, rows);
+    }
+
+    @Override
+    public int getCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getPosition() {
+        return position;
+    }
+
+    @Override
+    public boolean moveToFirst() {
+        return moveToPosition(0);
+    }
+
+    @Override
+    public boolean moveToNext() {
+        return moveToPosition(position + 1);
+    }
+
+    @Override
+    public boolean moveToPosition(int position) {
+        if (position >= rows.size()) {
+            this.position = rows.size();
+            return false;
+        }
+        if (position < 0) {
+            this.position = -1;
+            return false;
+        }
+        this.position = position;
+        return true;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public int getColumnIndex(String columnName) {
+        // Like Android, a qualified name is matched on its column part
+        int dot = columnName.lastIndexOf('.');
+        String name = dot == -1 ? columnName : columnName.substring(dot + 1);
+        for (int i = 0; i < columnNames.length; i++)
+            if (columnNames[i].equalsIgnoreCase(name)) return i;
+        return -1;
+    }
+
+    @Override
+    public int getColumnIndexOrThrow(String columnName) {
+        int index = getColumnIndex(columnName);
+        if (index == -1) throw new IllegalArgumentException("column '" + columnName + "' does not exist");
+        return index;
+    }
+
+    @Override
+    public boolean isNull(int columnIndex) {
+        return value(columnIndex) == null;
+    }
+
+    @Override
+    public String getString(int columnIndex) {
+        Object value = value(columnIndex);
+        if (value == null) return null;
+        if (value instanceof byte[]) return new String((byte[]) value, StandardCharsets.UTF_8);
+        return value.toString();
+    }
+
+    @Override
+    public int getInt(int columnIndex) {
+        return (int) getLong(columnIndex);
+    }
+
+    @Override
+    public long getLong(int columnIndex) {
+        Object value = value(columnIndex);
+        if (value == null) return 0;
+        if (value instanceof Number) return ((Number) value).longValue();
+        return (long) parseDouble(value.toString());
+    }
+
+    @Override
+    public double getDouble(int columnIndex) {
+        Object value = value(columnIndex);
+        if (value == null) return 0;
+        if (value instanceof Number) return ((Number) value).doubleValue();
+        return parseDouble(value.toString());
+    }
+
+    @Override
+    public byte[] getBlob(int columnIndex) {
+        Object value = value(columnIndex);
+        if (value == null || value instanceof byte[]) return (byte[]) value;
+        return value.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        position = rows.size();
+    }
+
+    private Object value(int columnIndex) {
+        if (position < 0 || position >= rows.size())
+            throw new IllegalStateException(String.format(Locale.ROOT,
+                    "Index %d requested, with a size of %d", position, rows.size()));
+        return rows.get(position)[columnIndex];
+    }
+
+    private static double parseDouble(String text) {
+        try {
+            return Double.parseDouble(text.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
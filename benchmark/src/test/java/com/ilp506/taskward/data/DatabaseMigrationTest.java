@@ -0,0 +1,98 @@
+package com.ilp506.taskward.data;
+
+import com.ilp506.taskward.benchmark.jdbc.JdbcDatabaseProvider;
+import com.ilp506.taskward.data.storage.Database;
+import com.ilp506.taskward.data.storage.Rows;
+import com.ilp506.taskward.utils.Logger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the statements of the upgrade to version 8 on SQLite, on task events stored before
+ * occurrences were unique.
+ */
+public class DatabaseMigrationTest {
+    private JdbcDatabaseProvider database;
+    private Database db;
+
+    @Before
+    public void setUp() throws IOException {
+        Logger.setEnabled(false);
+        database = JdbcDatabaseProvider.create(File.createTempFile("migration", ".db"));
+        db = database.getWritableDatabase();
+        db.execSQL("DROP INDEX idx_task_events_occurrence");
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+        Logger.setEnabled(true);
+    }
+
+    @Test
+    public void deleteDuplicateTaskEvents_shouldKeepCompletedDuplicate() {
+        insert(1, "2024-03-01 09:00:00", "scheduled");
+        insert(1, "2024-03-01 09:00:00", "completed");
+        insert(1, "2024-03-01 09:00:00", "expired");
+
+        db.execSQL(DatabaseHelper.DELETE_DUPLICATE_TASK_EVENTS);
+
+        assertEquals(List.of("2:completed"), storedEvents());
+    }
+
+    @Test
+    public void deleteDuplicateTaskEvents_whenNoneCompleted_shouldKeepOldest() {
+        insert(1, "2024-03-01 09:00:00", "scheduled");
+        insert(1, "2024-03-01 09:00:00", "scheduled");
+        insert(1, "2024-03-02 09:00:00", "scheduled");
+        insert(2, "2024-03-01 09:00:00", "scheduled");
+
+        db.execSQL(DatabaseHelper.DELETE_DUPLICATE_TASK_EVENTS);
+
+        assertEquals(List.of("1:scheduled", "3:scheduled", "4:scheduled"), storedEvents());
+    }
+
+    @Test
+    public void occurrenceIndex_afterDuplicatesDeleted_shouldBeCreated() {
+        insert(1, "2024-03-01 09:00:00", "scheduled");
+        insert(1, "2024-03-01 09:00:00", "completed");
+
+        db.execSQL(DatabaseHelper.DELETE_DUPLICATE_TASK_EVENTS);
+        db.execSQL(DatabaseHelper.CREATE_TASK_EVENTS_OCCURRENCE_INDEX);
+
+        try {
+            insert(1, "2024-03-01 09:00:00", "scheduled");
+            fail("The occurrence index must be unique");
+        } catch (RuntimeException expected) {
+            assertEquals(List.of("2:completed"), storedEvents());
+        }
+    }
+
+    /**
+     * Inserts an event of a task for user 1.
+     */
+    private void insert(int taskId, String scheduledDate, String status) {
+        db.execSQL("INSERT INTO task_events (user_id, task_id, scheduled_date, status) VALUES (1, " +
+                taskId + ", '" + scheduledDate + "', '" + status + "')");
+    }
+
+    /**
+     * Returns the stored events as "id:status", by ID.
+     */
+    private List<String> storedEvents() {
+        List<String> events = new ArrayList<>();
+        try (Rows cursor = db.rawQuery("SELECT id, status FROM task_events ORDER BY id", null)) {
+            while (cursor.moveToNext()) events.add(cursor.getInt(0) + ":" + cursor.getString(1));
+        }
+        return events;
+    }
+}
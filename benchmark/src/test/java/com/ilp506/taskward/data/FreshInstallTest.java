@@ -0,0 +1,65 @@
+package com.ilp506.taskward.data;
+
+import com.ilp506.taskward.benchmark.jdbc.JdbcDatabaseProvider;
+import com.ilp506.taskward.data.models.Task;
+import com.ilp506.taskward.data.models.User;
+import com.ilp506.taskward.data.repositories.TaskEventRepository;
+import com.ilp506.taskward.data.repositories.TaskRepository;
+import com.ilp506.taskward.data.repositories.UserRepository;
+import com.ilp506.taskward.utils.Logger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Builds a database as a fresh install does, from {@code create.sql} and the {@code insert.sql}
+ * seed data, and creates the first profile as onboarding does.
+ */
+public class FreshInstallTest {
+    private JdbcDatabaseProvider database;
+    private User firstUser;
+
+    @Before
+    public void setUp() throws IOException {
+        Logger.setEnabled(false);
+        database = JdbcDatabaseProvider.create(File.createTempFile("fresh-install", ".db"));
+        database.executeScript("/insert.sql");
+
+        User user = new User();
+        user.setName("Maria Oliveira");
+        user.setEmail("maria.oliveira@email.com");
+        firstUser = new UserRepository(database).createUser(user);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+        Logger.setEnabled(true);
+    }
+
+    @Test
+    public void seedTasks_shouldBelongToFirstUser() {
+        TaskRepository taskRepository = new TaskRepository(database);
+        List<Task> tasks = taskRepository.getAllTasks();
+
+        assertFalse(tasks.isEmpty());
+        for (Task task : tasks)
+            assertEquals(task.getTitle(), firstUser.getId(), task.getUserId());
+        assertEquals(tasks.size(), taskRepository.getTasksByUserId(firstUser.getId()).size());
+    }
+
+    @Test
+    public void seedTaskEvents_shouldBeListedForFirstUser() {
+        TaskEventRepository taskEventRepository = new TaskEventRepository(database);
+
+        assertEquals(taskEventRepository.getAllTaskEvents().size(),
+                taskEventRepository.getTaskEventsByUserId(firstUser.getId()).size());
+    }
+}
@@ -0,0 +1,141 @@
+package com.ilp506.taskward.data.repositories;
+
+import com.ilp506.taskward.benchmark.jdbc.JdbcDatabaseProvider;
+import com.ilp506.taskward.data.enums.TaskEventStatusEnum;
+import com.ilp506.taskward.data.models.TaskEvent;
+import com.ilp506.taskward.data.storage.CompiledStatement;
+import com.ilp506.taskward.data.storage.Database;
+import com.ilp506.taskward.data.storage.Rows;
+import com.ilp506.taskward.exceptions.custom.DatabaseOperationException;
+import com.ilp506.taskward.utils.DateUtils;
+import com.ilp506.taskward.utils.Logger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks on SQLite that an occurrence, i.e. a task, scheduled date and user, is stored once, and
+ * that only that conflict is skipped.
+ */
+public class TaskEventOccurrenceTest {
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    private JdbcDatabaseProvider database;
+    private TaskEventRepository repository;
+
+    @Before
+    public void setUp() throws IOException {
+        Logger.setEnabled(false);
+        database = JdbcDatabaseProvider.create(File.createTempFile("occurrence", ".db"));
+        repository = new TaskEventRepository(database);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+        Logger.setEnabled(true);
+    }
+
+    @Test
+    public void createTaskEvent_whenOccurrenceIsStored_shouldKeepOneRowAndReturnIt() {
+        TaskEvent stored = repository.createTaskEvent(event(DATE, TaskEventStatusEnum.COMPLETED));
+        TaskEvent again = repository.createTaskEvent(event(DATE, TaskEventStatusEnum.SCHEDULED));
+
+        assertEquals(stored.getId(), again.getId());
+        assertEquals(TaskEventStatusEnum.COMPLETED, again.getStatus());
+        assertEquals(1, countRows());
+    }
+
+    @Test
+    public void createTaskEvents_whenBatchRepeatsStoredOccurrence_shouldSkipOnlyThatOne() {
+        repository.createTaskEvents(Collections.singletonList(event(DATE, TaskEventStatusEnum.SCHEDULED)));
+
+        TaskEvent repeated = event(DATE, TaskEventStatusEnum.SCHEDULED);
+        TaskEvent next = event(DATE.plusDays(1), TaskEventStatusEnum.SCHEDULED);
+        assertEquals(1, repository.createTaskEvents(Arrays.asList(repeated, next)));
+        assertEquals(0, repeated.getId());
+        assertTrue(next.getId() > 0);
+        assertEquals(2, countRows());
+    }
+
+    @Test
+    public void createTaskEvents_whenCheckConstraintFails_shouldFailBatchInsteadOfSkipping() {
+        TaskEvent valid = event(DATE, TaskEventStatusEnum.SCHEDULED);
+        TaskEvent negative = event(DATE.plusDays(1), TaskEventStatusEnum.SCHEDULED);
+        negative.setPointsEarned(-1);
+
+        try {
+            repository.createTaskEvents(Arrays.asList(valid, negative));
+            fail("A CHECK violation must fail the batch");
+        } catch (DatabaseOperationException expected) {
+            assertEquals(0, countRows());
+        }
+    }
+
+    @Test
+    public void insertWithoutUpsert_shouldAlsoStoreOccurrenceOnce() {
+        Database db = database.getWritableDatabase();
+        String sql = TaskEventRepository.buildInsertOccurrenceSql(false);
+
+        assertTrue(insert(db, sql, DATE, 10) > 0);
+        assertEquals(-1, insert(db, sql, DATE, 10));
+        assertEquals(1, countRows());
+        try {
+            insert(db, sql, DATE.plusDays(1), -1);
+            fail("A CHECK violation must fail the insert");
+        } catch (RuntimeException expected) {
+            // The negative points fail the insert, they are not skipped as a conflict
+        }
+    }
+
+    @Test
+    public void supportsUpsert_shouldStartAtSqlite324() {
+        assertFalse(TaskEventRepository.supportsUpsert("3.18.2"));
+        assertFalse(TaskEventRepository.supportsUpsert("3.22.0"));
+        assertTrue(TaskEventRepository.supportsUpsert("3.24.0"));
+        assertTrue(TaskEventRepository.supportsUpsert("3.46.1"));
+        assertFalse(TaskEventRepository.supportsUpsert(""));
+    }
+
+    /**
+     * Inserts an occurrence of task 1 for user 1 with a statement of the repository.
+     */
+    private static long insert(Database db, String sql, LocalDateTime scheduledDate, int points) {
+        try (CompiledStatement insert = db.compileStatement(sql)) {
+            insert.bindLong(1, 1);
+            insert.bindLong(2, 1);
+            insert.bindString(3, DateUtils.formatLocalDateTime(scheduledDate));
+            insert.bindNull(4);
+            insert.bindLong(5, points);
+            insert.bindString(6, TaskEventStatusEnum.SCHEDULED.getValue());
+            insert.bindNull(7);
+            return insert.executeInsert();
+        }
+    }
+
+    private int countRows() {
+        try (Rows cursor = database.getReadableDatabase().rawQuery("SELECT COUNT(*) FROM task_events", null)) {
+            cursor.moveToFirst();
+            return cursor.getInt(0);
+        }
+    }
+
+    private static TaskEvent event(LocalDateTime scheduledDate, TaskEventStatusEnum status) {
+        TaskEvent event = new TaskEvent();
+        event.setTaskId(1);
+        event.setUserId(1);
+        event.setScheduledDate(scheduledDate);
+        event.setPointsEarned(10);
+        event.setStatus(status);
+        return event;
+    }
+}
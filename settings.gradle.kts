@@ -21,3 +21,4 @@ dependencyResolutionManagement {
 
 rootProject.name = "Taskward"
 include(":app")
+include(":benchmark")